@@ -1,9 +1,9 @@
 package Controller;
 
+import CommonUtils.Bootstrap;
 import CommonUtils.IService;
 import Exceptions.AppException;
 import Exceptions.ServiceException;
-import Model.User;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -61,11 +61,12 @@ public class LoginController {
         logger.info("Trying to retrieve the user by the passed username '{}' and password...", username);
 
         try {
-            User user = this.proxy.login(username, password, userController);
+            // Receiving the races and their engine capacities with the user, instead of requesting them after logging in.
+            Bootstrap bootstrap = this.proxy.bootstrap(username, password, userController);
 
             logger.info("User retrieved successfully!");
-            this.userController.setUser(user);
-            this.userController.initUserController(proxy);
+            this.userController.setUser(bootstrap.user());
+            this.userController.initUserController(proxy, bootstrap);
 
             this.mainStage.hide();
         } catch (AppException | ServiceException e) {
@@ -1,5 +1,6 @@
 package Controller;
 
+import CommonUtils.Bootstrap;
 import CommonUtils.GUIObserver;
 import CommonUtils.IService;
 import Exceptions.AppException;
@@ -19,13 +20,24 @@ import org.apache.logging.log4j.Logger;
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class UserController implements GUIObserver {
     private static final Logger logger = LogManager.getLogger();
+    // Number of participants added to the table at once while a search streams in.
+    private static final int SEARCH_CHUNK_SIZE = 100;
     private IService proxy;
     private User user;
     private Stage mainStage;
     private Stage parentStage;
+    // The team of the last search, whose added participants are shown in the table.
+    private String subscribedTeam;
+    // Incremented by every search, so the chunks of a replaced search are discarded.
+    private final AtomicLong searches = new AtomicLong();
+    // The engine capacities of the races shown, empty to show every race.
+    private Set<Integer> shownRaces = Set.of();
 
     public void setUser(User user) {
         this.user = user;
@@ -39,6 +51,23 @@ public class UserController implements GUIObserver {
         this.mainStage = mainStage;
     }
 
+    /**
+     * Shows only some of the races, so only the participants added to them are received. Must be called before logging in.
+     *
+     * @param shownRaces The engine capacities of the races shown, empty to show every race.
+     */
+    public void setShownRaces(Set<Integer> shownRaces) {
+        this.shownRaces = Set.copyOf(shownRaces);
+    }
+
+    /**
+     * @param race A race of the server.
+     * @return Whether the race is shown in the table.
+     */
+    private boolean isShown(Race race) {
+        return this.shownRaces.isEmpty() || this.shownRaces.contains(race.getEngineCapacity());
+    }
+
     @FXML
     private TableView<Race> tableViewRace;
     @FXML
@@ -72,21 +101,22 @@ public class UserController implements GUIObserver {
     @FXML
     private Button btnLogout;
 
-    private void initComboBoxEngineCapacity() throws ServiceException {
+    private void initComboBoxEngineCapacity(List<Integer> engineCapacities) {
         logger.info("Initializing the engine capacity combo box...");
-
-        List<Integer> engineCapacities = (List<Integer>) this.proxy.findAllRaceEngineCapacities();
         this.comboBoxEngineCapacity.getItems().addAll(engineCapacities);
     }
 
-    private void initTableViewRace() throws ServiceException {
+    private void initTableViewRace(List<Race> races) throws ServiceException, AppException {
         logger.info("Initializing the table view for the races...");
         this.tableColumnEngineRace.setCellValueFactory(new PropertyValueFactory<>("engineCapacity"));
         this.tableColumnNoParticipantsRace.setCellValueFactory(new PropertyValueFactory<>("noParticipants"));
 
-        List<Race> races = (List<Race>) this.proxy.findAllRaces();
+        List<Race> shown = races.stream().filter(this::isShown).toList();
+        this.tableViewRace.getItems().addAll(shown);
 
-        this.tableViewRace.getItems().addAll(races);
+        // Receiving the participants of the shown races, to keep their counts up to date.
+        // Showing every race needs every engine capacity, so only a client showing fewer races receives fewer participants.
+        this.proxy.subscribe(List.of(), shown.stream().map(Race::getEngineCapacity).toList(), this);
     }
 
     private void initTableViewParticipant() {
@@ -97,24 +127,22 @@ public class UserController implements GUIObserver {
         this.tableColumnTeam.setCellValueFactory(new PropertyValueFactory<>("team"));
     }
 
-    public void initUserController(IService service) throws IOException {
+    /**
+     * @param service   The service of the client.
+     * @param bootstrap The races and the engine capacities received when logging in, so they aren't requested again.
+     */
+    public void initUserController(IService service, Bootstrap bootstrap) throws IOException {
         logger.traceEntry("Initializing the user controller...");
         this.proxy = service;
 
         try {
-            this.initTableViewRace();
-        } catch (ServiceException e) {
+            this.initTableViewRace(bootstrap.races());
+        } catch (ServiceException | AppException e) {
             logger.error("Couldn't initialize the table view for the races: {}", e.getMessage());
             throw new IOException(e.getMessage());
         }
         this.initTableViewParticipant();
-
-        try {
-            this.initComboBoxEngineCapacity();
-        } catch (ServiceException e) {
-            logger.error("Couldn't initialize the engine capacity combo box: {}", e.getMessage());
-            throw new IOException(e.getMessage());
-        }
+        this.initComboBoxEngineCapacity(bootstrap.engineCapacities());
 
         this.mainStage.setTitle(user.getFirstName() + " " + user.getLastName() +  " - Motorcycle Contest");
 
@@ -192,21 +220,53 @@ public class UserController implements GUIObserver {
             return;
         }
 
-        Platform.runLater(() -> {
+        this.loadParticipants(team, true);
+    }
+
+    /**
+     * Shows the participants of a team in the table, replacing the previous ones.
+     *
+     * @param team      The team of the participants.
+     * @param subscribe Whether the added participants of the team are requested too.
+     */
+    private void loadParticipants(String team, boolean subscribe) {
+        long search = this.searches.incrementAndGet();
+        this.tableViewParticipant.getItems().clear();
+
+        // Streamed in the background, every chunk being shown as soon as it arrives.
+        CompletableFuture.runAsync(() -> {
             try {
-                Iterable<Participant> participants = this.proxy.findParticipantsByTeam(team);
-                this.tableViewParticipant.getItems().clear();
-                this.tableViewParticipant.getItems().addAll((List<Participant>) participants);
+                if (subscribe) {
+                    this.subscribeToTeam(team);
+                }
+                this.proxy.findParticipantsByTeam(team, 0, SEARCH_CHUNK_SIZE, (chunk, cursor, last) -> Platform.runLater(() -> {
+                    if (search == this.searches.get()) {
+                        this.tableViewParticipant.getItems().addAll(chunk);
+                    }
+                }));
             } catch (ServiceException | AppException e) {
-                Alert alert = new Alert(Alert.AlertType.ERROR);
-                alert.setTitle("Error");
-                alert.setHeaderText("Error while searching the participants!");
-                alert.setContentText(e.getMessage());
-                alert.showAndWait();
+                Platform.runLater(() -> {
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Error");
+                    alert.setHeaderText("Error while searching the participants!");
+                    alert.setContentText(e.getMessage());
+                    alert.showAndWait();
+                });
             }
         });
     }
 
+    private void subscribeToTeam(String team) throws ServiceException, AppException {
+        if (team.equals(this.subscribedTeam)) {
+            return;
+        }
+        if (this.subscribedTeam != null) {
+            this.proxy.unsubscribe(List.of(this.subscribedTeam), List.of(), this);
+        }
+        this.proxy.subscribe(List.of(team), List.of(), this);
+        this.subscribedTeam = team;
+    }
+
     @Override
     public void participantAdded(Participant participant) {
         Platform.runLater(() -> {
@@ -218,16 +278,69 @@ public class UserController implements GUIObserver {
             }
 
             // Incrementing the value of the race in the table.
-            Race oldRace = this.tableViewRace.getItems().filtered(race -> Objects.equals(race.getEngineCapacity(), participant.getEngineCapacity())).getFirst();
-            int index = this.tableViewRace.getItems().indexOf(oldRace);
+            this.incrementRace(participant.getEngineCapacity());
+        });
+    }
 
-            Race newRace = new Race.Builder()
-                    .setId(oldRace.getId())
-                    .setEngineCapacity(oldRace.getEngineCapacity())
-                    .setNoParticipants(oldRace.getNoParticipants() + 1)
-                    .build();
+    private void incrementRace(int engineCapacity) {
+        // The participants of the searched team may be of a race that isn't shown.
+        List<Race> matching = this.tableViewRace.getItems().filtered(race -> Objects.equals(race.getEngineCapacity(), engineCapacity));
+        if (matching.isEmpty()) {
+            return;
+        }
+        Race oldRace = matching.getFirst();
+        int index = this.tableViewRace.getItems().indexOf(oldRace);
+
+        Race newRace = new Race.Builder()
+                .setId(oldRace.getId())
+                .setEngineCapacity(oldRace.getEngineCapacity())
+                .setNoParticipants(oldRace.getNoParticipants() + 1)
+                .build();
+
+        this.tableViewRace.getItems().set(index, newRace);
+    }
+
+    @Override
+    public void participantsAdded(Iterable<Participant> participants, Iterable<Race> races) {
+        // Applying the whole batch in a single update of the UI.
+        Platform.runLater(() -> {
+            String inputTeam = this.textFieldTeam.getText();
+
+            // Older servers don't send the updated races, so the counts are incremented locally.
+            boolean hasRaces = races.iterator().hasNext();
+            for (Participant participant : participants) {
+                if (participant.getTeam().equals(inputTeam)) {
+                    this.tableViewParticipant.getItems().add(participant);
+                }
+                if (!hasRaces) {
+                    this.incrementRace(participant.getEngineCapacity());
+                }
+            }
 
-            this.tableViewRace.getItems().set(index, newRace);
+            // Replacing the races with their updated counts.
+            for (Race race : races) {
+                this.tableViewRace.getItems().replaceAll(oldRace ->
+                        Objects.equals(oldRace.getEngineCapacity(), race.getEngineCapacity()) ? race : oldRace);
+            }
+        });
+    }
+
+    @Override
+    public void resynchronize() {
+        logger.info("Reloading the races and the participants...");
+        // Reloaded in the background, the subscriptions being already restored by the proxy.
+        CompletableFuture.runAsync(() -> {
+            try {
+                List<Race> races = (List<Race>) this.proxy.findAllRaces();
+                Platform.runLater(() -> this.tableViewRace.getItems().setAll(races.stream().filter(this::isShown).toList()));
+            } catch (ServiceException e) {
+                logger.error("Couldn't reload the races: {}", e.getMessage());
+            }
+        });
+        Platform.runLater(() -> {
+            if (this.subscribedTeam != null) {
+                this.loadParticipants(this.subscribedTeam, false);
+            }
         });
     }
 
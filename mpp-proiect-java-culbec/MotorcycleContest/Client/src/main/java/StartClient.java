@@ -1,5 +1,6 @@
 import Controller.LoginController;
 import Controller.UserController;
+import NetworkUtils.FrameCompressor;
 import NetworkUtils.ProtobufProxy;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
@@ -10,7 +11,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 
 //TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
 // click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
@@ -47,7 +51,39 @@ public class StartClient extends Application {
         }
         System.out.println("Connecting to the server on " + hostname + ":" + port);
 
-        ProtobufProxy proxy = new ProtobufProxy(hostname, port);
+        // Keeping the races in memory, updated from the added participants pushed by the server.
+        boolean cacheRaces = Boolean.parseBoolean(properties.getProperty("client.cache.races", "false"));
+        ProtobufProxy proxy = new ProtobufProxy(hostname, port, cacheRaces);
+        try {
+            proxy.setCallTimeout(Integer.parseInt(properties.getProperty("client.call.timeout", String.valueOf(ProtobufProxy.DEFAULT_CALL_TIMEOUT))));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid call timeout. Using the default timeout: {}", ProtobufProxy.DEFAULT_CALL_TIMEOUT);
+        }
+        try {
+            proxy.setHeartbeatInterval(Integer.parseInt(properties.getProperty("client.heartbeat.interval", String.valueOf(ProtobufProxy.DEFAULT_HEARTBEAT_INTERVAL))));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid heartbeat interval. Using the default interval: {}", ProtobufProxy.DEFAULT_HEARTBEAT_INTERVAL);
+        }
+        try {
+            proxy.setOverloadRetries(Integer.parseInt(properties.getProperty("client.overload.retries", String.valueOf(ProtobufProxy.DEFAULT_OVERLOAD_RETRIES))));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid number of retries. Using the default: {}", ProtobufProxy.DEFAULT_OVERLOAD_RETRIES);
+        }
+        // Connecting through the Unix domain socket of a server on the same host, skipping the TCP stack.
+        String unixSocket = properties.getProperty("client.unix.socket", "").trim();
+        if (!unixSocket.isEmpty()) {
+            proxy.setUnixSocket(Path.of(unixSocket));
+        }
+        try {
+            proxy.setReconnectAttempts(Integer.parseInt(properties.getProperty("client.reconnect.attempts", String.valueOf(ProtobufProxy.DEFAULT_RECONNECT_ATTEMPTS))));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid number of reconnection attempts. Using the default: {}", ProtobufProxy.DEFAULT_RECONNECT_ATTEMPTS);
+        }
+        try {
+            proxy.setCompressionThreshold(Integer.parseInt(properties.getProperty("client.compression.threshold", String.valueOf(FrameCompressor.DEFAULT_THRESHOLD))));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid compression threshold. Using the default: {}", FrameCompressor.DEFAULT_THRESHOLD);
+        }
 
         FXMLLoader loginLoader = new FXMLLoader(StartClient.class.getResource("/views/login.fxml"));
         Parent loginRoot = loginLoader.load();
@@ -57,6 +93,12 @@ public class StartClient extends Application {
         Parent userRoot = userLoader.load();
         UserController userController = userLoader.getController();
         proxy.setClient(userController);
+        // Showing only the configured races, so the participants of the other ones aren't pushed to the client.
+        try {
+            userController.setShownRaces(parseEngineCapacities(properties.getProperty("client.races", "")));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid engine capacities of the shown races. Showing every race.");
+        }
 
         Stage userStage = new Stage();
         userStage.setScene(new Scene(userRoot));
@@ -72,4 +114,21 @@ public class StartClient extends Application {
 
         logger.traceExit("Initialized the application!");
     }
+
+    /**
+     * Parses a comma separated list of engine capacities.
+     *
+     * @param engineCapacities The engine capacities, as configured.
+     * @return The engine capacities, empty if none are configured.
+     * @throws NumberFormatException If an engine capacity isn't a number.
+     */
+    private static Set<Integer> parseEngineCapacities(String engineCapacities) {
+        Set<Integer> parsed = new HashSet<>();
+        for (String engineCapacity : engineCapacities.split(",")) {
+            if (!engineCapacity.isBlank()) {
+                parsed.add(Integer.parseInt(engineCapacity.trim()));
+            }
+        }
+        return parsed;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package CommonUtils;
+
+import Model.Race;
+import Model.User;
+
+import java.util.List;
+
+/**
+ * Everything a client shows right after logging in, received together instead of requested one by one.
+ *
+ * @param user             The user that logged in.
+ * @param races            All the races, with their number of participants.
+ * @param engineCapacities The engine capacities of the races.
+ */
+public record Bootstrap(User user, List<Race> races, List<Integer> engineCapacities) {
+}
@@ -0,0 +1,17 @@
+package CommonUtils;
+
+import Exceptions.AppException;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface ChunkConsumer<T> {
+    /**
+     * Receives the next chunk of a streamed result.
+     * @param chunk The items of the chunk, in order.
+     * @param cursor The number of items received so far, including this chunk.
+     * @param last Whether this is the final chunk of the result.
+     * @throws AppException If the consumer encountered a problem in handling the chunk.
+     */
+    void accept(List<T> chunk, long cursor, boolean last) throws AppException;
+}
@@ -5,4 +5,10 @@ public interface GUIObserver extends Observer {
      * Shuts down the GUI if requested.
      */
     void shutdownGUI();
+
+    /**
+     * Reloads everything shown, after reconnecting to a server that couldn't replay the missed updates.
+     */
+    default void resynchronize() {
+    }
 }
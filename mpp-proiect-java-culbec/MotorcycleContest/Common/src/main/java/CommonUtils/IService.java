@@ -6,6 +6,9 @@ import Model.Participant;
 import Model.Race;
 import Model.User;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public interface IService {
     /**
      * Finds all participants from a given team.
@@ -16,6 +19,29 @@ public interface IService {
      */
     Iterable<Participant> findParticipantsByTeam(String team) throws ServiceException, AppException;
 
+    /**
+     * Finds all participants from a given team, handing them over in chunks as they are read.
+     * The final chunk is always delivered, even if it is empty.
+     *
+     * @param team      The team to search for.
+     * @param cursor    The number of participants to skip, already received from an interrupted search.
+     * @param chunkSize The maximum number of participants in a chunk.
+     * @param consumer  Receives the chunks, in order.
+     * @throws ServiceException If the team doesn't exist.
+     */
+    default void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) throws ServiceException, AppException {
+        List<Participant> participants = new ArrayList<>();
+        this.findParticipantsByTeam(team).forEach(participants::add);
+
+        long sent = Math.min(cursor, participants.size());
+        do {
+            int end = (int) Math.min(sent + Math.max(chunkSize, 1), participants.size());
+            List<Participant> chunk = participants.subList((int) sent, end);
+            sent = end;
+            consumer.accept(chunk, sent, sent == participants.size());
+        } while (sent < participants.size());
+    }
+
     /**
      * Adds a participant to the contest.
      *
@@ -55,10 +81,81 @@ public interface IService {
      */
     User login(String username, String password, Observer client) throws ServiceException, AppException;
 
+    /**
+     * Logins a user into the app and finds everything shown right after logging in.
+     *
+     * @param username Username passed by the user.
+     * @param password Password passed by the user.
+     * @param client Client that requested the login.
+     * @return The user with the passed credentials, with all the races and their engine capacities.
+     * @throws ServiceException If the user doesn't exist, the password is incorrect or the races couldn't be found.
+     */
+    default Bootstrap bootstrap(String username, String password, Observer client) throws ServiceException, AppException {
+        User user = this.login(username, password, client);
+
+        List<Race> races = new ArrayList<>();
+        this.findAllRaces().forEach(races::add);
+        List<Integer> engineCapacities = new ArrayList<>();
+        this.findAllRaceEngineCapacities().forEach(engineCapacities::add);
+        return new Bootstrap(user, races, engineCapacities);
+    }
+
+    /**
+     * Logs in again a user whose session is vouched for by the server, without checking its password.
+     *
+     * @param user   The user of the session.
+     * @param client Client that requested the login.
+     * @return The user logged in.
+     * @throws ServiceException If the user is already logged in, or the sessions can't be resumed.
+     */
+    default User resumeSession(User user, Observer client) throws ServiceException, AppException {
+        throw new ServiceException("The sessions can't be resumed!");
+    }
+
     /**
      * Logs out a user from the app.
      * @param user User to be logged out.
      * @param client Client that requested the logout;
      */
     void logout(User user, Observer client) throws ServiceException, AppException;
+
+    /**
+     * Subscribes a client to the participants added to the given teams or races.
+     * Until its first subscription, a client is notified of every added participant.
+     *
+     * @param teams            Teams of interest.
+     * @param engineCapacities Engine capacities of the races of interest.
+     * @param client           Client that requested the subscription.
+     * @throws ServiceException If the client is not logged in.
+     */
+    void subscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException, AppException;
+
+    /**
+     * Unsubscribes a client from the participants added to the given teams or races.
+     *
+     * @param teams            Teams no longer of interest.
+     * @param engineCapacities Engine capacities of the races no longer of interest.
+     * @param client           Client that requested the unsubscription.
+     * @throws ServiceException If the client is not logged in.
+     */
+    void unsubscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException, AppException;
+
+    /**
+     * Resumes the updates of a client logged in again after losing its connection: it is subscribed to its topics again,
+     * and receives the participants of its topics added since its last update, if they are still known.
+     *
+     * @param epoch            The epoch of the server that sent the last update of the client, 0 if it received none.
+     * @param sequence         The sequence number of the last update of the client.
+     * @param teams            Teams the client was subscribed to.
+     * @param engineCapacities Engine capacities of the races the client was subscribed to.
+     * @param client           Client that requested the resumption.
+     * @return The missed participants, or a snapshot if they are no longer known.
+     * @throws ServiceException If the client is not logged in.
+     */
+    default Resumption resume(long epoch, long sequence, Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException, AppException {
+        if (teams.iterator().hasNext() || engineCapacities.iterator().hasNext()) {
+            this.subscribe(teams, engineCapacities, client);
+        }
+        return new Resumption(0, 0, true, List.of());
+    }
 }
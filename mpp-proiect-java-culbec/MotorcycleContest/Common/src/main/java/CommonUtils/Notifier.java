@@ -0,0 +1,28 @@
+package CommonUtils;
+
+import Exceptions.AppException;
+import Model.Participant;
+import Model.Race;
+
+import java.util.Collection;
+
+public interface Notifier {
+    /**
+     * Notifies the given clients that a new participant was added.
+     * @param participant Participant that was added.
+     * @param sequence The sequence number of the addition.
+     * @param clients Clients to notify.
+     * @throws AppException If the notification couldn't be sent.
+     */
+    void participantAdded(Participant participant, long sequence, Collection<Observer> clients) throws AppException;
+
+    /**
+     * Notifies the given clients that a batch of participants was added.
+     * @param participants Participants that were added.
+     * @param races The races, with their updated number of participants.
+     * @param sequence The sequence number of the last addition of the batch.
+     * @param clients Clients to notify.
+     * @throws AppException If the notification couldn't be sent.
+     */
+    void participantsAdded(Iterable<Participant> participants, Iterable<Race> races, long sequence, Collection<Observer> clients) throws AppException;
+}
@@ -2,6 +2,7 @@ package CommonUtils;
 
 import Exceptions.AppException;
 import Model.Participant;
+import Model.Race;
 
 public interface Observer {
     /**
@@ -10,4 +11,16 @@ public interface Observer {
      * @throws AppException If the observer encountered a problem in updating itself.
      */
     void participantAdded(Participant participant) throws AppException;
+
+    /**
+     * Notifies the observer that a batch of participants was added.
+     * @param participants Participants that were added, in the order they were added.
+     * @param races The races, with their updated number of participants. Empty if they couldn't be found.
+     * @throws AppException If the observer encountered a problem in updating itself.
+     */
+    default void participantsAdded(Iterable<Participant> participants, Iterable<Race> races) throws AppException {
+        for (Participant participant : participants) {
+            this.participantAdded(participant);
+        }
+    }
 }
@@ -0,0 +1,16 @@
+package CommonUtils;
+
+import Model.Participant;
+
+import java.util.List;
+
+/**
+ * The outcome of resuming the updates of a client that reconnected.
+ *
+ * @param epoch    The epoch of the server, changed by every restart.
+ * @param sequence The sequence number of the last update, covered by the missed participants or by the snapshot.
+ * @param snapshot Whether the missed updates couldn't be replayed, so the client must reload everything.
+ * @param missed   The participants added since the last update of the client, of its topics. Empty for a snapshot.
+ */
+public record Resumption(long epoch, long sequence, boolean snapshot, List<Participant> missed) {
+}
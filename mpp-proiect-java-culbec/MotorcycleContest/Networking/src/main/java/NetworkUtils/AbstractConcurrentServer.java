@@ -1,19 +1,131 @@
 package NetworkUtils;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
 public abstract class AbstractConcurrentServer extends AbstractServer {
+    private final boolean virtualThreads;
+    private ServerSocket server = null;
+    private ServerSocketChannel unixServer = null;
+
     public AbstractConcurrentServer(String hostname, int port) {
+        this(hostname, port, false);
+    }
+
+    /**
+     * @param virtualThreads Whether the workers run on virtual threads instead of platform threads.
+     */
+    public AbstractConcurrentServer(String hostname, int port, boolean virtualThreads) {
         super(hostname, port);
+        this.virtualThreads = virtualThreads;
     }
 
     @Override
-    protected void processRequest(Socket client) throws ServerException {
-        logger.traceEntry("Processing the request of the client at: {}", client.getInetAddress());
+    public void start() throws ServerException {
+        logger.traceEntry("Starting the server...");
+        try {
+            // Creating a server socket.
+            InetSocketAddress address = this.getAddress();
+            this.server = new ServerSocket(address.getPort(), DEFAULT_BACKLOG, address.getAddress());
+
+            // Notifying the clients when the server is shut down, from one hook for all the workers.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    this.stop();
+                } catch (ServerException e) {
+                    logger.error("Error when stopping the server: {}", e.getMessage());
+                }
+            }));
+
+            logger.info("Server started on port: {}", address.getPort());
+            if (this.getUnixSocket() != null) {
+                this.unixServer = this.openUnixChannel();
+                Thread.ofVirtual().name("unix-acceptor").start(this::acceptUnixClients);
+            }
+            this.getReaper().start();
+
+            // Accepting clients indefinitely.
+            while (true) {
+                Socket client = server.accept();
+                logger.info("Client connected: {}", client.getInetAddress());
+
+                logger.info("Processing the request...");
+                this.processRequest(Connection.of(client));
+            }
+        } catch (IOException e) {
+            logger.error("Couldn't start the server: {}", e.getMessage());
+            throw new ServerException(e.getMessage());
+        } finally {
+            // Stopping the server after crashing or after explicitly stopping it.
+            this.stop();
+        }
+    }
+
+    @Override
+    public void stop() throws ServerException {
+        logger.traceEntry("Stopping the server...");
+        this.getReaper().stop();
+        this.getReaper().closeAll();
+        try {
+            // Closing the server socket.
+            if (this.server != null) {
+                this.server.close();
+            }
+            this.closeUnixChannel(this.unixServer);
+            this.unixServer = null;
+        } catch (IOException e) {
+            logger.error("Couldn't stop the server: {}", e.getMessage());
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts the clients of the Unix domain socket until it is closed. Runs beside the accepting loop of TCP.
+     */
+    private void acceptUnixClients() {
+        ServerSocketChannel channel = this.unixServer;
+        while (channel.isOpen()) {
+            try {
+                SocketChannel client = channel.accept();
+                logger.info("Local client connected on: {}", this.getUnixSocket());
+                this.processRequest(Connection.of(client));
+            } catch (ServerException e) {
+                logger.error("Couldn't serve the local client: {}", e.getMessage());
+            } catch (IOException e) {
+                logger.info("Stopped accepting the local clients: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Processes a request of a client.
+     * @param client Client that sent the request.
+     * @throws ServerException If the server encountered a problem on processing the request.
+     */
+    protected void processRequest(Connection client) throws ServerException {
+        logger.traceEntry("Processing the request of the client at: {}", client.getPeer());
+
+        // Refusing the client before creating its worker, if the server is at its capacity.
+        if (!this.getAdmission().tryAdmitConnection()) {
+            this.getAdmission().reject(client);
+            logger.traceExit();
+            return;
+        }
 
         // Creating a thread that will server the client.
         logger.info("Creating a new worker for the client...");
-        Thread worker = createWorker(client);
+        Thread worker;
+        try {
+            worker = createWorker(client);
+        } catch (ServerException e) {
+            this.getAdmission().releaseConnection();
+            throw e;
+        }
 
         // Starting the worker.
         logger.info("Starting the worker...");
@@ -22,10 +134,32 @@ public abstract class AbstractConcurrentServer extends AbstractServer {
         logger.traceExit();
     }
 
+    /**
+     * Creates the thread on which a worker will serve its client.
+     * Virtual threads are unmounted from their carrier while blocked on the socket,
+     * so idle clients don't cost a platform thread each.
+     * The connection is released from the admission controller when the worker finishes.
+     * @param worker The worker to run.
+     * @return The unstarted thread of the worker.
+     */
+    protected Thread newWorkerThread(Runnable worker) {
+        Runnable admitted = () -> {
+            try {
+                worker.run();
+            } finally {
+                this.getAdmission().releaseConnection();
+            }
+        };
+        if (virtualThreads) {
+            return Thread.ofVirtual().name("worker-virtual").unstarted(admitted);
+        }
+        return new Thread(admitted);
+    }
+
     /**
      * Creates a new worker for the client to concurrently process the request.
      * @param client The client to create the worker for.
      * @return The worker for the client.
      */
-    protected abstract Thread createWorker(Socket client) throws ServerException;
+    protected abstract Thread createWorker(Connection client) throws ServerException;
 }
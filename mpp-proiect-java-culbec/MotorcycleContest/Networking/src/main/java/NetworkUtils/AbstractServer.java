@@ -5,17 +5,31 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.net.Inet4Address;
-import java.net.InetAddress;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public abstract class AbstractServer {
     protected final Logger logger;
-    private static final int DEFAULT_BACKLOG = 10;
+    // Large enough for a burst of reconnections to be accepted and refused quickly, instead of timing out in the kernel.
+    protected static final int DEFAULT_BACKLOG = 128;
 
     private final String hostname;
     private final int port;
-    private ServerSocket server = null;
+    // Tracks the connections, closing the idle ones if it has an idle timeout.
+    private ConnectionReaper reaper = new ConnectionReaper(0);
+    // Caps the connections and the requests in flight.
+    private AdmissionController admission = AdmissionController.unlimited();
+    // The Unix domain socket listened on besides the TCP port, null to listen on TCP only.
+    private Path unixSocket = null;
+    // The size of the smallest frame compressed for the clients negotiating compression, 0 if the frames stay raw.
+    private int compressionThreshold = 0;
+    // Lets the clients log in again with the token of their session, null if they always send their password.
+    private SessionStore sessionStore = null;
 
     public AbstractServer(String hostname, int port) {
         this.hostname = hostname;
@@ -23,55 +37,120 @@ public abstract class AbstractServer {
         this.logger = LogManager.getLogger(this.getClass());
     }
 
+    public String getHostname() {
+        return hostname;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public ConnectionReaper getReaper() {
+        return reaper;
+    }
+
     /**
-     * Processes a request of a client.
-     * @param client Client that sent the request.
-     * @throws ServerException If the server encountered a problem on processing the request.
+     * Sets the reaper of the idle connections. Must be called before starting the server.
+     * @param reaper The reaper of the connections.
      */
-    protected abstract void processRequest(Socket client) throws ServerException;
+    public void setReaper(ConnectionReaper reaper) {
+        this.reaper = reaper;
+    }
+
+    public AdmissionController getAdmission() {
+        return admission;
+    }
 
     /**
-     * Starts the server.
-     * @throws ServerException If the server encountered a problem on starting.
+     * Sets the admission controller of the connections and the requests. Must be called before starting the server.
+     * @param admission The admission controller.
+     */
+    public void setAdmission(AdmissionController admission) {
+        this.admission = admission;
+    }
+
+    public Path getUnixSocket() {
+        return unixSocket;
+    }
+
+    /**
+     * Makes the server listen on a Unix domain socket too, for the clients on the same host,
+     * which then skip the TCP stack. Must be called before starting the server.
+     * @param unixSocket The path of the socket, null to listen on TCP only.
+     */
+    public void setUnixSocket(Path unixSocket) {
+        this.unixSocket = unixSocket;
+    }
+
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    /**
+     * Lets the clients negotiate the compression of the large frames. Must be called before starting the server.
+     * @param compressionThreshold The size of the smallest frame compressed, 0 to keep the frames raw.
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    public SessionStore getSessionStore() {
+        return sessionStore;
+    }
+
+    /**
+     * Issues a session token to every client logging in, so it can reconnect without its password.
+     * Must be called before starting the server.
+     * @param sessionStore The sessions of the logged in users, null to issue no tokens.
+     */
+    public void setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    /**
+     * Opens the Unix domain socket of the server, replacing the file left by a previous run.
+     * @return The channel listening on the socket, in blocking mode.
+     * @throws IOException If the socket couldn't be bound.
+     */
+    protected ServerSocketChannel openUnixChannel() throws IOException {
+        Files.deleteIfExists(this.unixSocket);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(this.unixSocket), DEFAULT_BACKLOG);
+        logger.info("Server listening on the Unix domain socket: {}", this.unixSocket);
+        return channel;
+    }
+
+    /**
+     * Closes the Unix domain socket of the server and removes its file.
+     * @param channel The channel listening on the socket, null if it wasn't opened.
+     * @throws IOException If the socket couldn't be closed.
      */
-    public void start() throws ServerException {
-        logger.traceEntry("Starting the server...");
-        try {
-            // Creating a server socket.
-            InetAddress address = Inet4Address.getByName(this.hostname);
-            this.server = new ServerSocket(port, DEFAULT_BACKLOG, address);
-
-            logger.info("Server started on port: {}", port);
-
-            // Accepting clients indefinitely.
-            while (true) {
-                Socket client = server.accept();
-                logger.info("Client connected: {}", client.getInetAddress());
-
-                logger.info("Processing the request...");
-                this.processRequest(client);
-            }
-        } catch (IOException e) {
-            logger.error("Couldn't start the server: {}", e.getMessage());
-            throw new ServerException(e.getMessage());
-        } finally {
-            // Stopping the server after crashing or after explicitly stopping it.
-            this.stop();
+    protected void closeUnixChannel(ServerSocketChannel channel) throws IOException {
+        if (channel == null) {
+            return;
         }
+        channel.close();
+        Files.deleteIfExists(this.unixSocket);
+    }
+
+    /**
+     * Resolves the address on which the server will listen.
+     * @return The address of the server.
+     * @throws UnknownHostException If the hostname couldn't be resolved.
+     */
+    protected InetSocketAddress getAddress() throws UnknownHostException {
+        return new InetSocketAddress(Inet4Address.getByName(this.hostname), this.port);
     }
 
+    /**
+     * Starts the server.
+     * @throws ServerException If the server encountered a problem on starting.
+     */
+    public abstract void start() throws ServerException;
+
     /**
      * Stops the server.
      * @throws ServerException If the server encountered a problem on stopping.
      */
-    public void stop() throws ServerException {
-        logger.traceEntry("Stopping the server...");
-        try {
-            // Closing the server socket.
-            this.server.close();
-        } catch (IOException e) {
-            logger.error("Couldn't stop the server: {}", e.getMessage());
-            throw new ServerException(e.getMessage());
-        }
-    }
+    public abstract void stop() throws ServerException;
 }
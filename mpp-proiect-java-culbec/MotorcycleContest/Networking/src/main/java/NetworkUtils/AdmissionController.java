@@ -0,0 +1,204 @@
+package NetworkUtils;
+
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the connections and the requests in flight of a server.
+ * Above the caps the work is refused at once with an OVERLOADED response carrying a retry-after hint,
+ * so a burst of clients, like the reconnections after a network blip, doesn't exhaust the threads and the database.
+ */
+public class AdmissionController {
+    public static final int DEFAULT_RETRY_AFTER = 1_000;
+    // Milliseconds a refused connection is given to close its side, before it is closed by the server.
+    private static final int REJECT_LINGER = 1_000;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final int maxConnections;
+    private final int maxInFlight;
+    private final int retryAfter;
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejectedConnections = new AtomicLong();
+    private final AtomicLong rejectedRequests = new AtomicLong();
+
+    /**
+     * @param maxConnections The number of connections served at once, 0 for no limit.
+     * @param maxInFlight    The number of requests handled at once, 0 for no limit.
+     * @param retryAfter     The milliseconds the refused clients are told to wait before retrying.
+     */
+    public AdmissionController(int maxConnections, int maxInFlight, int retryAfter) {
+        this.maxConnections = maxConnections;
+        this.maxInFlight = maxInFlight;
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return A controller admitting everything.
+     */
+    public static AdmissionController unlimited() {
+        return new AdmissionController(0, 0, DEFAULT_RETRY_AFTER);
+    }
+
+    /**
+     * Admits a new connection if the server is below its cap.
+     *
+     * @return true if the connection is admitted and must be released once closed, false otherwise.
+     */
+    public boolean tryAdmitConnection() {
+        if (tryAcquire(connections, maxConnections)) {
+            return true;
+        }
+        rejectedConnections.incrementAndGet();
+        return false;
+    }
+
+    /**
+     * Releases an admitted connection, once it is closed.
+     */
+    public void releaseConnection() {
+        connections.decrementAndGet();
+    }
+
+    /**
+     * Admits a request if the server is below its cap.
+     * The requests releasing resources or costing nothing, LOGOUT, UNSUBSCRIBE, PING and HELLO, are always admitted.
+     *
+     * @param request The request to admit.
+     * @return true if the request is admitted and must be released once handled, false otherwise.
+     */
+    public boolean tryAdmitRequest(NetworkProtos.Request request) {
+        switch (request.getRequestType()) {
+            case LOGOUT, UNSUBSCRIBE, PING, HELLO -> {
+                inFlight.incrementAndGet();
+                return true;
+            }
+            default -> {
+                if (tryAcquire(inFlight, maxInFlight)) {
+                    return true;
+                }
+                rejectedRequests.incrementAndGet();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Releases an admitted request, once it is handled or skipped.
+     */
+    public void releaseRequest() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Creates the answer of a refused request.
+     *
+     * @param request The refused request.
+     * @return The OVERLOADED response, tagged with the id of the request.
+     */
+    public NetworkProtos.Response createOverloadedResponse(NetworkProtos.Request request) {
+        return ProtocolUtils.createOverloadedResponse(retryAfter).toBuilder()
+                .setRequestId(request.getRequestId())
+                .build();
+    }
+
+    /**
+     * Refuses a connection: it is told to retry later and closed, without a worker being created for it.
+     * The connection must be in blocking mode.
+     * Runs on a virtual thread, so the accepting thread moves on at once.
+     *
+     * @param client The connection of the refused client.
+     */
+    public void reject(Connection client) {
+        logger.warn("Too many connections. Refusing the client at: {}", client.getPeer());
+        Thread.ofVirtual().name("connection-rejecter").start(() -> {
+            try (client) {
+                ProtocolUtils.createOverloadedResponse(retryAfter).writeDelimitedTo(client.getOutputStream());
+                client.shutdownOutput();
+
+                // Reading what the client already sent until it closes its side,
+                // as closing with unread data resets the connection and may discard the response.
+                client.configure(REJECT_LINGER);
+                if (!client.hasReadTimeout()) {
+                    // The reads can't time out, so the connection is closed after the linger whatever the client does.
+                    Thread.ofVirtual().name("connection-rejecter").start(() -> closeAfter(client, REJECT_LINGER));
+                }
+                InputStream input = client.getInputStream();
+                byte[] discarded = new byte[512];
+                while (input.read(discarded) != -1) {
+                    // Discarding the requests of the refused client.
+                }
+            } catch (IOException e) {
+                logger.info("Closed the refused connection: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * @return The milliseconds the refused clients are told to wait before retrying.
+     */
+    public int getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * @return The number of connections currently admitted.
+     */
+    public int getConnections() {
+        return connections.get();
+    }
+
+    /**
+     * @return The number of requests currently in flight.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The number of connections refused.
+     */
+    public long getRejectedConnections() {
+        return rejectedConnections.get();
+    }
+
+    /**
+     * @return The number of requests refused.
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests.get();
+    }
+
+    private void closeAfter(Connection client, long delay) {
+        try {
+            Thread.sleep(delay);
+            client.close();
+        } catch (InterruptedException | IOException e) {
+            logger.info("Closed the refused connection: {}", e.getMessage());
+        }
+    }
+
+    private static boolean tryAcquire(AtomicInteger counter, int max) {
+        if (max <= 0) {
+            counter.incrementAndGet();
+            return true;
+        }
+        int current;
+        do {
+            current = counter.get();
+            if (current >= max) {
+                return false;
+            }
+        } while (!counter.compareAndSet(current, current + 1));
+        return true;
+    }
+}
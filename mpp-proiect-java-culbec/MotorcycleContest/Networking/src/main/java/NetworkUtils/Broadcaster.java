@@ -0,0 +1,343 @@
+package NetworkUtils;
+
+import CommonUtils.Notifier;
+import CommonUtils.Observer;
+import Exceptions.AppException;
+import Model.Participant;
+import Model.Race;
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Fans the updates of the server out to the subscribed clients.
+ * Every update is encoded once into a shared frame, which is queued for every recipient
+ * and written asynchronously, so a slow client never holds up the one publishing the update.
+ * A subscriber with a bounded queue of its own is handed the frames at once instead, so its queue is the only one
+ * of the client and its overflow policy decides what happens when the client falls behind.
+ * The clients speaking the same protocol version share the same frame, and the ones that negotiated compression
+ * share a compressed frame of the large updates, each encoded once too.
+ */
+public class Broadcaster implements Notifier {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final int queueCapacity;
+    private final Map<Observer, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    // Compresses the large updates for the clients that negotiated compression.
+    private final FrameCompressor compressor = new FrameCompressor(FrameCompressor.DEFAULT_THRESHOLD);
+    private ScheduledExecutorService reporter = null;
+
+    /**
+     * @param queueCapacity The number of updates queued for a subscriber before new ones are dropped.
+     */
+    public Broadcaster(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Destination of the frames of a subscription.
+     */
+    @FunctionalInterface
+    public interface Subscriber {
+        /**
+         * Writes an encoded, length delimited frame to the client.
+         *
+         * @param frame The frame to write. It is shared with the other subscribers and must not be modified.
+         * @throws IOException If the frame couldn't be written.
+         */
+        void sendFrame(ByteBuffer frame) throws IOException;
+    }
+
+    /**
+     * Subscribes a client to the updates.
+     *
+     * @param client     The client, as known by the service.
+     * @param subscriber The destination of the updates.
+     * @return The subscription of the client.
+     */
+    public Subscription subscribe(Observer client, Subscriber subscriber) {
+        return this.subscribe(client, subscriber, 0, ProtocolUtils.VERSION_1);
+    }
+
+    /**
+     * Subscribes a client to the updates, encoded in its protocol version and with the large ones compressed.
+     *
+     * @param client               The client, as known by the service.
+     * @param subscriber           The destination of the updates.
+     * @param compressionThreshold The size of the smallest update compressed for the client, 0 if it reads only raw frames.
+     * @param protocolVersion      The protocol version of the client.
+     * @return The subscription of the client.
+     */
+    public Subscription subscribe(Observer client, Subscriber subscriber, int compressionThreshold, int protocolVersion) {
+        return this.subscribe(client, subscriber, compressionThreshold, protocolVersion, false);
+    }
+
+    /**
+     * Subscribes a client to the updates, encoded in its protocol version and with the large ones compressed.
+     *
+     * @param client               The client, as known by the service.
+     * @param subscriber           The destination of the updates.
+     * @param compressionThreshold The size of the smallest update compressed for the client, 0 if it reads only raw frames.
+     * @param protocolVersion      The protocol version of the client.
+     * @param queued               Whether the subscriber queues the frames itself, in a bounded queue that never waits on the socket.
+     *                             Its frames are then handed to it by the publisher, which waits only if the subscriber makes it.
+     * @return The subscription of the client.
+     */
+    public Subscription subscribe(Observer client, Subscriber subscriber, int compressionThreshold, int protocolVersion, boolean queued) {
+        logger.traceEntry("Subscribing a client...");
+        Subscription subscription = new Subscription(client, subscriber, compressionThreshold, protocolVersion, queued);
+        subscriptions.put(client, subscription);
+        logger.traceExit("Subscribed clients: {}", subscriptions.size());
+        return subscription;
+    }
+
+    /**
+     * Unsubscribes a client. The updates still queued for it are discarded.
+     *
+     * @param subscription The subscription of the client.
+     */
+    public void unsubscribe(Subscription subscription) {
+        logger.traceEntry("Unsubscribing a client...");
+        if (subscriptions.remove(subscription.client, subscription) && subscription.queue != null) {
+            subscription.queue.clear();
+        }
+        logger.traceExit("Subscribed clients: {}", subscriptions.size());
+    }
+
+    /**
+     * @return The current subscriptions, for monitoring their lag and dropped updates.
+     */
+    public Collection<Subscription> getSubscriptions() {
+        return Collections.unmodifiableCollection(subscriptions.values());
+    }
+
+    /**
+     * Logs the delivery of the updates periodically, on a thread of its own.
+     *
+     * @param interval The milliseconds between the logs, 0 to never log them.
+     */
+    public void startReporting(long interval) {
+        if (interval <= 0 || reporter != null) {
+            return;
+        }
+
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "broadcaster-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops logging the delivery of the updates.
+     */
+    public void stopReporting() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+        }
+    }
+
+    /**
+     * Logs the updates queued, delivered and dropped for the current subscriptions.
+     */
+    public void report() {
+        int clients = 0;
+        long lag = 0;
+        int maxLag = 0;
+        long delivered = 0;
+        long dropped = 0;
+        for (Subscription subscription : subscriptions.values()) {
+            int current = subscription.getLag();
+            clients++;
+            lag += current;
+            maxLag = Math.max(maxLag, current);
+            delivered += subscription.getDelivered();
+            dropped += subscription.getDropped();
+        }
+        logger.info("Subscribed clients: {}, queued updates: {} (at most {} for a client), delivered updates: {}, dropped updates: {}",
+                clients, lag, maxLag, delivered, dropped);
+    }
+
+    /**
+     * Encodes the update once and queues it for the given clients.
+     *
+     * @param update  The update to publish, the same in every protocol version.
+     * @param clients The clients to send the update to. The ones not subscribed are skipped.
+     * @throws AppException If the update couldn't be encoded.
+     */
+    public void publish(NetworkProtos.Response update, Collection<Observer> clients) throws AppException {
+        this.publish(update.getResponseType(), version -> update, clients);
+    }
+
+    /**
+     * Encodes the update once for every protocol version and compression of the clients, and queues it for them.
+     *
+     * @param type    The type of the update, for logging.
+     * @param encoder Encodes the update in a protocol version.
+     * @param clients The clients to send the update to. The ones not subscribed are skipped.
+     * @throws AppException If the update couldn't be encoded.
+     */
+    private void publish(NetworkProtos.Response.type type, IntFunction<NetworkProtos.Response> encoder, Collection<Observer> clients) throws AppException {
+        logger.traceEntry("Publishing the update: {}", type.name());
+
+        // The payloads and the frames of the update, by protocol version, encoded on the first client reading them.
+        byte[][] payloads = new byte[ProtocolUtils.PROTOCOL_VERSION + 1][];
+        ByteBuffer[] rawFrames = new ByteBuffer[ProtocolUtils.PROTOCOL_VERSION + 1];
+        ByteBuffer[] compressedFrames = new ByteBuffer[ProtocolUtils.PROTOCOL_VERSION + 1];
+        try {
+            for (Observer client : clients) {
+                Subscription subscription = subscriptions.get(client);
+                if (subscription == null) {
+                    continue;
+                }
+
+                int version = subscription.protocolVersion;
+                if (payloads[version] == null) {
+                    payloads[version] = encoder.apply(version).toByteArray();
+                }
+                byte[] payload = payloads[version];
+                if (subscription.compressionThreshold > 0 && payload.length >= subscription.compressionThreshold) {
+                    if (compressedFrames[version] == null) {
+                        compressedFrames[version] = FrameCompressor.createFrame(compressor.deflate(payload));
+                    }
+                    subscription.offer(compressedFrames[version]);
+                } else {
+                    if (rawFrames[version] == null) {
+                        rawFrames[version] = FrameCompressor.createFrame(payload);
+                    }
+                    subscription.offer(rawFrames[version]);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Error when encoding the update: {}", e.getMessage());
+            throw new AppException("Error when encoding the update: " + e.getMessage());
+        }
+        logger.traceExit("Update queued for {} clients.", clients.size());
+    }
+
+    @Override
+    public void participantAdded(Participant participant, long sequence, Collection<Observer> clients) throws AppException {
+        logger.traceEntry("Broadcasting the added participant: {}", participant);
+        this.publish(NetworkProtos.Response.type.PARTICIPANT_ADDED, version ->
+                ProtocolUtils.createParticipantAddedResponse(participant, version).toBuilder().setSequence(sequence).build(), clients);
+    }
+
+    @Override
+    public void participantsAdded(Iterable<Participant> participants, Iterable<Race> races, long sequence, Collection<Observer> clients) throws AppException {
+        logger.traceEntry("Broadcasting a batch of added participants...");
+        this.publish(NetworkProtos.Response.type.PARTICIPANTS_ADDED, version ->
+                ProtocolUtils.createParticipantsAddedResponse(participants, races, version).toBuilder().setSequence(sequence).build(), clients);
+    }
+
+    /**
+     * Subscription of a client, with its own bounded queue of updates, unless its subscriber queues them.
+     */
+    public class Subscription {
+        private final Observer client;
+        private final Subscriber subscriber;
+        private final int compressionThreshold;
+        private final int protocolVersion;
+        // Null if the subscriber queues the updates itself.
+        private final BlockingQueue<ByteBuffer> queue;
+        // Whether a task writing the queued updates of this subscription is running.
+        private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+        private final AtomicLong delivered = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Subscription(Observer client, Subscriber subscriber, int compressionThreshold, int protocolVersion, boolean queued) {
+            this.client = client;
+            this.subscriber = subscriber;
+            this.compressionThreshold = compressionThreshold;
+            this.protocolVersion = protocolVersion;
+            this.queue = queued ? null : new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        /**
+         * @return The number of updates queued by the broadcaster, but not yet handed to the subscriber.
+         * Always 0 if the subscriber queues the updates itself.
+         */
+        public int getLag() {
+            return queue == null ? 0 : queue.size();
+        }
+
+        /**
+         * @return The number of updates written to the client.
+         */
+        public long getDelivered() {
+            return delivered.get();
+        }
+
+        /**
+         * @return The number of updates dropped because the queue was full or the write failed.
+         */
+        public long getDropped() {
+            return dropped.get();
+        }
+
+        private void offer(ByteBuffer frame) {
+            if (queue == null) {
+                // The subscriber applies its own overflow policy, possibly making the publisher wait.
+                this.send(frame);
+                return;
+            }
+            if (!queue.offer(frame)) {
+                logger.warn("The client is lagging behind. Dropping the update.");
+                dropped.incrementAndGet();
+                return;
+            }
+            this.schedule();
+        }
+
+        private void schedule() {
+            if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            writers.execute(this::drain);
+        }
+
+        /**
+         * Writes the queued updates in order. At most one task drains a subscription at a time.
+         */
+        private void drain() {
+            ByteBuffer frame;
+            while ((frame = queue.poll()) != null) {
+                this.send(frame);
+            }
+
+            scheduled.set(false);
+            // Updates that arrived after the queue was found empty.
+            this.schedule();
+        }
+
+        private void send(ByteBuffer frame) {
+            try {
+                subscriber.sendFrame(frame.duplicate());
+                delivered.incrementAndGet();
+            } catch (IOException e) {
+                logger.error("Error when sending the update: {}", e.getMessage());
+                dropped.incrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package NetworkUtils;
+
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import Workers.AbstractRPCWorker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * State of a client connected to the {@link ProtobufNioServer}: the channel, the partially decoded
+ * inbound frame, the requests waiting to be handled and the frames waiting to be written.
+ */
+public class ChannelSession {
+    private final ProtobufNioServer server;
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final FrameDecoder decoder;
+
+    private final Queue<PendingRequest> requests = new ConcurrentLinkedQueue<>();
+    private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    // Whether a task draining the requests of this session is scheduled on the worker pool.
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    private AbstractRPCWorker worker;
+    private volatile boolean closeAfterFlush = false;
+    // Compresses the large responses and restores the compressed requests, null while the frames are raw.
+    private volatile FrameCompressor compressor;
+
+    /**
+     * A request waiting to be handled.
+     *
+     * @param request    The request.
+     * @param receivedAt The time the request was received, as given by {@link System#nanoTime()}.
+     */
+    record PendingRequest(NetworkProtos.Request request, long receivedAt) {
+    }
+
+    ChannelSession(ProtobufNioServer server, SocketChannel channel, SelectionKey key, int maxFrameSize) {
+        this.server = server;
+        this.channel = channel;
+        this.key = key;
+        this.decoder = new FrameDecoder(maxFrameSize);
+    }
+
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    SelectionKey getKey() {
+        return key;
+    }
+
+    FrameDecoder getDecoder() {
+        return decoder;
+    }
+
+    Queue<PendingRequest> getRequests() {
+        return requests;
+    }
+
+    Queue<ByteBuffer> getOutbound() {
+        return outbound;
+    }
+
+    AtomicBoolean getScheduled() {
+        return scheduled;
+    }
+
+    AbstractRPCWorker getWorker() {
+        return worker;
+    }
+
+    void setWorker(AbstractRPCWorker worker) {
+        this.worker = worker;
+    }
+
+    FrameCompressor getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * Compresses the large responses queued from now on, and restores the compressed requests.
+     *
+     * @param compressor The compressor of the frames.
+     */
+    public void setCompressor(FrameCompressor compressor) {
+        this.compressor = compressor;
+    }
+
+    boolean isCloseAfterFlush() {
+        return closeAfterFlush;
+    }
+
+    /**
+     * Queues a response to be written to the client by the selector thread.
+     *
+     * @param response The response to write.
+     * @throws IOException If the response couldn't be encoded.
+     */
+    public void write(NetworkProtos.Response response) throws IOException {
+        FrameCompressor current = this.compressor;
+        if (current == null || response.getSerializedSize() < current.getThreshold()) {
+            this.writeFrame(ProtocolUtils.createFrame(response));
+            return;
+        }
+        this.writeFrame(FrameCompressor.createFrame(current.compress(response.toByteArray())));
+    }
+
+    /**
+     * Queues an encoded frame to be written to the client by the selector thread.
+     *
+     * @param frame The frame to write, owned by the session from now on.
+     */
+    public void writeFrame(ByteBuffer frame) {
+        outbound.add(frame);
+        server.requestWrite(this);
+    }
+
+    /**
+     * Closes the session once every queued response has been written.
+     */
+    public void closeAfterFlush() {
+        this.closeAfterFlush = true;
+        server.requestWrite(this);
+    }
+
+    /**
+     * Closes the session immediately.
+     */
+    public void close() {
+        server.closeSession(this);
+    }
+}
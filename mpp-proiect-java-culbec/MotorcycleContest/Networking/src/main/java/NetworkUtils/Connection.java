@@ -0,0 +1,186 @@
+package NetworkUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+
+/**
+ * A connection between a client and the server, over TCP or over a Unix domain socket.
+ * The clients on the same host as the server can use the Unix domain socket, skipping the TCP stack.
+ * The frames are read and written through the streams of the connection, by different threads at once.
+ */
+public abstract class Connection implements Closeable {
+    /**
+     * @param socket A connected TCP socket.
+     * @return The connection over the socket.
+     */
+    public static Connection of(Socket socket) {
+        return new TcpConnection(socket);
+    }
+
+    /**
+     * @param channel A connected socket channel, in blocking mode.
+     * @return The connection over the channel.
+     */
+    public static Connection of(SocketChannel channel) {
+        return new ChannelConnection(channel);
+    }
+
+    /**
+     * Connects to the server listening on a Unix domain socket.
+     *
+     * @param path The path of the socket.
+     * @return The connection to the server.
+     * @throws IOException If the server couldn't be reached.
+     */
+    public static Connection connect(Path path) throws IOException {
+        return new ChannelConnection(SocketChannel.open(UnixDomainSocketAddress.of(path)));
+    }
+
+    public abstract InputStream getInputStream() throws IOException;
+
+    public abstract OutputStream getOutputStream() throws IOException;
+
+    /**
+     * Prepares the connection for the frames: every frame is sent at once, and a vanished peer is detected
+     * where the transport allows it.
+     *
+     * @param readTimeout The milliseconds a read waits for data before raising a SocketTimeoutException,
+     *                    0 to wait indefinitely. Ignored if the transport has no read timeouts.
+     * @throws IOException If the connection couldn't be configured.
+     */
+    public abstract void configure(int readTimeout) throws IOException;
+
+    /**
+     * @return Whether the reads time out as configured. The reads of the Unix domain sockets wait until data arrives.
+     */
+    public abstract boolean hasReadTimeout();
+
+    /**
+     * Closes the sending side of the connection, so the peer reads the end of the stream.
+     *
+     * @throws IOException If the sending side couldn't be closed.
+     */
+    public abstract void shutdownOutput() throws IOException;
+
+    /**
+     * @return A description of the peer, for logging.
+     */
+    public abstract String getPeer();
+
+    private static class TcpConnection extends Connection {
+        private final Socket socket;
+
+        private TcpConnection(Socket socket) {
+            this.socket = socket;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return socket.getInputStream();
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            return socket.getOutputStream();
+        }
+
+        @Override
+        public void configure(int readTimeout) throws IOException {
+            // Every frame is written at once, so it doesn't have to wait for the previous one to be acknowledged.
+            socket.setTcpNoDelay(true);
+            // Letting the system probe the idle connection, so a vanished peer is detected.
+            socket.setKeepAlive(true);
+            socket.setSoTimeout(readTimeout);
+        }
+
+        @Override
+        public boolean hasReadTimeout() {
+            return true;
+        }
+
+        @Override
+        public void shutdownOutput() throws IOException {
+            socket.shutdownOutput();
+        }
+
+        @Override
+        public String getPeer() {
+            return String.valueOf(socket.getInetAddress());
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static class ChannelConnection extends Connection {
+        private final SocketChannel channel;
+        // The streams of a socket channel support a read and a write at once, unlike the generic channel streams.
+        private final InputStream inputStream;
+        private final OutputStream outputStream;
+
+        private ChannelConnection(SocketChannel channel) {
+            this.channel = channel;
+            this.inputStream = Channels.newInputStream(channel);
+            this.outputStream = Channels.newOutputStream(channel);
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return inputStream;
+        }
+
+        @Override
+        public OutputStream getOutputStream() {
+            return outputStream;
+        }
+
+        @Override
+        public void configure(int readTimeout) throws IOException {
+            // The channels have no read timeout, and the Unix domain sockets have no delayed segments to disable.
+            if (channel.supportedOptions().contains(StandardSocketOptions.TCP_NODELAY)) {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+            }
+        }
+
+        @Override
+        public boolean hasReadTimeout() {
+            return false;
+        }
+
+        @Override
+        public void shutdownOutput() throws IOException {
+            channel.shutdownOutput();
+        }
+
+        @Override
+        public String getPeer() {
+            try {
+                SocketAddress peer = channel.getRemoteAddress();
+                // The clients of a Unix domain socket are unnamed, so the socket they connected to is described instead.
+                if (peer instanceof UnixDomainSocketAddress address && address.getPath().toString().isEmpty()) {
+                    return "local client on " + channel.getLocalAddress();
+                }
+                return String.valueOf(peer);
+            } catch (IOException e) {
+                return "closed channel";
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package NetworkUtils;
+
+import Workers.AbstractRPCWorker;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the connections of a server and closes the ones that stayed silent for longer than the idle timeout.
+ * The clients send heartbeats while they have nothing to ask, so a silent connection belongs to a client that is gone:
+ * it is logged out, so it is no longer notified, and its connection is closed.
+ */
+public class ConnectionReaper {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final long idleTimeout;
+    private final Set<AbstractRPCWorker> workers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong reaped = new AtomicLong();
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * @param idleTimeout The milliseconds a connection may stay silent before it is closed, 0 to never close it.
+     */
+    public ConnectionReaper(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * @return The milliseconds a connection may stay silent before it is closed, 0 if it is never closed.
+     */
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Starts checking the connections periodically, if the idle timeout is set.
+     */
+    public void start() {
+        if (idleTimeout <= 0 || scheduler != null) {
+            return;
+        }
+
+        logger.info("Reaping the connections idle for more than {} ms...", idleTimeout);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(idleTimeout / 2, 1);
+        scheduler.scheduleAtFixedRate(this::reap, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checking the connections.
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Tracks the connection of a worker.
+     *
+     * @param worker The worker of the connection.
+     */
+    public void register(AbstractRPCWorker worker) {
+        workers.add(worker);
+    }
+
+    /**
+     * Forgets the connection of a worker that finished serving its client.
+     *
+     * @param worker The worker of the connection.
+     */
+    public void unregister(AbstractRPCWorker worker) {
+        workers.remove(worker);
+    }
+
+    /**
+     * Closes every connection still open, telling its client that the server is closing.
+     */
+    public void closeAll() {
+        logger.info("Closing {} connections...", workers.size());
+        for (AbstractRPCWorker worker : workers) {
+            workers.remove(worker);
+            if (worker.isConnected()) {
+                worker.close();
+            }
+        }
+    }
+
+    /**
+     * Closes the connections idle for longer than the timeout, each on a virtual thread, and forgets the closed ones.
+     */
+    public void reap() {
+        long now = System.nanoTime();
+        long timeout = TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+
+        for (AbstractRPCWorker worker : workers) {
+            if (!worker.isConnected()) {
+                workers.remove(worker);
+                continue;
+            }
+            if (idleTimeout > 0 && now - worker.getLastActivity() > timeout) {
+                logger.warn("Closing a connection idle for more than {} ms.", idleTimeout);
+                workers.remove(worker);
+                reaped.incrementAndGet();
+                // Closing a connection waits for its writer, so the other checks don't wait for it.
+                Thread.ofVirtual().name("connection-reaper-close").start(worker::disconnect);
+            }
+        }
+        logger.info("Live connections: {}, reaped connections: {}", workers.size(), reaped.get());
+    }
+
+    /**
+     * @return The number of connections closed for being idle.
+     */
+    public long getReapedConnections() {
+        return reaped.get();
+    }
+
+    /**
+     * @return The number of connections still open.
+     */
+    public int getLiveConnections() {
+        workers.removeIf(worker -> !worker.isConnected());
+        return workers.size();
+    }
+}
@@ -0,0 +1,168 @@
+package NetworkUtils;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads and writes length-delimited protobuf frames on a blocking connection, in the format of
+ * {@code writeDelimitedTo} and {@code parseDelimitedFrom}.
+ * The buffers of the codec are allocated once per connection and reused by every frame:
+ * a frame is assembled in the output buffer and written with a single write, and the messages
+ * are parsed straight from the input buffer.
+ * Once compression is negotiated, the large frames are compressed by a {@link FrameCompressor}:
+ * the writes and the reads are switched separately, as each end starts compressing when it knows the other one can read it.
+ * The writes must be serialized by the caller, and the frames read by a single thread.
+ */
+public class FrameCodec {
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final OutputStream outputStream;
+    private final CodedOutputStream output;
+    private final CodedInputStream input;
+    private final int maxFrameSize;
+    // Compress the large frames written, and restore the compressed frames read. Null while the frames are raw.
+    private volatile FrameCompressor writeCompressor;
+    private volatile FrameCompressor readCompressor;
+
+    /**
+     * @param inputStream  The stream to read the frames from.
+     * @param outputStream The stream to write the frames to.
+     * @param bufferSize   The size of the buffers. Frames up to this size are written at once.
+     * @param maxFrameSize The size of the largest frame accepted.
+     */
+    public FrameCodec(InputStream inputStream, OutputStream outputStream, int bufferSize, int maxFrameSize) {
+        this.outputStream = outputStream;
+        this.output = CodedOutputStream.newInstance(outputStream, bufferSize);
+        this.input = CodedInputStream.newInstance(inputStream, bufferSize);
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Compresses the large frames written from now on.
+     *
+     * @param compressor The compressor of the frames, null to write them raw.
+     */
+    public void setWriteCompressor(FrameCompressor compressor) {
+        this.writeCompressor = compressor;
+    }
+
+    /**
+     * Restores the compressed frames read from now on. The raw frames are still read as they are.
+     *
+     * @param compressor The compressor of the frames, null if the peer doesn't compress them.
+     */
+    public void setReadCompressor(FrameCompressor compressor) {
+        this.readCompressor = compressor;
+    }
+
+    /**
+     * Writes a message as a single frame.
+     *
+     * @param message The message to write.
+     * @throws IOException If the frame couldn't be written.
+     */
+    public void write(MessageLite message) throws IOException {
+        this.append(message);
+        this.flush();
+    }
+
+    /**
+     * Writes a frame already encoded, with its length prefix.
+     *
+     * @param frame The frame to write. Its position is not modified.
+     * @throws IOException If the frame couldn't be written.
+     */
+    public void writeFrame(ByteBuffer frame) throws IOException {
+        this.appendFrame(frame);
+        this.flush();
+    }
+
+    /**
+     * Adds a message to the output buffer, without flushing it, so several frames can be sent at once.
+     * The buffer is written to the stream when it fills up or when it is flushed.
+     *
+     * @param message The message to add.
+     * @throws IOException If the buffer filled up and couldn't be written.
+     */
+    public void append(MessageLite message) throws IOException {
+        FrameCompressor compressor = this.writeCompressor;
+        int size = message.getSerializedSize();
+        if (compressor == null || size < compressor.getThreshold()) {
+            output.writeUInt32NoTag(size);
+            message.writeTo(output);
+            return;
+        }
+
+        byte[] payload = compressor.compress(message.toByteArray());
+        output.writeUInt32NoTag(payload.length);
+        output.writeRawBytes(payload);
+    }
+
+    /**
+     * Adds a frame already encoded, with its length prefix, to the output buffer, without flushing it.
+     *
+     * @param frame The frame to add. Its position is not modified.
+     * @throws IOException If the buffer filled up and couldn't be written.
+     */
+    public void appendFrame(ByteBuffer frame) throws IOException {
+        output.writeRawBytes(frame.duplicate());
+    }
+
+    /**
+     * Reads the next frame and parses its message, blocking until it arrives.
+     * If the stream has a read timeout, it detects the idle connections: the timeout is raised
+     * only while waiting for a frame to start, and the codec can be used again afterwards.
+     *
+     * @param parser The parser of the message.
+     * @return The message, or null if the stream reached its end.
+     * @throws SocketTimeoutException If no frame started within the read timeout of the stream.
+     * @throws IOException If the frame couldn't be read, is malformed or exceeds the maximum frame size.
+     */
+    public <T> T read(Parser<T> parser) throws IOException {
+        // The limit on the total bytes read applies to every frame on its own.
+        input.resetSizeCounter();
+        if (input.isAtEnd()) {
+            return null;
+        }
+
+        try {
+            int length = input.readRawVarint32();
+            if (length < 0 || length > maxFrameSize) {
+                throw new IOException("Frame of " + length + " bytes exceeds the limit of " + maxFrameSize + " bytes.");
+            }
+
+            FrameCompressor compressor = this.readCompressor;
+            if (compressor != null) {
+                // A compressed frame is told apart by its first byte, so the frame is read whole first.
+                return parser.parseFrom(compressor.decompress(input.readRawBytes(length), maxFrameSize));
+            }
+
+            int limit = input.pushLimit(length);
+            T message = parser.parseFrom(input);
+            input.checkLastTagWas(0);
+            input.popLimit(limit);
+            return message;
+        } catch (SocketTimeoutException e) {
+            // The rest of the frame is lost, so the stream can't be read anymore.
+            throw new IOException("Timed out in the middle of a frame: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes the frames added to the output buffer to the stream.
+     *
+     * @throws IOException If the frames couldn't be written.
+     */
+    public void flush() throws IOException {
+        output.flush();
+        outputStream.flush();
+    }
+}
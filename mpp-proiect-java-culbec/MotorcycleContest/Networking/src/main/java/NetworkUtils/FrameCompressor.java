@@ -0,0 +1,203 @@
+package NetworkUtils;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses the frames of a connection with DEFLATE, once both ends agreed on it with a HELLO request.
+ * Only the payloads of at least the threshold are compressed, the small ones cost more CPU than they save.
+ * A compressed payload starts with a zero byte, which starts no protobuf message as no field is numbered 0,
+ * followed by the size of the original payload and the deflated bytes. So the raw and the compressed frames
+ * can be mixed on the same connection, and the length prefix keeps the format of {@code writeDelimitedTo}.
+ * The deflater and the inflater are created on the first frame needing them and can be used by a thread each at once.
+ */
+public class FrameCompressor {
+    public static final int DEFAULT_THRESHOLD = 1024;
+    // Starts the payload of a compressed frame.
+    private static final byte COMPRESSED = 0;
+
+    private final int threshold;
+
+    private final Lock deflateLock = new ReentrantLock();
+    private final Lock inflateLock = new ReentrantLock();
+    private Deflater deflater;
+    private Inflater inflater;
+    private final byte[] overflow = new byte[1];
+
+    private final AtomicLong rawBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    /**
+     * @param threshold The size of the smallest payload compressed.
+     */
+    public FrameCompressor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return The size of the payloads compressed, before compressing them.
+     */
+    public long getRawBytes() {
+        return rawBytes.get();
+    }
+
+    /**
+     * @return The size of the payloads compressed, after compressing them.
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @param payload The payload of a frame.
+     * @return Whether the payload is compressed.
+     */
+    public static boolean isCompressed(byte[] payload) {
+        return payload.length > 0 && payload[0] == COMPRESSED;
+    }
+
+    /**
+     * Compresses the payload if it is at least the threshold.
+     *
+     * @param payload The serialized message.
+     * @return The compressed payload, or the payload itself if it is too small or didn't shrink.
+     */
+    public byte[] compress(byte[] payload) {
+        return payload.length < threshold ? payload : this.deflate(payload);
+    }
+
+    /**
+     * Compresses the payload regardless of the threshold.
+     *
+     * @param payload The serialized message.
+     * @return The compressed payload, or the payload itself if it didn't shrink.
+     */
+    public byte[] deflate(byte[] payload) {
+        int header = 1 + CodedOutputStream.computeUInt32SizeNoTag(payload.length);
+        // Only a smaller output is of use, so the deflater stops once it filled the size of the payload.
+        byte[] compressed = new byte[payload.length];
+
+        int length;
+        deflateLock.lock();
+        try {
+            if (deflater == null) {
+                // The fastest level: most of the size of the participants is in their repeated teams and names,
+                // which it already finds, at a fraction of the CPU of the default level.
+                deflater = new Deflater(Deflater.BEST_SPEED);
+            }
+            deflater.setInput(payload);
+            deflater.finish();
+            length = header;
+            while (!deflater.finished() && length < compressed.length) {
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+            boolean shrunk = deflater.finished() && length < payload.length;
+            deflater.reset();
+            if (!shrunk) {
+                return payload;
+            }
+        } finally {
+            deflateLock.unlock();
+        }
+
+        try {
+            CodedOutputStream output = CodedOutputStream.newInstance(compressed, 0, header);
+            output.writeRawByte(COMPRESSED);
+            output.writeUInt32NoTag(payload.length);
+        } catch (IOException e) {
+            // The header was measured before writing it.
+            throw new IllegalStateException("Couldn't write the header of the compressed frame: " + e.getMessage(), e);
+        }
+        rawBytes.addAndGet(payload.length);
+        compressedBytes.addAndGet(length);
+        return Arrays.copyOf(compressed, length);
+    }
+
+    /**
+     * Restores a compressed payload.
+     *
+     * @param payload The payload of a frame.
+     * @param maxSize The size of the largest payload accepted once restored.
+     * @return The restored payload, or the payload itself if it isn't compressed.
+     * @throws IOException If the payload is malformed or would exceed the maximum size once restored.
+     */
+    public byte[] decompress(byte[] payload, int maxSize) throws IOException {
+        if (!isCompressed(payload)) {
+            return payload;
+        }
+
+        CodedInputStream input = CodedInputStream.newInstance(payload, 1, payload.length - 1);
+        int size = input.readRawVarint32();
+        // Checked before restoring the frame, so a small frame can't claim a huge one.
+        if (size < 0 || size > maxSize) {
+            throw new IOException("Compressed frame of " + size + " bytes exceeds the limit of " + maxSize + " bytes.");
+        }
+        int offset = 1 + input.getTotalBytesRead();
+
+        byte[] restored = new byte[size];
+        inflateLock.lock();
+        try {
+            if (inflater == null) {
+                inflater = new Inflater();
+            }
+            inflater.setInput(payload, offset, payload.length - offset);
+            int length = 0;
+            while (!inflater.finished()) {
+                // Past the claimed size, inflating only reaches the end of the stream, or proves the size wrong.
+                int inflated = length < size
+                        ? inflater.inflate(restored, length, size - length)
+                        : inflater.inflate(overflow);
+                if (length + inflated > size) {
+                    throw new IOException("Compressed frame restores to more than its " + size + " bytes.");
+                }
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Compressed frame is truncated.");
+                }
+                length += inflated;
+            }
+            if (length != size) {
+                throw new IOException("Compressed frame restores to " + length + " bytes instead of " + size + ".");
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Malformed compressed frame: " + e.getMessage(), e);
+        } finally {
+            if (inflater != null) {
+                inflater.reset();
+            }
+            inflateLock.unlock();
+        }
+        return restored;
+    }
+
+    /**
+     * Encodes a payload into a frame, prefixed with its length.
+     *
+     * @param payload The payload, raw or compressed.
+     * @return A buffer holding the frame.
+     * @throws IOException If the frame couldn't be encoded.
+     */
+    public static ByteBuffer createFrame(byte[] payload) throws IOException {
+        byte[] frame = new byte[CodedOutputStream.computeUInt32SizeNoTag(payload.length) + payload.length];
+
+        CodedOutputStream output = CodedOutputStream.newInstance(frame);
+        output.writeUInt32NoTag(payload.length);
+        output.writeRawBytes(payload);
+        output.checkNoSpaceLeft();
+
+        return ByteBuffer.wrap(frame);
+    }
+}
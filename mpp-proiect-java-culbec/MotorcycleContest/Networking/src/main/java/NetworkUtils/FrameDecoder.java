@@ -0,0 +1,71 @@
+package NetworkUtils;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Incrementally decodes length-delimited protobuf frames (a varint32 length followed by the message bytes),
+ * as written by {@code writeDelimitedTo}, from the bytes read off a non-blocking channel.
+ */
+public class FrameDecoder {
+    private static final int MAX_VARINT32_SHIFT = 35;
+
+    private final int maxFrameSize;
+
+    // State of the length prefix that is currently being read.
+    private int length = 0;
+    private int shift = 0;
+
+    // State of the frame whose payload is currently being read.
+    private byte[] frame = null;
+    private int offset = 0;
+
+    public FrameDecoder(int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    /**
+     * Consumes bytes from the buffer until a complete frame is available or the buffer is exhausted.
+     * Must be called repeatedly until it returns {@code null} to drain every frame in the buffer.
+     *
+     * @param buffer Buffer in read mode containing the received bytes.
+     * @return The payload of the next complete frame, or {@code null} if more bytes are needed.
+     * @throws ServerException If the length prefix is malformed or exceeds the maximum frame size.
+     */
+    public byte[] decode(ByteBuffer buffer) throws ServerException {
+        while (buffer.hasRemaining()) {
+            if (frame == null) {
+                byte current = buffer.get();
+                length |= (current & 0x7F) << shift;
+
+                if ((current & 0x80) != 0) {
+                    shift += 7;
+                    if (shift >= MAX_VARINT32_SHIFT) {
+                        throw new ServerException("Malformed frame length.");
+                    }
+                    continue;
+                }
+
+                if (length < 0 || length > maxFrameSize) {
+                    throw new ServerException("Frame of " + length + " bytes exceeds the limit of " + maxFrameSize + " bytes.");
+                }
+
+                frame = new byte[length];
+                offset = 0;
+                length = 0;
+                shift = 0;
+            } else {
+                int count = Math.min(buffer.remaining(), frame.length - offset);
+                buffer.get(frame, offset, count);
+                offset += count;
+            }
+
+            if (offset == frame.length) {
+                byte[] complete = frame;
+                frame = null;
+                return complete;
+            }
+        }
+
+        return null;
+    }
+}
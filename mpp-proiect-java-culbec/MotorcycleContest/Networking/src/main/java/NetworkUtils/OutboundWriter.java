@@ -0,0 +1,262 @@
+package NetworkUtils;
+
+import com.google.protobuf.MessageLite;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes everything sent to a client from a single thread of its own, so neither the request handlers
+ * nor the broadcaster ever wait on the socket of a slow client.
+ * The responses and the pushed updates are queued apart: the responses are written first,
+ * and all the frames queued meanwhile are written together, with a single flush.
+ * A full queue of responses holds up the handlers of the client, which only slows the client down.
+ * A full queue of updates is handled by the overflow policy.
+ */
+public class OutboundWriter {
+    public static final int DEFAULT_CAPACITY = 256;
+    // The most frames written with a single flush.
+    private static final int MAX_BATCH = 64;
+
+    /**
+     * What happens to an update sent while the queue of the updates is full.
+     */
+    public enum OverflowPolicy {
+        // The update is discarded.
+        DROP,
+        // The client is considered lost and disconnected.
+        DISCONNECT,
+        // The sender waits for room in the queue.
+        BLOCK
+    }
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final FrameCodec codec;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    // Called when the client is lost: the queue overflowed under DISCONNECT, or a write failed.
+    private final Runnable onFailure;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private final ArrayDeque<MessageLite> responses = new ArrayDeque<>();
+    private final ArrayDeque<ByteBuffer> updates = new ArrayDeque<>();
+    private boolean closed = false;
+
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final Thread thread;
+
+    /**
+     * Creates the writer and starts its thread.
+     *
+     * @param codec          The codec of the connection. Only the writer writes with it from now on.
+     * @param capacity       The number of responses, and separately of updates, queued at most.
+     * @param overflowPolicy What happens to the updates sent while their queue is full.
+     * @param onFailure      Called when the client is lost, on the thread that detected it.
+     */
+    public OutboundWriter(FrameCodec codec, int capacity, OverflowPolicy overflowPolicy, Runnable onFailure) {
+        this.codec = codec;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.onFailure = onFailure;
+        this.thread = Thread.ofVirtual().name("outbound-writer").start(this::run);
+    }
+
+    /**
+     * Queues a response, waiting for room in the queue if it is full.
+     *
+     * @param response The response to send.
+     * @throws IOException If the writer is closed or the thread is interrupted while waiting.
+     */
+    public void sendResponse(MessageLite response) throws IOException {
+        lock.lock();
+        try {
+            while (responses.size() >= capacity && !closed) {
+                notFull.await();
+            }
+            if (closed) {
+                throw new IOException("The connection is closed.");
+            }
+            responses.add(response);
+            notEmpty.signal();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing the response.");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Queues an update, applying the overflow policy if the queue is full.
+     *
+     * @param frame The encoded update. It is shared with the other clients and is not modified.
+     * @throws IOException If the writer is closed, or the update was discarded.
+     */
+    public void sendUpdate(ByteBuffer frame) throws IOException {
+        boolean disconnect = false;
+        lock.lock();
+        try {
+            if (overflowPolicy == OverflowPolicy.BLOCK) {
+                while (updates.size() >= capacity && !closed) {
+                    notFull.await();
+                }
+            }
+            if (closed) {
+                throw new IOException("The connection is closed.");
+            }
+            if (updates.size() < capacity) {
+                updates.add(frame);
+                notEmpty.signal();
+                return;
+            }
+
+            dropped.incrementAndGet();
+            disconnect = overflowPolicy == OverflowPolicy.DISCONNECT;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while queueing the update.");
+        } finally {
+            lock.unlock();
+        }
+
+        if (disconnect) {
+            logger.warn("The client can't keep up with the updates. Disconnecting it...");
+            onFailure.run();
+            throw new IOException("The client was disconnected for lagging behind.");
+        }
+        logger.warn("The client is lagging behind. Dropping the update.");
+        throw new IOException("The outbound queue is full.");
+    }
+
+    /**
+     * Stops accepting frames and waits for the queued ones to be written.
+     *
+     * @param timeout The milliseconds to wait for the queued frames.
+     */
+    public void close(long timeout) {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        // The writer itself closes the connection when a write fails.
+        if (Thread.currentThread() == thread) {
+            return;
+        }
+        try {
+            if (!thread.join(Duration.ofMillis(timeout))) {
+                logger.warn("The queued frames weren't written in {} ms.", timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The number of frames written to the client.
+     */
+    public long getWritten() {
+        return written.get();
+    }
+
+    /**
+     * @return The number of flushes, each writing one or more frames.
+     */
+    public long getFlushes() {
+        return flushes.get();
+    }
+
+    /**
+     * @return The number of updates discarded because their queue was full.
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /**
+     * Writes the queued frames in batches, the responses first, until the writer is closed and its queues are empty.
+     */
+    private void run() {
+        List<MessageLite> batchResponses = new ArrayList<>(MAX_BATCH);
+        List<ByteBuffer> batchUpdates = new ArrayList<>(MAX_BATCH);
+
+        while (true) {
+            lock.lock();
+            try {
+                while (responses.isEmpty() && updates.isEmpty() && !closed) {
+                    notEmpty.await();
+                }
+                if (responses.isEmpty() && updates.isEmpty()) {
+                    return;
+                }
+                while (!responses.isEmpty() && batchResponses.size() < MAX_BATCH) {
+                    batchResponses.add(responses.poll());
+                }
+                while (!updates.isEmpty() && batchResponses.size() + batchUpdates.size() < MAX_BATCH) {
+                    batchUpdates.add(updates.poll());
+                }
+                notFull.signalAll();
+            } catch (InterruptedException e) {
+                logger.error("The writer was interrupted.");
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                for (MessageLite response : batchResponses) {
+                    codec.append(response);
+                }
+                for (ByteBuffer update : batchUpdates) {
+                    codec.appendFrame(update);
+                }
+                codec.flush();
+                written.addAndGet(batchResponses.size() + batchUpdates.size());
+                flushes.incrementAndGet();
+            } catch (IOException e) {
+                logger.error("Error when writing to the client: {}", e.getMessage());
+                this.fail();
+                return;
+            } finally {
+                batchResponses.clear();
+                batchUpdates.clear();
+            }
+        }
+    }
+
+    /**
+     * Discards the queued frames after a failed write and reports the lost client.
+     */
+    private void fail() {
+        lock.lock();
+        try {
+            closed = true;
+            responses.clear();
+            updates.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        onFailure.run();
+    }
+}
@@ -0,0 +1,360 @@
+package NetworkUtils;
+
+import CommonUtils.IService;
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import Workers.AbstractRPCWorker;
+import Workers.RPCChannelWorker;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server that multiplexes every client on a single selector thread.
+ * Requests are decoded from non-blocking channels and handed to a bounded worker pool,
+ * so idle clients don't cost a thread each.
+ */
+public class ProtobufNioServer extends AbstractServer {
+    private static final int READ_BUFFER_SIZE = 8192;
+    private static final int MAX_FRAME_SIZE = 1 << 20;
+
+    private final IService service;
+    private final Broadcaster broadcaster;
+    private final ThreadPoolExecutor workers;
+
+    private final Set<ChannelSession> sessions = ConcurrentHashMap.newKeySet();
+    // Changes of the interest sets requested by other threads, applied by the selector thread.
+    private final Queue<Runnable> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+
+    private Selector selector = null;
+    private ServerSocketChannel serverChannel = null;
+    private ServerSocketChannel unixChannel = null;
+    private volatile boolean running = false;
+
+    public ProtobufNioServer(String hostname, int port, IService service, Broadcaster broadcaster, int workerThreads, int queueCapacity) {
+        super(hostname, port);
+        this.service = service;
+        this.broadcaster = broadcaster;
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    @Override
+    public void start() throws ServerException {
+        logger.traceEntry("Starting the server...");
+        try {
+            this.selector = Selector.open();
+            this.serverChannel = ServerSocketChannel.open();
+            this.serverChannel.bind(this.getAddress(), DEFAULT_BACKLOG);
+            this.serverChannel.configureBlocking(false);
+            this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            // The local clients are multiplexed on the same selector as the TCP ones.
+            if (this.getUnixSocket() != null) {
+                this.unixChannel = this.openUnixChannel();
+                this.unixChannel.configureBlocking(false);
+                this.unixChannel.register(selector, SelectionKey.OP_ACCEPT);
+            }
+            this.running = true;
+
+            // Notifying the clients when the server is shut down.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    this.stop();
+                } catch (ServerException e) {
+                    logger.error("Error when stopping the server: {}", e.getMessage());
+                }
+            }));
+
+            logger.info("Server started on port: {}", this.getPort());
+            this.getReaper().start();
+
+            while (running) {
+                selector.select();
+                this.applyPendingChanges();
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        this.accept((ServerSocketChannel) key.channel());
+                        continue;
+                    }
+
+                    ChannelSession session = (ChannelSession) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            this.read(session);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            this.write(session);
+                        }
+                    } catch (IOException | ServerException e) {
+                        logger.error("Error when serving the client: {}", e.getMessage());
+                        this.closeSession(session);
+                    }
+                }
+            }
+        } catch (ClosedSelectorException e) {
+            logger.info("The selector was closed.");
+        } catch (IOException e) {
+            logger.error("Couldn't start the server: {}", e.getMessage());
+            throw new ServerException(e.getMessage());
+        } finally {
+            this.stop();
+        }
+    }
+
+    @Override
+    public synchronized void stop() throws ServerException {
+        logger.traceEntry("Stopping the server...");
+        if (!running) {
+            return;
+        }
+        running = false;
+        this.getReaper().stop();
+
+        logger.info("Notifying the clients that the server is closing...");
+        NetworkProtos.Response closed = ProtocolUtils.createConnectionClosedResponse();
+        for (ChannelSession session : sessions) {
+            try {
+                session.write(closed);
+                this.write(session);
+            } catch (IOException e) {
+                logger.error("Error when notifying the client: {}", e.getMessage());
+            }
+            this.closeSession(session);
+        }
+
+        workers.shutdownNow();
+        try {
+            serverChannel.close();
+            this.closeUnixChannel(unixChannel);
+            selector.close();
+        } catch (IOException e) {
+            logger.error("Couldn't stop the server: {}", e.getMessage());
+            throw new ServerException(e.getMessage());
+        }
+    }
+
+    /**
+     * Accepts a new client and registers it with the selector.
+     *
+     * @param listener The channel the client connected to, over TCP or over the Unix domain socket.
+     */
+    private void accept(ServerSocketChannel listener) throws IOException {
+        SocketChannel channel = listener.accept();
+        if (channel == null) {
+            return;
+        }
+
+        logger.info("Client connected: {}", channel.getRemoteAddress());
+        // Refusing the client before creating its session, if the server is at its capacity.
+        if (!this.getAdmission().tryAdmitConnection()) {
+            this.getAdmission().reject(Connection.of(channel));
+            return;
+        }
+        channel.configureBlocking(false);
+        SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+
+        ChannelSession session = new ChannelSession(this, channel, key, MAX_FRAME_SIZE);
+        RPCChannelWorker worker = new RPCChannelWorker(service, broadcaster, session);
+        worker.setCompressionThreshold(this.getCompressionThreshold());
+        worker.setSessionStore(this.getSessionStore());
+        session.setWorker(worker);
+        key.attach(session);
+        sessions.add(session);
+        this.getReaper().register(session.getWorker());
+    }
+
+    /**
+     * Reads the available bytes of a client and dispatches every complete request.
+     */
+    private void read(ChannelSession session) throws IOException, ServerException {
+        readBuffer.clear();
+        int read = session.getChannel().read(readBuffer);
+        if (read == -1) {
+            logger.info("The client closed the connection.");
+            this.closeSession(session);
+            return;
+        }
+        readBuffer.flip();
+        session.getWorker().touch();
+
+        byte[] frame;
+        long receivedAt = System.nanoTime();
+        while ((frame = session.getDecoder().decode(readBuffer)) != null) {
+            try {
+                FrameCompressor compressor = session.getCompressor();
+                if (compressor != null) {
+                    frame = compressor.decompress(frame, MAX_FRAME_SIZE);
+                }
+                NetworkProtos.Request request = NetworkProtos.Request.parseFrom(frame);
+                // Refusing the request at once if the server is at its capacity.
+                if (!this.getAdmission().tryAdmitRequest(request)) {
+                    logger.warn("Too many requests in flight. Refusing the request: {}", request.getRequestId());
+                    session.write(this.getAdmission().createOverloadedResponse(request));
+                    continue;
+                }
+                session.getRequests().add(new ChannelSession.PendingRequest(request, receivedAt));
+            } catch (IOException e) {
+                logger.error("Error when parsing the request: {}", e.getMessage());
+                session.write(ProtocolUtils.createErrorResponse("Received request is invalid."));
+            }
+        }
+        this.schedule(session);
+    }
+
+    /**
+     * Schedules the requests of a session on the worker pool.
+     * The requests of one session are handled in order, by at most one worker at a time.
+     */
+    private void schedule(ChannelSession session) throws IOException {
+        if (session.getRequests().isEmpty() || !session.getScheduled().compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            workers.execute(() -> this.drain(session));
+        } catch (RejectedExecutionException e) {
+            logger.error("The worker pool is saturated. Rejecting the pending requests.");
+            session.getScheduled().set(false);
+            ChannelSession.PendingRequest pending;
+            while ((pending = session.getRequests().poll()) != null) {
+                this.getAdmission().releaseRequest();
+                session.write(this.getAdmission().createOverloadedResponse(pending.request()));
+            }
+        }
+    }
+
+    /**
+     * Handles the pending requests of a session. Runs on the worker pool.
+     */
+    private void drain(ChannelSession session) {
+        ChannelSession.PendingRequest pending;
+        while ((pending = session.getRequests().poll()) != null) {
+            NetworkProtos.Request request = pending.request();
+            logger.info("Received the request: {}", request.getRequestType().name());
+            if (AbstractRPCWorker.isExpired(request, pending.receivedAt())) {
+                logger.warn("Skipping the request {}: its deadline passed.", request.getRequestId());
+                this.getAdmission().releaseRequest();
+                continue;
+            }
+
+            try {
+                NetworkProtos.Response response = session.getWorker().handleRequest(request);
+                if (response != null) {
+                    session.write(response);
+                } else {
+                    logger.error("Error when handling the request: The response is null.");
+                }
+            } catch (IOException | ServerException e) {
+                logger.error("Error when handling the request: {}", e.getMessage());
+            } finally {
+                this.getAdmission().releaseRequest();
+            }
+
+            if (!session.getWorker().isConnected()) {
+                session.closeAfterFlush();
+                return;
+            }
+        }
+
+        session.getScheduled().set(false);
+        try {
+            // Requests that arrived after the queue was found empty.
+            this.schedule(session);
+        } catch (IOException e) {
+            logger.error("Error when scheduling the requests: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes as much of the queued responses of a session as the channel accepts.
+     */
+    private void write(ChannelSession session) throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = session.getOutbound().peek()) != null) {
+            session.getChannel().write(buffer);
+            if (buffer.hasRemaining()) {
+                // The socket buffer is full, waiting for the channel to become writable again.
+                return;
+            }
+            session.getOutbound().poll();
+        }
+
+        SelectionKey key = session.getKey();
+        if (key.isValid()) {
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        }
+        if (session.isCloseAfterFlush()) {
+            this.closeSession(session);
+        }
+    }
+
+    /**
+     * Asks the selector thread to write the queued responses of a session.
+     */
+    void requestWrite(ChannelSession session) {
+        pendingChanges.add(() -> {
+            SelectionKey key = session.getKey();
+            if (key.isValid()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            }
+        });
+        selector.wakeup();
+    }
+
+    /**
+     * Closes the connection of a session.
+     */
+    void closeSession(ChannelSession session) {
+        if (!sessions.remove(session)) {
+            return;
+        }
+        this.getAdmission().releaseConnection();
+        // The requests that won't be handled anymore.
+        while (session.getRequests().poll() != null) {
+            this.getAdmission().releaseRequest();
+        }
+
+        logger.info("Closing the connection of the client...");
+        session.getKey().cancel();
+        try {
+            session.getChannel().close();
+        } catch (IOException e) {
+            logger.error("Error when closing the connection: {}", e.getMessage());
+        }
+        // Logging out the client if the connection was lost while it was logged in.
+        if (session.getWorker().isConnected()) {
+            session.getWorker().disconnect();
+        }
+        logger.traceExit("Client disconnected.");
+    }
+
+    private void applyPendingChanges() {
+        Runnable change;
+        while ((change = pendingChanges.poll()) != null) {
+            change.run();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package NetworkUtils;
 
+import CommonUtils.Bootstrap;
+import CommonUtils.ChunkConsumer;
 import CommonUtils.GUIObserver;
 import CommonUtils.IService;
 import CommonUtils.Observer;
@@ -13,39 +15,216 @@ import Protocol.ProtocolUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.net.Inet4Address;
 import java.net.Socket;
-import java.util.UUID;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ProtobufProxy implements IService {
+    // Responses pushed by the server, not answering a request of the client.
+    private static final Set<NetworkProtos.Response.type> UPDATES = EnumSet.of(
+            NetworkProtos.Response.type.PARTICIPANT_ADDED, NetworkProtos.Response.type.PARTICIPANTS_ADDED);
+    // Handlers of the updates, indexed by the ordinal of the response type.
+    private static final MethodHandle[] UPDATE_HANDLERS = createUpdateHandlers();
+
+    // The largest response accepted, the default limit of protobuf.
+    private static final int MAX_FRAME_SIZE = 64 << 20;
+    // Milliseconds without requests after which a heartbeat is sent, unless configured otherwise.
+    public static final int DEFAULT_HEARTBEAT_INTERVAL = 30_000;
+    // Milliseconds a call waits for its response, unless configured otherwise.
+    public static final int DEFAULT_CALL_TIMEOUT = 10_000;
+    // Times a call refused by an overloaded server is retried, unless configured otherwise.
+    public static final int DEFAULT_OVERLOAD_RETRIES = 3;
+    // The longest wait before retrying a refused call.
+    private static final long MAX_BACKOFF = 30_000;
+    // Times the client tries to reconnect after losing its connection, unless configured otherwise.
+    public static final int DEFAULT_RECONNECT_ATTEMPTS = 5;
+    // Milliseconds waited at least before every reconnection.
+    private static final long RECONNECT_DELAY = 1_000;
+
     private final Logger logger = LogManager.getLogger(this.getClass());
 
     private final String hostname;
     private final int port;
     private GUIObserver client;
 
-    private Socket connection;
+    // The Unix domain socket of the server, used instead of TCP if set.
+    private volatile Path unixSocket = null;
+    private volatile Connection connection;
     private InputStream inputStream;
     private OutputStream outputStream;
+    // Frames the requests and the responses, reusing its buffers. The writes are guarded by the send lock.
+    private FrameCodec codec;
 
-    private final BlockingQueue<NetworkProtos.Response> responses = new LinkedBlockingQueue<>();
+    // Calls waiting for their response, by request id. Many calls can be in flight on the connection at once.
+    private final Map<Long, CompletableFuture<NetworkProtos.Response>> pendingResponses = new ConcurrentHashMap<>();
+    // Handlers of the chunks preceding the final response of the streamed calls, by request id.
+    private final Map<Long, Consumer<NetworkProtos.Response>> pendingChunks = new ConcurrentHashMap<>();
+    private final AtomicLong requestIds = new AtomicLong();
+    private final Lock sendLock = new ReentrantLock();
     private volatile boolean finished;
+    // The last time a frame was sent, as given by System.nanoTime(). The server only counts the frames it receives.
+    private volatile long lastSent;
+    // Milliseconds every call waits for its response, 0 to wait indefinitely.
+    private volatile int callTimeout = DEFAULT_CALL_TIMEOUT;
+    // Milliseconds without requests after which a heartbeat is sent, so the server doesn't close the idle connection.
+    private int heartbeatInterval = DEFAULT_HEARTBEAT_INTERVAL;
+    // Times a call refused by an overloaded server is retried, after backing off.
+    private volatile int overloadRetries = DEFAULT_OVERLOAD_RETRIES;
+    // The OVERLOADED response of the server if it refused the connection, null otherwise.
+    private volatile NetworkProtos.Response rejection;
+    // The races and engine capacities served from memory, null if every call asks the server.
+    private final RaceCache raceCache;
+
+    // Times the client tries to reconnect after losing its connection, before giving up.
+    private volatile int reconnectAttempts = DEFAULT_RECONNECT_ATTEMPTS;
+    // The size of the smallest request compressed once the server agreed, 0 to not offer compression.
+    private volatile int compressionThreshold = FrameCompressor.DEFAULT_THRESHOLD;
+    // The highest protocol version offered to the server.
+    private volatile int protocolVersion = ProtocolUtils.PROTOCOL_VERSION;
+    // The credentials of the session, kept to log in again after losing the connection.
+    private volatile String username;
+    private volatile String password;
+    // The token of the session, logging in again without the password after a lost connection. Null if the server issued none.
+    private volatile String sessionToken;
+    // Whether the client is logged in, so a lost connection is reconnected instead of closing the GUI.
+    private volatile boolean loggedIn = false;
+    // Whether a reconnection is under way, so the readers of its failed attempts don't start another one.
+    private final AtomicBoolean reconnecting = new AtomicBoolean(false);
+    // The topics of the session, subscribed to again after reconnecting.
+    private final Set<String> teams = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> engineCapacities = ConcurrentHashMap.newKeySet();
+    // The position of the client in the updates of the server: the epoch of the server and the last sequence number received.
+    // Guarded by the update lock, like the updates held while resuming.
+    private final Lock updateLock = new ReentrantLock();
+    private long epoch = 0;
+    private long lastSequence = 0;
+    private boolean resuming = false;
+    private final List<NetworkProtos.Response> heldUpdates = new ArrayList<>();
 
     public ProtobufProxy(String hostname, int port) {
+        this(hostname, port, false);
+    }
+
+    /**
+     * @param cacheRaces Whether the races and the engine capacities are kept in memory,
+     *                   updated from the added participants pushed by the server.
+     */
+    public ProtobufProxy(String hostname, int port, boolean cacheRaces) {
         this.hostname = hostname;
         this.port = port;
+        this.raceCache = cacheRaces ? new RaceCache() : null;
+    }
+
+    /**
+     * @return The number of calls answered from the cache of the races, 0 if it is disabled.
+     */
+    public long getCacheHits() {
+        return raceCache != null ? raceCache.getHits() : 0;
+    }
+
+    /**
+     * @return The number of calls the cache of the races couldn't answer, 0 if it is disabled.
+     */
+    public long getCacheMisses() {
+        return raceCache != null ? raceCache.getMisses() : 0;
     }
 
     public void setClient(Observer client) {
         this.client = (GUIObserver) client;
     }
 
+    /**
+     * Sets the deadline of the calls, sent with every request so the server can skip the ones it couldn't start in time.
+     *
+     * @param callTimeout the milliseconds every call waits for its response, 0 to wait indefinitely.
+     */
+    public void setCallTimeout(int callTimeout) {
+        this.callTimeout = callTimeout;
+    }
+
+    /**
+     * Sets the interval of the heartbeats, applied to the next connection.
+     * It must be shorter than the idle timeout of the server.
+     *
+     * @param heartbeatInterval the milliseconds without requests after which a heartbeat is sent.
+     */
+    public void setHeartbeatInterval(int heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Connects through a Unix domain socket instead of TCP, applied to the next connection.
+     * The clients on the same host as the server skip the TCP stack this way.
+     *
+     * @param unixSocket the path of the socket of the server, null to connect over TCP.
+     */
+    public void setUnixSocket(Path unixSocket) {
+        this.unixSocket = unixSocket;
+    }
+
+    /**
+     * Sets how many times a call refused by an overloaded server is retried.
+     * The client waits at least the delay hinted by the server before every retry, plus a random part
+     * doubling with every attempt, so the refused clients don't come back all at once.
+     *
+     * @param overloadRetries the number of retries, 0 to fail the refused calls at once.
+     */
+    public void setOverloadRetries(int overloadRetries) {
+        this.overloadRetries = overloadRetries;
+    }
+
+    /**
+     * Sets how many times the client tries to reconnect after losing its connection, before closing the GUI.
+     * The client logs in again with the credentials of the session and receives the updates it missed meanwhile.
+     *
+     * @param reconnectAttempts the number of attempts, 0 to close the GUI at once.
+     */
+    public void setReconnectAttempts(int reconnectAttempts) {
+        this.reconnectAttempts = reconnectAttempts;
+    }
+
+    /**
+     * Sets whether the large frames are compressed, applied to the next connection.
+     * The client offers DEFLATE when connecting, and the server compresses its large responses and updates if it agrees.
+     *
+     * @param compressionThreshold the size of the smallest request compressed, 0 to keep the frames raw.
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Sets the highest protocol version offered to the server, applied to the next connection.
+     * The responses of every version are understood, so this only matters to reach a server speaking an older one.
+     *
+     * @param protocolVersion the protocol version, from {@link ProtocolUtils#VERSION_1} to {@link ProtocolUtils#PROTOCOL_VERSION}.
+     */
+    public void setProtocolVersion(int protocolVersion) {
+        this.protocolVersion = protocolVersion;
+    }
+
     /**
      * Initializes the connection with the server.
      *
@@ -55,18 +234,36 @@ public class ProtobufProxy implements IService {
         logger.traceEntry("Initializing the connection...");
 
         try {
-            logger.info("Initializing the socket...");
-            this.connection = new Socket(Inet4Address.getByName(hostname), port);
+            Path localSocket = this.unixSocket;
+            if (localSocket != null) {
+                logger.info("Connecting to the Unix domain socket: {}", localSocket);
+                this.connection = Connection.connect(localSocket);
+            } else {
+                logger.info("Initializing the socket...");
+                this.connection = Connection.of(new Socket(Inet4Address.getByName(hostname), port));
+            }
+            // Every request is written at once. The reads wait for the server, the heartbeats are sent from a timer.
+            this.connection.configure(0);
 
             logger.info("Initializing the input and output streams...");
             this.outputStream = connection.getOutputStream();
             this.outputStream.flush();
             this.inputStream = connection.getInputStream();
+            this.codec = new FrameCodec(inputStream, outputStream, FrameCodec.DEFAULT_BUFFER_SIZE, MAX_FRAME_SIZE);
 
             this.finished = false;
+            this.rejection = null;
+            // The updates missed while disconnected are unknown, so everything is requested again.
+            if (raceCache != null) {
+                raceCache.clear();
+            }
 
             logger.info("Starting the reader thread...");
+            this.lastSent = System.nanoTime();
             this.startReader();
+            if (heartbeatInterval > 0) {
+                this.startHeartbeats(connection);
+            }
         } catch (Exception e) {
             logger.error("Error initializing the connection: {}", e.getMessage());
             throw new AppException("Error initializing the connection: " + e.getMessage());
@@ -88,42 +285,320 @@ public class ProtobufProxy implements IService {
     }
 
     /**
-     * Sends a request to the server.
+     * Sends a request to the server, tagged with a new request id.
+     *
+     * @param request the request to be sent.
+     * @return the future completed with the response of the request.
+     * @throws AppException if an error occurs while sending the request.
+     */
+    private CompletableFuture<NetworkProtos.Response> sendRequest(NetworkProtos.Request request) throws AppException {
+        return this.sendRequest(request, null);
+    }
+
+    /**
+     * Sends a request to the server, tagged with a new request id.
      *
      * @param request the request to be sent.
+     * @param onChunk the handler of the chunks received before the final response, or null if the response isn't streamed.
+     * @return the future completed with the final response of the request.
      * @throws AppException if an error occurs while sending the request.
      */
-    private void sendRequest(NetworkProtos.Request request) throws AppException {
+    private CompletableFuture<NetworkProtos.Response> sendRequest(NetworkProtos.Request request, Consumer<NetworkProtos.Response> onChunk) throws AppException {
         logger.traceEntry("Sending the request: {}", request.toString());
 
+        long requestId = requestIds.incrementAndGet();
+        CompletableFuture<NetworkProtos.Response> pending = new CompletableFuture<>();
+        pendingResponses.put(requestId, pending);
+        // Registered before sending, as the first chunk can arrive before this method returns.
+        if (onChunk != null) {
+            pendingChunks.put(requestId, onChunk);
+        }
+
+        sendLock.lock();
         try {
-            request.writeDelimitedTo(outputStream);
-            outputStream.flush();
+            lastSent = System.nanoTime();
+            codec.write(request.toBuilder().setRequestId(requestId).setTimeout(callTimeout).build());
             logger.traceExit("Request sent successfully!");
+            return pending;
         } catch (Exception e) {
+            pendingResponses.remove(requestId);
+            pendingChunks.remove(requestId);
             logger.error("Error sending the request: {}", e.getMessage());
             throw new AppException("Error sending the request: " + e.getMessage());
+        } finally {
+            sendLock.unlock();
         }
     }
 
     /**
-     * Reads a response from the server.
+     * Sends a request and waits for its response, retrying it while the server is overloaded.
+     *
+     * @param request the request to be sent.
+     * @return the response of the request.
+     * @throws AppException if an error occurs while sending the request or reading its response.
+     */
+    private NetworkProtos.Response call(NetworkProtos.Request request) throws AppException {
+        return this.call(request, null);
+    }
+
+    /**
+     * Sends a request and waits for its final response, retrying it while the server is overloaded.
+     * A refused request wasn't handled by the server, so it is safe to send it again.
      *
+     * @param request the request to be sent.
+     * @param onChunk the handler of the chunks received before the final response, or null if the response isn't streamed.
+     * @return the final response of the request, OVERLOADED if the server kept refusing it.
+     * @throws AppException if an error occurs while sending the request or reading its response.
+     */
+    private NetworkProtos.Response call(NetworkProtos.Request request, Consumer<NetworkProtos.Response> onChunk) throws AppException {
+        // The last time a chunk was received, as given by System.nanoTime(): the call times out once the stream stalls,
+        // not once it takes longer than the timeout as a whole.
+        AtomicLong lastReceived = new AtomicLong();
+        Consumer<NetworkProtos.Response> onReceived = onChunk == null ? null : chunk -> {
+            lastReceived.set(System.nanoTime());
+            try {
+                onChunk.accept(chunk);
+            } finally {
+                lastReceived.set(System.nanoTime());
+            }
+        };
+
+        int attempt = 0;
+        while (true) {
+            lastReceived.set(System.nanoTime());
+            NetworkProtos.Response response = this.readResponse(this.sendRequest(request, onReceived), lastReceived);
+            if (!isOverloaded(response) || attempt >= overloadRetries) {
+                return response;
+            }
+            logger.warn("The server is overloaded.");
+            this.backOff(retryAfter(response), attempt++);
+        }
+    }
+
+    /**
+     * @param overloaded the OVERLOADED response of the server.
+     * @return the milliseconds the server asked to wait before retrying.
+     */
+    private static long retryAfter(NetworkProtos.Response overloaded) {
+        return overloaded.getRetryAfter() > 0 ? overloaded.getRetryAfter() : AdmissionController.DEFAULT_RETRY_AFTER;
+    }
+
+    /**
+     * Waits before retrying: the given delay, plus a random part of up to the delay doubled for every previous attempt,
+     * so the clients retrying together don't come back all at once.
+     *
+     * @param hint    the milliseconds to wait at least, like the delay hinted by an overloaded server.
+     * @param attempt the number of retries already made.
+     * @throws AppException if the thread is interrupted while waiting.
+     */
+    private void backOff(long hint, int attempt) throws AppException {
+        long ceiling = Math.min(MAX_BACKOFF, hint << Math.min(attempt, 16));
+        long delay = Math.min(MAX_BACKOFF, hint + ThreadLocalRandom.current().nextLong(ceiling + 1));
+        logger.warn("Retrying in {} ms...", delay);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while waiting to retry: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a heartbeat to the server. Its PONG isn't waited for.
+     */
+    private void sendHeartbeat() {
+        sendLock.lock();
+        try {
+            lastSent = System.nanoTime();
+            codec.write(ProtocolUtils.createPingRequest());
+        } catch (IOException e) {
+            logger.error("Error sending the heartbeat: {}", e.getMessage());
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Sends a heartbeat from a timer whenever no frame was sent for the heartbeat interval, until the connection is closed.
+     * The server only counts the frames it receives, so a client that only receives updates still sends its heartbeats.
+     *
+     * @param current the connection to keep alive.
+     */
+    private void startHeartbeats(Connection current) {
+        long interval = TimeUnit.MILLISECONDS.toNanos(heartbeatInterval);
+        Thread.ofVirtual().name("proxy-heartbeat").start(() -> {
+            while (this.connection == current && !finished) {
+                long remaining = interval - (System.nanoTime() - lastSent);
+                if (remaining > 0) {
+                    try {
+                        Thread.sleep(TimeUnit.NANOSECONDS.toMillis(remaining) + 1);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    continue;
+                }
+                logger.info("No request was sent for a while. Sending a heartbeat...");
+                sendHeartbeat();
+            }
+        });
+    }
+
+    /**
+     * Waits for the response of a request.
+     *
+     * @param pending the future of the request, as returned when sending it.
+     * @return the response read.
+     * @throws AppException if an error occurs while reading the response.
+     */
+    private NetworkProtos.Response readResponse(CompletableFuture<NetworkProtos.Response> pending) throws AppException {
+        return this.readResponse(pending, new AtomicLong(System.nanoTime()));
+    }
+
+    /**
+     * Waits for the final response of a request, as long as the server keeps answering within the timeout.
+     *
+     * @param pending the future of the request, as returned when sending it.
+     * @param lastReceived the last time a chunk of the response was received, as given by System.nanoTime().
      * @return the response read.
      * @throws AppException if an error occurs while reading the response.
      */
-    private NetworkProtos.Response readResponse() throws AppException {
+    private NetworkProtos.Response readResponse(CompletableFuture<NetworkProtos.Response> pending, AtomicLong lastReceived) throws AppException {
         logger.traceEntry("Reading the response...");
+        int timeout = callTimeout;
         try {
-            NetworkProtos.Response response = responses.take();
-            logger.traceExit("Response read successfully!");
-            return response;
-        } catch (Exception e) {
+            while (true) {
+                long remaining = timeout - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastReceived.get());
+                if (timeout > 0 && remaining <= 0) {
+                    logger.error("No response received in {} ms.", timeout);
+                    this.abandonResponse(pending);
+                    throw new AppException("No response received in " + timeout + " ms.");
+                }
+
+                try {
+                    NetworkProtos.Response response = timeout > 0 ? pending.get(remaining, TimeUnit.MILLISECONDS) : pending.get();
+                    logger.traceExit("Response read successfully!");
+                    return response;
+                } catch (TimeoutException e) {
+                    // A chunk may have been received meanwhile, moving the deadline further.
+                }
+            }
+        } catch (InterruptedException | ExecutionException e) {
             logger.error("Error reading the response: {}", e.getMessage());
             throw new AppException("Error reading the response: " + e.getMessage());
         }
     }
 
+    /**
+     * Stops waiting for the response of a call, so it is discarded if it still arrives.
+     *
+     * @param pending the future of the call.
+     */
+    private void abandonResponse(CompletableFuture<NetworkProtos.Response> pending) {
+        for (Map.Entry<Long, CompletableFuture<NetworkProtos.Response>> entry : pendingResponses.entrySet()) {
+            if (entry.getValue() == pending && pendingResponses.remove(entry.getKey(), pending)) {
+                pendingChunks.remove(entry.getKey());
+            }
+        }
+    }
+
+    /**
+     * Completes the call waiting for the response.
+     *
+     * @param response the response received.
+     */
+    private void completeResponse(NetworkProtos.Response response) {
+        Consumer<NetworkProtos.Response> onChunk = pendingChunks.get(response.getRequestId());
+        if (onChunk != null) {
+            if (response.getResponseType() == NetworkProtos.Response.type.OK && !response.getLast()) {
+                onChunk.accept(response);
+                return;
+            }
+            pendingChunks.remove(response.getRequestId());
+        }
+
+        CompletableFuture<NetworkProtos.Response> pending = pendingResponses.remove(response.getRequestId());
+        if (pending == null) {
+            logger.warn("No call is waiting for the response of the request: {}", response.getRequestId());
+            return;
+        }
+        pending.complete(response);
+    }
+
+    /**
+     * Fails every call still waiting for its response.
+     *
+     * @param message the error message of the calls.
+     */
+    private void failPendingResponses(String message) {
+        // The calls of a refused connection fail as refused, so they can be retried.
+        NetworkProtos.Response errorResponse = rejection != null ? rejection : ProtocolUtils.createErrorResponse(message);
+        pendingChunks.clear();
+        for (Long requestId : pendingResponses.keySet()) {
+            CompletableFuture<NetworkProtos.Response> pending = pendingResponses.remove(requestId);
+            if (pending != null) {
+                pending.complete(errorResponse);
+            }
+        }
+    }
+
+    /**
+     * Creates the dispatch table of the updates, shared by all the proxies.
+     * Every update type must have a {@code handle<TYPE>} method.
+     *
+     * @return the handlers of the updates, indexed by the ordinal of the response type.
+     * @throws IllegalStateException if an update type has no handler.
+     */
+    private static MethodHandle[] createUpdateHandlers() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType handlerType = MethodType.methodType(void.class, NetworkProtos.Response.class);
+
+        MethodHandle[] handlers = new MethodHandle[NetworkProtos.Response.type.values().length];
+        for (NetworkProtos.Response.type type : UPDATES) {
+            try {
+                handlers[type.ordinal()] = lookup.findVirtual(ProtobufProxy.class, "handle" + type.name(), handlerType);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException("No handler for the update: " + type.name(), e);
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * Receives an update pushed by the server: it is held while the client is resuming,
+     * and discarded if it was already received, like the ones replayed while resuming.
+     *
+     * @param response the update received.
+     */
+    private void receiveUpdate(NetworkProtos.Response response) throws AppException {
+        updateLock.lock();
+        try {
+            if (resuming) {
+                heldUpdates.add(response);
+                return;
+            }
+            this.dispatchUpdate(response);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    /**
+     * Handles an update not received before. Must be called with the update lock held.
+     *
+     * @param response the update to be handled.
+     */
+    private void dispatchUpdate(NetworkProtos.Response response) throws AppException {
+        // The updates without a sequence number come from servers that don't replay the missed updates.
+        if (response.getSequence() != 0) {
+            if (response.getSequence() <= lastSequence) {
+                logger.info("Discarding the update {}, already received.", response.getSequence());
+                return;
+            }
+            lastSequence = response.getSequence();
+        }
+        this.handleUpdate(response);
+    }
+
     /**
      * Handles an update response.
      *
@@ -132,12 +607,9 @@ public class ProtobufProxy implements IService {
     private void handleUpdate(NetworkProtos.Response response) throws AppException {
         logger.traceEntry("Handling the update response...");
 
-        String handlerName = "handle" + response.getResponseType().name();
         try {
-            logger.info("Invoking the handler method: {}", handlerName);
-            Method handleMethod = this.getClass().getDeclaredMethod(handlerName, NetworkProtos.Response.class);
-            handleMethod.invoke(this, response);
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
+            UPDATE_HANDLERS[response.getResponseType().ordinal()].invokeExact(this, response);
+        } catch (Throwable e) {
             logger.error("Error handling the update response: {}", e.getMessage());
             throw new AppException("Error handling the update response: " + e.getMessage());
         }
@@ -147,13 +619,10 @@ public class ProtobufProxy implements IService {
 
     private void handlePARTICIPANT_ADDED(NetworkProtos.Response response) throws AppException {
         logger.traceEntry("Handling the PARTICIPANT_ADDED response...");
-        Participant participant = new Participant.Builder()
-                .setId(UUID.fromString(response.getParticipant().getId().getValue()))
-                .setFirstName(response.getParticipant().getFirstName())
-                .setLastName(response.getParticipant().getLastName())
-                .setTeam(response.getParticipant().getTeam())
-                .setEngineCapacity(response.getParticipant().getEngineCapacity())
-                .build();
+        Participant participant = ProtocolUtils.parseParticipant(response);
+        if (raceCache != null) {
+            raceCache.participantAdded(participant);
+        }
         try {
             logger.info("Notifying the client...");
             client.participantAdded(participant);
@@ -164,6 +633,27 @@ public class ProtobufProxy implements IService {
         logger.traceExit("PARTICIPANT_ADDED response handled successfully!");
     }
 
+    private void handlePARTICIPANTS_ADDED(NetworkProtos.Response response) throws AppException {
+        logger.traceEntry("Handling the PARTICIPANTS_ADDED response...");
+        List<Participant> participants = ProtocolUtils.parseParticipants(response);
+        List<Race> races = ProtocolUtils.parseRaces(response);
+        if (raceCache != null) {
+            if (races.isEmpty()) {
+                participants.forEach(raceCache::participantAdded);
+            } else {
+                raceCache.replaceRaces(races);
+            }
+        }
+        try {
+            logger.info("Notifying the client of {} participants...", participants.size());
+            client.participantsAdded(participants, races);
+        } catch (AppException e) {
+            logger.error("Error notifying the client: {}", e.getMessage());
+            throw new AppException("Error notifying the client: " + e.getMessage());
+        }
+        logger.traceExit("PARTICIPANTS_ADDED response handled successfully!");
+    }
+
     /**
      * Checks if a response is an update, not made by the current client.
      *
@@ -171,7 +661,17 @@ public class ProtobufProxy implements IService {
      * @return true if the response is an update, false otherwise.
      */
     private boolean isUpdate(NetworkProtos.Response response) {
-        return response.getResponseType() == NetworkProtos.Response.type.PARTICIPANT_ADDED;
+        return UPDATES.contains(response.getResponseType());
+    }
+
+    /**
+     * Checks if a response refuses a request, or the whole connection, because the server is overloaded.
+     *
+     * @param response the response to be checked.
+     * @return true if the response is OVERLOADED, false otherwise.
+     */
+    private static boolean isOverloaded(NetworkProtos.Response response) {
+        return response.getResponseType() == NetworkProtos.Response.type.OVERLOADED;
     }
 
     /**
@@ -199,46 +699,194 @@ public class ProtobufProxy implements IService {
         public void run() {
             while (!finished) {
                 try {
-                    NetworkProtos.Response response = NetworkProtos.Response.parseDelimitedFrom(inputStream);
+                    NetworkProtos.Response response = codec.read(NetworkProtos.Response.parser());
                     logger.info("Received response: {}", response);
 
                     if (response != null) {
                         if (isServerClosed(response)) {
                             logger.warn("The server has been closed!");
-                            try {
-                                closeConnection();
-                                client.shutdownGUI();
-                                finished = true;
-                                break;
-                            } catch (Exception e) {
-                                logger.error("Error closing the connection: {}", e.getMessage());
-                            }
+                            failPendingResponses("The server has been closed!");
+                            finished = true;
+                            break;
                         }
                         // Updating the client if the response was not directed to the current client.
-                        if (isUpdate(response)) {
+                        if (response.getResponseType() == NetworkProtos.Response.type.PONG) {
+                            logger.info("The server answered the heartbeat.");
+                        } else if (isOverloaded(response) && response.getRequestId() == 0) {
+                            // The server refused the connection and closes it.
+                            logger.warn("The server refused the connection: {}", response.getErrorMessage());
+                            rejection = response;
+                            failPendingResponses(response.getErrorMessage());
+                        } else if (isUpdate(response)) {
                             logger.info("The passed response is an update.");
-                            handleUpdate(response);
+                            receiveUpdate(response);
                         } else {
-                            // Adding the response into the queue.
-                            logger.info("Saving the response.");
-                            responses.put(response);
+                            // Handing the response to the call waiting for it.
+                            logger.info("Completing the call of the request: {}", response.getRequestId());
+                            completeResponse(response);
                         }
                     } else {
+                        // The stream reached its end: the server closed the connection.
                         logger.error("Couldn't receive the response from the server!");
-                        NetworkProtos.Response errorResponse = ProtocolUtils.createErrorResponse("Couldn't receive the response from the server!");
-                        responses.put(errorResponse);
+                        failPendingResponses("Couldn't receive the response from the server!");
+                        finished = true;
+                        break;
                     }
-                } catch (Exception e) {
+                } catch (IOException e) {
                     logger.error("Error reading from the input stream: {}", e.getMessage());
+                    failPendingResponses("Error reading from the input stream: " + e.getMessage());
+                    finished = true;
+                } catch (Exception e) {
+                    logger.error("Error handling the response: {}", e.getMessage());
                 }
+            }
+            closeConnection();
+
+            // The connection was lost, not closed by logging out.
+            if (loggedIn) {
+                reconnect();
+            }
+        }
+    }
+
+    /**
+     * Reconnects after losing the connection: logs in again with the credentials of the session
+     * and resumes the updates from the last one received, backing off between the attempts.
+     * Closes the GUI if every attempt fails.
+     */
+    private void reconnect() {
+        if (!reconnecting.compareAndSet(false, true)) {
+            return;
+        }
+        logger.traceEntry("Reconnecting to the server...");
 
+        try {
+            for (int attempt = 0; attempt < reconnectAttempts && loggedIn; attempt++) {
                 try {
-                    Thread.sleep(1000);
-                } catch (Exception e) {
-                    logger.error("Error sleeping the thread: {}", e.getMessage());
+                    this.backOff(RECONNECT_DELAY, attempt);
+                    NetworkProtos.Response response = this.connectAgain();
+                    if (response.getResponseType() != NetworkProtos.Response.type.OK) {
+                        logger.error("Error logging in again: {}", response.getErrorMessage());
+                        this.finished = true;
+                        this.closeConnection();
+                        continue;
+                    }
+
+                    this.resume(true);
+                    logger.traceExit("Reconnected successfully!");
+                    return;
+                } catch (AppException e) {
+                    logger.error("Error reconnecting: {}", e.getMessage());
+                    this.finished = true;
+                    this.closeConnection();
                 }
             }
-            closeConnection();
+        } finally {
+            reconnecting.set(false);
+        }
+
+        if (loggedIn) {
+            logger.error("Couldn't reconnect to the server. Closing the GUI...");
+            loggedIn = false;
+            if (client != null) {
+                client.shutdownGUI();
+            }
+        }
+    }
+
+    /**
+     * Opens a new connection and logs in again, with the token of the session if the server issued one,
+     * and with the password if the server didn't resume the session.
+     *
+     * @return the response of the login, OVERLOADED if the server kept refusing the connection.
+     * @throws AppException if the connection couldn't be opened or the login request couldn't be sent.
+     */
+    private NetworkProtos.Response connectAgain() throws AppException {
+        String token = this.sessionToken;
+        if (token == null) {
+            return this.connect(ProtocolUtils.createLoginRequest(username, password));
+        }
+
+        NetworkProtos.Response response = this.connect(ProtocolUtils.createResumeSessionRequest(username, token));
+        if (response.getResponseType() != NetworkProtos.Response.type.ERROR) {
+            return response;
+        }
+        // The connection stays open after a refused session, so the password is sent on it.
+        logger.warn("Couldn't resume the session, logging in with the password: {}", response.getErrorMessage());
+        response = this.call(ProtocolUtils.createLoginRequest(username, password));
+        if (response.getResponseType() == NetworkProtos.Response.type.OK) {
+            this.sessionToken = response.getSessionToken().isEmpty() ? null : response.getSessionToken();
+        }
+        return response;
+    }
+
+    /**
+     * Resumes the updates after logging in: re-subscribes to the topics of the session, receives the updates
+     * missed since the last one and the position in the updates of the server.
+     * The updates pushed meanwhile are held, then delivered unless already replayed.
+     *
+     * @param reconnecting whether the client had a session before, so it reloads everything if the missed updates are unknown.
+     * @throws AppException if the server couldn't resume the updates.
+     */
+    private void resume(boolean reconnecting) throws AppException {
+        logger.traceEntry("Resuming the updates...");
+        long knownEpoch;
+        long knownSequence;
+        boolean resynchronize = false;
+        updateLock.lock();
+        try {
+            resuming = true;
+            knownEpoch = epoch;
+            knownSequence = lastSequence;
+        } finally {
+            updateLock.unlock();
+        }
+
+        try {
+            NetworkProtos.Request request = ProtocolUtils.createResumeRequest(knownEpoch, knownSequence, List.copyOf(teams), List.copyOf(engineCapacities));
+            NetworkProtos.Response response = this.call(request);
+            if (response.getResponseType() != NetworkProtos.Response.type.OK) {
+                logger.error("Error resuming the updates: {}", response.getErrorMessage());
+                throw new AppException("Error resuming the updates: " + response.getErrorMessage());
+            }
+
+            updateLock.lock();
+            try {
+                epoch = response.getEpoch();
+                lastSequence = response.getSequence();
+                if (!response.getSnapshot()) {
+                    if (response.getParticipantsCount() > 0) {
+                        logger.info("Replaying {} missed participants...", response.getParticipantsCount());
+                        this.handlePARTICIPANTS_ADDED(response);
+                    }
+                } else {
+                    resynchronize = reconnecting;
+                }
+            } finally {
+                updateLock.unlock();
+            }
+        } finally {
+            updateLock.lock();
+            try {
+                resuming = false;
+                for (NetworkProtos.Response update : heldUpdates) {
+                    try {
+                        this.dispatchUpdate(update);
+                    } catch (AppException e) {
+                        logger.error("Error handling a held update: {}", e.getMessage());
+                    }
+                }
+                heldUpdates.clear();
+            } finally {
+                updateLock.unlock();
+            }
+        }
+        logger.traceExit("Resumed the updates.");
+
+        // Outside the lock, as reloading calls the server, whose updates need the lock to be received.
+        if (resynchronize && client != null) {
+            logger.warn("The missed updates are unknown. Reloading everything...");
+            client.resynchronize();
         }
     }
 
@@ -248,22 +896,11 @@ public class ProtobufProxy implements IService {
         try {
             logger.info("Sending the request...");
             NetworkProtos.Request request = ProtocolUtils.createFindParticipantsByTeamRequest(team);
-            this.sendRequest(request);
-
-            logger.info("Reading the response...");
-            NetworkProtos.Response response = this.readResponse();
+            NetworkProtos.Response response = this.call(request);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
                 logger.traceExit("Participants found successfully!");
-                return response.getParticipantsList().stream()
-                        .map(participant -> new Participant.Builder()
-                                .setId(UUID.fromString(participant.getId().getValue()))
-                                .setFirstName(participant.getFirstName())
-                                .setLastName(participant.getLastName())
-                                .setTeam(participant.getTeam())
-                                .setEngineCapacity(participant.getEngineCapacity())
-                                .build())
-                        .toList();
+                return ProtocolUtils.parseParticipants(response);
             }
             logger.error("Error finding participants by team: {}", response.getErrorMessage());
             throw new AppException("Error finding participants by team: " + response.getErrorMessage());
@@ -273,6 +910,39 @@ public class ProtobufProxy implements IService {
         }
     }
 
+    @Override
+    public void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) throws AppException {
+        logger.traceEntry("Streaming participants by team: {}", team);
+        // The first error of the consumer, raised to the caller once the stream ends.
+        AppException[] consumerError = new AppException[1];
+
+        logger.info("Sending the request...");
+        NetworkProtos.Request request = ProtocolUtils.createFindParticipantsByTeamRequest(team, cursor, chunkSize);
+        NetworkProtos.Response response = this.call(request, chunk -> {
+            if (consumerError[0] != null) {
+                return;
+            }
+            try {
+                // Handed over on the reader thread, as soon as the chunk arrives.
+                consumer.accept(ProtocolUtils.parseParticipants(chunk), chunk.getCursor(), false);
+            } catch (AppException e) {
+                logger.error("Error handling the chunk: {}", e.getMessage());
+                consumerError[0] = e;
+            }
+        });
+
+        if (consumerError[0] != null) {
+            throw new AppException("Error finding participants by team: " + consumerError[0].getMessage());
+        }
+        if (response.getResponseType() != NetworkProtos.Response.type.OK) {
+            logger.error("Error finding participants by team: {}", response.getErrorMessage());
+            throw new AppException("Error finding participants by team: " + response.getErrorMessage());
+        }
+
+        consumer.accept(ProtocolUtils.parseParticipants(response), response.getCursor(), true);
+        logger.traceExit("Participants streamed successfully!");
+    }
+
     @Override
     public void addParticipant(String firstName, String lastName, String team, int engineCapacity) throws ServiceException {
         logger.traceEntry("Adding participant with firstName: {}, lastName: {}, team: {}, engineCapacity: {}",
@@ -280,10 +950,7 @@ public class ProtobufProxy implements IService {
         try {
             logger.info("Sending the request...");
             NetworkProtos.Request request = ProtocolUtils.createAddParticipantRequest(firstName, lastName, team, engineCapacity);
-            this.sendRequest(request);
-
-            logger.info("Reading the response...");
-            NetworkProtos.Response response = this.readResponse();
+            NetworkProtos.Response response = this.call(request);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
                 logger.traceExit("Participant added successfully!");
@@ -300,23 +967,28 @@ public class ProtobufProxy implements IService {
     @Override
     public Iterable<Race> findAllRaces() throws ServiceException {
         logger.traceEntry("Finding all the races...");
+        long version = 0;
+        if (raceCache != null) {
+            List<Race> cached = raceCache.getRaces();
+            if (cached != null) {
+                logger.traceExit("Returning the cached races...");
+                return cached;
+            }
+            version = raceCache.getVersion();
+        }
+
         try {
             logger.info("Sending the request...");
             NetworkProtos.Request request = ProtocolUtils.createFindAllRacesRequest();
-            this.sendRequest(request);
-
-            logger.info("Reading the response...");
-            NetworkProtos.Response response = this.readResponse();
+            NetworkProtos.Response response = this.call(request);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
+                List<Race> races = ProtocolUtils.parseRaces(response);
+                if (raceCache != null) {
+                    raceCache.putRaces(races, version);
+                }
                 logger.traceExit("Returning the races...");
-                return response.getRacesList().stream()
-                        .map(race -> new Race.Builder()
-                                .setId(race.getId())
-                                .setEngineCapacity(race.getEngineCapacity())
-                                .setNoParticipants(race.getNoParticipants())
-                                .build())
-                        .toList();
+                return races;
             }
             logger.error("Error in finding all the races: {}", response.getErrorMessage());
             throw new ServiceException("Error in finding all the races: " + response.getErrorMessage());
@@ -329,15 +1001,25 @@ public class ProtobufProxy implements IService {
     @Override
     public Iterable<Integer> findAllRaceEngineCapacities() throws ServiceException {
         logger.traceEntry("Finding all the engine capacities...");
+        long version = 0;
+        if (raceCache != null) {
+            List<Integer> cached = raceCache.getEngineCapacities();
+            if (cached != null) {
+                logger.traceExit("Returning the cached engine capacities...");
+                return cached;
+            }
+            version = raceCache.getVersion();
+        }
+
         try {
             logger.info("Sending the request...");
             NetworkProtos.Request request = ProtocolUtils.createFindAllRaceEngineCapacitiesRequest();
-            this.sendRequest(request);
-
-            logger.info("Reading the response...");
-            NetworkProtos.Response response = this.readResponse();
+            NetworkProtos.Response response = this.call(request);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
+                if (raceCache != null) {
+                    raceCache.putEngineCapacities(List.copyOf(response.getEngineCapacitiesList()), version);
+                }
                 logger.traceExit("Returning the races...");
                 return response.getEngineCapacitiesList();
             }
@@ -352,26 +1034,62 @@ public class ProtobufProxy implements IService {
     @Override
     public User login(String username, String password, Observer client) throws ServiceException {
         logger.traceEntry("Logging in with username: {}.", username);
-        try {
-            logger.info("Initializing the connection...");
-            this.initializeConnection();
+        NetworkProtos.Response response = this.logIn(ProtocolUtils.createLoginRequest(username, password), username, password);
+        return ProtocolUtils.parseUser(response);
+    }
 
-            logger.info("Sending the login request...");
-            NetworkProtos.Request request = ProtocolUtils.createLoginRequest(username, password);
-            this.sendRequest(request);
+    @Override
+    public Bootstrap bootstrap(String username, String password, Observer client) throws ServiceException {
+        logger.traceEntry("Bootstrapping with username: {}.", username);
+        NetworkProtos.Response response = this.logIn(ProtocolUtils.createBootstrapRequest(username, password), username, password);
+        return new Bootstrap(ProtocolUtils.parseUser(response), ProtocolUtils.parseRaces(response), List.copyOf(response.getEngineCapacitiesList()));
+    }
 
-            logger.info("Reading the response from the server...");
-            NetworkProtos.Response response = this.readResponse();
+    /**
+     * Opens a new connection and starts a session on it with a LOGIN or a BOOTSTRAP request.
+     * The races and the engine capacities of a BOOTSTRAP response are cached, so they aren't requested again.
+     *
+     * @param request  the LOGIN or the BOOTSTRAP request.
+     * @param username the username of the user.
+     * @param password the password of the user.
+     * @return the OK response of the request.
+     * @throws ServiceException if the connection couldn't be opened or the server refused the login.
+     */
+    private NetworkProtos.Response logIn(NetworkProtos.Request request, String username, String password) throws ServiceException {
+        try {
+            NetworkProtos.Response response = this.connect(request);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
                 logger.info("Logged in successfully!");
+                this.username = username;
+                this.password = password;
+                this.sessionToken = response.getSessionToken().isEmpty() ? null : response.getSessionToken();
+                this.teams.clear();
+                this.engineCapacities.clear();
+                updateLock.lock();
+                try {
+                    epoch = 0;
+                    lastSequence = 0;
+                } finally {
+                    updateLock.unlock();
+                }
+                this.loggedIn = true;
+
+                // Cached before resuming, so the updates held meanwhile are counted in the races.
+                if (raceCache != null && request.getRequestType() == NetworkProtos.Request.type.BOOTSTRAP) {
+                    long version = raceCache.getVersion();
+                    raceCache.putRaces(ProtocolUtils.parseRaces(response), version);
+                    raceCache.putEngineCapacities(List.copyOf(response.getEngineCapacitiesList()), version);
+                }
 
-                return new User.Builder()
-                        .setId(response.getUser().getId())
-                        .setFirstName(response.getUser().getFirstName())
-                        .setLastName(response.getUser().getLastName())
-                        .setUsername(response.getUser().getUsername())
-                        .build();
+                // Learning the position in the updates of the server, so a lost connection can resume from it.
+                try {
+                    this.resume(false);
+                } catch (AppException e) {
+                    logger.warn("Couldn't resume the updates, the missed ones will be reloaded after reconnecting: {}", e.getMessage());
+                }
+
+                return response;
             }
             logger.error("Error logging in: {}", response.getErrorMessage());
             this.finished = true;
@@ -383,16 +1101,87 @@ public class ProtobufProxy implements IService {
         }
     }
 
+    /**
+     * Opens a new connection and logs in on it, reconnecting after backing off while the server refuses the connection.
+     *
+     * @param request the LOGIN or the BOOTSTRAP request.
+     * @return the response of the login, OVERLOADED if the server kept refusing the connection.
+     * @throws AppException if the connection couldn't be opened or the login request couldn't be sent.
+     */
+    private NetworkProtos.Response connect(NetworkProtos.Request request) throws AppException {
+        NetworkProtos.Response response;
+        int attempt = 0;
+        while (true) {
+            logger.info("Initializing the connection...");
+            this.initializeConnection();
+
+            logger.info("Sending the login request...");
+            try {
+                this.negotiate();
+                response = this.call(request);
+            } catch (AppException e) {
+                // The refused connection can be closed by the server before the request is written.
+                if (rejection == null) {
+                    throw e;
+                }
+                response = rejection;
+            }
+
+            // Reconnecting after backing off if the server refused the connection.
+            if (rejection == null || attempt >= overloadRetries) {
+                return response;
+            }
+            this.finished = true;
+            this.closeConnection();
+            logger.warn("The server refused the connection.");
+            this.backOff(retryAfter(rejection), attempt++);
+        }
+    }
+
+    /**
+     * Offers the server the protocol version and the compression of the large frames of the new connection.
+     * The compressed frames are read before the answer, which the server can already compress,
+     * and the requests are compressed only once the server answered that it reads them.
+     *
+     * @throws AppException if the request couldn't be sent or wasn't answered.
+     */
+    private void negotiate() throws AppException {
+        int threshold = this.compressionThreshold;
+        FrameCompressor compressor = null;
+        List<NetworkProtos.Compression> compressions = List.of();
+        if (threshold > 0) {
+            compressor = new FrameCompressor(threshold);
+            compressions = List.of(NetworkProtos.Compression.DEFLATE);
+            codec.setReadCompressor(compressor);
+        }
+
+        NetworkProtos.Response response = this.call(ProtocolUtils.createHelloRequest(compressions, protocolVersion));
+        if (response.getResponseType() != NetworkProtos.Response.type.OK) {
+            logger.warn("The server didn't negotiate the connection: {}", response.getErrorMessage());
+            return;
+        }
+        logger.info("Speaking the protocol version {}.", response.getVersion());
+        if (compressor != null && response.getCompression() == NetworkProtos.Compression.DEFLATE) {
+            logger.info("The frames of at least {} bytes are compressed.", threshold);
+            codec.setWriteCompressor(compressor);
+        } else {
+            logger.info("The server keeps the frames raw.");
+        }
+    }
+
     @Override
     public void logout(User user, Observer client) throws AppException {
         logger.traceEntry("Logging out user: {}", user.getUsername());
+        // The connection closed after logging out isn't reconnected.
+        this.loggedIn = false;
+        this.sessionToken = null;
 
         try {
             logger.info("Sending the logout request...");
             NetworkProtos.Request request = ProtocolUtils.createLogoutRequest(user);
-            this.sendRequest(request);
+            CompletableFuture<NetworkProtos.Response> pending = this.sendRequest(request);
 
-            NetworkProtos.Response response = this.readResponse();
+            NetworkProtos.Response response = this.readResponse(pending);
 
             if (response.getResponseType() == NetworkProtos.Response.type.OK) {
                 logger.info("Logged out successfully!");
@@ -410,4 +1199,48 @@ public class ProtobufProxy implements IService {
             throw new AppException("Error sending the logout request: " + e.getMessage());
         }
     }
+
+    @Override
+    public void subscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException {
+        logger.traceEntry("Subscribing to the teams {} and the engine capacities {}", teams, engineCapacities);
+        try {
+            logger.info("Sending the request...");
+            NetworkProtos.Request request = ProtocolUtils.createSubscribeRequest(teams, engineCapacities);
+            NetworkProtos.Response response = this.call(request);
+
+            if (response.getResponseType() == NetworkProtos.Response.type.OK) {
+                teams.forEach(this.teams::add);
+                engineCapacities.forEach(this.engineCapacities::add);
+                logger.traceExit("Subscribed successfully!");
+                return;
+            }
+            logger.error("Error subscribing: {}", response.getErrorMessage());
+            throw new ServiceException("Error subscribing: " + response.getErrorMessage());
+        } catch (AppException e) {
+            logger.error("Error subscribing: {}", e.getMessage());
+            throw new ServiceException("Error subscribing: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void unsubscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException {
+        logger.traceEntry("Unsubscribing from the teams {} and the engine capacities {}", teams, engineCapacities);
+        try {
+            logger.info("Sending the request...");
+            NetworkProtos.Request request = ProtocolUtils.createUnsubscribeRequest(teams, engineCapacities);
+            NetworkProtos.Response response = this.call(request);
+
+            if (response.getResponseType() == NetworkProtos.Response.type.OK) {
+                teams.forEach(this.teams::remove);
+                engineCapacities.forEach(this.engineCapacities::remove);
+                logger.traceExit("Unsubscribed successfully!");
+                return;
+            }
+            logger.error("Error unsubscribing: {}", response.getErrorMessage());
+            throw new ServiceException("Error unsubscribing: " + response.getErrorMessage());
+        } catch (AppException e) {
+            logger.error("Error unsubscribing: {}", e.getMessage());
+            throw new ServiceException("Error unsubscribing: " + e.getMessage());
+        }
+    }
 }
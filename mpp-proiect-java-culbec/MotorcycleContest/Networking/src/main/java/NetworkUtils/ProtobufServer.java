@@ -3,25 +3,53 @@ package NetworkUtils;
 import CommonUtils.IService;
 import Workers.RPCReflectionWorker;
 
-import java.net.Socket;
-
 public class ProtobufServer extends AbstractConcurrentServer {
     private final IService server;
+    private final Broadcaster broadcaster;
+    private int outboundCapacity = OutboundWriter.DEFAULT_CAPACITY;
+    private OutboundWriter.OverflowPolicy overflowPolicy = OutboundWriter.OverflowPolicy.DROP;
+
+    public ProtobufServer(String hostname, int port, IService server, Broadcaster broadcaster) {
+        this(hostname, port, server, broadcaster, false);
+    }
 
-    public ProtobufServer(String hostname, int port, IService server) {
-        super(hostname, port);
+    public ProtobufServer(String hostname, int port, IService server, Broadcaster broadcaster, boolean virtualThreads) {
+        super(hostname, port, virtualThreads);
         this.server = server;
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * Sets the outbound queues of the clients. Must be called before starting the server.
+     * @param outboundCapacity The number of responses, and separately of updates, queued for a client at most.
+     * @param overflowPolicy   What happens to the updates sent while the queue of updates of a client is full.
+     */
+    public void setOutbound(int outboundCapacity, OutboundWriter.OverflowPolicy overflowPolicy) {
+        this.outboundCapacity = outboundCapacity;
+        this.overflowPolicy = overflowPolicy;
     }
 
     @Override
-    protected Thread createWorker(Socket client) throws ServerException {
+    protected Thread createWorker(Connection client) throws ServerException {
         // Creating a worker specific for this type of server.
         logger.traceEntry("Creating a new worker for the client...");
 
         try {
-            RPCReflectionWorker worker = new RPCReflectionWorker(server, client);
+            // The socket reads wake up as often as the reaper checks the connection, so the two never disagree.
+            RPCReflectionWorker worker = new RPCReflectionWorker(server, broadcaster, client, this.getAdmission(),
+                    outboundCapacity, overflowPolicy, (int) this.getReaper().getIdleTimeout());
+            worker.setCompressionThreshold(this.getCompressionThreshold());
+            worker.setSessionStore(this.getSessionStore());
+            this.getReaper().register(worker);
             logger.traceExit("Worker created.");
-            return new Thread(worker);
+            // Forgetting the worker once it finished, so nothing keeps its connection and its buffers reachable.
+            return this.newWorkerThread(() -> {
+                try {
+                    worker.run();
+                } finally {
+                    this.getReaper().unregister(worker);
+                }
+            });
         } catch (Exception e) {
             logger.error("Couldn't create the worker: {}", e.getMessage());
             throw new ServerException(e.getMessage());
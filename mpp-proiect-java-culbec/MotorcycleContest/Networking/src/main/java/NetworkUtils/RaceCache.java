@@ -0,0 +1,178 @@
+package NetworkUtils;
+
+import Model.Participant;
+import Model.Race;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Copy of the races and their engine capacities kept by the client, updated from the pushed participants
+ * instead of asking the server again. It stays exact only while the client receives the updates of every race.
+ */
+public class RaceCache {
+    private final Lock lock = new ReentrantLock();
+    // Null while not loaded. Read without the lock, replaced under it.
+    private volatile List<Race> races = null;
+    private volatile List<Integer> engineCapacities = null;
+    // Incremented by every change, so a response read before a change doesn't overwrite it.
+    private long version = 0;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @return The cached races, or null if they must be requested.
+     */
+    public List<Race> getRaces() {
+        return this.count(races);
+    }
+
+    /**
+     * @return The cached engine capacities, or null if they must be requested.
+     */
+    public List<Integer> getEngineCapacities() {
+        return this.count(engineCapacities);
+    }
+
+    /**
+     * @return The version of the cache, to be passed back when storing what was requested from the server.
+     */
+    public long getVersion() {
+        lock.lock();
+        try {
+            return version;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the races requested from the server, unless the cache changed since the request was sent.
+     *
+     * @param races   The races received.
+     * @param version The version of the cache when the request was sent.
+     */
+    public void putRaces(List<Race> races, long version) {
+        lock.lock();
+        try {
+            if (this.version == version) {
+                this.races = races;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores the engine capacities requested from the server, unless the cache changed since the request was sent.
+     *
+     * @param engineCapacities The engine capacities received.
+     * @param version          The version of the cache when the request was sent.
+     */
+    public void putEngineCapacities(List<Integer> engineCapacities, long version) {
+        lock.lock();
+        try {
+            if (this.version == version) {
+                this.engineCapacities = engineCapacities;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts an added participant in its race.
+     * A participant of an unknown race drops the races, so they are requested again.
+     *
+     * @param participant The added participant.
+     */
+    public void participantAdded(Participant participant) {
+        lock.lock();
+        try {
+            version++;
+            if (races == null) {
+                return;
+            }
+
+            List<Race> updated = new ArrayList<>(races.size());
+            boolean found = false;
+            for (Race race : races) {
+                if (!found && Objects.equals(race.getEngineCapacity(), participant.getEngineCapacity())) {
+                    race = new Race.Builder()
+                            .setId(race.getId())
+                            .setEngineCapacity(race.getEngineCapacity())
+                            .setNoParticipants(race.getNoParticipants() + 1)
+                            .build();
+                    found = true;
+                }
+                updated.add(race);
+            }
+
+            if (found) {
+                races = List.copyOf(updated);
+            } else {
+                races = null;
+                engineCapacities = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the races with the ones pushed by the server.
+     *
+     * @param races The races, with their updated number of participants.
+     */
+    public void replaceRaces(List<Race> races) {
+        lock.lock();
+        try {
+            version++;
+            this.races = List.copyOf(races);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops everything, so it is requested again.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            version++;
+            races = null;
+            engineCapacities = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of calls answered from the cache.
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return The number of calls that had to ask the server.
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private <T> List<T> count(List<T> cached) {
+        if (cached == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,115 @@
+package NetworkUtils;
+
+import Model.User;
+
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers the sessions of the logged in users, so a client that lost its connection can log in again
+ * with the token of its session instead of its password, skipping the database and the password hash.
+ * A user has a single session, replaced by every login and ended by its logout, or after it stayed unused for the time to live.
+ * The sessions live in memory, so they end when the server restarts.
+ */
+public class SessionStore {
+    public static final long DEFAULT_TTL = 3_600_000;
+    // The random bytes of a token.
+    private static final int TOKEN_SIZE = 32;
+
+    private final long ttl;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    // The last time the expired sessions were dropped, as given by System.nanoTime().
+    private volatile long lastSweep = System.nanoTime();
+
+    private record Session(User user, byte[] secret, long expiresAt) {
+    }
+
+    /**
+     * @param ttl The milliseconds a session stays valid after its last use.
+     */
+    public SessionStore(long ttl) {
+        this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+
+    /**
+     * Starts a session of the user, ending the previous one.
+     *
+     * @param user The user that logged in.
+     * @return The token of the session.
+     */
+    public String issue(User user) {
+        byte[] secret = new byte[TOKEN_SIZE];
+        random.nextBytes(secret);
+
+        long now = System.nanoTime();
+        this.sweep(now);
+        sessions.put(user.getUsername(), new Session(user, secret, now + ttl));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+    }
+
+    /**
+     * Validates the token of a session, extending the session if it is valid.
+     * The token is compared in constant time, so its timing reveals nothing of the expected one.
+     *
+     * @param username The username of the user.
+     * @param token    The token of the session.
+     * @return The user of the session, or null if the token is wrong or the session ended.
+     */
+    public User validate(String username, String token) {
+        Session session = sessions.get(username);
+        if (session == null) {
+            return null;
+        }
+
+        byte[] secret;
+        try {
+            secret = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(session.secret(), secret)) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        if (now - session.expiresAt() > 0) {
+            sessions.remove(username, session);
+            return null;
+        }
+        // Replaced only if the session wasn't replaced or ended meanwhile.
+        sessions.replace(username, session, new Session(session.user(), session.secret(), now + ttl));
+        return session.user();
+    }
+
+    /**
+     * Ends the session of the user.
+     *
+     * @param username The username of the user.
+     */
+    public void revoke(String username) {
+        sessions.remove(username);
+    }
+
+    /**
+     * @return The number of sessions remembered, some of which may have expired.
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Drops the expired sessions, at most once per time to live.
+     */
+    private void sweep(long now) {
+        if (now - lastSweep < ttl) {
+            return;
+        }
+        lastSweep = now;
+        sessions.values().removeIf(session -> now - session.expiresAt() > 0);
+    }
+}
@@ -14,23 +14,164 @@ public final class NetworkProtos {
     registerAllExtensions(
         (com.google.protobuf.ExtensionRegistryLite) registry);
   }
+  /**
+   * <pre>
+   * Compression of the large frames, negotiated by a HELLO request.
+   * </pre>
+   *
+   * Protobuf enum {@code Protocol.Compression}
+   */
+  public enum Compression
+      implements com.google.protobuf.ProtocolMessageEnum {
+    /**
+     * <code>NONE = 0;</code>
+     */
+    NONE(0),
+    /**
+     * <code>DEFLATE = 1;</code>
+     */
+    DEFLATE(1),
+    UNRECOGNIZED(-1),
+    ;
+
+    /**
+     * <code>NONE = 0;</code>
+     */
+    public static final int NONE_VALUE = 0;
+    /**
+     * <code>DEFLATE = 1;</code>
+     */
+    public static final int DEFLATE_VALUE = 1;
+
+
+    public final int getNumber() {
+      if (this == UNRECOGNIZED) {
+        throw new java.lang.IllegalArgumentException(
+            "Can't get the number of an unknown enum value.");
+      }
+      return value;
+    }
+
+    /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
+     * @deprecated Use {@link #forNumber(int)} instead.
+     */
+    @java.lang.Deprecated
+    public static Compression valueOf(int value) {
+      return forNumber(value);
+    }
+
+    /**
+     * @param value The numeric wire value of the corresponding enum entry.
+     * @return The enum associated with the given numeric wire value.
+     */
+    public static Compression forNumber(int value) {
+      switch (value) {
+        case 0: return NONE;
+        case 1: return DEFLATE;
+        default: return null;
+      }
+    }
+
+    public static com.google.protobuf.Internal.EnumLiteMap<Compression>
+        internalGetValueMap() {
+      return internalValueMap;
+    }
+    private static final com.google.protobuf.Internal.EnumLiteMap<
+        Compression> internalValueMap =
+          new com.google.protobuf.Internal.EnumLiteMap<Compression>() {
+            public Compression findValueByNumber(int number) {
+              return Compression.forNumber(number);
+            }
+          };
+
+    public final com.google.protobuf.Descriptors.EnumValueDescriptor
+        getValueDescriptor() {
+      if (this == UNRECOGNIZED) {
+        throw new java.lang.IllegalStateException(
+            "Can't get the descriptor of an unrecognized enum value.");
+      }
+      return getDescriptor().getValues().get(ordinal());
+    }
+    public final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptorForType() {
+      return getDescriptor();
+    }
+    public static final com.google.protobuf.Descriptors.EnumDescriptor
+        getDescriptor() {
+      return Protocol.NetworkProtos.getDescriptor().getEnumTypes().get(0);
+    }
+
+    private static final Compression[] VALUES = values();
+
+    public static Compression valueOf(
+        com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+      if (desc.getType() != getDescriptor()) {
+        throw new java.lang.IllegalArgumentException(
+          "EnumValueDescriptor is not for this type.");
+      }
+      if (desc.getIndex() == -1) {
+        return UNRECOGNIZED;
+      }
+      return VALUES[desc.getIndex()];
+    }
+
+    private final int value;
+
+    private Compression(int value) {
+      this.value = value;
+    }
+
+    // @@protoc_insertion_point(enum_scope:Protocol.Compression)
+  }
+
   public interface UUIDOrBuilder extends
       // @@protoc_insertion_point(interface_extends:Protocol.UUID)
       com.google.protobuf.MessageOrBuilder {
 
     /**
+     * <pre>
+     * Version 1: the canonical text form.
+     * </pre>
+     *
      * <code>string value = 1;</code>
      * @return The value.
      */
     java.lang.String getValue();
     /**
+     * <pre>
+     * Version 1: the canonical text form.
+     * </pre>
+     *
      * <code>string value = 1;</code>
      * @return The bytes for value.
      */
     com.google.protobuf.ByteString
         getValueBytes();
+
+    /**
+     * <pre>
+     * Version 2: the most and the least significant 64 bits.
+     * </pre>
+     *
+     * <code>fixed64 mostSignificantBits = 2;</code>
+     * @return The mostSignificantBits.
+     */
+    long getMostSignificantBits();
+
+    /**
+     * <code>fixed64 leastSignificantBits = 3;</code>
+     * @return The leastSignificantBits.
+     */
+    long getLeastSignificantBits();
   }
   /**
+   * <pre>
+   * The messages of the protocol version 1 carry the ids as text and the teams in every participant.
+   * The version 2, negotiated by a HELLO request, carries the ids as binary and the teams once per response.
+   * </pre>
+   *
    * Protobuf type {@code Protocol.UUID}
    */
   public static final class UUID extends
@@ -74,6 +215,10 @@ public final class NetworkProtos {
     public static final int VALUE_FIELD_NUMBER = 1;
     private volatile java.lang.Object value_;
     /**
+     * <pre>
+     * Version 1: the canonical text form.
+     * </pre>
+     *
      * <code>string value = 1;</code>
      * @return The value.
      */
@@ -91,6 +236,10 @@ public final class NetworkProtos {
       }
     }
     /**
+     * <pre>
+     * Version 1: the canonical text form.
+     * </pre>
+     *
      * <code>string value = 1;</code>
      * @return The bytes for value.
      */
@@ -109,6 +258,32 @@ public final class NetworkProtos {
       }
     }
 
+    public static final int MOSTSIGNIFICANTBITS_FIELD_NUMBER = 2;
+    private long mostSignificantBits_;
+    /**
+     * <pre>
+     * Version 2: the most and the least significant 64 bits.
+     * </pre>
+     *
+     * <code>fixed64 mostSignificantBits = 2;</code>
+     * @return The mostSignificantBits.
+     */
+    @java.lang.Override
+    public long getMostSignificantBits() {
+      return mostSignificantBits_;
+    }
+
+    public static final int LEASTSIGNIFICANTBITS_FIELD_NUMBER = 3;
+    private long leastSignificantBits_;
+    /**
+     * <code>fixed64 leastSignificantBits = 3;</code>
+     * @return The leastSignificantBits.
+     */
+    @java.lang.Override
+    public long getLeastSignificantBits() {
+      return leastSignificantBits_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -126,6 +301,12 @@ public final class NetworkProtos {
       if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(value_)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 1, value_);
       }
+      if (mostSignificantBits_ != 0L) {
+        output.writeFixed64(2, mostSignificantBits_);
+      }
+      if (leastSignificantBits_ != 0L) {
+        output.writeFixed64(3, leastSignificantBits_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -138,6 +319,14 @@ public final class NetworkProtos {
       if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(value_)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(1, value_);
       }
+      if (mostSignificantBits_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed64Size(2, mostSignificantBits_);
+      }
+      if (leastSignificantBits_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeFixed64Size(3, leastSignificantBits_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -155,6 +344,10 @@ public final class NetworkProtos {
 
       if (!getValue()
           .equals(other.getValue())) return false;
+      if (getMostSignificantBits()
+          != other.getMostSignificantBits()) return false;
+      if (getLeastSignificantBits()
+          != other.getLeastSignificantBits()) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -168,6 +361,12 @@ public final class NetworkProtos {
       hash = (19 * hash) + getDescriptor().hashCode();
       hash = (37 * hash) + VALUE_FIELD_NUMBER;
       hash = (53 * hash) + getValue().hashCode();
+      hash = (37 * hash) + MOSTSIGNIFICANTBITS_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getMostSignificantBits());
+      hash = (37 * hash) + LEASTSIGNIFICANTBITS_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getLeastSignificantBits());
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -264,6 +463,11 @@ public final class NetworkProtos {
       return builder;
     }
     /**
+     * <pre>
+     * The messages of the protocol version 1 carry the ids as text and the teams in every participant.
+     * The version 2, negotiated by a HELLO request, carries the ids as binary and the teams once per response.
+     * </pre>
+     *
      * Protobuf type {@code Protocol.UUID}
      */
     public static final class Builder extends
@@ -298,6 +502,10 @@ public final class NetworkProtos {
         super.clear();
         value_ = "";
 
+        mostSignificantBits_ = 0L;
+
+        leastSignificantBits_ = 0L;
+
         return this;
       }
 
@@ -325,6 +533,8 @@ public final class NetworkProtos {
       public Protocol.NetworkProtos.UUID buildPartial() {
         Protocol.NetworkProtos.UUID result = new Protocol.NetworkProtos.UUID(this);
         result.value_ = value_;
+        result.mostSignificantBits_ = mostSignificantBits_;
+        result.leastSignificantBits_ = leastSignificantBits_;
         onBuilt();
         return result;
       }
@@ -377,6 +587,12 @@ public final class NetworkProtos {
           value_ = other.value_;
           onChanged();
         }
+        if (other.getMostSignificantBits() != 0L) {
+          setMostSignificantBits(other.getMostSignificantBits());
+        }
+        if (other.getLeastSignificantBits() != 0L) {
+          setLeastSignificantBits(other.getLeastSignificantBits());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -408,6 +624,16 @@ public final class NetworkProtos {
 
                 break;
               } // case 10
+              case 17: {
+                mostSignificantBits_ = input.readFixed64();
+
+                break;
+              } // case 17
+              case 25: {
+                leastSignificantBits_ = input.readFixed64();
+
+                break;
+              } // case 25
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -426,6 +652,10 @@ public final class NetworkProtos {
 
       private java.lang.Object value_ = "";
       /**
+       * <pre>
+       * Version 1: the canonical text form.
+       * </pre>
+       *
        * <code>string value = 1;</code>
        * @return The value.
        */
@@ -442,6 +672,10 @@ public final class NetworkProtos {
         }
       }
       /**
+       * <pre>
+       * Version 1: the canonical text form.
+       * </pre>
+       *
        * <code>string value = 1;</code>
        * @return The bytes for value.
        */
@@ -459,6 +693,10 @@ public final class NetworkProtos {
         }
       }
       /**
+       * <pre>
+       * Version 1: the canonical text form.
+       * </pre>
+       *
        * <code>string value = 1;</code>
        * @param value The value to set.
        * @return This builder for chaining.
@@ -474,6 +712,10 @@ public final class NetworkProtos {
         return this;
       }
       /**
+       * <pre>
+       * Version 1: the canonical text form.
+       * </pre>
+       *
        * <code>string value = 1;</code>
        * @return This builder for chaining.
        */
@@ -484,6 +726,10 @@ public final class NetworkProtos {
         return this;
       }
       /**
+       * <pre>
+       * Version 1: the canonical text form.
+       * </pre>
+       *
        * <code>string value = 1;</code>
        * @param value The bytes for value to set.
        * @return This builder for chaining.
@@ -499,6 +745,80 @@ public final class NetworkProtos {
         onChanged();
         return this;
       }
+
+      private long mostSignificantBits_ ;
+      /**
+       * <pre>
+       * Version 2: the most and the least significant 64 bits.
+       * </pre>
+       *
+       * <code>fixed64 mostSignificantBits = 2;</code>
+       * @return The mostSignificantBits.
+       */
+      @java.lang.Override
+      public long getMostSignificantBits() {
+        return mostSignificantBits_;
+      }
+      /**
+       * <pre>
+       * Version 2: the most and the least significant 64 bits.
+       * </pre>
+       *
+       * <code>fixed64 mostSignificantBits = 2;</code>
+       * @param value The mostSignificantBits to set.
+       * @return This builder for chaining.
+       */
+      public Builder setMostSignificantBits(long value) {
+        
+        mostSignificantBits_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Version 2: the most and the least significant 64 bits.
+       * </pre>
+       *
+       * <code>fixed64 mostSignificantBits = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearMostSignificantBits() {
+        
+        mostSignificantBits_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private long leastSignificantBits_ ;
+      /**
+       * <code>fixed64 leastSignificantBits = 3;</code>
+       * @return The leastSignificantBits.
+       */
+      @java.lang.Override
+      public long getLeastSignificantBits() {
+        return leastSignificantBits_;
+      }
+      /**
+       * <code>fixed64 leastSignificantBits = 3;</code>
+       * @param value The leastSignificantBits to set.
+       * @return This builder for chaining.
+       */
+      public Builder setLeastSignificantBits(long value) {
+        
+        leastSignificantBits_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>fixed64 leastSignificantBits = 3;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearLeastSignificantBits() {
+        
+        leastSignificantBits_ = 0L;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -623,6 +943,16 @@ public final class NetworkProtos {
      * @return The engineCapacity.
      */
     int getEngineCapacity();
+
+    /**
+     * <pre>
+     * Version 2: the index of the team in the teams of the response, instead of the team.
+     * </pre>
+     *
+     * <code>uint32 teamIndex = 6;</code>
+     * @return The teamIndex.
+     */
+    int getTeamIndex();
   }
   /**
    * Protobuf type {@code Protocol.Participant}
@@ -818,6 +1148,21 @@ public final class NetworkProtos {
       return engineCapacity_;
     }
 
+    public static final int TEAMINDEX_FIELD_NUMBER = 6;
+    private int teamIndex_;
+    /**
+     * <pre>
+     * Version 2: the index of the team in the teams of the response, instead of the team.
+     * </pre>
+     *
+     * <code>uint32 teamIndex = 6;</code>
+     * @return The teamIndex.
+     */
+    @java.lang.Override
+    public int getTeamIndex() {
+      return teamIndex_;
+    }
+
     private byte memoizedIsInitialized = -1;
     @java.lang.Override
     public final boolean isInitialized() {
@@ -847,6 +1192,9 @@ public final class NetworkProtos {
       if (engineCapacity_ != 0) {
         output.writeInt32(5, engineCapacity_);
       }
+      if (teamIndex_ != 0) {
+        output.writeUInt32(6, teamIndex_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -873,6 +1221,10 @@ public final class NetworkProtos {
         size += com.google.protobuf.CodedOutputStream
           .computeInt32Size(5, engineCapacity_);
       }
+      if (teamIndex_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(6, teamIndex_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -901,6 +1253,8 @@ public final class NetworkProtos {
           .equals(other.getTeam())) return false;
       if (getEngineCapacity()
           != other.getEngineCapacity()) return false;
+      if (getTeamIndex()
+          != other.getTeamIndex()) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -924,6 +1278,8 @@ public final class NetworkProtos {
       hash = (53 * hash) + getTeam().hashCode();
       hash = (37 * hash) + ENGINECAPACITY_FIELD_NUMBER;
       hash = (53 * hash) + getEngineCapacity();
+      hash = (37 * hash) + TEAMINDEX_FIELD_NUMBER;
+      hash = (53 * hash) + getTeamIndex();
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -1066,6 +1422,8 @@ public final class NetworkProtos {
 
         engineCapacity_ = 0;
 
+        teamIndex_ = 0;
+
         return this;
       }
 
@@ -1101,6 +1459,7 @@ public final class NetworkProtos {
         result.lastName_ = lastName_;
         result.team_ = team_;
         result.engineCapacity_ = engineCapacity_;
+        result.teamIndex_ = teamIndex_;
         onBuilt();
         return result;
       }
@@ -1167,6 +1526,9 @@ public final class NetworkProtos {
         if (other.getEngineCapacity() != 0) {
           setEngineCapacity(other.getEngineCapacity());
         }
+        if (other.getTeamIndex() != 0) {
+          setTeamIndex(other.getTeamIndex());
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -1220,6 +1582,11 @@ public final class NetworkProtos {
 
                 break;
               } // case 40
+              case 48: {
+                teamIndex_ = input.readUInt32();
+
+                break;
+              } // case 48
               default: {
                 if (!super.parseUnknownField(input, extensionRegistry, tag)) {
                   done = true; // was an endgroup tag
@@ -1613,6 +1980,49 @@ public final class NetworkProtos {
         onChanged();
         return this;
       }
+
+      private int teamIndex_ ;
+      /**
+       * <pre>
+       * Version 2: the index of the team in the teams of the response, instead of the team.
+       * </pre>
+       *
+       * <code>uint32 teamIndex = 6;</code>
+       * @return The teamIndex.
+       */
+      @java.lang.Override
+      public int getTeamIndex() {
+        return teamIndex_;
+      }
+      /**
+       * <pre>
+       * Version 2: the index of the team in the teams of the response, instead of the team.
+       * </pre>
+       *
+       * <code>uint32 teamIndex = 6;</code>
+       * @param value The teamIndex to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTeamIndex(int value) {
+        
+        teamIndex_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Version 2: the index of the team in the teams of the response, instead of the team.
+       * </pre>
+       *
+       * <code>uint32 teamIndex = 6;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTeamIndex() {
+        
+        teamIndex_ = 0;
+        onChanged();
+        return this;
+      }
       @java.lang.Override
       public final Builder setUnknownFields(
           final com.google.protobuf.UnknownFieldSet unknownFields) {
@@ -3220,16 +3630,28 @@ public final class NetworkProtos {
     Protocol.NetworkProtos.Request.type getRequestType();
 
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return Whether the username field is set.
      */
     boolean hasUsername();
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return The username.
      */
     java.lang.String getUsername();
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return The bytes for username.
      */
@@ -3299,6 +3721,200 @@ public final class NetworkProtos {
      */
     com.google.protobuf.ByteString
         getTeamBytes();
+
+    /**
+     * <pre>
+     * Echoed in the response, so the client can match responses that arrive out of order.
+     * </pre>
+     *
+     * <code>uint64 requestId = 7;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
+
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @return A list containing the teams.
+     */
+    java.util.List<java.lang.String>
+        getTeamsList();
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @return The count of teams.
+     */
+    int getTeamsCount();
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @param index The index of the element to return.
+     * @return The teams at the given index.
+     */
+    java.lang.String getTeams(int index);
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the teams at the given index.
+     */
+    com.google.protobuf.ByteString
+        getTeamsBytes(int index);
+
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @return A list containing the engineCapacities.
+     */
+    java.util.List<java.lang.Integer> getEngineCapacitiesList();
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @return The count of engineCapacities.
+     */
+    int getEngineCapacitiesCount();
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @param index The index of the element to return.
+     * @return The engineCapacities at the given index.
+     */
+    int getEngineCapacities(int index);
+
+    /**
+     * <pre>
+     * Streams the participants of a FIND_PARTICIPANTS_BY_TEAM request in chunks of this size, 0 sends them at once.
+     * </pre>
+     *
+     * <code>uint32 chunkSize = 10;</code>
+     * @return The chunkSize.
+     */
+    int getChunkSize();
+
+    /**
+     * <pre>
+     * Number of participants already received, to continue an interrupted stream.
+     * </pre>
+     *
+     * <code>uint64 cursor = 11;</code>
+     * @return The cursor.
+     */
+    long getCursor();
+
+    /**
+     * <pre>
+     * Milliseconds the client waits for the response, 0 if it waits indefinitely.
+     * The server skips the request if it couldn't start handling it in time.
+     * </pre>
+     *
+     * <code>uint32 timeout = 12;</code>
+     * @return The timeout.
+     */
+    int getTimeout();
+
+    /**
+     * <pre>
+     * The last update received by a RESUME request: the epoch of the server that sent it, 0 if none, and its sequence number.
+     * </pre>
+     *
+     * <code>uint64 epoch = 13;</code>
+     * @return The epoch.
+     */
+    long getEpoch();
+
+    /**
+     * <code>uint64 sequence = 14;</code>
+     * @return The sequence.
+     */
+    long getSequence();
+
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return A list containing the compressions.
+     */
+    java.util.List<Protocol.NetworkProtos.Compression> getCompressionsList();
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return The count of compressions.
+     */
+    int getCompressionsCount();
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @param index The index of the element to return.
+     * @return The compressions at the given index.
+     */
+    Protocol.NetworkProtos.Compression getCompressions(int index);
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return A list containing the enum numeric values on the wire for compressions.
+     */
+    java.util.List<java.lang.Integer>
+    getCompressionsValueList();
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @param index The index of the value to return.
+     * @return The enum numeric value on the wire of compressions at the given index.
+     */
+    int getCompressionsValue(int index);
+
+    /**
+     * <pre>
+     * The highest protocol version supported by the client, sent by a HELLO request.
+     * </pre>
+     *
+     * <code>uint32 version = 16;</code>
+     * @return The version.
+     */
+    int getVersion();
+
+    /**
+     * <pre>
+     * The token of the session resumed by a RESUME_SESSION request, with the username.
+     * </pre>
+     *
+     * <code>string sessionToken = 17;</code>
+     * @return The sessionToken.
+     */
+    java.lang.String getSessionToken();
+    /**
+     * <pre>
+     * The token of the session resumed by a RESUME_SESSION request, with the username.
+     * </pre>
+     *
+     * <code>string sessionToken = 17;</code>
+     * @return The bytes for sessionToken.
+     */
+    com.google.protobuf.ByteString
+        getSessionTokenBytes();
   }
   /**
    * Protobuf type {@code Protocol.Request}
@@ -3317,6 +3933,10 @@ public final class NetworkProtos {
       username_ = "";
       password_ = "";
       team_ = "";
+      teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      engineCapacities_ = emptyIntList();
+      compressions_ = java.util.Collections.emptyList();
+      sessionToken_ = "";
     }
 
     @java.lang.Override
@@ -3373,6 +3993,54 @@ public final class NetworkProtos {
        * <code>FIND_ENGINE_CAPACITIES = 5;</code>
        */
       FIND_ENGINE_CAPACITIES(5),
+      /**
+       * <code>SUBSCRIBE = 6;</code>
+       */
+      SUBSCRIBE(6),
+      /**
+       * <code>UNSUBSCRIBE = 7;</code>
+       */
+      UNSUBSCRIBE(7),
+      /**
+       * <pre>
+       * Heartbeat of an idle client, answered with a PONG.
+       * </pre>
+       *
+       * <code>PING = 8;</code>
+       */
+      PING(8),
+      /**
+       * <pre>
+       * Sent after logging in again on a new connection, to receive the updates missed meanwhile.
+       * </pre>
+       *
+       * <code>RESUME = 9;</code>
+       */
+      RESUME(9),
+      /**
+       * <pre>
+       * Sent first on a new connection, offering the compressions supported by the client.
+       * </pre>
+       *
+       * <code>HELLO = 10;</code>
+       */
+      HELLO(10),
+      /**
+       * <pre>
+       * Logs in like a LOGIN request, answered with the user together with the races and their engine capacities.
+       * </pre>
+       *
+       * <code>BOOTSTRAP = 11;</code>
+       */
+      BOOTSTRAP(11),
+      /**
+       * <pre>
+       * Logs in again on a new connection with the token of the session instead of the password.
+       * </pre>
+       *
+       * <code>RESUME_SESSION = 12;</code>
+       */
+      RESUME_SESSION(12),
       UNRECOGNIZED(-1),
       ;
 
@@ -3400,6 +4068,54 @@ public final class NetworkProtos {
        * <code>FIND_ENGINE_CAPACITIES = 5;</code>
        */
       public static final int FIND_ENGINE_CAPACITIES_VALUE = 5;
+      /**
+       * <code>SUBSCRIBE = 6;</code>
+       */
+      public static final int SUBSCRIBE_VALUE = 6;
+      /**
+       * <code>UNSUBSCRIBE = 7;</code>
+       */
+      public static final int UNSUBSCRIBE_VALUE = 7;
+      /**
+       * <pre>
+       * Heartbeat of an idle client, answered with a PONG.
+       * </pre>
+       *
+       * <code>PING = 8;</code>
+       */
+      public static final int PING_VALUE = 8;
+      /**
+       * <pre>
+       * Sent after logging in again on a new connection, to receive the updates missed meanwhile.
+       * </pre>
+       *
+       * <code>RESUME = 9;</code>
+       */
+      public static final int RESUME_VALUE = 9;
+      /**
+       * <pre>
+       * Sent first on a new connection, offering the compressions supported by the client.
+       * </pre>
+       *
+       * <code>HELLO = 10;</code>
+       */
+      public static final int HELLO_VALUE = 10;
+      /**
+       * <pre>
+       * Logs in like a LOGIN request, answered with the user together with the races and their engine capacities.
+       * </pre>
+       *
+       * <code>BOOTSTRAP = 11;</code>
+       */
+      public static final int BOOTSTRAP_VALUE = 11;
+      /**
+       * <pre>
+       * Logs in again on a new connection with the token of the session instead of the password.
+       * </pre>
+       *
+       * <code>RESUME_SESSION = 12;</code>
+       */
+      public static final int RESUME_SESSION_VALUE = 12;
 
 
       public final int getNumber() {
@@ -3432,6 +4148,13 @@ public final class NetworkProtos {
           case 3: return FIND_PARTICIPANTS_BY_TEAM;
           case 4: return FIND_RACES;
           case 5: return FIND_ENGINE_CAPACITIES;
+          case 6: return SUBSCRIBE;
+          case 7: return UNSUBSCRIBE;
+          case 8: return PING;
+          case 9: return RESUME;
+          case 10: return HELLO;
+          case 11: return BOOTSTRAP;
+          case 12: return RESUME_SESSION;
           default: return null;
         }
       }
@@ -3511,6 +4234,10 @@ public final class NetworkProtos {
     public static final int USERNAME_FIELD_NUMBER = 2;
     private volatile java.lang.Object username_;
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return Whether the username field is set.
      */
@@ -3519,6 +4246,10 @@ public final class NetworkProtos {
       return ((bitField0_ & 0x00000001) != 0);
     }
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return The username.
      */
@@ -3536,6 +4267,10 @@ public final class NetworkProtos {
       }
     }
     /**
+     * <pre>
+     * Credentials of a LOGIN or BOOTSTRAP request.
+     * </pre>
+     *
      * <code>optional string username = 2;</code>
      * @return The bytes for username.
      */
@@ -3698,22 +4433,328 @@ public final class NetworkProtos {
       }
     }
 
-    private byte memoizedIsInitialized = -1;
+    public static final int REQUESTID_FIELD_NUMBER = 7;
+    private long requestId_;
+    /**
+     * <pre>
+     * Echoed in the response, so the client can match responses that arrive out of order.
+     * </pre>
+     *
+     * <code>uint64 requestId = 7;</code>
+     * @return The requestId.
+     */
     @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
-
-      memoizedIsInitialized = 1;
-      return true;
+    public long getRequestId() {
+      return requestId_;
     }
 
-    @java.lang.Override
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      if (requestType_ != Protocol.NetworkProtos.Request.type.LOGIN.getNumber()) {
-        output.writeEnum(1, requestType_);
+    public static final int TEAMS_FIELD_NUMBER = 8;
+    private com.google.protobuf.LazyStringList teams_;
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @return A list containing the teams.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getTeamsList() {
+      return teams_;
+    }
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @return The count of teams.
+     */
+    public int getTeamsCount() {
+      return teams_.size();
+    }
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @param index The index of the element to return.
+     * @return The teams at the given index.
+     */
+    public java.lang.String getTeams(int index) {
+      return teams_.get(index);
+    }
+    /**
+     * <pre>
+     * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+     * </pre>
+     *
+     * <code>repeated string teams = 8;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the teams at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getTeamsBytes(int index) {
+      return teams_.getByteString(index);
+    }
+
+    public static final int ENGINECAPACITIES_FIELD_NUMBER = 9;
+    private com.google.protobuf.Internal.IntList engineCapacities_;
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @return A list containing the engineCapacities.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Integer>
+        getEngineCapacitiesList() {
+      return engineCapacities_;
+    }
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @return The count of engineCapacities.
+     */
+    public int getEngineCapacitiesCount() {
+      return engineCapacities_.size();
+    }
+    /**
+     * <code>repeated int32 engineCapacities = 9;</code>
+     * @param index The index of the element to return.
+     * @return The engineCapacities at the given index.
+     */
+    public int getEngineCapacities(int index) {
+      return engineCapacities_.getInt(index);
+    }
+    private int engineCapacitiesMemoizedSerializedSize = -1;
+
+    public static final int CHUNKSIZE_FIELD_NUMBER = 10;
+    private int chunkSize_;
+    /**
+     * <pre>
+     * Streams the participants of a FIND_PARTICIPANTS_BY_TEAM request in chunks of this size, 0 sends them at once.
+     * </pre>
+     *
+     * <code>uint32 chunkSize = 10;</code>
+     * @return The chunkSize.
+     */
+    @java.lang.Override
+    public int getChunkSize() {
+      return chunkSize_;
+    }
+
+    public static final int CURSOR_FIELD_NUMBER = 11;
+    private long cursor_;
+    /**
+     * <pre>
+     * Number of participants already received, to continue an interrupted stream.
+     * </pre>
+     *
+     * <code>uint64 cursor = 11;</code>
+     * @return The cursor.
+     */
+    @java.lang.Override
+    public long getCursor() {
+      return cursor_;
+    }
+
+    public static final int TIMEOUT_FIELD_NUMBER = 12;
+    private int timeout_;
+    /**
+     * <pre>
+     * Milliseconds the client waits for the response, 0 if it waits indefinitely.
+     * The server skips the request if it couldn't start handling it in time.
+     * </pre>
+     *
+     * <code>uint32 timeout = 12;</code>
+     * @return The timeout.
+     */
+    @java.lang.Override
+    public int getTimeout() {
+      return timeout_;
+    }
+
+    public static final int EPOCH_FIELD_NUMBER = 13;
+    private long epoch_;
+    /**
+     * <pre>
+     * The last update received by a RESUME request: the epoch of the server that sent it, 0 if none, and its sequence number.
+     * </pre>
+     *
+     * <code>uint64 epoch = 13;</code>
+     * @return The epoch.
+     */
+    @java.lang.Override
+    public long getEpoch() {
+      return epoch_;
+    }
+
+    public static final int SEQUENCE_FIELD_NUMBER = 14;
+    private long sequence_;
+    /**
+     * <code>uint64 sequence = 14;</code>
+     * @return The sequence.
+     */
+    @java.lang.Override
+    public long getSequence() {
+      return sequence_;
+    }
+
+    public static final int COMPRESSIONS_FIELD_NUMBER = 15;
+    private java.util.List<java.lang.Integer> compressions_;
+    private static final com.google.protobuf.Internal.ListAdapter.Converter<
+        java.lang.Integer, Protocol.NetworkProtos.Compression> compressions_converter_ =
+            new com.google.protobuf.Internal.ListAdapter.Converter<
+                java.lang.Integer, Protocol.NetworkProtos.Compression>() {
+              public Protocol.NetworkProtos.Compression convert(java.lang.Integer from) {
+                @SuppressWarnings("deprecation")
+                Protocol.NetworkProtos.Compression result = Protocol.NetworkProtos.Compression.valueOf(from);
+                return result == null ? Protocol.NetworkProtos.Compression.UNRECOGNIZED : result;
+              }
+            };
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return A list containing the compressions.
+     */
+    @java.lang.Override
+    public java.util.List<Protocol.NetworkProtos.Compression> getCompressionsList() {
+      return new com.google.protobuf.Internal.ListAdapter<
+          java.lang.Integer, Protocol.NetworkProtos.Compression>(compressions_, compressions_converter_);
+    }
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return The count of compressions.
+     */
+    @java.lang.Override
+    public int getCompressionsCount() {
+      return compressions_.size();
+    }
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @param index The index of the element to return.
+     * @return The compressions at the given index.
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.Compression getCompressions(int index) {
+      return compressions_converter_.convert(compressions_.get(index));
+    }
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @return A list containing the enum numeric values on the wire for compressions.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Integer>
+    getCompressionsValueList() {
+      return compressions_;
+    }
+    /**
+     * <pre>
+     * The compressions offered by a HELLO request, in the order preferred by the client.
+     * </pre>
+     *
+     * <code>repeated .Protocol.Compression compressions = 15;</code>
+     * @param index The index of the value to return.
+     * @return The enum numeric value on the wire of compressions at the given index.
+     */
+    @java.lang.Override
+    public int getCompressionsValue(int index) {
+      return compressions_.get(index);
+    }
+    private int compressionsMemoizedSerializedSize;
+
+    public static final int VERSION_FIELD_NUMBER = 16;
+    private int version_;
+    /**
+     * <pre>
+     * The highest protocol version supported by the client, sent by a HELLO request.
+     * </pre>
+     *
+     * <code>uint32 version = 16;</code>
+     * @return The version.
+     */
+    @java.lang.Override
+    public int getVersion() {
+      return version_;
+    }
+
+    public static final int SESSIONTOKEN_FIELD_NUMBER = 17;
+    private volatile java.lang.Object sessionToken_;
+    /**
+     * <pre>
+     * The token of the session resumed by a RESUME_SESSION request, with the username.
+     * </pre>
+     *
+     * <code>string sessionToken = 17;</code>
+     * @return The sessionToken.
+     */
+    @java.lang.Override
+    public java.lang.String getSessionToken() {
+      java.lang.Object ref = sessionToken_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        sessionToken_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * The token of the session resumed by a RESUME_SESSION request, with the username.
+     * </pre>
+     *
+     * <code>string sessionToken = 17;</code>
+     * @return The bytes for sessionToken.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getSessionTokenBytes() {
+      java.lang.Object ref = sessionToken_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        sessionToken_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (requestType_ != Protocol.NetworkProtos.Request.type.LOGIN.getNumber()) {
+        output.writeEnum(1, requestType_);
       }
       if (((bitField0_ & 0x00000001) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 2, username_);
@@ -3730,6 +4771,47 @@ public final class NetworkProtos {
       if (((bitField0_ & 0x00000010) != 0)) {
         com.google.protobuf.GeneratedMessageV3.writeString(output, 6, team_);
       }
+      if (requestId_ != 0L) {
+        output.writeUInt64(7, requestId_);
+      }
+      for (int i = 0; i < teams_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 8, teams_.getRaw(i));
+      }
+      if (getEngineCapacitiesList().size() > 0) {
+        output.writeUInt32NoTag(74);
+        output.writeUInt32NoTag(engineCapacitiesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < engineCapacities_.size(); i++) {
+        output.writeInt32NoTag(engineCapacities_.getInt(i));
+      }
+      if (chunkSize_ != 0) {
+        output.writeUInt32(10, chunkSize_);
+      }
+      if (cursor_ != 0L) {
+        output.writeUInt64(11, cursor_);
+      }
+      if (timeout_ != 0) {
+        output.writeUInt32(12, timeout_);
+      }
+      if (epoch_ != 0L) {
+        output.writeUInt64(13, epoch_);
+      }
+      if (sequence_ != 0L) {
+        output.writeUInt64(14, sequence_);
+      }
+      if (getCompressionsList().size() > 0) {
+        output.writeUInt32NoTag(122);
+        output.writeUInt32NoTag(compressionsMemoizedSerializedSize);
+      }
+      for (int i = 0; i < compressions_.size(); i++) {
+        output.writeEnumNoTag(compressions_.get(i));
+      }
+      if (version_ != 0) {
+        output.writeUInt32(16, version_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionToken_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 17, sessionToken_);
+      }
       getUnknownFields().writeTo(output);
     }
 
@@ -3760,6 +4842,71 @@ public final class NetworkProtos {
       if (((bitField0_ & 0x00000010) != 0)) {
         size += com.google.protobuf.GeneratedMessageV3.computeStringSize(6, team_);
       }
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(7, requestId_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < teams_.size(); i++) {
+          dataSize += computeStringSizeNoTag(teams_.getRaw(i));
+        }
+        size += dataSize;
+        size += 1 * getTeamsList().size();
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < engineCapacities_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(engineCapacities_.getInt(i));
+        }
+        size += dataSize;
+        if (!getEngineCapacitiesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        engineCapacitiesMemoizedSerializedSize = dataSize;
+      }
+      if (chunkSize_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(10, chunkSize_);
+      }
+      if (cursor_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(11, cursor_);
+      }
+      if (timeout_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(12, timeout_);
+      }
+      if (epoch_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(13, epoch_);
+      }
+      if (sequence_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(14, sequence_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < compressions_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeEnumSizeNoTag(compressions_.get(i));
+        }
+        size += dataSize;
+        if (!getCompressionsList().isEmpty()) {  size += 1;
+          size += com.google.protobuf.CodedOutputStream
+            .computeUInt32SizeNoTag(dataSize);
+        }compressionsMemoizedSerializedSize = dataSize;
+      }
+      if (version_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(16, version_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionToken_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(17, sessionToken_);
+      }
       size += getUnknownFields().getSerializedSize();
       memoizedSize = size;
       return size;
@@ -3801,6 +4948,27 @@ public final class NetworkProtos {
         if (!getTeam()
             .equals(other.getTeam())) return false;
       }
+      if (getRequestId()
+          != other.getRequestId()) return false;
+      if (!getTeamsList()
+          .equals(other.getTeamsList())) return false;
+      if (!getEngineCapacitiesList()
+          .equals(other.getEngineCapacitiesList())) return false;
+      if (getChunkSize()
+          != other.getChunkSize()) return false;
+      if (getCursor()
+          != other.getCursor()) return false;
+      if (getTimeout()
+          != other.getTimeout()) return false;
+      if (getEpoch()
+          != other.getEpoch()) return false;
+      if (getSequence()
+          != other.getSequence()) return false;
+      if (!compressions_.equals(other.compressions_)) return false;
+      if (getVersion()
+          != other.getVersion()) return false;
+      if (!getSessionToken()
+          .equals(other.getSessionToken())) return false;
       if (!getUnknownFields().equals(other.getUnknownFields())) return false;
       return true;
     }
@@ -3834,6 +5002,38 @@ public final class NetworkProtos {
         hash = (37 * hash) + TEAM_FIELD_NUMBER;
         hash = (53 * hash) + getTeam().hashCode();
       }
+      hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      if (getTeamsCount() > 0) {
+        hash = (37 * hash) + TEAMS_FIELD_NUMBER;
+        hash = (53 * hash) + getTeamsList().hashCode();
+      }
+      if (getEngineCapacitiesCount() > 0) {
+        hash = (37 * hash) + ENGINECAPACITIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEngineCapacitiesList().hashCode();
+      }
+      hash = (37 * hash) + CHUNKSIZE_FIELD_NUMBER;
+      hash = (53 * hash) + getChunkSize();
+      hash = (37 * hash) + CURSOR_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getCursor());
+      hash = (37 * hash) + TIMEOUT_FIELD_NUMBER;
+      hash = (53 * hash) + getTimeout();
+      hash = (37 * hash) + EPOCH_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getEpoch());
+      hash = (37 * hash) + SEQUENCE_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getSequence());
+      if (getCompressionsCount() > 0) {
+        hash = (37 * hash) + COMPRESSIONS_FIELD_NUMBER;
+        hash = (53 * hash) + compressions_.hashCode();
+      }
+      hash = (37 * hash) + VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getVersion();
+      hash = (37 * hash) + SESSIONTOKEN_FIELD_NUMBER;
+      hash = (53 * hash) + getSessionToken().hashCode();
       hash = (29 * hash) + getUnknownFields().hashCode();
       memoizedHashCode = hash;
       return hash;
@@ -3989,6 +5189,28 @@ public final class NetworkProtos {
         bitField0_ = (bitField0_ & ~0x00000008);
         team_ = "";
         bitField0_ = (bitField0_ & ~0x00000010);
+        requestId_ = 0L;
+
+        teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        engineCapacities_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        chunkSize_ = 0;
+
+        cursor_ = 0L;
+
+        timeout_ = 0;
+
+        epoch_ = 0L;
+
+        sequence_ = 0L;
+
+        compressions_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000080);
+        version_ = 0;
+
+        sessionToken_ = "";
+
         return this;
       }
 
@@ -4046,6 +5268,29 @@ public final class NetworkProtos {
           to_bitField0_ |= 0x00000010;
         }
         result.team_ = team_;
+        result.requestId_ = requestId_;
+        if (((bitField0_ & 0x00000020) != 0)) {
+          teams_ = teams_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000020);
+        }
+        result.teams_ = teams_;
+        if (((bitField0_ & 0x00000040) != 0)) {
+          engineCapacities_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000040);
+        }
+        result.engineCapacities_ = engineCapacities_;
+        result.chunkSize_ = chunkSize_;
+        result.cursor_ = cursor_;
+        result.timeout_ = timeout_;
+        result.epoch_ = epoch_;
+        result.sequence_ = sequence_;
+        if (((bitField0_ & 0x00000080) != 0)) {
+          compressions_ = java.util.Collections.unmodifiableList(compressions_);
+          bitField0_ = (bitField0_ & ~0x00000080);
+        }
+        result.compressions_ = compressions_;
+        result.version_ = version_;
+        result.sessionToken_ = sessionToken_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
@@ -4119,6 +5364,61 @@ public final class NetworkProtos {
           team_ = other.team_;
           onChanged();
         }
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (!other.teams_.isEmpty()) {
+          if (teams_.isEmpty()) {
+            teams_ = other.teams_;
+            bitField0_ = (bitField0_ & ~0x00000020);
+          } else {
+            ensureTeamsIsMutable();
+            teams_.addAll(other.teams_);
+          }
+          onChanged();
+        }
+        if (!other.engineCapacities_.isEmpty()) {
+          if (engineCapacities_.isEmpty()) {
+            engineCapacities_ = other.engineCapacities_;
+            bitField0_ = (bitField0_ & ~0x00000040);
+          } else {
+            ensureEngineCapacitiesIsMutable();
+            engineCapacities_.addAll(other.engineCapacities_);
+          }
+          onChanged();
+        }
+        if (other.getChunkSize() != 0) {
+          setChunkSize(other.getChunkSize());
+        }
+        if (other.getCursor() != 0L) {
+          setCursor(other.getCursor());
+        }
+        if (other.getTimeout() != 0) {
+          setTimeout(other.getTimeout());
+        }
+        if (other.getEpoch() != 0L) {
+          setEpoch(other.getEpoch());
+        }
+        if (other.getSequence() != 0L) {
+          setSequence(other.getSequence());
+        }
+        if (!other.compressions_.isEmpty()) {
+          if (compressions_.isEmpty()) {
+            compressions_ = other.compressions_;
+            bitField0_ = (bitField0_ & ~0x00000080);
+          } else {
+            ensureCompressionsIsMutable();
+            compressions_.addAll(other.compressions_);
+          }
+          onChanged();
+        }
+        if (other.getVersion() != 0) {
+          setVersion(other.getVersion());
+        }
+        if (!other.getSessionToken().isEmpty()) {
+          sessionToken_ = other.sessionToken_;
+          onChanged();
+        }
         this.mergeUnknownFields(other.getUnknownFields());
         onChanged();
         return this;
@@ -4179,18 +5479,97 @@ public final class NetworkProtos {
                 bitField0_ |= 0x00000010;
                 break;
               } // case 50
-              default: {
-                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
-                  done = true; // was an endgroup tag
-                }
+              case 56: {
+                requestId_ = input.readUInt64();
+
                 break;
-              } // default:
-            } // switch (tag)
-          } // while (!done)
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.unwrapIOException();
-        } finally {
-          onChanged();
+              } // case 56
+              case 66: {
+                java.lang.String s = input.readStringRequireUtf8();
+                ensureTeamsIsMutable();
+                teams_.add(s);
+                break;
+              } // case 66
+              case 72: {
+                int v = input.readInt32();
+                ensureEngineCapacitiesIsMutable();
+                engineCapacities_.addInt(v);
+                break;
+              } // case 72
+              case 74: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                ensureEngineCapacitiesIsMutable();
+                while (input.getBytesUntilLimit() > 0) {
+                  engineCapacities_.addInt(input.readInt32());
+                }
+                input.popLimit(limit);
+                break;
+              } // case 74
+              case 80: {
+                chunkSize_ = input.readUInt32();
+
+                break;
+              } // case 80
+              case 88: {
+                cursor_ = input.readUInt64();
+
+                break;
+              } // case 88
+              case 96: {
+                timeout_ = input.readUInt32();
+
+                break;
+              } // case 96
+              case 104: {
+                epoch_ = input.readUInt64();
+
+                break;
+              } // case 104
+              case 112: {
+                sequence_ = input.readUInt64();
+
+                break;
+              } // case 112
+              case 120: {
+                int tmpRaw = input.readEnum();
+                ensureCompressionsIsMutable();
+                compressions_.add(tmpRaw);
+                break;
+              } // case 120
+              case 122: {
+                int length = input.readRawVarint32();
+                int oldLimit = input.pushLimit(length);
+                while(input.getBytesUntilLimit() > 0) {
+                  int tmpRaw = input.readEnum();
+                  ensureCompressionsIsMutable();
+                  compressions_.add(tmpRaw);
+                }
+                input.popLimit(oldLimit);
+                break;
+              } // case 122
+              case 128: {
+                version_ = input.readUInt32();
+
+                break;
+              } // case 128
+              case 138: {
+                sessionToken_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 138
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
         } // finally
         return this;
       }
@@ -4252,6 +5631,10 @@ public final class NetworkProtos {
 
       private java.lang.Object username_ = "";
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @return Whether the username field is set.
        */
@@ -4259,6 +5642,10 @@ public final class NetworkProtos {
         return ((bitField0_ & 0x00000001) != 0);
       }
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @return The username.
        */
@@ -4275,6 +5662,10 @@ public final class NetworkProtos {
         }
       }
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @return The bytes for username.
        */
@@ -4292,6 +5683,10 @@ public final class NetworkProtos {
         }
       }
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @param value The username to set.
        * @return This builder for chaining.
@@ -4307,6 +5702,10 @@ public final class NetworkProtos {
         return this;
       }
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @return This builder for chaining.
        */
@@ -4317,6 +5716,10 @@ public final class NetworkProtos {
         return this;
       }
       /**
+       * <pre>
+       * Credentials of a LOGIN or BOOTSTRAP request.
+       * </pre>
+       *
        * <code>optional string username = 2;</code>
        * @param value The bytes for username to set.
        * @return This builder for chaining.
@@ -4738,879 +6141,2247 @@ public final class NetworkProtos {
         onChanged();
         return this;
       }
-      @java.lang.Override
-      public final Builder setUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.setUnknownFields(unknownFields);
-      }
 
+      private long requestId_ ;
+      /**
+       * <pre>
+       * Echoed in the response, so the client can match responses that arrive out of order.
+       * </pre>
+       *
+       * <code>uint64 requestId = 7;</code>
+       * @return The requestId.
+       */
       @java.lang.Override
-      public final Builder mergeUnknownFields(
-          final com.google.protobuf.UnknownFieldSet unknownFields) {
-        return super.mergeUnknownFields(unknownFields);
+      public long getRequestId() {
+        return requestId_;
+      }
+      /**
+       * <pre>
+       * Echoed in the response, so the client can match responses that arrive out of order.
+       * </pre>
+       *
+       * <code>uint64 requestId = 7;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
+       */
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Echoed in the response, so the client can match responses that arrive out of order.
+       * </pre>
+       *
+       * <code>uint64 requestId = 7;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
+        return this;
       }
 
+      private com.google.protobuf.LazyStringList teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureTeamsIsMutable() {
+        if (!((bitField0_ & 0x00000020) != 0)) {
+          teams_ = new com.google.protobuf.LazyStringArrayList(teams_);
+          bitField0_ |= 0x00000020;
+         }
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @return A list containing the teams.
+       */
+      public com.google.protobuf.ProtocolStringList
+          getTeamsList() {
+        return teams_.getUnmodifiableView();
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @return The count of teams.
+       */
+      public int getTeamsCount() {
+        return teams_.size();
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param index The index of the element to return.
+       * @return The teams at the given index.
+       */
+      public java.lang.String getTeams(int index) {
+        return teams_.get(index);
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the teams at the given index.
+       */
+      public com.google.protobuf.ByteString
+          getTeamsBytes(int index) {
+        return teams_.getByteString(index);
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param index The index to set the value at.
+       * @param value The teams to set.
+       * @return This builder for chaining.
+       */
+      public Builder setTeams(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTeamsIsMutable();
+        teams_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param value The teams to add.
+       * @return This builder for chaining.
+       */
+      public Builder addTeams(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTeamsIsMutable();
+        teams_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param values The teams to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllTeams(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureTeamsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, teams_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearTeams() {
+        teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000020);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Topics of a SUBSCRIBE, UNSUBSCRIBE or RESUME request.
+       * </pre>
+       *
+       * <code>repeated string teams = 8;</code>
+       * @param value The bytes of the teams to add.
+       * @return This builder for chaining.
+       */
+      public Builder addTeamsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureTeamsIsMutable();
+        teams_.add(value);
+        onChanged();
+        return this;
+      }
 
-      // @@protoc_insertion_point(builder_scope:Protocol.Request)
-    }
-
-    // @@protoc_insertion_point(class_scope:Protocol.Request)
-    private static final Protocol.NetworkProtos.Request DEFAULT_INSTANCE;
-    static {
-      DEFAULT_INSTANCE = new Protocol.NetworkProtos.Request();
-    }
-
-    public static Protocol.NetworkProtos.Request getDefaultInstance() {
-      return DEFAULT_INSTANCE;
-    }
+      private com.google.protobuf.Internal.IntList engineCapacities_ = emptyIntList();
+      private void ensureEngineCapacitiesIsMutable() {
+        if (!((bitField0_ & 0x00000040) != 0)) {
+          engineCapacities_ = mutableCopy(engineCapacities_);
+          bitField0_ |= 0x00000040;
+         }
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @return A list containing the engineCapacities.
+       */
+      public java.util.List<java.lang.Integer>
+          getEngineCapacitiesList() {
+        return ((bitField0_ & 0x00000040) != 0) ?
+                 java.util.Collections.unmodifiableList(engineCapacities_) : engineCapacities_;
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @return The count of engineCapacities.
+       */
+      public int getEngineCapacitiesCount() {
+        return engineCapacities_.size();
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @param index The index of the element to return.
+       * @return The engineCapacities at the given index.
+       */
+      public int getEngineCapacities(int index) {
+        return engineCapacities_.getInt(index);
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @param index The index to set the value at.
+       * @param value The engineCapacities to set.
+       * @return This builder for chaining.
+       */
+      public Builder setEngineCapacities(
+          int index, int value) {
+        ensureEngineCapacitiesIsMutable();
+        engineCapacities_.setInt(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @param value The engineCapacities to add.
+       * @return This builder for chaining.
+       */
+      public Builder addEngineCapacities(int value) {
+        ensureEngineCapacitiesIsMutable();
+        engineCapacities_.addInt(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @param values The engineCapacities to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllEngineCapacities(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureEngineCapacitiesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, engineCapacities_);
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>repeated int32 engineCapacities = 9;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearEngineCapacities() {
+        engineCapacities_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
+        return this;
+      }
 
-    private static final com.google.protobuf.Parser<Request>
-        PARSER = new com.google.protobuf.AbstractParser<Request>() {
+      private int chunkSize_ ;
+      /**
+       * <pre>
+       * Streams the participants of a FIND_PARTICIPANTS_BY_TEAM request in chunks of this size, 0 sends them at once.
+       * </pre>
+       *
+       * <code>uint32 chunkSize = 10;</code>
+       * @return The chunkSize.
+       */
       @java.lang.Override
-      public Request parsePartialFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws com.google.protobuf.InvalidProtocolBufferException {
-        Builder builder = newBuilder();
-        try {
-          builder.mergeFrom(input, extensionRegistry);
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.setUnfinishedMessage(builder.buildPartial());
-        } catch (com.google.protobuf.UninitializedMessageException e) {
-          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
-        } catch (java.io.IOException e) {
-          throw new com.google.protobuf.InvalidProtocolBufferException(e)
-              .setUnfinishedMessage(builder.buildPartial());
-        }
-        return builder.buildPartial();
+      public int getChunkSize() {
+        return chunkSize_;
+      }
+      /**
+       * <pre>
+       * Streams the participants of a FIND_PARTICIPANTS_BY_TEAM request in chunks of this size, 0 sends them at once.
+       * </pre>
+       *
+       * <code>uint32 chunkSize = 10;</code>
+       * @param value The chunkSize to set.
+       * @return This builder for chaining.
+       */
+      public Builder setChunkSize(int value) {
+        
+        chunkSize_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * Streams the participants of a FIND_PARTICIPANTS_BY_TEAM request in chunks of this size, 0 sends them at once.
+       * </pre>
+       *
+       * <code>uint32 chunkSize = 10;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearChunkSize() {
+        
+        chunkSize_ = 0;
+        onChanged();
+        return this;
       }
-    };
-
-    public static com.google.protobuf.Parser<Request> parser() {
-      return PARSER;
-    }
-
-    @java.lang.Override
-    public com.google.protobuf.Parser<Request> getParserForType() {
-      return PARSER;
-    }
 
-    @java.lang.Override
-    public Protocol.NetworkProtos.Request getDefaultInstanceForType() {
-      return DEFAULT_INSTANCE;
-    }
-
-  }
-
-  public interface ResponseOrBuilder extends
-      // @@protoc_insertion_point(interface_extends:Protocol.Response)
-      com.google.protobuf.MessageOrBuilder {
-
-    /**
-     * <code>.Protocol.Response.type responseType = 1;</code>
-     * @return The enum numeric value on the wire for responseType.
-     */
-    int getResponseTypeValue();
-    /**
-     * <code>.Protocol.Response.type responseType = 1;</code>
-     * @return The responseType.
-     */
-    Protocol.NetworkProtos.Response.type getResponseType();
-
-    /**
-     * <code>optional string errorMessage = 2;</code>
-     * @return Whether the errorMessage field is set.
-     */
-    boolean hasErrorMessage();
-    /**
-     * <code>optional string errorMessage = 2;</code>
-     * @return The errorMessage.
-     */
-    java.lang.String getErrorMessage();
-    /**
-     * <code>optional string errorMessage = 2;</code>
-     * @return The bytes for errorMessage.
-     */
-    com.google.protobuf.ByteString
-        getErrorMessageBytes();
-
-    /**
-     * <code>optional .Protocol.User user = 3;</code>
-     * @return Whether the user field is set.
-     */
-    boolean hasUser();
-    /**
-     * <code>optional .Protocol.User user = 3;</code>
-     * @return The user.
-     */
-    Protocol.NetworkProtos.User getUser();
-    /**
-     * <code>optional .Protocol.User user = 3;</code>
-     */
-    Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder();
-
-    /**
-     * <code>optional .Protocol.Participant participant = 4;</code>
-     * @return Whether the participant field is set.
-     */
-    boolean hasParticipant();
-    /**
-     * <code>optional .Protocol.Participant participant = 4;</code>
-     * @return The participant.
-     */
-    Protocol.NetworkProtos.Participant getParticipant();
-    /**
-     * <code>optional .Protocol.Participant participant = 4;</code>
-     */
-    Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder();
-
-    /**
-     * <code>repeated .Protocol.Race races = 5;</code>
-     */
-    java.util.List<Protocol.NetworkProtos.Race> 
-        getRacesList();
-    /**
-     * <code>repeated .Protocol.Race races = 5;</code>
-     */
-    Protocol.NetworkProtos.Race getRaces(int index);
-    /**
-     * <code>repeated .Protocol.Race races = 5;</code>
-     */
-    int getRacesCount();
-    /**
-     * <code>repeated .Protocol.Race races = 5;</code>
-     */
-    java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
-        getRacesOrBuilderList();
-    /**
-     * <code>repeated .Protocol.Race races = 5;</code>
-     */
-    Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
-        int index);
-
-    /**
-     * <code>repeated int32 engineCapacities = 6;</code>
-     * @return A list containing the engineCapacities.
-     */
-    java.util.List<java.lang.Integer> getEngineCapacitiesList();
-    /**
-     * <code>repeated int32 engineCapacities = 6;</code>
-     * @return The count of engineCapacities.
-     */
-    int getEngineCapacitiesCount();
-    /**
-     * <code>repeated int32 engineCapacities = 6;</code>
-     * @param index The index of the element to return.
-     * @return The engineCapacities at the given index.
-     */
-    int getEngineCapacities(int index);
-
-    /**
-     * <code>repeated .Protocol.Participant participants = 7;</code>
-     */
-    java.util.List<Protocol.NetworkProtos.Participant> 
-        getParticipantsList();
-    /**
-     * <code>repeated .Protocol.Participant participants = 7;</code>
-     */
-    Protocol.NetworkProtos.Participant getParticipants(int index);
-    /**
-     * <code>repeated .Protocol.Participant participants = 7;</code>
-     */
-    int getParticipantsCount();
-    /**
-     * <code>repeated .Protocol.Participant participants = 7;</code>
-     */
-    java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
-        getParticipantsOrBuilderList();
-    /**
-     * <code>repeated .Protocol.Participant participants = 7;</code>
-     */
-    Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
-        int index);
-  }
-  /**
-   * Protobuf type {@code Protocol.Response}
-   */
-  public static final class Response extends
-      com.google.protobuf.GeneratedMessageV3 implements
-      // @@protoc_insertion_point(message_implements:Protocol.Response)
-      ResponseOrBuilder {
-  private static final long serialVersionUID = 0L;
-    // Use Response.newBuilder() to construct.
-    private Response(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
-      super(builder);
-    }
-    private Response() {
-      responseType_ = 0;
-      errorMessage_ = "";
-      races_ = java.util.Collections.emptyList();
-      engineCapacities_ = emptyIntList();
-      participants_ = java.util.Collections.emptyList();
-    }
-
-    @java.lang.Override
-    @SuppressWarnings({"unused"})
-    protected java.lang.Object newInstance(
-        UnusedPrivateParameter unused) {
-      return new Response();
-    }
-
-    @java.lang.Override
-    public final com.google.protobuf.UnknownFieldSet
-    getUnknownFields() {
-      return this.unknownFields;
-    }
-    public static final com.google.protobuf.Descriptors.Descriptor
-        getDescriptor() {
-      return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
-    }
-
-    @java.lang.Override
-    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-        internalGetFieldAccessorTable() {
-      return Protocol.NetworkProtos.internal_static_Protocol_Response_fieldAccessorTable
-          .ensureFieldAccessorsInitialized(
-              Protocol.NetworkProtos.Response.class, Protocol.NetworkProtos.Response.Builder.class);
-    }
-
-    /**
-     * Protobuf enum {@code Protocol.Response.type}
-     */
-    public enum type
-        implements com.google.protobuf.ProtocolMessageEnum {
+      private long cursor_ ;
       /**
-       * <code>OK = 0;</code>
+       * <pre>
+       * Number of participants already received, to continue an interrupted stream.
+       * </pre>
+       *
+       * <code>uint64 cursor = 11;</code>
+       * @return The cursor.
        */
-      OK(0),
+      @java.lang.Override
+      public long getCursor() {
+        return cursor_;
+      }
       /**
-       * <code>ERROR = 1;</code>
+       * <pre>
+       * Number of participants already received, to continue an interrupted stream.
+       * </pre>
+       *
+       * <code>uint64 cursor = 11;</code>
+       * @param value The cursor to set.
+       * @return This builder for chaining.
        */
-      ERROR(1),
+      public Builder setCursor(long value) {
+        
+        cursor_ = value;
+        onChanged();
+        return this;
+      }
       /**
-       * <code>PARTICIPANT_ADDED = 2;</code>
+       * <pre>
+       * Number of participants already received, to continue an interrupted stream.
+       * </pre>
+       *
+       * <code>uint64 cursor = 11;</code>
+       * @return This builder for chaining.
        */
-      PARTICIPANT_ADDED(2),
+      public Builder clearCursor() {
+        
+        cursor_ = 0L;
+        onChanged();
+        return this;
+      }
+
+      private int timeout_ ;
       /**
-       * <code>CONNECTION_CLOSED = 3;</code>
+       * <pre>
+       * Milliseconds the client waits for the response, 0 if it waits indefinitely.
+       * The server skips the request if it couldn't start handling it in time.
+       * </pre>
+       *
+       * <code>uint32 timeout = 12;</code>
+       * @return The timeout.
        */
-      CONNECTION_CLOSED(3),
-      UNRECOGNIZED(-1),
-      ;
-
+      @java.lang.Override
+      public int getTimeout() {
+        return timeout_;
+      }
       /**
-       * <code>OK = 0;</code>
+       * <pre>
+       * Milliseconds the client waits for the response, 0 if it waits indefinitely.
+       * The server skips the request if it couldn't start handling it in time.
+       * </pre>
+       *
+       * <code>uint32 timeout = 12;</code>
+       * @param value The timeout to set.
+       * @return This builder for chaining.
        */
-      public static final int OK_VALUE = 0;
+      public Builder setTimeout(int value) {
+        
+        timeout_ = value;
+        onChanged();
+        return this;
+      }
       /**
-       * <code>ERROR = 1;</code>
+       * <pre>
+       * Milliseconds the client waits for the response, 0 if it waits indefinitely.
+       * The server skips the request if it couldn't start handling it in time.
+       * </pre>
+       *
+       * <code>uint32 timeout = 12;</code>
+       * @return This builder for chaining.
        */
-      public static final int ERROR_VALUE = 1;
+      public Builder clearTimeout() {
+        
+        timeout_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private long epoch_ ;
       /**
-       * <code>PARTICIPANT_ADDED = 2;</code>
+       * <pre>
+       * The last update received by a RESUME request: the epoch of the server that sent it, 0 if none, and its sequence number.
+       * </pre>
+       *
+       * <code>uint64 epoch = 13;</code>
+       * @return The epoch.
        */
-      public static final int PARTICIPANT_ADDED_VALUE = 2;
+      @java.lang.Override
+      public long getEpoch() {
+        return epoch_;
+      }
       /**
-       * <code>CONNECTION_CLOSED = 3;</code>
+       * <pre>
+       * The last update received by a RESUME request: the epoch of the server that sent it, 0 if none, and its sequence number.
+       * </pre>
+       *
+       * <code>uint64 epoch = 13;</code>
+       * @param value The epoch to set.
+       * @return This builder for chaining.
        */
-      public static final int CONNECTION_CLOSED_VALUE = 3;
-
-
-      public final int getNumber() {
-        if (this == UNRECOGNIZED) {
-          throw new java.lang.IllegalArgumentException(
-              "Can't get the number of an unknown enum value.");
-        }
-        return value;
+      public Builder setEpoch(long value) {
+        
+        epoch_ = value;
+        onChanged();
+        return this;
       }
-
       /**
-       * @param value The numeric wire value of the corresponding enum entry.
-       * @return The enum associated with the given numeric wire value.
-       * @deprecated Use {@link #forNumber(int)} instead.
+       * <pre>
+       * The last update received by a RESUME request: the epoch of the server that sent it, 0 if none, and its sequence number.
+       * </pre>
+       *
+       * <code>uint64 epoch = 13;</code>
+       * @return This builder for chaining.
        */
-      @java.lang.Deprecated
-      public static type valueOf(int value) {
-        return forNumber(value);
+      public Builder clearEpoch() {
+        
+        epoch_ = 0L;
+        onChanged();
+        return this;
       }
 
+      private long sequence_ ;
       /**
-       * @param value The numeric wire value of the corresponding enum entry.
-       * @return The enum associated with the given numeric wire value.
+       * <code>uint64 sequence = 14;</code>
+       * @return The sequence.
        */
-      public static type forNumber(int value) {
-        switch (value) {
-          case 0: return OK;
-          case 1: return ERROR;
-          case 2: return PARTICIPANT_ADDED;
-          case 3: return CONNECTION_CLOSED;
-          default: return null;
-        }
+      @java.lang.Override
+      public long getSequence() {
+        return sequence_;
       }
-
-      public static com.google.protobuf.Internal.EnumLiteMap<type>
-          internalGetValueMap() {
-        return internalValueMap;
+      /**
+       * <code>uint64 sequence = 14;</code>
+       * @param value The sequence to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSequence(long value) {
+        
+        sequence_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>uint64 sequence = 14;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSequence() {
+        
+        sequence_ = 0L;
+        onChanged();
+        return this;
       }
-      private static final com.google.protobuf.Internal.EnumLiteMap<
-          type> internalValueMap =
-            new com.google.protobuf.Internal.EnumLiteMap<type>() {
-              public type findValueByNumber(int number) {
-                return type.forNumber(number);
-              }
-            };
 
-      public final com.google.protobuf.Descriptors.EnumValueDescriptor
-          getValueDescriptor() {
-        if (this == UNRECOGNIZED) {
-          throw new java.lang.IllegalStateException(
-              "Can't get the descriptor of an unrecognized enum value.");
+      private java.util.List<java.lang.Integer> compressions_ =
+        java.util.Collections.emptyList();
+      private void ensureCompressionsIsMutable() {
+        if (!((bitField0_ & 0x00000080) != 0)) {
+          compressions_ = new java.util.ArrayList<java.lang.Integer>(compressions_);
+          bitField0_ |= 0x00000080;
         }
-        return getDescriptor().getValues().get(ordinal());
       }
-      public final com.google.protobuf.Descriptors.EnumDescriptor
-          getDescriptorForType() {
-        return getDescriptor();
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @return A list containing the compressions.
+       */
+      public java.util.List<Protocol.NetworkProtos.Compression> getCompressionsList() {
+        return new com.google.protobuf.Internal.ListAdapter<
+            java.lang.Integer, Protocol.NetworkProtos.Compression>(compressions_, compressions_converter_);
       }
-      public static final com.google.protobuf.Descriptors.EnumDescriptor
-          getDescriptor() {
-        return Protocol.NetworkProtos.Response.getDescriptor().getEnumTypes().get(0);
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @return The count of compressions.
+       */
+      public int getCompressionsCount() {
+        return compressions_.size();
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param index The index of the element to return.
+       * @return The compressions at the given index.
+       */
+      public Protocol.NetworkProtos.Compression getCompressions(int index) {
+        return compressions_converter_.convert(compressions_.get(index));
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param index The index to set the value at.
+       * @param value The compressions to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressions(
+          int index, Protocol.NetworkProtos.Compression value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCompressionsIsMutable();
+        compressions_.set(index, value.getNumber());
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param value The compressions to add.
+       * @return This builder for chaining.
+       */
+      public Builder addCompressions(Protocol.NetworkProtos.Compression value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        ensureCompressionsIsMutable();
+        compressions_.add(value.getNumber());
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param values The compressions to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllCompressions(
+          java.lang.Iterable<? extends Protocol.NetworkProtos.Compression> values) {
+        ensureCompressionsIsMutable();
+        for (Protocol.NetworkProtos.Compression value : values) {
+          compressions_.add(value.getNumber());
+        }
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearCompressions() {
+        compressions_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000080);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @return A list containing the enum numeric values on the wire for compressions.
+       */
+      public java.util.List<java.lang.Integer>
+      getCompressionsValueList() {
+        return java.util.Collections.unmodifiableList(compressions_);
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param index The index of the value to return.
+       * @return The enum numeric value on the wire of compressions at the given index.
+       */
+      public int getCompressionsValue(int index) {
+        return compressions_.get(index);
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param index The index of the value to return.
+       * @return The enum numeric value on the wire of compressions at the given index.
+       * @return This builder for chaining.
+       */
+      public Builder setCompressionsValue(
+          int index, int value) {
+        ensureCompressionsIsMutable();
+        compressions_.set(index, value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param value The enum numeric value on the wire for compressions to add.
+       * @return This builder for chaining.
+       */
+      public Builder addCompressionsValue(int value) {
+        ensureCompressionsIsMutable();
+        compressions_.add(value);
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compressions offered by a HELLO request, in the order preferred by the client.
+       * </pre>
+       *
+       * <code>repeated .Protocol.Compression compressions = 15;</code>
+       * @param values The enum numeric values on the wire for compressions to add.
+       * @return This builder for chaining.
+       */
+      public Builder addAllCompressionsValue(
+          java.lang.Iterable<java.lang.Integer> values) {
+        ensureCompressionsIsMutable();
+        for (int value : values) {
+          compressions_.add(value);
+        }
+        onChanged();
+        return this;
       }
 
-      private static final type[] VALUES = values();
+      private int version_ ;
+      /**
+       * <pre>
+       * The highest protocol version supported by the client, sent by a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 16;</code>
+       * @return The version.
+       */
+      @java.lang.Override
+      public int getVersion() {
+        return version_;
+      }
+      /**
+       * <pre>
+       * The highest protocol version supported by the client, sent by a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 16;</code>
+       * @param value The version to set.
+       * @return This builder for chaining.
+       */
+      public Builder setVersion(int value) {
+        
+        version_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The highest protocol version supported by the client, sent by a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 16;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearVersion() {
+        
+        version_ = 0;
+        onChanged();
+        return this;
+      }
 
-      public static type valueOf(
-          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
-        if (desc.getType() != getDescriptor()) {
-          throw new java.lang.IllegalArgumentException(
-            "EnumValueDescriptor is not for this type.");
+      private java.lang.Object sessionToken_ = "";
+      /**
+       * <pre>
+       * The token of the session resumed by a RESUME_SESSION request, with the username.
+       * </pre>
+       *
+       * <code>string sessionToken = 17;</code>
+       * @return The sessionToken.
+       */
+      public java.lang.String getSessionToken() {
+        java.lang.Object ref = sessionToken_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          sessionToken_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
         }
-        if (desc.getIndex() == -1) {
-          return UNRECOGNIZED;
+      }
+      /**
+       * <pre>
+       * The token of the session resumed by a RESUME_SESSION request, with the username.
+       * </pre>
+       *
+       * <code>string sessionToken = 17;</code>
+       * @return The bytes for sessionToken.
+       */
+      public com.google.protobuf.ByteString
+          getSessionTokenBytes() {
+        java.lang.Object ref = sessionToken_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          sessionToken_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
         }
-        return VALUES[desc.getIndex()];
+      }
+      /**
+       * <pre>
+       * The token of the session resumed by a RESUME_SESSION request, with the username.
+       * </pre>
+       *
+       * <code>string sessionToken = 17;</code>
+       * @param value The sessionToken to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSessionToken(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        sessionToken_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The token of the session resumed by a RESUME_SESSION request, with the username.
+       * </pre>
+       *
+       * <code>string sessionToken = 17;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearSessionToken() {
+        
+        sessionToken_ = getDefaultInstance().getSessionToken();
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The token of the session resumed by a RESUME_SESSION request, with the username.
+       * </pre>
+       *
+       * <code>string sessionToken = 17;</code>
+       * @param value The bytes for sessionToken to set.
+       * @return This builder for chaining.
+       */
+      public Builder setSessionTokenBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        sessionToken_ = value;
+        onChanged();
+        return this;
+      }
+      @java.lang.Override
+      public final Builder setUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.setUnknownFields(unknownFields);
       }
 
-      private final int value;
+      @java.lang.Override
+      public final Builder mergeUnknownFields(
+          final com.google.protobuf.UnknownFieldSet unknownFields) {
+        return super.mergeUnknownFields(unknownFields);
+      }
 
-      private type(int value) {
-        this.value = value;
+
+      // @@protoc_insertion_point(builder_scope:Protocol.Request)
+    }
+
+    // @@protoc_insertion_point(class_scope:Protocol.Request)
+    private static final Protocol.NetworkProtos.Request DEFAULT_INSTANCE;
+    static {
+      DEFAULT_INSTANCE = new Protocol.NetworkProtos.Request();
+    }
+
+    public static Protocol.NetworkProtos.Request getDefaultInstance() {
+      return DEFAULT_INSTANCE;
+    }
+
+    private static final com.google.protobuf.Parser<Request>
+        PARSER = new com.google.protobuf.AbstractParser<Request>() {
+      @java.lang.Override
+      public Request parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        Builder builder = newBuilder();
+        try {
+          builder.mergeFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.setUnfinishedMessage(builder.buildPartial());
+        } catch (com.google.protobuf.UninitializedMessageException e) {
+          throw e.asInvalidProtocolBufferException().setUnfinishedMessage(builder.buildPartial());
+        } catch (java.io.IOException e) {
+          throw new com.google.protobuf.InvalidProtocolBufferException(e)
+              .setUnfinishedMessage(builder.buildPartial());
+        }
+        return builder.buildPartial();
       }
+    };
 
-      // @@protoc_insertion_point(enum_scope:Protocol.Response.type)
+    public static com.google.protobuf.Parser<Request> parser() {
+      return PARSER;
     }
 
-    private int bitField0_;
-    public static final int RESPONSETYPE_FIELD_NUMBER = 1;
-    private int responseType_;
+    @java.lang.Override
+    public com.google.protobuf.Parser<Request> getParserForType() {
+      return PARSER;
+    }
+
+    @java.lang.Override
+    public Protocol.NetworkProtos.Request getDefaultInstanceForType() {
+      return DEFAULT_INSTANCE;
+    }
+
+  }
+
+  public interface ResponseOrBuilder extends
+      // @@protoc_insertion_point(interface_extends:Protocol.Response)
+      com.google.protobuf.MessageOrBuilder {
+
     /**
      * <code>.Protocol.Response.type responseType = 1;</code>
      * @return The enum numeric value on the wire for responseType.
      */
-    @java.lang.Override public int getResponseTypeValue() {
-      return responseType_;
-    }
+    int getResponseTypeValue();
     /**
      * <code>.Protocol.Response.type responseType = 1;</code>
      * @return The responseType.
      */
-    @java.lang.Override public Protocol.NetworkProtos.Response.type getResponseType() {
-      @SuppressWarnings("deprecation")
-      Protocol.NetworkProtos.Response.type result = Protocol.NetworkProtos.Response.type.valueOf(responseType_);
-      return result == null ? Protocol.NetworkProtos.Response.type.UNRECOGNIZED : result;
-    }
+    Protocol.NetworkProtos.Response.type getResponseType();
 
-    public static final int ERRORMESSAGE_FIELD_NUMBER = 2;
-    private volatile java.lang.Object errorMessage_;
     /**
      * <code>optional string errorMessage = 2;</code>
      * @return Whether the errorMessage field is set.
      */
-    @java.lang.Override
-    public boolean hasErrorMessage() {
-      return ((bitField0_ & 0x00000001) != 0);
-    }
+    boolean hasErrorMessage();
     /**
      * <code>optional string errorMessage = 2;</code>
      * @return The errorMessage.
      */
-    @java.lang.Override
-    public java.lang.String getErrorMessage() {
-      java.lang.Object ref = errorMessage_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        errorMessage_ = s;
-        return s;
-      }
-    }
+    java.lang.String getErrorMessage();
     /**
      * <code>optional string errorMessage = 2;</code>
      * @return The bytes for errorMessage.
      */
-    @java.lang.Override
-    public com.google.protobuf.ByteString
-        getErrorMessageBytes() {
-      java.lang.Object ref = errorMessage_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        errorMessage_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
-    }
+    com.google.protobuf.ByteString
+        getErrorMessageBytes();
 
-    public static final int USER_FIELD_NUMBER = 3;
-    private Protocol.NetworkProtos.User user_;
     /**
      * <code>optional .Protocol.User user = 3;</code>
      * @return Whether the user field is set.
      */
-    @java.lang.Override
-    public boolean hasUser() {
-      return ((bitField0_ & 0x00000002) != 0);
-    }
+    boolean hasUser();
     /**
      * <code>optional .Protocol.User user = 3;</code>
      * @return The user.
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.User getUser() {
-      return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
-    }
+    Protocol.NetworkProtos.User getUser();
     /**
      * <code>optional .Protocol.User user = 3;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder() {
-      return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
-    }
+    Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder();
 
-    public static final int PARTICIPANT_FIELD_NUMBER = 4;
-    private Protocol.NetworkProtos.Participant participant_;
     /**
      * <code>optional .Protocol.Participant participant = 4;</code>
      * @return Whether the participant field is set.
      */
-    @java.lang.Override
-    public boolean hasParticipant() {
-      return ((bitField0_ & 0x00000004) != 0);
-    }
+    boolean hasParticipant();
     /**
      * <code>optional .Protocol.Participant participant = 4;</code>
      * @return The participant.
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.Participant getParticipant() {
-      return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
-    }
+    Protocol.NetworkProtos.Participant getParticipant();
     /**
      * <code>optional .Protocol.Participant participant = 4;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder() {
-      return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
-    }
+    Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder();
 
-    public static final int RACES_FIELD_NUMBER = 5;
-    private java.util.List<Protocol.NetworkProtos.Race> races_;
     /**
      * <code>repeated .Protocol.Race races = 5;</code>
      */
-    @java.lang.Override
-    public java.util.List<Protocol.NetworkProtos.Race> getRacesList() {
-      return races_;
-    }
+    java.util.List<Protocol.NetworkProtos.Race> 
+        getRacesList();
     /**
      * <code>repeated .Protocol.Race races = 5;</code>
      */
-    @java.lang.Override
-    public java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
-        getRacesOrBuilderList() {
-      return races_;
-    }
+    Protocol.NetworkProtos.Race getRaces(int index);
     /**
      * <code>repeated .Protocol.Race races = 5;</code>
      */
-    @java.lang.Override
-    public int getRacesCount() {
-      return races_.size();
-    }
+    int getRacesCount();
     /**
      * <code>repeated .Protocol.Race races = 5;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.Race getRaces(int index) {
-      return races_.get(index);
-    }
+    java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
+        getRacesOrBuilderList();
     /**
      * <code>repeated .Protocol.Race races = 5;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
-        int index) {
-      return races_.get(index);
-    }
+    Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
+        int index);
 
-    public static final int ENGINECAPACITIES_FIELD_NUMBER = 6;
-    private com.google.protobuf.Internal.IntList engineCapacities_;
     /**
      * <code>repeated int32 engineCapacities = 6;</code>
      * @return A list containing the engineCapacities.
      */
-    @java.lang.Override
-    public java.util.List<java.lang.Integer>
-        getEngineCapacitiesList() {
-      return engineCapacities_;
-    }
+    java.util.List<java.lang.Integer> getEngineCapacitiesList();
     /**
      * <code>repeated int32 engineCapacities = 6;</code>
      * @return The count of engineCapacities.
      */
-    public int getEngineCapacitiesCount() {
-      return engineCapacities_.size();
-    }
+    int getEngineCapacitiesCount();
     /**
      * <code>repeated int32 engineCapacities = 6;</code>
      * @param index The index of the element to return.
      * @return The engineCapacities at the given index.
      */
-    public int getEngineCapacities(int index) {
-      return engineCapacities_.getInt(index);
-    }
-    private int engineCapacitiesMemoizedSerializedSize = -1;
+    int getEngineCapacities(int index);
 
-    public static final int PARTICIPANTS_FIELD_NUMBER = 7;
-    private java.util.List<Protocol.NetworkProtos.Participant> participants_;
     /**
      * <code>repeated .Protocol.Participant participants = 7;</code>
      */
-    @java.lang.Override
-    public java.util.List<Protocol.NetworkProtos.Participant> getParticipantsList() {
-      return participants_;
-    }
+    java.util.List<Protocol.NetworkProtos.Participant> 
+        getParticipantsList();
     /**
      * <code>repeated .Protocol.Participant participants = 7;</code>
      */
-    @java.lang.Override
-    public java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
-        getParticipantsOrBuilderList() {
-      return participants_;
-    }
+    Protocol.NetworkProtos.Participant getParticipants(int index);
     /**
      * <code>repeated .Protocol.Participant participants = 7;</code>
      */
-    @java.lang.Override
-    public int getParticipantsCount() {
-      return participants_.size();
-    }
+    int getParticipantsCount();
     /**
      * <code>repeated .Protocol.Participant participants = 7;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.Participant getParticipants(int index) {
-      return participants_.get(index);
-    }
+    java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
+        getParticipantsOrBuilderList();
     /**
      * <code>repeated .Protocol.Participant participants = 7;</code>
      */
-    @java.lang.Override
-    public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
-        int index) {
-      return participants_.get(index);
+    Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
+        int index);
+
+    /**
+     * <pre>
+     * Id of the request answered by this response, 0 for updates pushed by the server.
+     * </pre>
+     *
+     * <code>uint64 requestId = 8;</code>
+     * @return The requestId.
+     */
+    long getRequestId();
+
+    /**
+     * <pre>
+     * Chunks of a streamed response: the number of participants sent so far, and whether this is the final chunk.
+     * </pre>
+     *
+     * <code>uint64 cursor = 9;</code>
+     * @return The cursor.
+     */
+    long getCursor();
+
+    /**
+     * <code>bool last = 10;</code>
+     * @return The last.
+     */
+    boolean getLast();
+
+    /**
+     * <pre>
+     * Milliseconds the client should wait before retrying an OVERLOADED request.
+     * </pre>
+     *
+     * <code>uint32 retryAfter = 11;</code>
+     * @return The retryAfter.
+     */
+    int getRetryAfter();
+
+    /**
+     * <pre>
+     * The epoch of the server, changed by every restart, and the sequence number of the last update
+     * included in a pushed update or in the answer of a RESUME request.
+     * </pre>
+     *
+     * <code>uint64 epoch = 12;</code>
+     * @return The epoch.
+     */
+    long getEpoch();
+
+    /**
+     * <code>uint64 sequence = 13;</code>
+     * @return The sequence.
+     */
+    long getSequence();
+
+    /**
+     * <pre>
+     * Whether the missed updates couldn't be replayed by a RESUME request, so everything must be reloaded.
+     * </pre>
+     *
+     * <code>bool snapshot = 14;</code>
+     * @return The snapshot.
+     */
+    boolean getSnapshot();
+
+    /**
+     * <pre>
+     * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+     * </pre>
+     *
+     * <code>.Protocol.Compression compression = 15;</code>
+     * @return The enum numeric value on the wire for compression.
+     */
+    int getCompressionValue();
+    /**
+     * <pre>
+     * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+     * </pre>
+     *
+     * <code>.Protocol.Compression compression = 15;</code>
+     * @return The compression.
+     */
+    Protocol.NetworkProtos.Compression getCompression();
+
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @return A list containing the teams.
+     */
+    java.util.List<java.lang.String>
+        getTeamsList();
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @return The count of teams.
+     */
+    int getTeamsCount();
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @param index The index of the element to return.
+     * @return The teams at the given index.
+     */
+    java.lang.String getTeams(int index);
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the teams at the given index.
+     */
+    com.google.protobuf.ByteString
+        getTeamsBytes(int index);
+
+    /**
+     * <pre>
+     * The protocol version chosen by the server in the answer of a HELLO request.
+     * </pre>
+     *
+     * <code>uint32 version = 17;</code>
+     * @return The version.
+     */
+    int getVersion();
+
+    /**
+     * <pre>
+     * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+     * </pre>
+     *
+     * <code>string sessionToken = 18;</code>
+     * @return The sessionToken.
+     */
+    java.lang.String getSessionToken();
+    /**
+     * <pre>
+     * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+     * </pre>
+     *
+     * <code>string sessionToken = 18;</code>
+     * @return The bytes for sessionToken.
+     */
+    com.google.protobuf.ByteString
+        getSessionTokenBytes();
+  }
+  /**
+   * Protobuf type {@code Protocol.Response}
+   */
+  public static final class Response extends
+      com.google.protobuf.GeneratedMessageV3 implements
+      // @@protoc_insertion_point(message_implements:Protocol.Response)
+      ResponseOrBuilder {
+  private static final long serialVersionUID = 0L;
+    // Use Response.newBuilder() to construct.
+    private Response(com.google.protobuf.GeneratedMessageV3.Builder<?> builder) {
+      super(builder);
+    }
+    private Response() {
+      responseType_ = 0;
+      errorMessage_ = "";
+      races_ = java.util.Collections.emptyList();
+      engineCapacities_ = emptyIntList();
+      participants_ = java.util.Collections.emptyList();
+      compression_ = 0;
+      teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      sessionToken_ = "";
     }
 
-    private byte memoizedIsInitialized = -1;
     @java.lang.Override
-    public final boolean isInitialized() {
-      byte isInitialized = memoizedIsInitialized;
-      if (isInitialized == 1) return true;
-      if (isInitialized == 0) return false;
+    @SuppressWarnings({"unused"})
+    protected java.lang.Object newInstance(
+        UnusedPrivateParameter unused) {
+      return new Response();
+    }
 
-      memoizedIsInitialized = 1;
-      return true;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+    getUnknownFields() {
+      return this.unknownFields;
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
     }
 
     @java.lang.Override
-    public void writeTo(com.google.protobuf.CodedOutputStream output)
-                        throws java.io.IOException {
-      getSerializedSize();
-      if (responseType_ != Protocol.NetworkProtos.Response.type.OK.getNumber()) {
-        output.writeEnum(1, responseType_);
-      }
-      if (((bitField0_ & 0x00000001) != 0)) {
-        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, errorMessage_);
-      }
-      if (((bitField0_ & 0x00000002) != 0)) {
-        output.writeMessage(3, getUser());
-      }
-      if (((bitField0_ & 0x00000004) != 0)) {
-        output.writeMessage(4, getParticipant());
-      }
-      for (int i = 0; i < races_.size(); i++) {
-        output.writeMessage(5, races_.get(i));
-      }
-      if (getEngineCapacitiesList().size() > 0) {
-        output.writeUInt32NoTag(50);
-        output.writeUInt32NoTag(engineCapacitiesMemoizedSerializedSize);
-      }
-      for (int i = 0; i < engineCapacities_.size(); i++) {
-        output.writeInt32NoTag(engineCapacities_.getInt(i));
-      }
-      for (int i = 0; i < participants_.size(); i++) {
-        output.writeMessage(7, participants_.get(i));
-      }
-      getUnknownFields().writeTo(output);
+    protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return Protocol.NetworkProtos.internal_static_Protocol_Response_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              Protocol.NetworkProtos.Response.class, Protocol.NetworkProtos.Response.Builder.class);
     }
 
-    @java.lang.Override
-    public int getSerializedSize() {
-      int size = memoizedSize;
-      if (size != -1) return size;
+    /**
+     * Protobuf enum {@code Protocol.Response.type}
+     */
+    public enum type
+        implements com.google.protobuf.ProtocolMessageEnum {
+      /**
+       * <code>OK = 0;</code>
+       */
+      OK(0),
+      /**
+       * <code>ERROR = 1;</code>
+       */
+      ERROR(1),
+      /**
+       * <code>PARTICIPANT_ADDED = 2;</code>
+       */
+      PARTICIPANT_ADDED(2),
+      /**
+       * <code>CONNECTION_CLOSED = 3;</code>
+       */
+      CONNECTION_CLOSED(3),
+      /**
+       * <pre>
+       * The participants added during a coalescing window, with the updated races.
+       * </pre>
+       *
+       * <code>PARTICIPANTS_ADDED = 4;</code>
+       */
+      PARTICIPANTS_ADDED(4),
+      /**
+       * <code>PONG = 5;</code>
+       */
+      PONG(5),
+      /**
+       * <pre>
+       * The server is at its capacity and didn't handle the request, or refused the connection.
+       * </pre>
+       *
+       * <code>OVERLOADED = 6;</code>
+       */
+      OVERLOADED(6),
+      UNRECOGNIZED(-1),
+      ;
 
-      size = 0;
-      if (responseType_ != Protocol.NetworkProtos.Response.type.OK.getNumber()) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeEnumSize(1, responseType_);
-      }
-      if (((bitField0_ & 0x00000001) != 0)) {
-        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, errorMessage_);
-      }
-      if (((bitField0_ & 0x00000002) != 0)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(3, getUser());
-      }
-      if (((bitField0_ & 0x00000004) != 0)) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(4, getParticipant());
-      }
-      for (int i = 0; i < races_.size(); i++) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(5, races_.get(i));
-      }
-      {
-        int dataSize = 0;
-        for (int i = 0; i < engineCapacities_.size(); i++) {
-          dataSize += com.google.protobuf.CodedOutputStream
-            .computeInt32SizeNoTag(engineCapacities_.getInt(i));
-        }
-        size += dataSize;
-        if (!getEngineCapacitiesList().isEmpty()) {
-          size += 1;
-          size += com.google.protobuf.CodedOutputStream
-              .computeInt32SizeNoTag(dataSize);
+      /**
+       * <code>OK = 0;</code>
+       */
+      public static final int OK_VALUE = 0;
+      /**
+       * <code>ERROR = 1;</code>
+       */
+      public static final int ERROR_VALUE = 1;
+      /**
+       * <code>PARTICIPANT_ADDED = 2;</code>
+       */
+      public static final int PARTICIPANT_ADDED_VALUE = 2;
+      /**
+       * <code>CONNECTION_CLOSED = 3;</code>
+       */
+      public static final int CONNECTION_CLOSED_VALUE = 3;
+      /**
+       * <pre>
+       * The participants added during a coalescing window, with the updated races.
+       * </pre>
+       *
+       * <code>PARTICIPANTS_ADDED = 4;</code>
+       */
+      public static final int PARTICIPANTS_ADDED_VALUE = 4;
+      /**
+       * <code>PONG = 5;</code>
+       */
+      public static final int PONG_VALUE = 5;
+      /**
+       * <pre>
+       * The server is at its capacity and didn't handle the request, or refused the connection.
+       * </pre>
+       *
+       * <code>OVERLOADED = 6;</code>
+       */
+      public static final int OVERLOADED_VALUE = 6;
+
+
+      public final int getNumber() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalArgumentException(
+              "Can't get the number of an unknown enum value.");
         }
-        engineCapacitiesMemoizedSerializedSize = dataSize;
-      }
-      for (int i = 0; i < participants_.size(); i++) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(7, participants_.get(i));
+        return value;
       }
-      size += getUnknownFields().getSerializedSize();
-      memoizedSize = size;
-      return size;
-    }
 
-    @java.lang.Override
-    public boolean equals(final java.lang.Object obj) {
-      if (obj == this) {
-       return true;
-      }
-      if (!(obj instanceof Protocol.NetworkProtos.Response)) {
-        return super.equals(obj);
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       * @deprecated Use {@link #forNumber(int)} instead.
+       */
+      @java.lang.Deprecated
+      public static type valueOf(int value) {
+        return forNumber(value);
       }
-      Protocol.NetworkProtos.Response other = (Protocol.NetworkProtos.Response) obj;
 
-      if (responseType_ != other.responseType_) return false;
-      if (hasErrorMessage() != other.hasErrorMessage()) return false;
-      if (hasErrorMessage()) {
-        if (!getErrorMessage()
-            .equals(other.getErrorMessage())) return false;
-      }
-      if (hasUser() != other.hasUser()) return false;
-      if (hasUser()) {
-        if (!getUser()
-            .equals(other.getUser())) return false;
-      }
-      if (hasParticipant() != other.hasParticipant()) return false;
-      if (hasParticipant()) {
-        if (!getParticipant()
-            .equals(other.getParticipant())) return false;
+      /**
+       * @param value The numeric wire value of the corresponding enum entry.
+       * @return The enum associated with the given numeric wire value.
+       */
+      public static type forNumber(int value) {
+        switch (value) {
+          case 0: return OK;
+          case 1: return ERROR;
+          case 2: return PARTICIPANT_ADDED;
+          case 3: return CONNECTION_CLOSED;
+          case 4: return PARTICIPANTS_ADDED;
+          case 5: return PONG;
+          case 6: return OVERLOADED;
+          default: return null;
+        }
       }
-      if (!getRacesList()
-          .equals(other.getRacesList())) return false;
-      if (!getEngineCapacitiesList()
-          .equals(other.getEngineCapacitiesList())) return false;
-      if (!getParticipantsList()
-          .equals(other.getParticipantsList())) return false;
-      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
-      return true;
-    }
 
-    @java.lang.Override
-    public int hashCode() {
-      if (memoizedHashCode != 0) {
-        return memoizedHashCode;
-      }
-      int hash = 41;
-      hash = (19 * hash) + getDescriptor().hashCode();
-      hash = (37 * hash) + RESPONSETYPE_FIELD_NUMBER;
-      hash = (53 * hash) + responseType_;
-      if (hasErrorMessage()) {
-        hash = (37 * hash) + ERRORMESSAGE_FIELD_NUMBER;
-        hash = (53 * hash) + getErrorMessage().hashCode();
+      public static com.google.protobuf.Internal.EnumLiteMap<type>
+          internalGetValueMap() {
+        return internalValueMap;
       }
-      if (hasUser()) {
-        hash = (37 * hash) + USER_FIELD_NUMBER;
-        hash = (53 * hash) + getUser().hashCode();
+      private static final com.google.protobuf.Internal.EnumLiteMap<
+          type> internalValueMap =
+            new com.google.protobuf.Internal.EnumLiteMap<type>() {
+              public type findValueByNumber(int number) {
+                return type.forNumber(number);
+              }
+            };
+
+      public final com.google.protobuf.Descriptors.EnumValueDescriptor
+          getValueDescriptor() {
+        if (this == UNRECOGNIZED) {
+          throw new java.lang.IllegalStateException(
+              "Can't get the descriptor of an unrecognized enum value.");
+        }
+        return getDescriptor().getValues().get(ordinal());
       }
-      if (hasParticipant()) {
-        hash = (37 * hash) + PARTICIPANT_FIELD_NUMBER;
-        hash = (53 * hash) + getParticipant().hashCode();
+      public final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptorForType() {
+        return getDescriptor();
       }
-      if (getRacesCount() > 0) {
-        hash = (37 * hash) + RACES_FIELD_NUMBER;
-        hash = (53 * hash) + getRacesList().hashCode();
+      public static final com.google.protobuf.Descriptors.EnumDescriptor
+          getDescriptor() {
+        return Protocol.NetworkProtos.Response.getDescriptor().getEnumTypes().get(0);
       }
-      if (getEngineCapacitiesCount() > 0) {
-        hash = (37 * hash) + ENGINECAPACITIES_FIELD_NUMBER;
-        hash = (53 * hash) + getEngineCapacitiesList().hashCode();
+
+      private static final type[] VALUES = values();
+
+      public static type valueOf(
+          com.google.protobuf.Descriptors.EnumValueDescriptor desc) {
+        if (desc.getType() != getDescriptor()) {
+          throw new java.lang.IllegalArgumentException(
+            "EnumValueDescriptor is not for this type.");
+        }
+        if (desc.getIndex() == -1) {
+          return UNRECOGNIZED;
+        }
+        return VALUES[desc.getIndex()];
       }
-      if (getParticipantsCount() > 0) {
-        hash = (37 * hash) + PARTICIPANTS_FIELD_NUMBER;
-        hash = (53 * hash) + getParticipantsList().hashCode();
+
+      private final int value;
+
+      private type(int value) {
+        this.value = value;
       }
-      hash = (29 * hash) + getUnknownFields().hashCode();
-      memoizedHashCode = hash;
-      return hash;
-    }
 
-    public static Protocol.NetworkProtos.Response parseFrom(
-        java.nio.ByteBuffer data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+      // @@protoc_insertion_point(enum_scope:Protocol.Response.type)
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        java.nio.ByteBuffer data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+
+    private int bitField0_;
+    public static final int RESPONSETYPE_FIELD_NUMBER = 1;
+    private int responseType_;
+    /**
+     * <code>.Protocol.Response.type responseType = 1;</code>
+     * @return The enum numeric value on the wire for responseType.
+     */
+    @java.lang.Override public int getResponseTypeValue() {
+      return responseType_;
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        com.google.protobuf.ByteString data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+    /**
+     * <code>.Protocol.Response.type responseType = 1;</code>
+     * @return The responseType.
+     */
+    @java.lang.Override public Protocol.NetworkProtos.Response.type getResponseType() {
+      @SuppressWarnings("deprecation")
+      Protocol.NetworkProtos.Response.type result = Protocol.NetworkProtos.Response.type.valueOf(responseType_);
+      return result == null ? Protocol.NetworkProtos.Response.type.UNRECOGNIZED : result;
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        com.google.protobuf.ByteString data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+
+    public static final int ERRORMESSAGE_FIELD_NUMBER = 2;
+    private volatile java.lang.Object errorMessage_;
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     * @return Whether the errorMessage field is set.
+     */
+    @java.lang.Override
+    public boolean hasErrorMessage() {
+      return ((bitField0_ & 0x00000001) != 0);
     }
-    public static Protocol.NetworkProtos.Response parseFrom(byte[] data)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data);
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     * @return The errorMessage.
+     */
+    @java.lang.Override
+    public java.lang.String getErrorMessage() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        errorMessage_ = s;
+        return s;
+      }
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        byte[] data,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws com.google.protobuf.InvalidProtocolBufferException {
-      return PARSER.parseFrom(data, extensionRegistry);
+    /**
+     * <code>optional string errorMessage = 2;</code>
+     * @return The bytes for errorMessage.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getErrorMessageBytes() {
+      java.lang.Object ref = errorMessage_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        errorMessage_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
     }
-    public static Protocol.NetworkProtos.Response parseFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
+
+    public static final int USER_FIELD_NUMBER = 3;
+    private Protocol.NetworkProtos.User user_;
+    /**
+     * <code>optional .Protocol.User user = 3;</code>
+     * @return Whether the user field is set.
+     */
+    @java.lang.Override
+    public boolean hasUser() {
+      return ((bitField0_ & 0x00000002) != 0);
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
+    /**
+     * <code>optional .Protocol.User user = 3;</code>
+     * @return The user.
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.User getUser() {
+      return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
     }
-    public static Protocol.NetworkProtos.Response parseDelimitedFrom(java.io.InputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input);
+    /**
+     * <code>optional .Protocol.User user = 3;</code>
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder() {
+      return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
     }
-    public static Protocol.NetworkProtos.Response parseDelimitedFrom(
-        java.io.InputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+
+    public static final int PARTICIPANT_FIELD_NUMBER = 4;
+    private Protocol.NetworkProtos.Participant participant_;
+    /**
+     * <code>optional .Protocol.Participant participant = 4;</code>
+     * @return Whether the participant field is set.
+     */
+    @java.lang.Override
+    public boolean hasParticipant() {
+      return ((bitField0_ & 0x00000004) != 0);
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        com.google.protobuf.CodedInputStream input)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input);
+    /**
+     * <code>optional .Protocol.Participant participant = 4;</code>
+     * @return The participant.
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.Participant getParticipant() {
+      return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
     }
-    public static Protocol.NetworkProtos.Response parseFrom(
-        com.google.protobuf.CodedInputStream input,
-        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-        throws java.io.IOException {
-      return com.google.protobuf.GeneratedMessageV3
-          .parseWithIOException(PARSER, input, extensionRegistry);
+    /**
+     * <code>optional .Protocol.Participant participant = 4;</code>
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder() {
+      return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
     }
 
+    public static final int RACES_FIELD_NUMBER = 5;
+    private java.util.List<Protocol.NetworkProtos.Race> races_;
+    /**
+     * <code>repeated .Protocol.Race races = 5;</code>
+     */
     @java.lang.Override
-    public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder() {
-      return DEFAULT_INSTANCE.toBuilder();
+    public java.util.List<Protocol.NetworkProtos.Race> getRacesList() {
+      return races_;
     }
-    public static Builder newBuilder(Protocol.NetworkProtos.Response prototype) {
-      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    /**
+     * <code>repeated .Protocol.Race races = 5;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
+        getRacesOrBuilderList() {
+      return races_;
     }
+    /**
+     * <code>repeated .Protocol.Race races = 5;</code>
+     */
     @java.lang.Override
-    public Builder toBuilder() {
-      return this == DEFAULT_INSTANCE
-          ? new Builder() : new Builder().mergeFrom(this);
+    public int getRacesCount() {
+      return races_.size();
     }
-
+    /**
+     * <code>repeated .Protocol.Race races = 5;</code>
+     */
     @java.lang.Override
-    protected Builder newBuilderForType(
-        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-      Builder builder = new Builder(parent);
-      return builder;
+    public Protocol.NetworkProtos.Race getRaces(int index) {
+      return races_.get(index);
     }
     /**
-     * Protobuf type {@code Protocol.Response}
+     * <code>repeated .Protocol.Race races = 5;</code>
      */
-    public static final class Builder extends
-        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
-        // @@protoc_insertion_point(builder_implements:Protocol.Response)
-        Protocol.NetworkProtos.ResponseOrBuilder {
-      public static final com.google.protobuf.Descriptors.Descriptor
-          getDescriptor() {
-        return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
-      }
-
-      @java.lang.Override
-      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
-          internalGetFieldAccessorTable() {
-        return Protocol.NetworkProtos.internal_static_Protocol_Response_fieldAccessorTable
-            .ensureFieldAccessorsInitialized(
-                Protocol.NetworkProtos.Response.class, Protocol.NetworkProtos.Response.Builder.class);
-      }
+    @java.lang.Override
+    public Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
+        int index) {
+      return races_.get(index);
+    }
 
-      // Construct using Protocol.NetworkProtos.Response.newBuilder()
-      private Builder() {
-        maybeForceBuilderInitialization();
-      }
+    public static final int ENGINECAPACITIES_FIELD_NUMBER = 6;
+    private com.google.protobuf.Internal.IntList engineCapacities_;
+    /**
+     * <code>repeated int32 engineCapacities = 6;</code>
+     * @return A list containing the engineCapacities.
+     */
+    @java.lang.Override
+    public java.util.List<java.lang.Integer>
+        getEngineCapacitiesList() {
+      return engineCapacities_;
+    }
+    /**
+     * <code>repeated int32 engineCapacities = 6;</code>
+     * @return The count of engineCapacities.
+     */
+    public int getEngineCapacitiesCount() {
+      return engineCapacities_.size();
+    }
+    /**
+     * <code>repeated int32 engineCapacities = 6;</code>
+     * @param index The index of the element to return.
+     * @return The engineCapacities at the given index.
+     */
+    public int getEngineCapacities(int index) {
+      return engineCapacities_.getInt(index);
+    }
+    private int engineCapacitiesMemoizedSerializedSize = -1;
 
-      private Builder(
-          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
-        super(parent);
-        maybeForceBuilderInitialization();
-      }
+    public static final int PARTICIPANTS_FIELD_NUMBER = 7;
+    private java.util.List<Protocol.NetworkProtos.Participant> participants_;
+    /**
+     * <code>repeated .Protocol.Participant participants = 7;</code>
+     */
+    @java.lang.Override
+    public java.util.List<Protocol.NetworkProtos.Participant> getParticipantsList() {
+      return participants_;
+    }
+    /**
+     * <code>repeated .Protocol.Participant participants = 7;</code>
+     */
+    @java.lang.Override
+    public java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
+        getParticipantsOrBuilderList() {
+      return participants_;
+    }
+    /**
+     * <code>repeated .Protocol.Participant participants = 7;</code>
+     */
+    @java.lang.Override
+    public int getParticipantsCount() {
+      return participants_.size();
+    }
+    /**
+     * <code>repeated .Protocol.Participant participants = 7;</code>
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.Participant getParticipants(int index) {
+      return participants_.get(index);
+    }
+    /**
+     * <code>repeated .Protocol.Participant participants = 7;</code>
+     */
+    @java.lang.Override
+    public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
+        int index) {
+      return participants_.get(index);
+    }
+
+    public static final int REQUESTID_FIELD_NUMBER = 8;
+    private long requestId_;
+    /**
+     * <pre>
+     * Id of the request answered by this response, 0 for updates pushed by the server.
+     * </pre>
+     *
+     * <code>uint64 requestId = 8;</code>
+     * @return The requestId.
+     */
+    @java.lang.Override
+    public long getRequestId() {
+      return requestId_;
+    }
+
+    public static final int CURSOR_FIELD_NUMBER = 9;
+    private long cursor_;
+    /**
+     * <pre>
+     * Chunks of a streamed response: the number of participants sent so far, and whether this is the final chunk.
+     * </pre>
+     *
+     * <code>uint64 cursor = 9;</code>
+     * @return The cursor.
+     */
+    @java.lang.Override
+    public long getCursor() {
+      return cursor_;
+    }
+
+    public static final int LAST_FIELD_NUMBER = 10;
+    private boolean last_;
+    /**
+     * <code>bool last = 10;</code>
+     * @return The last.
+     */
+    @java.lang.Override
+    public boolean getLast() {
+      return last_;
+    }
+
+    public static final int RETRYAFTER_FIELD_NUMBER = 11;
+    private int retryAfter_;
+    /**
+     * <pre>
+     * Milliseconds the client should wait before retrying an OVERLOADED request.
+     * </pre>
+     *
+     * <code>uint32 retryAfter = 11;</code>
+     * @return The retryAfter.
+     */
+    @java.lang.Override
+    public int getRetryAfter() {
+      return retryAfter_;
+    }
+
+    public static final int EPOCH_FIELD_NUMBER = 12;
+    private long epoch_;
+    /**
+     * <pre>
+     * The epoch of the server, changed by every restart, and the sequence number of the last update
+     * included in a pushed update or in the answer of a RESUME request.
+     * </pre>
+     *
+     * <code>uint64 epoch = 12;</code>
+     * @return The epoch.
+     */
+    @java.lang.Override
+    public long getEpoch() {
+      return epoch_;
+    }
+
+    public static final int SEQUENCE_FIELD_NUMBER = 13;
+    private long sequence_;
+    /**
+     * <code>uint64 sequence = 13;</code>
+     * @return The sequence.
+     */
+    @java.lang.Override
+    public long getSequence() {
+      return sequence_;
+    }
+
+    public static final int SNAPSHOT_FIELD_NUMBER = 14;
+    private boolean snapshot_;
+    /**
+     * <pre>
+     * Whether the missed updates couldn't be replayed by a RESUME request, so everything must be reloaded.
+     * </pre>
+     *
+     * <code>bool snapshot = 14;</code>
+     * @return The snapshot.
+     */
+    @java.lang.Override
+    public boolean getSnapshot() {
+      return snapshot_;
+    }
+
+    public static final int COMPRESSION_FIELD_NUMBER = 15;
+    private int compression_;
+    /**
+     * <pre>
+     * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+     * </pre>
+     *
+     * <code>.Protocol.Compression compression = 15;</code>
+     * @return The enum numeric value on the wire for compression.
+     */
+    @java.lang.Override public int getCompressionValue() {
+      return compression_;
+    }
+    /**
+     * <pre>
+     * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+     * </pre>
+     *
+     * <code>.Protocol.Compression compression = 15;</code>
+     * @return The compression.
+     */
+    @java.lang.Override public Protocol.NetworkProtos.Compression getCompression() {
+      @SuppressWarnings("deprecation")
+      Protocol.NetworkProtos.Compression result = Protocol.NetworkProtos.Compression.valueOf(compression_);
+      return result == null ? Protocol.NetworkProtos.Compression.UNRECOGNIZED : result;
+    }
+
+    public static final int TEAMS_FIELD_NUMBER = 16;
+    private com.google.protobuf.LazyStringList teams_;
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @return A list containing the teams.
+     */
+    public com.google.protobuf.ProtocolStringList
+        getTeamsList() {
+      return teams_;
+    }
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @return The count of teams.
+     */
+    public int getTeamsCount() {
+      return teams_.size();
+    }
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @param index The index of the element to return.
+     * @return The teams at the given index.
+     */
+    public java.lang.String getTeams(int index) {
+      return teams_.get(index);
+    }
+    /**
+     * <pre>
+     * Version 2: the distinct teams of the participants of the response, referred to by their index.
+     * </pre>
+     *
+     * <code>repeated string teams = 16;</code>
+     * @param index The index of the value to return.
+     * @return The bytes of the teams at the given index.
+     */
+    public com.google.protobuf.ByteString
+        getTeamsBytes(int index) {
+      return teams_.getByteString(index);
+    }
+
+    public static final int VERSION_FIELD_NUMBER = 17;
+    private int version_;
+    /**
+     * <pre>
+     * The protocol version chosen by the server in the answer of a HELLO request.
+     * </pre>
+     *
+     * <code>uint32 version = 17;</code>
+     * @return The version.
+     */
+    @java.lang.Override
+    public int getVersion() {
+      return version_;
+    }
+
+    public static final int SESSIONTOKEN_FIELD_NUMBER = 18;
+    private volatile java.lang.Object sessionToken_;
+    /**
+     * <pre>
+     * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+     * </pre>
+     *
+     * <code>string sessionToken = 18;</code>
+     * @return The sessionToken.
+     */
+    @java.lang.Override
+    public java.lang.String getSessionToken() {
+      java.lang.Object ref = sessionToken_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        sessionToken_ = s;
+        return s;
+      }
+    }
+    /**
+     * <pre>
+     * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+     * </pre>
+     *
+     * <code>string sessionToken = 18;</code>
+     * @return The bytes for sessionToken.
+     */
+    @java.lang.Override
+    public com.google.protobuf.ByteString
+        getSessionTokenBytes() {
+      java.lang.Object ref = sessionToken_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        sessionToken_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
+    }
+
+    private byte memoizedIsInitialized = -1;
+    @java.lang.Override
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized == 1) return true;
+      if (isInitialized == 0) return false;
+
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    @java.lang.Override
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      if (responseType_ != Protocol.NetworkProtos.Response.type.OK.getNumber()) {
+        output.writeEnum(1, responseType_);
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 2, errorMessage_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        output.writeMessage(3, getUser());
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        output.writeMessage(4, getParticipant());
+      }
+      for (int i = 0; i < races_.size(); i++) {
+        output.writeMessage(5, races_.get(i));
+      }
+      if (getEngineCapacitiesList().size() > 0) {
+        output.writeUInt32NoTag(50);
+        output.writeUInt32NoTag(engineCapacitiesMemoizedSerializedSize);
+      }
+      for (int i = 0; i < engineCapacities_.size(); i++) {
+        output.writeInt32NoTag(engineCapacities_.getInt(i));
+      }
+      for (int i = 0; i < participants_.size(); i++) {
+        output.writeMessage(7, participants_.get(i));
+      }
+      if (requestId_ != 0L) {
+        output.writeUInt64(8, requestId_);
+      }
+      if (cursor_ != 0L) {
+        output.writeUInt64(9, cursor_);
+      }
+      if (last_ != false) {
+        output.writeBool(10, last_);
+      }
+      if (retryAfter_ != 0) {
+        output.writeUInt32(11, retryAfter_);
+      }
+      if (epoch_ != 0L) {
+        output.writeUInt64(12, epoch_);
+      }
+      if (sequence_ != 0L) {
+        output.writeUInt64(13, sequence_);
+      }
+      if (snapshot_ != false) {
+        output.writeBool(14, snapshot_);
+      }
+      if (compression_ != Protocol.NetworkProtos.Compression.NONE.getNumber()) {
+        output.writeEnum(15, compression_);
+      }
+      for (int i = 0; i < teams_.size(); i++) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 16, teams_.getRaw(i));
+      }
+      if (version_ != 0) {
+        output.writeUInt32(17, version_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionToken_)) {
+        com.google.protobuf.GeneratedMessageV3.writeString(output, 18, sessionToken_);
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    @java.lang.Override
+    public int getSerializedSize() {
+      int size = memoizedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      if (responseType_ != Protocol.NetworkProtos.Response.type.OK.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(1, responseType_);
+      }
+      if (((bitField0_ & 0x00000001) != 0)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(2, errorMessage_);
+      }
+      if (((bitField0_ & 0x00000002) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(3, getUser());
+      }
+      if (((bitField0_ & 0x00000004) != 0)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(4, getParticipant());
+      }
+      for (int i = 0; i < races_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(5, races_.get(i));
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < engineCapacities_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(engineCapacities_.getInt(i));
+        }
+        size += dataSize;
+        if (!getEngineCapacitiesList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        engineCapacitiesMemoizedSerializedSize = dataSize;
+      }
+      for (int i = 0; i < participants_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(7, participants_.get(i));
+      }
+      if (requestId_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(8, requestId_);
+      }
+      if (cursor_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(9, cursor_);
+      }
+      if (last_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(10, last_);
+      }
+      if (retryAfter_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(11, retryAfter_);
+      }
+      if (epoch_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(12, epoch_);
+      }
+      if (sequence_ != 0L) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt64Size(13, sequence_);
+      }
+      if (snapshot_ != false) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBoolSize(14, snapshot_);
+      }
+      if (compression_ != Protocol.NetworkProtos.Compression.NONE.getNumber()) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeEnumSize(15, compression_);
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < teams_.size(); i++) {
+          dataSize += computeStringSizeNoTag(teams_.getRaw(i));
+        }
+        size += dataSize;
+        size += 2 * getTeamsList().size();
+      }
+      if (version_ != 0) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeUInt32Size(17, version_);
+      }
+      if (!com.google.protobuf.GeneratedMessageV3.isStringEmpty(sessionToken_)) {
+        size += com.google.protobuf.GeneratedMessageV3.computeStringSize(18, sessionToken_);
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSize = size;
+      return size;
+    }
+
+    @java.lang.Override
+    public boolean equals(final java.lang.Object obj) {
+      if (obj == this) {
+       return true;
+      }
+      if (!(obj instanceof Protocol.NetworkProtos.Response)) {
+        return super.equals(obj);
+      }
+      Protocol.NetworkProtos.Response other = (Protocol.NetworkProtos.Response) obj;
+
+      if (responseType_ != other.responseType_) return false;
+      if (hasErrorMessage() != other.hasErrorMessage()) return false;
+      if (hasErrorMessage()) {
+        if (!getErrorMessage()
+            .equals(other.getErrorMessage())) return false;
+      }
+      if (hasUser() != other.hasUser()) return false;
+      if (hasUser()) {
+        if (!getUser()
+            .equals(other.getUser())) return false;
+      }
+      if (hasParticipant() != other.hasParticipant()) return false;
+      if (hasParticipant()) {
+        if (!getParticipant()
+            .equals(other.getParticipant())) return false;
+      }
+      if (!getRacesList()
+          .equals(other.getRacesList())) return false;
+      if (!getEngineCapacitiesList()
+          .equals(other.getEngineCapacitiesList())) return false;
+      if (!getParticipantsList()
+          .equals(other.getParticipantsList())) return false;
+      if (getRequestId()
+          != other.getRequestId()) return false;
+      if (getCursor()
+          != other.getCursor()) return false;
+      if (getLast()
+          != other.getLast()) return false;
+      if (getRetryAfter()
+          != other.getRetryAfter()) return false;
+      if (getEpoch()
+          != other.getEpoch()) return false;
+      if (getSequence()
+          != other.getSequence()) return false;
+      if (getSnapshot()
+          != other.getSnapshot()) return false;
+      if (compression_ != other.compression_) return false;
+      if (!getTeamsList()
+          .equals(other.getTeamsList())) return false;
+      if (getVersion()
+          != other.getVersion()) return false;
+      if (!getSessionToken()
+          .equals(other.getSessionToken())) return false;
+      if (!getUnknownFields().equals(other.getUnknownFields())) return false;
+      return true;
+    }
+
+    @java.lang.Override
+    public int hashCode() {
+      if (memoizedHashCode != 0) {
+        return memoizedHashCode;
+      }
+      int hash = 41;
+      hash = (19 * hash) + getDescriptor().hashCode();
+      hash = (37 * hash) + RESPONSETYPE_FIELD_NUMBER;
+      hash = (53 * hash) + responseType_;
+      if (hasErrorMessage()) {
+        hash = (37 * hash) + ERRORMESSAGE_FIELD_NUMBER;
+        hash = (53 * hash) + getErrorMessage().hashCode();
+      }
+      if (hasUser()) {
+        hash = (37 * hash) + USER_FIELD_NUMBER;
+        hash = (53 * hash) + getUser().hashCode();
+      }
+      if (hasParticipant()) {
+        hash = (37 * hash) + PARTICIPANT_FIELD_NUMBER;
+        hash = (53 * hash) + getParticipant().hashCode();
+      }
+      if (getRacesCount() > 0) {
+        hash = (37 * hash) + RACES_FIELD_NUMBER;
+        hash = (53 * hash) + getRacesList().hashCode();
+      }
+      if (getEngineCapacitiesCount() > 0) {
+        hash = (37 * hash) + ENGINECAPACITIES_FIELD_NUMBER;
+        hash = (53 * hash) + getEngineCapacitiesList().hashCode();
+      }
+      if (getParticipantsCount() > 0) {
+        hash = (37 * hash) + PARTICIPANTS_FIELD_NUMBER;
+        hash = (53 * hash) + getParticipantsList().hashCode();
+      }
+      hash = (37 * hash) + REQUESTID_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getRequestId());
+      hash = (37 * hash) + CURSOR_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getCursor());
+      hash = (37 * hash) + LAST_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getLast());
+      hash = (37 * hash) + RETRYAFTER_FIELD_NUMBER;
+      hash = (53 * hash) + getRetryAfter();
+      hash = (37 * hash) + EPOCH_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getEpoch());
+      hash = (37 * hash) + SEQUENCE_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashLong(
+          getSequence());
+      hash = (37 * hash) + SNAPSHOT_FIELD_NUMBER;
+      hash = (53 * hash) + com.google.protobuf.Internal.hashBoolean(
+          getSnapshot());
+      hash = (37 * hash) + COMPRESSION_FIELD_NUMBER;
+      hash = (53 * hash) + compression_;
+      if (getTeamsCount() > 0) {
+        hash = (37 * hash) + TEAMS_FIELD_NUMBER;
+        hash = (53 * hash) + getTeamsList().hashCode();
+      }
+      hash = (37 * hash) + VERSION_FIELD_NUMBER;
+      hash = (53 * hash) + getVersion();
+      hash = (37 * hash) + SESSIONTOKEN_FIELD_NUMBER;
+      hash = (53 * hash) + getSessionToken().hashCode();
+      hash = (29 * hash) + getUnknownFields().hashCode();
+      memoizedHashCode = hash;
+      return hash;
+    }
+
+    public static Protocol.NetworkProtos.Response parseFrom(
+        java.nio.ByteBuffer data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        java.nio.ByteBuffer data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static Protocol.NetworkProtos.Response parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input);
+    }
+    public static Protocol.NetworkProtos.Response parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseDelimitedWithIOException(PARSER, input, extensionRegistry);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input);
+    }
+    public static Protocol.NetworkProtos.Response parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return com.google.protobuf.GeneratedMessageV3
+          .parseWithIOException(PARSER, input, extensionRegistry);
+    }
+
+    @java.lang.Override
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder() {
+      return DEFAULT_INSTANCE.toBuilder();
+    }
+    public static Builder newBuilder(Protocol.NetworkProtos.Response prototype) {
+      return DEFAULT_INSTANCE.toBuilder().mergeFrom(prototype);
+    }
+    @java.lang.Override
+    public Builder toBuilder() {
+      return this == DEFAULT_INSTANCE
+          ? new Builder() : new Builder().mergeFrom(this);
+    }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code Protocol.Response}
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessageV3.Builder<Builder> implements
+        // @@protoc_insertion_point(builder_implements:Protocol.Response)
+        Protocol.NetworkProtos.ResponseOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
+      }
+
+      @java.lang.Override
+      protected com.google.protobuf.GeneratedMessageV3.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return Protocol.NetworkProtos.internal_static_Protocol_Response_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                Protocol.NetworkProtos.Response.class, Protocol.NetworkProtos.Response.Builder.class);
+      }
+
+      // Construct using Protocol.NetworkProtos.Response.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessageV3.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessageV3
                 .alwaysUseFieldBuilders) {
@@ -5620,1281 +8391,2054 @@ public final class NetworkProtos {
           getParticipantsFieldBuilder();
         }
       }
-      @java.lang.Override
-      public Builder clear() {
-        super.clear();
-        responseType_ = 0;
-
-        errorMessage_ = "";
+      @java.lang.Override
+      public Builder clear() {
+        super.clear();
+        responseType_ = 0;
+
+        errorMessage_ = "";
+        bitField0_ = (bitField0_ & ~0x00000001);
+        if (userBuilder_ == null) {
+          user_ = null;
+        } else {
+          userBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        if (participantBuilder_ == null) {
+          participant_ = null;
+        } else {
+          participantBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000004);
+        if (racesBuilder_ == null) {
+          races_ = java.util.Collections.emptyList();
+        } else {
+          races_ = null;
+          racesBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000008);
+        engineCapacities_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        if (participantsBuilder_ == null) {
+          participants_ = java.util.Collections.emptyList();
+        } else {
+          participants_ = null;
+          participantsBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000020);
+        requestId_ = 0L;
+
+        cursor_ = 0L;
+
+        last_ = false;
+
+        retryAfter_ = 0;
+
+        epoch_ = 0L;
+
+        sequence_ = 0L;
+
+        snapshot_ = false;
+
+        compression_ = 0;
+
+        teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        version_ = 0;
+
+        sessionToken_ = "";
+
+        return this;
+      }
+
+      @java.lang.Override
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
+      }
+
+      @java.lang.Override
+      public Protocol.NetworkProtos.Response getDefaultInstanceForType() {
+        return Protocol.NetworkProtos.Response.getDefaultInstance();
+      }
+
+      @java.lang.Override
+      public Protocol.NetworkProtos.Response build() {
+        Protocol.NetworkProtos.Response result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      @java.lang.Override
+      public Protocol.NetworkProtos.Response buildPartial() {
+        Protocol.NetworkProtos.Response result = new Protocol.NetworkProtos.Response(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        result.responseType_ = responseType_;
+        if (((from_bitField0_ & 0x00000001) != 0)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.errorMessage_ = errorMessage_;
+        if (((from_bitField0_ & 0x00000002) != 0)) {
+          if (userBuilder_ == null) {
+            result.user_ = user_;
+          } else {
+            result.user_ = userBuilder_.build();
+          }
+          to_bitField0_ |= 0x00000002;
+        }
+        if (((from_bitField0_ & 0x00000004) != 0)) {
+          if (participantBuilder_ == null) {
+            result.participant_ = participant_;
+          } else {
+            result.participant_ = participantBuilder_.build();
+          }
+          to_bitField0_ |= 0x00000004;
+        }
+        if (racesBuilder_ == null) {
+          if (((bitField0_ & 0x00000008) != 0)) {
+            races_ = java.util.Collections.unmodifiableList(races_);
+            bitField0_ = (bitField0_ & ~0x00000008);
+          }
+          result.races_ = races_;
+        } else {
+          result.races_ = racesBuilder_.build();
+        }
+        if (((bitField0_ & 0x00000010) != 0)) {
+          engineCapacities_.makeImmutable();
+          bitField0_ = (bitField0_ & ~0x00000010);
+        }
+        result.engineCapacities_ = engineCapacities_;
+        if (participantsBuilder_ == null) {
+          if (((bitField0_ & 0x00000020) != 0)) {
+            participants_ = java.util.Collections.unmodifiableList(participants_);
+            bitField0_ = (bitField0_ & ~0x00000020);
+          }
+          result.participants_ = participants_;
+        } else {
+          result.participants_ = participantsBuilder_.build();
+        }
+        result.requestId_ = requestId_;
+        result.cursor_ = cursor_;
+        result.last_ = last_;
+        result.retryAfter_ = retryAfter_;
+        result.epoch_ = epoch_;
+        result.sequence_ = sequence_;
+        result.snapshot_ = snapshot_;
+        result.compression_ = compression_;
+        if (((bitField0_ & 0x00000040) != 0)) {
+          teams_ = teams_.getUnmodifiableView();
+          bitField0_ = (bitField0_ & ~0x00000040);
+        }
+        result.teams_ = teams_;
+        result.version_ = version_;
+        result.sessionToken_ = sessionToken_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      @java.lang.Override
+      public Builder clone() {
+        return super.clone();
+      }
+      @java.lang.Override
+      public Builder setField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.setField(field, value);
+      }
+      @java.lang.Override
+      public Builder clearField(
+          com.google.protobuf.Descriptors.FieldDescriptor field) {
+        return super.clearField(field);
+      }
+      @java.lang.Override
+      public Builder clearOneof(
+          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
+        return super.clearOneof(oneof);
+      }
+      @java.lang.Override
+      public Builder setRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          int index, java.lang.Object value) {
+        return super.setRepeatedField(field, index, value);
+      }
+      @java.lang.Override
+      public Builder addRepeatedField(
+          com.google.protobuf.Descriptors.FieldDescriptor field,
+          java.lang.Object value) {
+        return super.addRepeatedField(field, value);
+      }
+      @java.lang.Override
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof Protocol.NetworkProtos.Response) {
+          return mergeFrom((Protocol.NetworkProtos.Response)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(Protocol.NetworkProtos.Response other) {
+        if (other == Protocol.NetworkProtos.Response.getDefaultInstance()) return this;
+        if (other.responseType_ != 0) {
+          setResponseTypeValue(other.getResponseTypeValue());
+        }
+        if (other.hasErrorMessage()) {
+          bitField0_ |= 0x00000001;
+          errorMessage_ = other.errorMessage_;
+          onChanged();
+        }
+        if (other.hasUser()) {
+          mergeUser(other.getUser());
+        }
+        if (other.hasParticipant()) {
+          mergeParticipant(other.getParticipant());
+        }
+        if (racesBuilder_ == null) {
+          if (!other.races_.isEmpty()) {
+            if (races_.isEmpty()) {
+              races_ = other.races_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+            } else {
+              ensureRacesIsMutable();
+              races_.addAll(other.races_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.races_.isEmpty()) {
+            if (racesBuilder_.isEmpty()) {
+              racesBuilder_.dispose();
+              racesBuilder_ = null;
+              races_ = other.races_;
+              bitField0_ = (bitField0_ & ~0x00000008);
+              racesBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getRacesFieldBuilder() : null;
+            } else {
+              racesBuilder_.addAllMessages(other.races_);
+            }
+          }
+        }
+        if (!other.engineCapacities_.isEmpty()) {
+          if (engineCapacities_.isEmpty()) {
+            engineCapacities_ = other.engineCapacities_;
+            bitField0_ = (bitField0_ & ~0x00000010);
+          } else {
+            ensureEngineCapacitiesIsMutable();
+            engineCapacities_.addAll(other.engineCapacities_);
+          }
+          onChanged();
+        }
+        if (participantsBuilder_ == null) {
+          if (!other.participants_.isEmpty()) {
+            if (participants_.isEmpty()) {
+              participants_ = other.participants_;
+              bitField0_ = (bitField0_ & ~0x00000020);
+            } else {
+              ensureParticipantsIsMutable();
+              participants_.addAll(other.participants_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.participants_.isEmpty()) {
+            if (participantsBuilder_.isEmpty()) {
+              participantsBuilder_.dispose();
+              participantsBuilder_ = null;
+              participants_ = other.participants_;
+              bitField0_ = (bitField0_ & ~0x00000020);
+              participantsBuilder_ = 
+                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
+                   getParticipantsFieldBuilder() : null;
+            } else {
+              participantsBuilder_.addAllMessages(other.participants_);
+            }
+          }
+        }
+        if (other.getRequestId() != 0L) {
+          setRequestId(other.getRequestId());
+        }
+        if (other.getCursor() != 0L) {
+          setCursor(other.getCursor());
+        }
+        if (other.getLast() != false) {
+          setLast(other.getLast());
+        }
+        if (other.getRetryAfter() != 0) {
+          setRetryAfter(other.getRetryAfter());
+        }
+        if (other.getEpoch() != 0L) {
+          setEpoch(other.getEpoch());
+        }
+        if (other.getSequence() != 0L) {
+          setSequence(other.getSequence());
+        }
+        if (other.getSnapshot() != false) {
+          setSnapshot(other.getSnapshot());
+        }
+        if (other.compression_ != 0) {
+          setCompressionValue(other.getCompressionValue());
+        }
+        if (!other.teams_.isEmpty()) {
+          if (teams_.isEmpty()) {
+            teams_ = other.teams_;
+            bitField0_ = (bitField0_ & ~0x00000040);
+          } else {
+            ensureTeamsIsMutable();
+            teams_.addAll(other.teams_);
+          }
+          onChanged();
+        }
+        if (other.getVersion() != 0) {
+          setVersion(other.getVersion());
+        }
+        if (!other.getSessionToken().isEmpty()) {
+          sessionToken_ = other.sessionToken_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        onChanged();
+        return this;
+      }
+
+      @java.lang.Override
+      public final boolean isInitialized() {
+        return true;
+      }
+
+      @java.lang.Override
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        if (extensionRegistry == null) {
+          throw new java.lang.NullPointerException();
+        }
+        try {
+          boolean done = false;
+          while (!done) {
+            int tag = input.readTag();
+            switch (tag) {
+              case 0:
+                done = true;
+                break;
+              case 8: {
+                responseType_ = input.readEnum();
+
+                break;
+              } // case 8
+              case 18: {
+                errorMessage_ = input.readStringRequireUtf8();
+                bitField0_ |= 0x00000001;
+                break;
+              } // case 18
+              case 26: {
+                input.readMessage(
+                    getUserFieldBuilder().getBuilder(),
+                    extensionRegistry);
+                bitField0_ |= 0x00000002;
+                break;
+              } // case 26
+              case 34: {
+                input.readMessage(
+                    getParticipantFieldBuilder().getBuilder(),
+                    extensionRegistry);
+                bitField0_ |= 0x00000004;
+                break;
+              } // case 34
+              case 42: {
+                Protocol.NetworkProtos.Race m =
+                    input.readMessage(
+                        Protocol.NetworkProtos.Race.parser(),
+                        extensionRegistry);
+                if (racesBuilder_ == null) {
+                  ensureRacesIsMutable();
+                  races_.add(m);
+                } else {
+                  racesBuilder_.addMessage(m);
+                }
+                break;
+              } // case 42
+              case 48: {
+                int v = input.readInt32();
+                ensureEngineCapacitiesIsMutable();
+                engineCapacities_.addInt(v);
+                break;
+              } // case 48
+              case 50: {
+                int length = input.readRawVarint32();
+                int limit = input.pushLimit(length);
+                ensureEngineCapacitiesIsMutable();
+                while (input.getBytesUntilLimit() > 0) {
+                  engineCapacities_.addInt(input.readInt32());
+                }
+                input.popLimit(limit);
+                break;
+              } // case 50
+              case 58: {
+                Protocol.NetworkProtos.Participant m =
+                    input.readMessage(
+                        Protocol.NetworkProtos.Participant.parser(),
+                        extensionRegistry);
+                if (participantsBuilder_ == null) {
+                  ensureParticipantsIsMutable();
+                  participants_.add(m);
+                } else {
+                  participantsBuilder_.addMessage(m);
+                }
+                break;
+              } // case 58
+              case 64: {
+                requestId_ = input.readUInt64();
+
+                break;
+              } // case 64
+              case 72: {
+                cursor_ = input.readUInt64();
+
+                break;
+              } // case 72
+              case 80: {
+                last_ = input.readBool();
+
+                break;
+              } // case 80
+              case 88: {
+                retryAfter_ = input.readUInt32();
+
+                break;
+              } // case 88
+              case 96: {
+                epoch_ = input.readUInt64();
+
+                break;
+              } // case 96
+              case 104: {
+                sequence_ = input.readUInt64();
+
+                break;
+              } // case 104
+              case 112: {
+                snapshot_ = input.readBool();
+
+                break;
+              } // case 112
+              case 120: {
+                compression_ = input.readEnum();
+
+                break;
+              } // case 120
+              case 130: {
+                java.lang.String s = input.readStringRequireUtf8();
+                ensureTeamsIsMutable();
+                teams_.add(s);
+                break;
+              } // case 130
+              case 136: {
+                version_ = input.readUInt32();
+
+                break;
+              } // case 136
+              case 146: {
+                sessionToken_ = input.readStringRequireUtf8();
+
+                break;
+              } // case 146
+              default: {
+                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
+                  done = true; // was an endgroup tag
+                }
+                break;
+              } // default:
+            } // switch (tag)
+          } // while (!done)
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          throw e.unwrapIOException();
+        } finally {
+          onChanged();
+        } // finally
+        return this;
+      }
+      private int bitField0_;
+
+      private int responseType_ = 0;
+      /**
+       * <code>.Protocol.Response.type responseType = 1;</code>
+       * @return The enum numeric value on the wire for responseType.
+       */
+      @java.lang.Override public int getResponseTypeValue() {
+        return responseType_;
+      }
+      /**
+       * <code>.Protocol.Response.type responseType = 1;</code>
+       * @param value The enum numeric value on the wire for responseType to set.
+       * @return This builder for chaining.
+       */
+      public Builder setResponseTypeValue(int value) {
+        
+        responseType_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.Protocol.Response.type responseType = 1;</code>
+       * @return The responseType.
+       */
+      @java.lang.Override
+      public Protocol.NetworkProtos.Response.type getResponseType() {
+        @SuppressWarnings("deprecation")
+        Protocol.NetworkProtos.Response.type result = Protocol.NetworkProtos.Response.type.valueOf(responseType_);
+        return result == null ? Protocol.NetworkProtos.Response.type.UNRECOGNIZED : result;
+      }
+      /**
+       * <code>.Protocol.Response.type responseType = 1;</code>
+       * @param value The responseType to set.
+       * @return This builder for chaining.
+       */
+      public Builder setResponseType(Protocol.NetworkProtos.Response.type value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        responseType_ = value.getNumber();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>.Protocol.Response.type responseType = 1;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearResponseType() {
+        
+        responseType_ = 0;
+        onChanged();
+        return this;
+      }
+
+      private java.lang.Object errorMessage_ = "";
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @return Whether the errorMessage field is set.
+       */
+      public boolean hasErrorMessage() {
+        return ((bitField0_ & 0x00000001) != 0);
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @return The errorMessage.
+       */
+      public java.lang.String getErrorMessage() {
+        java.lang.Object ref = errorMessage_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          errorMessage_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @return The bytes for errorMessage.
+       */
+      public com.google.protobuf.ByteString
+          getErrorMessageBytes() {
+        java.lang.Object ref = errorMessage_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          errorMessage_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @param value The errorMessage to set.
+       * @return This builder for chaining.
+       */
+      public Builder setErrorMessage(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        errorMessage_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearErrorMessage() {
         bitField0_ = (bitField0_ & ~0x00000001);
+        errorMessage_ = getDefaultInstance().getErrorMessage();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>optional string errorMessage = 2;</code>
+       * @param value The bytes for errorMessage to set.
+       * @return This builder for chaining.
+       */
+      public Builder setErrorMessageBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        bitField0_ |= 0x00000001;
+        errorMessage_ = value;
+        onChanged();
+        return this;
+      }
+
+      private Protocol.NetworkProtos.User user_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder> userBuilder_;
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       * @return Whether the user field is set.
+       */
+      public boolean hasUser() {
+        return ((bitField0_ & 0x00000002) != 0);
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       * @return The user.
+       */
+      public Protocol.NetworkProtos.User getUser() {
+        if (userBuilder_ == null) {
+          return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
+        } else {
+          return userBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Builder setUser(Protocol.NetworkProtos.User value) {
+        if (userBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          user_ = value;
+          onChanged();
+        } else {
+          userBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Builder setUser(
+          Protocol.NetworkProtos.User.Builder builderForValue) {
+        if (userBuilder_ == null) {
+          user_ = builderForValue.build();
+          onChanged();
+        } else {
+          userBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Builder mergeUser(Protocol.NetworkProtos.User value) {
+        if (userBuilder_ == null) {
+          if (((bitField0_ & 0x00000002) != 0) &&
+              user_ != null &&
+              user_ != Protocol.NetworkProtos.User.getDefaultInstance()) {
+            user_ =
+              Protocol.NetworkProtos.User.newBuilder(user_).mergeFrom(value).buildPartial();
+          } else {
+            user_ = value;
+          }
+          onChanged();
+        } else {
+          userBuilder_.mergeFrom(value);
+        }
+        bitField0_ |= 0x00000002;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Builder clearUser() {
+        if (userBuilder_ == null) {
+          user_ = null;
+          onChanged();
+        } else {
+          userBuilder_.clear();
+        }
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Protocol.NetworkProtos.User.Builder getUserBuilder() {
+        bitField0_ |= 0x00000002;
+        onChanged();
+        return getUserFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      public Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder() {
+        if (userBuilder_ != null) {
+          return userBuilder_.getMessageOrBuilder();
+        } else {
+          return user_ == null ?
+              Protocol.NetworkProtos.User.getDefaultInstance() : user_;
+        }
+      }
+      /**
+       * <code>optional .Protocol.User user = 3;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder> 
+          getUserFieldBuilder() {
         if (userBuilder_ == null) {
+          userBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder>(
+                  getUser(),
+                  getParentForChildren(),
+                  isClean());
           user_ = null;
+        }
+        return userBuilder_;
+      }
+
+      private Protocol.NetworkProtos.Participant participant_;
+      private com.google.protobuf.SingleFieldBuilderV3<
+          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> participantBuilder_;
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       * @return Whether the participant field is set.
+       */
+      public boolean hasParticipant() {
+        return ((bitField0_ & 0x00000004) != 0);
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       * @return The participant.
+       */
+      public Protocol.NetworkProtos.Participant getParticipant() {
+        if (participantBuilder_ == null) {
+          return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
+        } else {
+          return participantBuilder_.getMessage();
+        }
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Builder setParticipant(Protocol.NetworkProtos.Participant value) {
+        if (participantBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          participant_ = value;
+          onChanged();
+        } else {
+          participantBuilder_.setMessage(value);
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Builder setParticipant(
+          Protocol.NetworkProtos.Participant.Builder builderForValue) {
+        if (participantBuilder_ == null) {
+          participant_ = builderForValue.build();
+          onChanged();
+        } else {
+          participantBuilder_.setMessage(builderForValue.build());
+        }
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Builder mergeParticipant(Protocol.NetworkProtos.Participant value) {
+        if (participantBuilder_ == null) {
+          if (((bitField0_ & 0x00000004) != 0) &&
+              participant_ != null &&
+              participant_ != Protocol.NetworkProtos.Participant.getDefaultInstance()) {
+            participant_ =
+              Protocol.NetworkProtos.Participant.newBuilder(participant_).mergeFrom(value).buildPartial();
+          } else {
+            participant_ = value;
+          }
+          onChanged();
         } else {
-          userBuilder_.clear();
+          participantBuilder_.mergeFrom(value);
         }
-        bitField0_ = (bitField0_ & ~0x00000002);
+        bitField0_ |= 0x00000004;
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Builder clearParticipant() {
         if (participantBuilder_ == null) {
           participant_ = null;
+          onChanged();
         } else {
           participantBuilder_.clear();
         }
         bitField0_ = (bitField0_ & ~0x00000004);
-        if (racesBuilder_ == null) {
-          races_ = java.util.Collections.emptyList();
+        return this;
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Protocol.NetworkProtos.Participant.Builder getParticipantBuilder() {
+        bitField0_ |= 0x00000004;
+        onChanged();
+        return getParticipantFieldBuilder().getBuilder();
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder() {
+        if (participantBuilder_ != null) {
+          return participantBuilder_.getMessageOrBuilder();
         } else {
-          races_ = null;
-          racesBuilder_.clear();
+          return participant_ == null ?
+              Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
         }
-        bitField0_ = (bitField0_ & ~0x00000008);
-        engineCapacities_ = emptyIntList();
-        bitField0_ = (bitField0_ & ~0x00000010);
-        if (participantsBuilder_ == null) {
-          participants_ = java.util.Collections.emptyList();
-        } else {
-          participants_ = null;
-          participantsBuilder_.clear();
+      }
+      /**
+       * <code>optional .Protocol.Participant participant = 4;</code>
+       */
+      private com.google.protobuf.SingleFieldBuilderV3<
+          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> 
+          getParticipantFieldBuilder() {
+        if (participantBuilder_ == null) {
+          participantBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
+              Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder>(
+                  getParticipant(),
+                  getParentForChildren(),
+                  isClean());
+          participant_ = null;
         }
-        bitField0_ = (bitField0_ & ~0x00000020);
-        return this;
+        return participantBuilder_;
       }
 
-      @java.lang.Override
-      public com.google.protobuf.Descriptors.Descriptor
-          getDescriptorForType() {
-        return Protocol.NetworkProtos.internal_static_Protocol_Response_descriptor;
+      private java.util.List<Protocol.NetworkProtos.Race> races_ =
+        java.util.Collections.emptyList();
+      private void ensureRacesIsMutable() {
+        if (!((bitField0_ & 0x00000008) != 0)) {
+          races_ = new java.util.ArrayList<Protocol.NetworkProtos.Race>(races_);
+          bitField0_ |= 0x00000008;
+         }
       }
 
-      @java.lang.Override
-      public Protocol.NetworkProtos.Response getDefaultInstanceForType() {
-        return Protocol.NetworkProtos.Response.getDefaultInstance();
-      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder> racesBuilder_;
 
-      @java.lang.Override
-      public Protocol.NetworkProtos.Response build() {
-        Protocol.NetworkProtos.Response result = buildPartial();
-        if (!result.isInitialized()) {
-          throw newUninitializedMessageException(result);
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public java.util.List<Protocol.NetworkProtos.Race> getRacesList() {
+        if (racesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(races_);
+        } else {
+          return racesBuilder_.getMessageList();
         }
-        return result;
       }
-
-      @java.lang.Override
-      public Protocol.NetworkProtos.Response buildPartial() {
-        Protocol.NetworkProtos.Response result = new Protocol.NetworkProtos.Response(this);
-        int from_bitField0_ = bitField0_;
-        int to_bitField0_ = 0;
-        result.responseType_ = responseType_;
-        if (((from_bitField0_ & 0x00000001) != 0)) {
-          to_bitField0_ |= 0x00000001;
-        }
-        result.errorMessage_ = errorMessage_;
-        if (((from_bitField0_ & 0x00000002) != 0)) {
-          if (userBuilder_ == null) {
-            result.user_ = user_;
-          } else {
-            result.user_ = userBuilder_.build();
-          }
-          to_bitField0_ |= 0x00000002;
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public int getRacesCount() {
+        if (racesBuilder_ == null) {
+          return races_.size();
+        } else {
+          return racesBuilder_.getCount();
         }
-        if (((from_bitField0_ & 0x00000004) != 0)) {
-          if (participantBuilder_ == null) {
-            result.participant_ = participant_;
-          } else {
-            result.participant_ = participantBuilder_.build();
-          }
-          to_bitField0_ |= 0x00000004;
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Protocol.NetworkProtos.Race getRaces(int index) {
+        if (racesBuilder_ == null) {
+          return races_.get(index);
+        } else {
+          return racesBuilder_.getMessage(index);
         }
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder setRaces(
+          int index, Protocol.NetworkProtos.Race value) {
         if (racesBuilder_ == null) {
-          if (((bitField0_ & 0x00000008) != 0)) {
-            races_ = java.util.Collections.unmodifiableList(races_);
-            bitField0_ = (bitField0_ & ~0x00000008);
+          if (value == null) {
+            throw new NullPointerException();
           }
-          result.races_ = races_;
+          ensureRacesIsMutable();
+          races_.set(index, value);
+          onChanged();
         } else {
-          result.races_ = racesBuilder_.build();
+          racesBuilder_.setMessage(index, value);
         }
-        if (((bitField0_ & 0x00000010) != 0)) {
-          engineCapacities_.makeImmutable();
-          bitField0_ = (bitField0_ & ~0x00000010);
+        return this;
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder setRaces(
+          int index, Protocol.NetworkProtos.Race.Builder builderForValue) {
+        if (racesBuilder_ == null) {
+          ensureRacesIsMutable();
+          races_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          racesBuilder_.setMessage(index, builderForValue.build());
         }
-        result.engineCapacities_ = engineCapacities_;
-        if (participantsBuilder_ == null) {
-          if (((bitField0_ & 0x00000020) != 0)) {
-            participants_ = java.util.Collections.unmodifiableList(participants_);
-            bitField0_ = (bitField0_ & ~0x00000020);
+        return this;
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder addRaces(Protocol.NetworkProtos.Race value) {
+        if (racesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
           }
-          result.participants_ = participants_;
+          ensureRacesIsMutable();
+          races_.add(value);
+          onChanged();
         } else {
-          result.participants_ = participantsBuilder_.build();
+          racesBuilder_.addMessage(value);
         }
-        result.bitField0_ = to_bitField0_;
-        onBuilt();
-        return result;
-      }
-
-      @java.lang.Override
-      public Builder clone() {
-        return super.clone();
-      }
-      @java.lang.Override
-      public Builder setField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.setField(field, value);
-      }
-      @java.lang.Override
-      public Builder clearField(
-          com.google.protobuf.Descriptors.FieldDescriptor field) {
-        return super.clearField(field);
-      }
-      @java.lang.Override
-      public Builder clearOneof(
-          com.google.protobuf.Descriptors.OneofDescriptor oneof) {
-        return super.clearOneof(oneof);
-      }
-      @java.lang.Override
-      public Builder setRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          int index, java.lang.Object value) {
-        return super.setRepeatedField(field, index, value);
+        return this;
       }
-      @java.lang.Override
-      public Builder addRepeatedField(
-          com.google.protobuf.Descriptors.FieldDescriptor field,
-          java.lang.Object value) {
-        return super.addRepeatedField(field, value);
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder addRaces(
+          int index, Protocol.NetworkProtos.Race value) {
+        if (racesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureRacesIsMutable();
+          races_.add(index, value);
+          onChanged();
+        } else {
+          racesBuilder_.addMessage(index, value);
+        }
+        return this;
       }
-      @java.lang.Override
-      public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof Protocol.NetworkProtos.Response) {
-          return mergeFrom((Protocol.NetworkProtos.Response)other);
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder addRaces(
+          Protocol.NetworkProtos.Race.Builder builderForValue) {
+        if (racesBuilder_ == null) {
+          ensureRacesIsMutable();
+          races_.add(builderForValue.build());
+          onChanged();
         } else {
-          super.mergeFrom(other);
-          return this;
+          racesBuilder_.addMessage(builderForValue.build());
         }
+        return this;
       }
-
-      public Builder mergeFrom(Protocol.NetworkProtos.Response other) {
-        if (other == Protocol.NetworkProtos.Response.getDefaultInstance()) return this;
-        if (other.responseType_ != 0) {
-          setResponseTypeValue(other.getResponseTypeValue());
-        }
-        if (other.hasErrorMessage()) {
-          bitField0_ |= 0x00000001;
-          errorMessage_ = other.errorMessage_;
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder addRaces(
+          int index, Protocol.NetworkProtos.Race.Builder builderForValue) {
+        if (racesBuilder_ == null) {
+          ensureRacesIsMutable();
+          races_.add(index, builderForValue.build());
           onChanged();
+        } else {
+          racesBuilder_.addMessage(index, builderForValue.build());
         }
-        if (other.hasUser()) {
-          mergeUser(other.getUser());
-        }
-        if (other.hasParticipant()) {
-          mergeParticipant(other.getParticipant());
-        }
+        return this;
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder addAllRaces(
+          java.lang.Iterable<? extends Protocol.NetworkProtos.Race> values) {
         if (racesBuilder_ == null) {
-          if (!other.races_.isEmpty()) {
-            if (races_.isEmpty()) {
-              races_ = other.races_;
-              bitField0_ = (bitField0_ & ~0x00000008);
-            } else {
-              ensureRacesIsMutable();
-              races_.addAll(other.races_);
-            }
-            onChanged();
-          }
+          ensureRacesIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, races_);
+          onChanged();
         } else {
-          if (!other.races_.isEmpty()) {
-            if (racesBuilder_.isEmpty()) {
-              racesBuilder_.dispose();
-              racesBuilder_ = null;
-              races_ = other.races_;
-              bitField0_ = (bitField0_ & ~0x00000008);
-              racesBuilder_ = 
-                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
-                   getRacesFieldBuilder() : null;
-            } else {
-              racesBuilder_.addAllMessages(other.races_);
-            }
-          }
+          racesBuilder_.addAllMessages(values);
         }
-        if (!other.engineCapacities_.isEmpty()) {
-          if (engineCapacities_.isEmpty()) {
-            engineCapacities_ = other.engineCapacities_;
-            bitField0_ = (bitField0_ & ~0x00000010);
-          } else {
-            ensureEngineCapacitiesIsMutable();
-            engineCapacities_.addAll(other.engineCapacities_);
-          }
+        return this;
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder clearRaces() {
+        if (racesBuilder_ == null) {
+          races_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000008);
           onChanged();
-        }
-        if (participantsBuilder_ == null) {
-          if (!other.participants_.isEmpty()) {
-            if (participants_.isEmpty()) {
-              participants_ = other.participants_;
-              bitField0_ = (bitField0_ & ~0x00000020);
-            } else {
-              ensureParticipantsIsMutable();
-              participants_.addAll(other.participants_);
-            }
-            onChanged();
-          }
         } else {
-          if (!other.participants_.isEmpty()) {
-            if (participantsBuilder_.isEmpty()) {
-              participantsBuilder_.dispose();
-              participantsBuilder_ = null;
-              participants_ = other.participants_;
-              bitField0_ = (bitField0_ & ~0x00000020);
-              participantsBuilder_ = 
-                com.google.protobuf.GeneratedMessageV3.alwaysUseFieldBuilders ?
-                   getParticipantsFieldBuilder() : null;
-            } else {
-              participantsBuilder_.addAllMessages(other.participants_);
-            }
-          }
+          racesBuilder_.clear();
         }
-        this.mergeUnknownFields(other.getUnknownFields());
-        onChanged();
         return this;
       }
-
-      @java.lang.Override
-      public final boolean isInitialized() {
-        return true;
-      }
-
-      @java.lang.Override
-      public Builder mergeFrom(
-          com.google.protobuf.CodedInputStream input,
-          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
-          throws java.io.IOException {
-        if (extensionRegistry == null) {
-          throw new java.lang.NullPointerException();
-        }
-        try {
-          boolean done = false;
-          while (!done) {
-            int tag = input.readTag();
-            switch (tag) {
-              case 0:
-                done = true;
-                break;
-              case 8: {
-                responseType_ = input.readEnum();
-
-                break;
-              } // case 8
-              case 18: {
-                errorMessage_ = input.readStringRequireUtf8();
-                bitField0_ |= 0x00000001;
-                break;
-              } // case 18
-              case 26: {
-                input.readMessage(
-                    getUserFieldBuilder().getBuilder(),
-                    extensionRegistry);
-                bitField0_ |= 0x00000002;
-                break;
-              } // case 26
-              case 34: {
-                input.readMessage(
-                    getParticipantFieldBuilder().getBuilder(),
-                    extensionRegistry);
-                bitField0_ |= 0x00000004;
-                break;
-              } // case 34
-              case 42: {
-                Protocol.NetworkProtos.Race m =
-                    input.readMessage(
-                        Protocol.NetworkProtos.Race.parser(),
-                        extensionRegistry);
-                if (racesBuilder_ == null) {
-                  ensureRacesIsMutable();
-                  races_.add(m);
-                } else {
-                  racesBuilder_.addMessage(m);
-                }
-                break;
-              } // case 42
-              case 48: {
-                int v = input.readInt32();
-                ensureEngineCapacitiesIsMutable();
-                engineCapacities_.addInt(v);
-                break;
-              } // case 48
-              case 50: {
-                int length = input.readRawVarint32();
-                int limit = input.pushLimit(length);
-                ensureEngineCapacitiesIsMutable();
-                while (input.getBytesUntilLimit() > 0) {
-                  engineCapacities_.addInt(input.readInt32());
-                }
-                input.popLimit(limit);
-                break;
-              } // case 50
-              case 58: {
-                Protocol.NetworkProtos.Participant m =
-                    input.readMessage(
-                        Protocol.NetworkProtos.Participant.parser(),
-                        extensionRegistry);
-                if (participantsBuilder_ == null) {
-                  ensureParticipantsIsMutable();
-                  participants_.add(m);
-                } else {
-                  participantsBuilder_.addMessage(m);
-                }
-                break;
-              } // case 58
-              default: {
-                if (!super.parseUnknownField(input, extensionRegistry, tag)) {
-                  done = true; // was an endgroup tag
-                }
-                break;
-              } // default:
-            } // switch (tag)
-          } // while (!done)
-        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          throw e.unwrapIOException();
-        } finally {
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public Builder removeRaces(int index) {
+        if (racesBuilder_ == null) {
+          ensureRacesIsMutable();
+          races_.remove(index);
           onChanged();
-        } // finally
+        } else {
+          racesBuilder_.remove(index);
+        }
         return this;
       }
-      private int bitField0_;
-
-      private int responseType_ = 0;
       /**
-       * <code>.Protocol.Response.type responseType = 1;</code>
-       * @return The enum numeric value on the wire for responseType.
+       * <code>repeated .Protocol.Race races = 5;</code>
        */
-      @java.lang.Override public int getResponseTypeValue() {
-        return responseType_;
+      public Protocol.NetworkProtos.Race.Builder getRacesBuilder(
+          int index) {
+        return getRacesFieldBuilder().getBuilder(index);
       }
       /**
-       * <code>.Protocol.Response.type responseType = 1;</code>
-       * @param value The enum numeric value on the wire for responseType to set.
-       * @return This builder for chaining.
+       * <code>repeated .Protocol.Race races = 5;</code>
        */
-      public Builder setResponseTypeValue(int value) {
-        
-        responseType_ = value;
-        onChanged();
-        return this;
+      public Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
+          int index) {
+        if (racesBuilder_ == null) {
+          return races_.get(index);  } else {
+          return racesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .Protocol.Race races = 5;</code>
+       */
+      public java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
+           getRacesOrBuilderList() {
+        if (racesBuilder_ != null) {
+          return racesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(races_);
+        }
       }
       /**
-       * <code>.Protocol.Response.type responseType = 1;</code>
-       * @return The responseType.
+       * <code>repeated .Protocol.Race races = 5;</code>
        */
-      @java.lang.Override
-      public Protocol.NetworkProtos.Response.type getResponseType() {
-        @SuppressWarnings("deprecation")
-        Protocol.NetworkProtos.Response.type result = Protocol.NetworkProtos.Response.type.valueOf(responseType_);
-        return result == null ? Protocol.NetworkProtos.Response.type.UNRECOGNIZED : result;
+      public Protocol.NetworkProtos.Race.Builder addRacesBuilder() {
+        return getRacesFieldBuilder().addBuilder(
+            Protocol.NetworkProtos.Race.getDefaultInstance());
       }
       /**
-       * <code>.Protocol.Response.type responseType = 1;</code>
-       * @param value The responseType to set.
-       * @return This builder for chaining.
+       * <code>repeated .Protocol.Race races = 5;</code>
        */
-      public Builder setResponseType(Protocol.NetworkProtos.Response.type value) {
-        if (value == null) {
-          throw new NullPointerException();
-        }
-        
-        responseType_ = value.getNumber();
-        onChanged();
-        return this;
+      public Protocol.NetworkProtos.Race.Builder addRacesBuilder(
+          int index) {
+        return getRacesFieldBuilder().addBuilder(
+            index, Protocol.NetworkProtos.Race.getDefaultInstance());
       }
       /**
-       * <code>.Protocol.Response.type responseType = 1;</code>
-       * @return This builder for chaining.
+       * <code>repeated .Protocol.Race races = 5;</code>
        */
-      public Builder clearResponseType() {
-        
-        responseType_ = 0;
-        onChanged();
-        return this;
+      public java.util.List<Protocol.NetworkProtos.Race.Builder> 
+           getRacesBuilderList() {
+        return getRacesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder> 
+          getRacesFieldBuilder() {
+        if (racesBuilder_ == null) {
+          racesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder>(
+                  races_,
+                  ((bitField0_ & 0x00000008) != 0),
+                  getParentForChildren(),
+                  isClean());
+          races_ = null;
+        }
+        return racesBuilder_;
       }
 
-      private java.lang.Object errorMessage_ = "";
+      private com.google.protobuf.Internal.IntList engineCapacities_ = emptyIntList();
+      private void ensureEngineCapacitiesIsMutable() {
+        if (!((bitField0_ & 0x00000010) != 0)) {
+          engineCapacities_ = mutableCopy(engineCapacities_);
+          bitField0_ |= 0x00000010;
+         }
+      }
       /**
-       * <code>optional string errorMessage = 2;</code>
-       * @return Whether the errorMessage field is set.
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @return A list containing the engineCapacities.
        */
-      public boolean hasErrorMessage() {
-        return ((bitField0_ & 0x00000001) != 0);
+      public java.util.List<java.lang.Integer>
+          getEngineCapacitiesList() {
+        return ((bitField0_ & 0x00000010) != 0) ?
+                 java.util.Collections.unmodifiableList(engineCapacities_) : engineCapacities_;
       }
       /**
-       * <code>optional string errorMessage = 2;</code>
-       * @return The errorMessage.
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @return The count of engineCapacities.
        */
-      public java.lang.String getErrorMessage() {
-        java.lang.Object ref = errorMessage_;
-        if (!(ref instanceof java.lang.String)) {
-          com.google.protobuf.ByteString bs =
-              (com.google.protobuf.ByteString) ref;
-          java.lang.String s = bs.toStringUtf8();
-          errorMessage_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
+      public int getEngineCapacitiesCount() {
+        return engineCapacities_.size();
       }
       /**
-       * <code>optional string errorMessage = 2;</code>
-       * @return The bytes for errorMessage.
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @param index The index of the element to return.
+       * @return The engineCapacities at the given index.
        */
-      public com.google.protobuf.ByteString
-          getErrorMessageBytes() {
-        java.lang.Object ref = errorMessage_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          errorMessage_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public int getEngineCapacities(int index) {
+        return engineCapacities_.getInt(index);
       }
       /**
-       * <code>optional string errorMessage = 2;</code>
-       * @param value The errorMessage to set.
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @param index The index to set the value at.
+       * @param value The engineCapacities to set.
        * @return This builder for chaining.
        */
-      public Builder setErrorMessage(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000001;
-        errorMessage_ = value;
+      public Builder setEngineCapacities(
+          int index, int value) {
+        ensureEngineCapacitiesIsMutable();
+        engineCapacities_.setInt(index, value);
         onChanged();
         return this;
       }
       /**
-       * <code>optional string errorMessage = 2;</code>
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @param value The engineCapacities to add.
        * @return This builder for chaining.
        */
-      public Builder clearErrorMessage() {
-        bitField0_ = (bitField0_ & ~0x00000001);
-        errorMessage_ = getDefaultInstance().getErrorMessage();
+      public Builder addEngineCapacities(int value) {
+        ensureEngineCapacitiesIsMutable();
+        engineCapacities_.addInt(value);
         onChanged();
         return this;
       }
       /**
-       * <code>optional string errorMessage = 2;</code>
-       * @param value The bytes for errorMessage to set.
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @param values The engineCapacities to add.
        * @return This builder for chaining.
        */
-      public Builder setErrorMessageBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  checkByteStringIsUtf8(value);
-        bitField0_ |= 0x00000001;
-        errorMessage_ = value;
+      public Builder addAllEngineCapacities(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureEngineCapacitiesIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, engineCapacities_);
         onChanged();
         return this;
       }
-
-      private Protocol.NetworkProtos.User user_;
-      private com.google.protobuf.SingleFieldBuilderV3<
-          Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder> userBuilder_;
-      /**
-       * <code>optional .Protocol.User user = 3;</code>
-       * @return Whether the user field is set.
-       */
-      public boolean hasUser() {
-        return ((bitField0_ & 0x00000002) != 0);
-      }
       /**
-       * <code>optional .Protocol.User user = 3;</code>
-       * @return The user.
-       */
-      public Protocol.NetworkProtos.User getUser() {
-        if (userBuilder_ == null) {
-          return user_ == null ? Protocol.NetworkProtos.User.getDefaultInstance() : user_;
-        } else {
-          return userBuilder_.getMessage();
-        }
-      }
-      /**
-       * <code>optional .Protocol.User user = 3;</code>
+       * <code>repeated int32 engineCapacities = 6;</code>
+       * @return This builder for chaining.
        */
-      public Builder setUser(Protocol.NetworkProtos.User value) {
-        if (userBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          user_ = value;
-          onChanged();
-        } else {
-          userBuilder_.setMessage(value);
-        }
-        bitField0_ |= 0x00000002;
+      public Builder clearEngineCapacities() {
+        engineCapacities_ = emptyIntList();
+        bitField0_ = (bitField0_ & ~0x00000010);
+        onChanged();
         return this;
       }
-      /**
-       * <code>optional .Protocol.User user = 3;</code>
-       */
-      public Builder setUser(
-          Protocol.NetworkProtos.User.Builder builderForValue) {
-        if (userBuilder_ == null) {
-          user_ = builderForValue.build();
-          onChanged();
-        } else {
-          userBuilder_.setMessage(builderForValue.build());
-        }
-        bitField0_ |= 0x00000002;
-        return this;
+
+      private java.util.List<Protocol.NetworkProtos.Participant> participants_ =
+        java.util.Collections.emptyList();
+      private void ensureParticipantsIsMutable() {
+        if (!((bitField0_ & 0x00000020) != 0)) {
+          participants_ = new java.util.ArrayList<Protocol.NetworkProtos.Participant>(participants_);
+          bitField0_ |= 0x00000020;
+         }
       }
+
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> participantsBuilder_;
+
       /**
-       * <code>optional .Protocol.User user = 3;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder mergeUser(Protocol.NetworkProtos.User value) {
-        if (userBuilder_ == null) {
-          if (((bitField0_ & 0x00000002) != 0) &&
-              user_ != null &&
-              user_ != Protocol.NetworkProtos.User.getDefaultInstance()) {
-            user_ =
-              Protocol.NetworkProtos.User.newBuilder(user_).mergeFrom(value).buildPartial();
-          } else {
-            user_ = value;
-          }
-          onChanged();
+      public java.util.List<Protocol.NetworkProtos.Participant> getParticipantsList() {
+        if (participantsBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(participants_);
         } else {
-          userBuilder_.mergeFrom(value);
+          return participantsBuilder_.getMessageList();
         }
-        bitField0_ |= 0x00000002;
-        return this;
       }
       /**
-       * <code>optional .Protocol.User user = 3;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder clearUser() {
-        if (userBuilder_ == null) {
-          user_ = null;
-          onChanged();
+      public int getParticipantsCount() {
+        if (participantsBuilder_ == null) {
+          return participants_.size();
         } else {
-          userBuilder_.clear();
-        }
-        bitField0_ = (bitField0_ & ~0x00000002);
-        return this;
-      }
-      /**
-       * <code>optional .Protocol.User user = 3;</code>
-       */
-      public Protocol.NetworkProtos.User.Builder getUserBuilder() {
-        bitField0_ |= 0x00000002;
-        onChanged();
-        return getUserFieldBuilder().getBuilder();
+          return participantsBuilder_.getCount();
+        }
       }
       /**
-       * <code>optional .Protocol.User user = 3;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Protocol.NetworkProtos.UserOrBuilder getUserOrBuilder() {
-        if (userBuilder_ != null) {
-          return userBuilder_.getMessageOrBuilder();
+      public Protocol.NetworkProtos.Participant getParticipants(int index) {
+        if (participantsBuilder_ == null) {
+          return participants_.get(index);
         } else {
-          return user_ == null ?
-              Protocol.NetworkProtos.User.getDefaultInstance() : user_;
+          return participantsBuilder_.getMessage(index);
         }
       }
       /**
-       * <code>optional .Protocol.User user = 3;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      private com.google.protobuf.SingleFieldBuilderV3<
-          Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder> 
-          getUserFieldBuilder() {
-        if (userBuilder_ == null) {
-          userBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              Protocol.NetworkProtos.User, Protocol.NetworkProtos.User.Builder, Protocol.NetworkProtos.UserOrBuilder>(
-                  getUser(),
-                  getParentForChildren(),
-                  isClean());
-          user_ = null;
+      public Builder setParticipants(
+          int index, Protocol.NetworkProtos.Participant value) {
+        if (participantsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureParticipantsIsMutable();
+          participants_.set(index, value);
+          onChanged();
+        } else {
+          participantsBuilder_.setMessage(index, value);
         }
-        return userBuilder_;
+        return this;
       }
-
-      private Protocol.NetworkProtos.Participant participant_;
-      private com.google.protobuf.SingleFieldBuilderV3<
-          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> participantBuilder_;
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
-       * @return Whether the participant field is set.
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public boolean hasParticipant() {
-        return ((bitField0_ & 0x00000004) != 0);
+      public Builder setParticipants(
+          int index, Protocol.NetworkProtos.Participant.Builder builderForValue) {
+        if (participantsBuilder_ == null) {
+          ensureParticipantsIsMutable();
+          participants_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          participantsBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
-       * @return The participant.
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Protocol.NetworkProtos.Participant getParticipant() {
-        if (participantBuilder_ == null) {
-          return participant_ == null ? Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
+      public Builder addParticipants(Protocol.NetworkProtos.Participant value) {
+        if (participantsBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureParticipantsIsMutable();
+          participants_.add(value);
+          onChanged();
         } else {
-          return participantBuilder_.getMessage();
+          participantsBuilder_.addMessage(value);
         }
+        return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder setParticipant(Protocol.NetworkProtos.Participant value) {
-        if (participantBuilder_ == null) {
+      public Builder addParticipants(
+          int index, Protocol.NetworkProtos.Participant value) {
+        if (participantsBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
           }
-          participant_ = value;
+          ensureParticipantsIsMutable();
+          participants_.add(index, value);
           onChanged();
         } else {
-          participantBuilder_.setMessage(value);
+          participantsBuilder_.addMessage(index, value);
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder setParticipant(
+      public Builder addParticipants(
           Protocol.NetworkProtos.Participant.Builder builderForValue) {
-        if (participantBuilder_ == null) {
-          participant_ = builderForValue.build();
+        if (participantsBuilder_ == null) {
+          ensureParticipantsIsMutable();
+          participants_.add(builderForValue.build());
           onChanged();
         } else {
-          participantBuilder_.setMessage(builderForValue.build());
+          participantsBuilder_.addMessage(builderForValue.build());
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder mergeParticipant(Protocol.NetworkProtos.Participant value) {
-        if (participantBuilder_ == null) {
-          if (((bitField0_ & 0x00000004) != 0) &&
-              participant_ != null &&
-              participant_ != Protocol.NetworkProtos.Participant.getDefaultInstance()) {
-            participant_ =
-              Protocol.NetworkProtos.Participant.newBuilder(participant_).mergeFrom(value).buildPartial();
-          } else {
-            participant_ = value;
-          }
+      public Builder addParticipants(
+          int index, Protocol.NetworkProtos.Participant.Builder builderForValue) {
+        if (participantsBuilder_ == null) {
+          ensureParticipantsIsMutable();
+          participants_.add(index, builderForValue.build());
           onChanged();
         } else {
-          participantBuilder_.mergeFrom(value);
+          participantsBuilder_.addMessage(index, builderForValue.build());
         }
-        bitField0_ |= 0x00000004;
         return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder clearParticipant() {
-        if (participantBuilder_ == null) {
-          participant_ = null;
+      public Builder addAllParticipants(
+          java.lang.Iterable<? extends Protocol.NetworkProtos.Participant> values) {
+        if (participantsBuilder_ == null) {
+          ensureParticipantsIsMutable();
+          com.google.protobuf.AbstractMessageLite.Builder.addAll(
+              values, participants_);
           onChanged();
         } else {
-          participantBuilder_.clear();
+          participantsBuilder_.addAllMessages(values);
         }
-        bitField0_ = (bitField0_ & ~0x00000004);
         return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Protocol.NetworkProtos.Participant.Builder getParticipantBuilder() {
-        bitField0_ |= 0x00000004;
-        onChanged();
-        return getParticipantFieldBuilder().getBuilder();
+      public Builder clearParticipants() {
+        if (participantsBuilder_ == null) {
+          participants_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000020);
+          onChanged();
+        } else {
+          participantsBuilder_.clear();
+        }
+        return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantOrBuilder() {
-        if (participantBuilder_ != null) {
-          return participantBuilder_.getMessageOrBuilder();
+      public Builder removeParticipants(int index) {
+        if (participantsBuilder_ == null) {
+          ensureParticipantsIsMutable();
+          participants_.remove(index);
+          onChanged();
         } else {
-          return participant_ == null ?
-              Protocol.NetworkProtos.Participant.getDefaultInstance() : participant_;
+          participantsBuilder_.remove(index);
         }
+        return this;
       }
       /**
-       * <code>optional .Protocol.Participant participant = 4;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      private com.google.protobuf.SingleFieldBuilderV3<
-          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> 
-          getParticipantFieldBuilder() {
-        if (participantBuilder_ == null) {
-          participantBuilder_ = new com.google.protobuf.SingleFieldBuilderV3<
-              Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder>(
-                  getParticipant(),
-                  getParentForChildren(),
-                  isClean());
-          participant_ = null;
-        }
-        return participantBuilder_;
-      }
-
-      private java.util.List<Protocol.NetworkProtos.Race> races_ =
-        java.util.Collections.emptyList();
-      private void ensureRacesIsMutable() {
-        if (!((bitField0_ & 0x00000008) != 0)) {
-          races_ = new java.util.ArrayList<Protocol.NetworkProtos.Race>(races_);
-          bitField0_ |= 0x00000008;
-         }
+      public Protocol.NetworkProtos.Participant.Builder getParticipantsBuilder(
+          int index) {
+        return getParticipantsFieldBuilder().getBuilder(index);
       }
-
-      private com.google.protobuf.RepeatedFieldBuilderV3<
-          Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder> racesBuilder_;
-
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public java.util.List<Protocol.NetworkProtos.Race> getRacesList() {
-        if (racesBuilder_ == null) {
-          return java.util.Collections.unmodifiableList(races_);
-        } else {
-          return racesBuilder_.getMessageList();
+      public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
+          int index) {
+        if (participantsBuilder_ == null) {
+          return participants_.get(index);  } else {
+          return participantsBuilder_.getMessageOrBuilder(index);
         }
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public int getRacesCount() {
-        if (racesBuilder_ == null) {
-          return races_.size();
+      public java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
+           getParticipantsOrBuilderList() {
+        if (participantsBuilder_ != null) {
+          return participantsBuilder_.getMessageOrBuilderList();
         } else {
-          return racesBuilder_.getCount();
+          return java.util.Collections.unmodifiableList(participants_);
         }
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Protocol.NetworkProtos.Race getRaces(int index) {
-        if (racesBuilder_ == null) {
-          return races_.get(index);
-        } else {
-          return racesBuilder_.getMessage(index);
-        }
+      public Protocol.NetworkProtos.Participant.Builder addParticipantsBuilder() {
+        return getParticipantsFieldBuilder().addBuilder(
+            Protocol.NetworkProtos.Participant.getDefaultInstance());
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>repeated .Protocol.Participant participants = 7;</code>
        */
-      public Builder setRaces(
-          int index, Protocol.NetworkProtos.Race value) {
-        if (racesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureRacesIsMutable();
-          races_.set(index, value);
-          onChanged();
-        } else {
-          racesBuilder_.setMessage(index, value);
+      public Protocol.NetworkProtos.Participant.Builder addParticipantsBuilder(
+          int index) {
+        return getParticipantsFieldBuilder().addBuilder(
+            index, Protocol.NetworkProtos.Participant.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .Protocol.Participant participants = 7;</code>
+       */
+      public java.util.List<Protocol.NetworkProtos.Participant.Builder> 
+           getParticipantsBuilderList() {
+        return getParticipantsFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilderV3<
+          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> 
+          getParticipantsFieldBuilder() {
+        if (participantsBuilder_ == null) {
+          participantsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
+              Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder>(
+                  participants_,
+                  ((bitField0_ & 0x00000020) != 0),
+                  getParentForChildren(),
+                  isClean());
+          participants_ = null;
         }
-        return this;
+        return participantsBuilder_;
       }
+
+      private long requestId_ ;
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Id of the request answered by this response, 0 for updates pushed by the server.
+       * </pre>
+       *
+       * <code>uint64 requestId = 8;</code>
+       * @return The requestId.
        */
-      public Builder setRaces(
-          int index, Protocol.NetworkProtos.Race.Builder builderForValue) {
-        if (racesBuilder_ == null) {
-          ensureRacesIsMutable();
-          races_.set(index, builderForValue.build());
-          onChanged();
-        } else {
-          racesBuilder_.setMessage(index, builderForValue.build());
-        }
-        return this;
+      @java.lang.Override
+      public long getRequestId() {
+        return requestId_;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Id of the request answered by this response, 0 for updates pushed by the server.
+       * </pre>
+       *
+       * <code>uint64 requestId = 8;</code>
+       * @param value The requestId to set.
+       * @return This builder for chaining.
        */
-      public Builder addRaces(Protocol.NetworkProtos.Race value) {
-        if (racesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureRacesIsMutable();
-          races_.add(value);
-          onChanged();
-        } else {
-          racesBuilder_.addMessage(value);
-        }
+      public Builder setRequestId(long value) {
+        
+        requestId_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Id of the request answered by this response, 0 for updates pushed by the server.
+       * </pre>
+       *
+       * <code>uint64 requestId = 8;</code>
+       * @return This builder for chaining.
        */
-      public Builder addRaces(
-          int index, Protocol.NetworkProtos.Race value) {
-        if (racesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureRacesIsMutable();
-          races_.add(index, value);
-          onChanged();
-        } else {
-          racesBuilder_.addMessage(index, value);
-        }
+      public Builder clearRequestId() {
+        
+        requestId_ = 0L;
+        onChanged();
         return this;
       }
+
+      private long cursor_ ;
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Chunks of a streamed response: the number of participants sent so far, and whether this is the final chunk.
+       * </pre>
+       *
+       * <code>uint64 cursor = 9;</code>
+       * @return The cursor.
        */
-      public Builder addRaces(
-          Protocol.NetworkProtos.Race.Builder builderForValue) {
-        if (racesBuilder_ == null) {
-          ensureRacesIsMutable();
-          races_.add(builderForValue.build());
-          onChanged();
-        } else {
-          racesBuilder_.addMessage(builderForValue.build());
-        }
-        return this;
+      @java.lang.Override
+      public long getCursor() {
+        return cursor_;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Chunks of a streamed response: the number of participants sent so far, and whether this is the final chunk.
+       * </pre>
+       *
+       * <code>uint64 cursor = 9;</code>
+       * @param value The cursor to set.
+       * @return This builder for chaining.
        */
-      public Builder addRaces(
-          int index, Protocol.NetworkProtos.Race.Builder builderForValue) {
-        if (racesBuilder_ == null) {
-          ensureRacesIsMutable();
-          races_.add(index, builderForValue.build());
-          onChanged();
-        } else {
-          racesBuilder_.addMessage(index, builderForValue.build());
-        }
+      public Builder setCursor(long value) {
+        
+        cursor_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Chunks of a streamed response: the number of participants sent so far, and whether this is the final chunk.
+       * </pre>
+       *
+       * <code>uint64 cursor = 9;</code>
+       * @return This builder for chaining.
        */
-      public Builder addAllRaces(
-          java.lang.Iterable<? extends Protocol.NetworkProtos.Race> values) {
-        if (racesBuilder_ == null) {
-          ensureRacesIsMutable();
-          com.google.protobuf.AbstractMessageLite.Builder.addAll(
-              values, races_);
-          onChanged();
-        } else {
-          racesBuilder_.addAllMessages(values);
-        }
+      public Builder clearCursor() {
+        
+        cursor_ = 0L;
+        onChanged();
         return this;
       }
+
+      private boolean last_ ;
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>bool last = 10;</code>
+       * @return The last.
        */
-      public Builder clearRaces() {
-        if (racesBuilder_ == null) {
-          races_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000008);
-          onChanged();
-        } else {
-          racesBuilder_.clear();
-        }
-        return this;
+      @java.lang.Override
+      public boolean getLast() {
+        return last_;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>bool last = 10;</code>
+       * @param value The last to set.
+       * @return This builder for chaining.
        */
-      public Builder removeRaces(int index) {
-        if (racesBuilder_ == null) {
-          ensureRacesIsMutable();
-          races_.remove(index);
-          onChanged();
-        } else {
-          racesBuilder_.remove(index);
-        }
+      public Builder setLast(boolean value) {
+        
+        last_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <code>bool last = 10;</code>
+       * @return This builder for chaining.
        */
-      public Protocol.NetworkProtos.Race.Builder getRacesBuilder(
-          int index) {
-        return getRacesFieldBuilder().getBuilder(index);
+      public Builder clearLast() {
+        
+        last_ = false;
+        onChanged();
+        return this;
       }
+
+      private int retryAfter_ ;
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Milliseconds the client should wait before retrying an OVERLOADED request.
+       * </pre>
+       *
+       * <code>uint32 retryAfter = 11;</code>
+       * @return The retryAfter.
        */
-      public Protocol.NetworkProtos.RaceOrBuilder getRacesOrBuilder(
-          int index) {
-        if (racesBuilder_ == null) {
-          return races_.get(index);  } else {
-          return racesBuilder_.getMessageOrBuilder(index);
-        }
+      @java.lang.Override
+      public int getRetryAfter() {
+        return retryAfter_;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Milliseconds the client should wait before retrying an OVERLOADED request.
+       * </pre>
+       *
+       * <code>uint32 retryAfter = 11;</code>
+       * @param value The retryAfter to set.
+       * @return This builder for chaining.
        */
-      public java.util.List<? extends Protocol.NetworkProtos.RaceOrBuilder> 
-           getRacesOrBuilderList() {
-        if (racesBuilder_ != null) {
-          return racesBuilder_.getMessageOrBuilderList();
-        } else {
-          return java.util.Collections.unmodifiableList(races_);
-        }
+      public Builder setRetryAfter(int value) {
+        
+        retryAfter_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * Milliseconds the client should wait before retrying an OVERLOADED request.
+       * </pre>
+       *
+       * <code>uint32 retryAfter = 11;</code>
+       * @return This builder for chaining.
        */
-      public Protocol.NetworkProtos.Race.Builder addRacesBuilder() {
-        return getRacesFieldBuilder().addBuilder(
-            Protocol.NetworkProtos.Race.getDefaultInstance());
+      public Builder clearRetryAfter() {
+        
+        retryAfter_ = 0;
+        onChanged();
+        return this;
       }
+
+      private long epoch_ ;
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * The epoch of the server, changed by every restart, and the sequence number of the last update
+       * included in a pushed update or in the answer of a RESUME request.
+       * </pre>
+       *
+       * <code>uint64 epoch = 12;</code>
+       * @return The epoch.
        */
-      public Protocol.NetworkProtos.Race.Builder addRacesBuilder(
-          int index) {
-        return getRacesFieldBuilder().addBuilder(
-            index, Protocol.NetworkProtos.Race.getDefaultInstance());
+      @java.lang.Override
+      public long getEpoch() {
+        return epoch_;
       }
       /**
-       * <code>repeated .Protocol.Race races = 5;</code>
+       * <pre>
+       * The epoch of the server, changed by every restart, and the sequence number of the last update
+       * included in a pushed update or in the answer of a RESUME request.
+       * </pre>
+       *
+       * <code>uint64 epoch = 12;</code>
+       * @param value The epoch to set.
+       * @return This builder for chaining.
        */
-      public java.util.List<Protocol.NetworkProtos.Race.Builder> 
-           getRacesBuilderList() {
-        return getRacesFieldBuilder().getBuilderList();
+      public Builder setEpoch(long value) {
+        
+        epoch_ = value;
+        onChanged();
+        return this;
       }
-      private com.google.protobuf.RepeatedFieldBuilderV3<
-          Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder> 
-          getRacesFieldBuilder() {
-        if (racesBuilder_ == null) {
-          racesBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
-              Protocol.NetworkProtos.Race, Protocol.NetworkProtos.Race.Builder, Protocol.NetworkProtos.RaceOrBuilder>(
-                  races_,
-                  ((bitField0_ & 0x00000008) != 0),
-                  getParentForChildren(),
-                  isClean());
-          races_ = null;
-        }
-        return racesBuilder_;
+      /**
+       * <pre>
+       * The epoch of the server, changed by every restart, and the sequence number of the last update
+       * included in a pushed update or in the answer of a RESUME request.
+       * </pre>
+       *
+       * <code>uint64 epoch = 12;</code>
+       * @return This builder for chaining.
+       */
+      public Builder clearEpoch() {
+        
+        epoch_ = 0L;
+        onChanged();
+        return this;
       }
 
-      private com.google.protobuf.Internal.IntList engineCapacities_ = emptyIntList();
-      private void ensureEngineCapacitiesIsMutable() {
-        if (!((bitField0_ & 0x00000010) != 0)) {
-          engineCapacities_ = mutableCopy(engineCapacities_);
-          bitField0_ |= 0x00000010;
-         }
+      private long sequence_ ;
+      /**
+       * <code>uint64 sequence = 13;</code>
+       * @return The sequence.
+       */
+      @java.lang.Override
+      public long getSequence() {
+        return sequence_;
       }
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @return A list containing the engineCapacities.
+       * <code>uint64 sequence = 13;</code>
+       * @param value The sequence to set.
+       * @return This builder for chaining.
        */
-      public java.util.List<java.lang.Integer>
-          getEngineCapacitiesList() {
-        return ((bitField0_ & 0x00000010) != 0) ?
-                 java.util.Collections.unmodifiableList(engineCapacities_) : engineCapacities_;
+      public Builder setSequence(long value) {
+        
+        sequence_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @return The count of engineCapacities.
+       * <code>uint64 sequence = 13;</code>
+       * @return This builder for chaining.
        */
-      public int getEngineCapacitiesCount() {
-        return engineCapacities_.size();
+      public Builder clearSequence() {
+        
+        sequence_ = 0L;
+        onChanged();
+        return this;
       }
+
+      private boolean snapshot_ ;
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @param index The index of the element to return.
-       * @return The engineCapacities at the given index.
+       * <pre>
+       * Whether the missed updates couldn't be replayed by a RESUME request, so everything must be reloaded.
+       * </pre>
+       *
+       * <code>bool snapshot = 14;</code>
+       * @return The snapshot.
        */
-      public int getEngineCapacities(int index) {
-        return engineCapacities_.getInt(index);
+      @java.lang.Override
+      public boolean getSnapshot() {
+        return snapshot_;
       }
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @param index The index to set the value at.
-       * @param value The engineCapacities to set.
+       * <pre>
+       * Whether the missed updates couldn't be replayed by a RESUME request, so everything must be reloaded.
+       * </pre>
+       *
+       * <code>bool snapshot = 14;</code>
+       * @param value The snapshot to set.
        * @return This builder for chaining.
        */
-      public Builder setEngineCapacities(
-          int index, int value) {
-        ensureEngineCapacitiesIsMutable();
-        engineCapacities_.setInt(index, value);
+      public Builder setSnapshot(boolean value) {
+        
+        snapshot_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @param value The engineCapacities to add.
+       * <pre>
+       * Whether the missed updates couldn't be replayed by a RESUME request, so everything must be reloaded.
+       * </pre>
+       *
+       * <code>bool snapshot = 14;</code>
        * @return This builder for chaining.
        */
-      public Builder addEngineCapacities(int value) {
-        ensureEngineCapacitiesIsMutable();
-        engineCapacities_.addInt(value);
+      public Builder clearSnapshot() {
+        
+        snapshot_ = false;
         onChanged();
         return this;
       }
+
+      private int compression_ = 0;
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
-       * @param values The engineCapacities to add.
+       * <pre>
+       * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+       * </pre>
+       *
+       * <code>.Protocol.Compression compression = 15;</code>
+       * @return The enum numeric value on the wire for compression.
+       */
+      @java.lang.Override public int getCompressionValue() {
+        return compression_;
+      }
+      /**
+       * <pre>
+       * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+       * </pre>
+       *
+       * <code>.Protocol.Compression compression = 15;</code>
+       * @param value The enum numeric value on the wire for compression to set.
        * @return This builder for chaining.
        */
-      public Builder addAllEngineCapacities(
-          java.lang.Iterable<? extends java.lang.Integer> values) {
-        ensureEngineCapacitiesIsMutable();
-        com.google.protobuf.AbstractMessageLite.Builder.addAll(
-            values, engineCapacities_);
+      public Builder setCompressionValue(int value) {
+        
+        compression_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <pre>
+       * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+       * </pre>
+       *
+       * <code>.Protocol.Compression compression = 15;</code>
+       * @return The compression.
+       */
+      @java.lang.Override
+      public Protocol.NetworkProtos.Compression getCompression() {
+        @SuppressWarnings("deprecation")
+        Protocol.NetworkProtos.Compression result = Protocol.NetworkProtos.Compression.valueOf(compression_);
+        return result == null ? Protocol.NetworkProtos.Compression.UNRECOGNIZED : result;
+      }
+      /**
+       * <pre>
+       * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+       * </pre>
+       *
+       * <code>.Protocol.Compression compression = 15;</code>
+       * @param value The compression to set.
+       * @return This builder for chaining.
+       */
+      public Builder setCompression(Protocol.NetworkProtos.Compression value) {
+        if (value == null) {
+          throw new NullPointerException();
+        }
+        
+        compression_ = value.getNumber();
         onChanged();
         return this;
       }
       /**
-       * <code>repeated int32 engineCapacities = 6;</code>
+       * <pre>
+       * The compression chosen by the server in the answer of a HELLO request, NONE if the frames stay raw.
+       * </pre>
+       *
+       * <code>.Protocol.Compression compression = 15;</code>
        * @return This builder for chaining.
        */
-      public Builder clearEngineCapacities() {
-        engineCapacities_ = emptyIntList();
-        bitField0_ = (bitField0_ & ~0x00000010);
+      public Builder clearCompression() {
+        
+        compression_ = 0;
         onChanged();
         return this;
       }
 
-      private java.util.List<Protocol.NetworkProtos.Participant> participants_ =
-        java.util.Collections.emptyList();
-      private void ensureParticipantsIsMutable() {
-        if (!((bitField0_ & 0x00000020) != 0)) {
-          participants_ = new java.util.ArrayList<Protocol.NetworkProtos.Participant>(participants_);
-          bitField0_ |= 0x00000020;
+      private com.google.protobuf.LazyStringList teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureTeamsIsMutable() {
+        if (!((bitField0_ & 0x00000040) != 0)) {
+          teams_ = new com.google.protobuf.LazyStringArrayList(teams_);
+          bitField0_ |= 0x00000040;
          }
       }
-
-      private com.google.protobuf.RepeatedFieldBuilderV3<
-          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> participantsBuilder_;
-
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @return A list containing the teams.
        */
-      public java.util.List<Protocol.NetworkProtos.Participant> getParticipantsList() {
-        if (participantsBuilder_ == null) {
-          return java.util.Collections.unmodifiableList(participants_);
-        } else {
-          return participantsBuilder_.getMessageList();
-        }
+      public com.google.protobuf.ProtocolStringList
+          getTeamsList() {
+        return teams_.getUnmodifiableView();
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @return The count of teams.
        */
-      public int getParticipantsCount() {
-        if (participantsBuilder_ == null) {
-          return participants_.size();
-        } else {
-          return participantsBuilder_.getCount();
-        }
+      public int getTeamsCount() {
+        return teams_.size();
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param index The index of the element to return.
+       * @return The teams at the given index.
        */
-      public Protocol.NetworkProtos.Participant getParticipants(int index) {
-        if (participantsBuilder_ == null) {
-          return participants_.get(index);
-        } else {
-          return participantsBuilder_.getMessage(index);
-        }
+      public java.lang.String getTeams(int index) {
+        return teams_.get(index);
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param index The index of the value to return.
+       * @return The bytes of the teams at the given index.
        */
-      public Builder setParticipants(
-          int index, Protocol.NetworkProtos.Participant value) {
-        if (participantsBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureParticipantsIsMutable();
-          participants_.set(index, value);
-          onChanged();
-        } else {
-          participantsBuilder_.setMessage(index, value);
-        }
-        return this;
+      public com.google.protobuf.ByteString
+          getTeamsBytes(int index) {
+        return teams_.getByteString(index);
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param index The index to set the value at.
+       * @param value The teams to set.
+       * @return This builder for chaining.
        */
-      public Builder setParticipants(
-          int index, Protocol.NetworkProtos.Participant.Builder builderForValue) {
-        if (participantsBuilder_ == null) {
-          ensureParticipantsIsMutable();
-          participants_.set(index, builderForValue.build());
-          onChanged();
-        } else {
-          participantsBuilder_.setMessage(index, builderForValue.build());
-        }
+      public Builder setTeams(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTeamsIsMutable();
+        teams_.set(index, value);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param value The teams to add.
+       * @return This builder for chaining.
        */
-      public Builder addParticipants(Protocol.NetworkProtos.Participant value) {
-        if (participantsBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureParticipantsIsMutable();
-          participants_.add(value);
-          onChanged();
-        } else {
-          participantsBuilder_.addMessage(value);
-        }
+      public Builder addTeams(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureTeamsIsMutable();
+        teams_.add(value);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param values The teams to add.
+       * @return This builder for chaining.
        */
-      public Builder addParticipants(
-          int index, Protocol.NetworkProtos.Participant value) {
-        if (participantsBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureParticipantsIsMutable();
-          participants_.add(index, value);
-          onChanged();
-        } else {
-          participantsBuilder_.addMessage(index, value);
-        }
+      public Builder addAllTeams(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureTeamsIsMutable();
+        com.google.protobuf.AbstractMessageLite.Builder.addAll(
+            values, teams_);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @return This builder for chaining.
        */
-      public Builder addParticipants(
-          Protocol.NetworkProtos.Participant.Builder builderForValue) {
-        if (participantsBuilder_ == null) {
-          ensureParticipantsIsMutable();
-          participants_.add(builderForValue.build());
-          onChanged();
-        } else {
-          participantsBuilder_.addMessage(builderForValue.build());
-        }
+      public Builder clearTeams() {
+        teams_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000040);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * Version 2: the distinct teams of the participants of the response, referred to by their index.
+       * </pre>
+       *
+       * <code>repeated string teams = 16;</code>
+       * @param value The bytes of the teams to add.
+       * @return This builder for chaining.
        */
-      public Builder addParticipants(
-          int index, Protocol.NetworkProtos.Participant.Builder builderForValue) {
-        if (participantsBuilder_ == null) {
-          ensureParticipantsIsMutable();
-          participants_.add(index, builderForValue.build());
-          onChanged();
-        } else {
-          participantsBuilder_.addMessage(index, builderForValue.build());
-        }
+      public Builder addTeamsBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        ensureTeamsIsMutable();
+        teams_.add(value);
+        onChanged();
         return this;
       }
+
+      private int version_ ;
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The protocol version chosen by the server in the answer of a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 17;</code>
+       * @return The version.
        */
-      public Builder addAllParticipants(
-          java.lang.Iterable<? extends Protocol.NetworkProtos.Participant> values) {
-        if (participantsBuilder_ == null) {
-          ensureParticipantsIsMutable();
-          com.google.protobuf.AbstractMessageLite.Builder.addAll(
-              values, participants_);
-          onChanged();
-        } else {
-          participantsBuilder_.addAllMessages(values);
-        }
-        return this;
+      @java.lang.Override
+      public int getVersion() {
+        return version_;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The protocol version chosen by the server in the answer of a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 17;</code>
+       * @param value The version to set.
+       * @return This builder for chaining.
        */
-      public Builder clearParticipants() {
-        if (participantsBuilder_ == null) {
-          participants_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000020);
-          onChanged();
-        } else {
-          participantsBuilder_.clear();
-        }
+      public Builder setVersion(int value) {
+        
+        version_ = value;
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The protocol version chosen by the server in the answer of a HELLO request.
+       * </pre>
+       *
+       * <code>uint32 version = 17;</code>
+       * @return This builder for chaining.
        */
-      public Builder removeParticipants(int index) {
-        if (participantsBuilder_ == null) {
-          ensureParticipantsIsMutable();
-          participants_.remove(index);
-          onChanged();
-        } else {
-          participantsBuilder_.remove(index);
-        }
+      public Builder clearVersion() {
+        
+        version_ = 0;
+        onChanged();
         return this;
       }
+
+      private java.lang.Object sessionToken_ = "";
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
-       */
-      public Protocol.NetworkProtos.Participant.Builder getParticipantsBuilder(
-          int index) {
-        return getParticipantsFieldBuilder().getBuilder(index);
-      }
-      /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+       * </pre>
+       *
+       * <code>string sessionToken = 18;</code>
+       * @return The sessionToken.
        */
-      public Protocol.NetworkProtos.ParticipantOrBuilder getParticipantsOrBuilder(
-          int index) {
-        if (participantsBuilder_ == null) {
-          return participants_.get(index);  } else {
-          return participantsBuilder_.getMessageOrBuilder(index);
+      public java.lang.String getSessionToken() {
+        java.lang.Object ref = sessionToken_;
+        if (!(ref instanceof java.lang.String)) {
+          com.google.protobuf.ByteString bs =
+              (com.google.protobuf.ByteString) ref;
+          java.lang.String s = bs.toStringUtf8();
+          sessionToken_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
         }
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+       * </pre>
+       *
+       * <code>string sessionToken = 18;</code>
+       * @return The bytes for sessionToken.
        */
-      public java.util.List<? extends Protocol.NetworkProtos.ParticipantOrBuilder> 
-           getParticipantsOrBuilderList() {
-        if (participantsBuilder_ != null) {
-          return participantsBuilder_.getMessageOrBuilderList();
+      public com.google.protobuf.ByteString
+          getSessionTokenBytes() {
+        java.lang.Object ref = sessionToken_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          sessionToken_ = b;
+          return b;
         } else {
-          return java.util.Collections.unmodifiableList(participants_);
+          return (com.google.protobuf.ByteString) ref;
         }
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+       * </pre>
+       *
+       * <code>string sessionToken = 18;</code>
+       * @param value The sessionToken to set.
+       * @return This builder for chaining.
        */
-      public Protocol.NetworkProtos.Participant.Builder addParticipantsBuilder() {
-        return getParticipantsFieldBuilder().addBuilder(
-            Protocol.NetworkProtos.Participant.getDefaultInstance());
+      public Builder setSessionToken(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  
+        sessionToken_ = value;
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+       * </pre>
+       *
+       * <code>string sessionToken = 18;</code>
+       * @return This builder for chaining.
        */
-      public Protocol.NetworkProtos.Participant.Builder addParticipantsBuilder(
-          int index) {
-        return getParticipantsFieldBuilder().addBuilder(
-            index, Protocol.NetworkProtos.Participant.getDefaultInstance());
+      public Builder clearSessionToken() {
+        
+        sessionToken_ = getDefaultInstance().getSessionToken();
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .Protocol.Participant participants = 7;</code>
+       * <pre>
+       * The token of the session started by a LOGIN or BOOTSTRAP request, empty if the server issues none.
+       * </pre>
+       *
+       * <code>string sessionToken = 18;</code>
+       * @param value The bytes for sessionToken to set.
+       * @return This builder for chaining.
        */
-      public java.util.List<Protocol.NetworkProtos.Participant.Builder> 
-           getParticipantsBuilderList() {
-        return getParticipantsFieldBuilder().getBuilderList();
-      }
-      private com.google.protobuf.RepeatedFieldBuilderV3<
-          Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder> 
-          getParticipantsFieldBuilder() {
-        if (participantsBuilder_ == null) {
-          participantsBuilder_ = new com.google.protobuf.RepeatedFieldBuilderV3<
-              Protocol.NetworkProtos.Participant, Protocol.NetworkProtos.Participant.Builder, Protocol.NetworkProtos.ParticipantOrBuilder>(
-                  participants_,
-                  ((bitField0_ & 0x00000020) != 0),
-                  getParentForChildren(),
-                  isClean());
-          participants_ = null;
-        }
-        return participantsBuilder_;
+      public Builder setSessionTokenBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  checkByteStringIsUtf8(value);
+        
+        sessionToken_ = value;
+        onChanged();
+        return this;
       }
       @java.lang.Override
       public final Builder setUnknownFields(
@@ -6999,35 +10543,53 @@ public final class NetworkProtos {
       descriptor;
   static {
     java.lang.String[] descriptorData = {
-      "\n\026Protocol/network.proto\022\010Protocol\"\025\n\004UU" +
-      "ID\022\r\n\005value\030\001 \001(\t\"t\n\013Participant\022\032\n\002id\030\001" +
-      " \001(\0132\016.Protocol.UUID\022\021\n\tfirstName\030\002 \001(\t\022" +
-      "\020\n\010lastName\030\003 \001(\t\022\014\n\004team\030\004 \001(\t\022\026\n\016engin" +
-      "eCapacity\030\005 \001(\005\"I\n\004User\022\n\n\002id\030\001 \001(\005\022\021\n\tf" +
-      "irstName\030\002 \001(\t\022\020\n\010lastName\030\003 \001(\t\022\020\n\010user" +
-      "name\030\004 \001(\t\"B\n\004Race\022\n\n\002id\030\001 \001(\005\022\026\n\016engine" +
-      "Capacity\030\002 \001(\005\022\026\n\016noParticipants\030\003 \001(\005\"\206" +
-      "\003\n\007Request\022+\n\013requestType\030\001 \001(\0162\026.Protoc" +
-      "ol.Request.type\022\025\n\010username\030\002 \001(\tH\000\210\001\001\022\025" +
-      "\n\010password\030\003 \001(\tH\001\210\001\001\022!\n\004user\030\004 \001(\0132\016.Pr" +
-      "otocol.UserH\002\210\001\001\022/\n\013participant\030\005 \001(\0132\025." +
-      "Protocol.ParticipantH\003\210\001\001\022\021\n\004team\030\006 \001(\tH" +
-      "\004\210\001\001\"}\n\004type\022\t\n\005LOGIN\020\000\022\n\n\006LOGOUT\020\001\022\023\n\017A" +
-      "DD_PARTICIPANT\020\002\022\035\n\031FIND_PARTICIPANTS_BY" +
-      "_TEAM\020\003\022\016\n\nFIND_RACES\020\004\022\032\n\026FIND_ENGINE_C" +
-      "APACITIES\020\005B\013\n\t_usernameB\013\n\t_passwordB\007\n" +
-      "\005_userB\016\n\014_participantB\007\n\005_team\"\201\003\n\010Resp" +
-      "onse\022-\n\014responseType\030\001 \001(\0162\027.Protocol.Re" +
-      "sponse.type\022\031\n\014errorMessage\030\002 \001(\tH\000\210\001\001\022!" +
-      "\n\004user\030\003 \001(\0132\016.Protocol.UserH\001\210\001\001\022/\n\013par" +
-      "ticipant\030\004 \001(\0132\025.Protocol.ParticipantH\002\210" +
-      "\001\001\022\035\n\005races\030\005 \003(\0132\016.Protocol.Race\022\030\n\020eng" +
-      "ineCapacities\030\006 \003(\005\022+\n\014participants\030\007 \003(" +
-      "\0132\025.Protocol.Participant\"G\n\004type\022\006\n\002OK\020\000" +
-      "\022\t\n\005ERROR\020\001\022\025\n\021PARTICIPANT_ADDED\020\002\022\025\n\021CO" +
-      "NNECTION_CLOSED\020\003B\017\n\r_errorMessageB\007\n\005_u" +
-      "serB\016\n\014_participantB\021B\rNetworkProtosP\000b\006" +
-      "proto3"
+      "\n\026Protocol/network.proto\022\010Protocol\"P\n\004UU" +
+      "ID\022\r\n\005value\030\001 \001(\t\022\033\n\023mostSignificantBits" +
+      "\030\002 \001(\006\022\034\n\024leastSignificantBits\030\003 \001(\006\"\207\001\n" +
+      "\013Participant\022\032\n\002id\030\001 \001(\0132\016.Protocol.UUID" +
+      "\022\021\n\tfirstName\030\002 \001(\t\022\020\n\010lastName\030\003 \001(\t\022\014\n" +
+      "\004team\030\004 \001(\t\022\026\n\016engineCapacity\030\005 \001(\005\022\021\n\tt" +
+      "eamIndex\030\006 \001(\r\"I\n\004User\022\n\n\002id\030\001 \001(\005\022\021\n\tfi" +
+      "rstName\030\002 \001(\t\022\020\n\010lastName\030\003 \001(\t\022\020\n\010usern" +
+      "ame\030\004 \001(\t\"B\n\004Race\022\n\n\002id\030\001 \001(\005\022\026\n\016engineC" +
+      "apacity\030\002 \001(\005\022\026\n\016noParticipants\030\003 \001(\005\"\320\005" +
+      "\n\007Request\022+\n\013requestType\030\001 \001(\0162\026.Protoco" +
+      "l.Request.type\022\025\n\010username\030\002 \001(\tH\000\210\001\001\022\025\n" +
+      "\010password\030\003 \001(\tH\001\210\001\001\022!\n\004user\030\004 \001(\0132\016.Pro" +
+      "tocol.UserH\002\210\001\001\022/\n\013participant\030\005 \001(\0132\025.P" +
+      "rotocol.ParticipantH\003\210\001\001\022\021\n\004team\030\006 \001(\tH\004" +
+      "\210\001\001\022\021\n\trequestId\030\007 \001(\004\022\r\n\005teams\030\010 \003(\t\022\030\n" +
+      "\020engineCapacities\030\t \003(\005\022\021\n\tchunkSize\030\n \001" +
+      "(\r\022\016\n\006cursor\030\013 \001(\004\022\017\n\007timeout\030\014 \001(\r\022\r\n\005e" +
+      "poch\030\r \001(\004\022\020\n\010sequence\030\016 \001(\004\022+\n\014compress" +
+      "ions\030\017 \003(\0162\025.Protocol.Compression\022\017\n\007ver" +
+      "sion\030\020 \001(\r\022\024\n\014sessionToken\030\021 \001(\t\"\341\001\n\004typ" +
+      "e\022\t\n\005LOGIN\020\000\022\n\n\006LOGOUT\020\001\022\023\n\017ADD_PARTICIP" +
+      "ANT\020\002\022\035\n\031FIND_PARTICIPANTS_BY_TEAM\020\003\022\016\n\n" +
+      "FIND_RACES\020\004\022\032\n\026FIND_ENGINE_CAPACITIES\020\005" +
+      "\022\r\n\tSUBSCRIBE\020\006\022\017\n\013UNSUBSCRIBE\020\007\022\010\n\004PING" +
+      "\020\010\022\n\n\006RESUME\020\t\022\t\n\005HELLO\020\n\022\r\n\tBOOTSTRAP\020\013" +
+      "\022\022\n\016RESUME_SESSION\020\014B\013\n\t_usernameB\013\n\t_pa" +
+      "sswordB\007\n\005_userB\016\n\014_participantB\007\n\005_team" +
+      "\"\215\005\n\010Response\022-\n\014responseType\030\001 \001(\0162\027.Pr" +
+      "otocol.Response.type\022\031\n\014errorMessage\030\002 \001" +
+      "(\tH\000\210\001\001\022!\n\004user\030\003 \001(\0132\016.Protocol.UserH\001\210" +
+      "\001\001\022/\n\013participant\030\004 \001(\0132\025.Protocol.Parti" +
+      "cipantH\002\210\001\001\022\035\n\005races\030\005 \003(\0132\016.Protocol.Ra" +
+      "ce\022\030\n\020engineCapacities\030\006 \003(\005\022+\n\014particip" +
+      "ants\030\007 \003(\0132\025.Protocol.Participant\022\021\n\treq" +
+      "uestId\030\010 \001(\004\022\016\n\006cursor\030\t \001(\004\022\014\n\004last\030\n \001" +
+      "(\010\022\022\n\nretryAfter\030\013 \001(\r\022\r\n\005epoch\030\014 \001(\004\022\020\n" +
+      "\010sequence\030\r \001(\004\022\020\n\010snapshot\030\016 \001(\010\022*\n\013com" +
+      "pression\030\017 \001(\0162\025.Protocol.Compression\022\r\n" +
+      "\005teams\030\020 \003(\t\022\017\n\007version\030\021 \001(\r\022\024\n\014session" +
+      "Token\030\022 \001(\t\"y\n\004type\022\006\n\002OK\020\000\022\t\n\005ERROR\020\001\022\025" +
+      "\n\021PARTICIPANT_ADDED\020\002\022\025\n\021CONNECTION_CLOS" +
+      "ED\020\003\022\026\n\022PARTICIPANTS_ADDED\020\004\022\010\n\004PONG\020\005\022\016" +
+      "\n\nOVERLOADED\020\006B\017\n\r_errorMessageB\007\n\005_user" +
+      "B\016\n\014_participant*$\n\013Compression\022\010\n\004NONE\020" +
+      "\000\022\013\n\007DEFLATE\020\001B\021B\rNetworkProtosP\000b\006proto" +
+      "3"
     };
     descriptor = com.google.protobuf.Descriptors.FileDescriptor
       .internalBuildGeneratedFileFrom(descriptorData,
@@ -7038,13 +10600,13 @@ public final class NetworkProtos {
     internal_static_Protocol_UUID_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Protocol_UUID_descriptor,
-        new java.lang.String[] { "Value", });
+        new java.lang.String[] { "Value", "MostSignificantBits", "LeastSignificantBits", });
     internal_static_Protocol_Participant_descriptor =
       getDescriptor().getMessageTypes().get(1);
     internal_static_Protocol_Participant_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Protocol_Participant_descriptor,
-        new java.lang.String[] { "Id", "FirstName", "LastName", "Team", "EngineCapacity", });
+        new java.lang.String[] { "Id", "FirstName", "LastName", "Team", "EngineCapacity", "TeamIndex", });
     internal_static_Protocol_User_descriptor =
       getDescriptor().getMessageTypes().get(2);
     internal_static_Protocol_User_fieldAccessorTable = new
@@ -7062,13 +10624,13 @@ public final class NetworkProtos {
     internal_static_Protocol_Request_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Protocol_Request_descriptor,
-        new java.lang.String[] { "RequestType", "Username", "Password", "User", "Participant", "Team", "Username", "Password", "User", "Participant", "Team", });
+        new java.lang.String[] { "RequestType", "Username", "Password", "User", "Participant", "Team", "RequestId", "Teams", "EngineCapacities", "ChunkSize", "Cursor", "Timeout", "Epoch", "Sequence", "Compressions", "Version", "SessionToken", "Username", "Password", "User", "Participant", "Team", });
     internal_static_Protocol_Response_descriptor =
       getDescriptor().getMessageTypes().get(5);
     internal_static_Protocol_Response_fieldAccessorTable = new
       com.google.protobuf.GeneratedMessageV3.FieldAccessorTable(
         internal_static_Protocol_Response_descriptor,
-        new java.lang.String[] { "ResponseType", "ErrorMessage", "User", "Participant", "Races", "EngineCapacities", "Participants", "ErrorMessage", "User", "Participant", });
+        new java.lang.String[] { "ResponseType", "ErrorMessage", "User", "Participant", "Races", "EngineCapacities", "Participants", "RequestId", "Cursor", "Last", "RetryAfter", "Epoch", "Sequence", "Snapshot", "Compression", "Teams", "Version", "SessionToken", "ErrorMessage", "User", "Participant", });
   }
 
   // @@protoc_insertion_point(outer_class_scope)
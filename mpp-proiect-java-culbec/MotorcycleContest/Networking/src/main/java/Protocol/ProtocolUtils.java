@@ -1,12 +1,28 @@
 package Protocol;
 
+import CommonUtils.Bootstrap;
+import CommonUtils.Resumption;
 import Model.Participant;
 import Model.Race;
 import Model.User;
+import com.google.protobuf.CodedOutputStream;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.StreamSupport;
 
 public class ProtocolUtils {
+    // The protocol versions. A client is spoken to in the version 1 until it negotiates a later one.
+    public static final int VERSION_1 = 1;
+    public static final int VERSION_2 = 2;
+    // The highest protocol version supported.
+    public static final int PROTOCOL_VERSION = VERSION_2;
+
     /**
      * Creates a request for logging in.
      * @param username The username of the user.
@@ -21,6 +37,34 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Creates a request for logging in and receiving the races and their engine capacities in the same response.
+     * @param username The username of the user.
+     * @param password The password of the user.
+     * @return A request for bootstrapping the client.
+     */
+    public static NetworkProtos.Request createBootstrapRequest(String username, String password) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.BOOTSTRAP)
+                .setUsername(username)
+                .setPassword(password)
+                .build();
+    }
+
+    /**
+     * Creates a request for logging in again with the token of a session.
+     * @param username The username of the user.
+     * @param sessionToken The token received when logging in.
+     * @return A request for resuming the session.
+     */
+    public static NetworkProtos.Request createResumeSessionRequest(String username, String sessionToken) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.RESUME_SESSION)
+                .setUsername(username)
+                .setSessionToken(sessionToken)
+                .build();
+    }
+
     /**
      * Creates a request for logging out.
      * @param user The user to log out.
@@ -70,6 +114,70 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Creates the heartbeat of an idle client.
+     * @return A PING request.
+     */
+    public static NetworkProtos.Request createPingRequest() {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.PING)
+                .build();
+    }
+
+    /**
+     * Creates the answer to the heartbeat of a client.
+     * @return A PONG response.
+     */
+    public static NetworkProtos.Response createPongResponse() {
+        return NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.PONG)
+                .build();
+    }
+
+    /**
+     * Creates the first request of a connection, offering the compressions and the protocol version supported by the client.
+     * @param compressions The compressions offered, in the order preferred by the client.
+     * @param version The highest protocol version supported by the client.
+     * @return A HELLO request.
+     */
+    public static NetworkProtos.Request createHelloRequest(Iterable<NetworkProtos.Compression> compressions, int version) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.HELLO)
+                .addAllCompressions(compressions)
+                .setVersion(version)
+                .build();
+    }
+
+    /**
+     * Creates the answer to the HELLO request of a client.
+     * @param compression The compression chosen by the server, NONE if the frames stay raw.
+     * @param version The protocol version chosen by the server.
+     * @return An OK response with the compression and the protocol version.
+     */
+    public static NetworkProtos.Response createHelloResponse(NetworkProtos.Compression compression, int version) {
+        return NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.OK)
+                .setCompression(compression)
+                .setVersion(version)
+                .build();
+    }
+
+    /**
+     * Creates a request for streaming the participants of a team in chunks.
+     * @param team The team to search for.
+     * @param cursor The number of participants already received.
+     * @param chunkSize The maximum number of participants in a chunk.
+     * @return A request for streaming the participants of a team.
+     */
+    public static NetworkProtos.Request createFindParticipantsByTeamRequest(String team, long cursor, int chunkSize) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.FIND_PARTICIPANTS_BY_TEAM)
+                .setTeam(team)
+                .setCursor(cursor)
+                .setChunkSize(chunkSize)
+                .build();
+    }
+
     /**
      * Creates a request to find all the saved races.
      * @return A request to find all the saved races.
@@ -90,6 +198,52 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Creates a request to subscribe to the participants added to some teams or races.
+     * @param teams The teams of interest.
+     * @param engineCapacities The engine capacities of the races of interest.
+     * @return A request to subscribe to the participants added to the teams or races.
+     */
+    public static NetworkProtos.Request createSubscribeRequest(Iterable<String> teams, Iterable<Integer> engineCapacities) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.SUBSCRIBE)
+                .addAllTeams(teams)
+                .addAllEngineCapacities(engineCapacities)
+                .build();
+    }
+
+    /**
+     * Creates a request to unsubscribe from the participants added to some teams or races.
+     * @param teams The teams no longer of interest.
+     * @param engineCapacities The engine capacities of the races no longer of interest.
+     * @return A request to unsubscribe from the participants added to the teams or races.
+     */
+    public static NetworkProtos.Request createUnsubscribeRequest(Iterable<String> teams, Iterable<Integer> engineCapacities) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.UNSUBSCRIBE)
+                .addAllTeams(teams)
+                .addAllEngineCapacities(engineCapacities)
+                .build();
+    }
+
+    /**
+     * Creates a request to resume the updates after logging in again on a new connection.
+     * @param epoch The epoch of the server that sent the last update received, 0 if none was received.
+     * @param sequence The sequence number of the last update received.
+     * @param teams The teams the client was subscribed to.
+     * @param engineCapacities The engine capacities of the races the client was subscribed to.
+     * @return A request to resume the updates.
+     */
+    public static NetworkProtos.Request createResumeRequest(long epoch, long sequence, Iterable<String> teams, Iterable<Integer> engineCapacities) {
+        return NetworkProtos.Request.newBuilder()
+                .setRequestType(NetworkProtos.Request.type.RESUME)
+                .setEpoch(epoch)
+                .setSequence(sequence)
+                .addAllTeams(teams)
+                .addAllEngineCapacities(engineCapacities)
+                .build();
+    }
+
     // OK response.
     public static NetworkProtos.Response OKResponse = NetworkProtos.Response.newBuilder()
             .setResponseType(NetworkProtos.Response.type.OK)
@@ -107,6 +261,19 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Creates the response of a request, or a connection, refused because the server is at its capacity.
+     * @param retryAfter The milliseconds the client should wait before retrying.
+     * @return An overloaded response.
+     */
+    public static NetworkProtos.Response createOverloadedResponse(int retryAfter) {
+        return NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.OVERLOADED)
+                .setErrorMessage("The server is overloaded. Retry after " + retryAfter + " ms.")
+                .setRetryAfter(retryAfter)
+                .build();
+    }
+
     /**
      * Creates a connection closed response.
      * @return The connection closed response.
@@ -134,6 +301,47 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Creates a response for bootstrapping a client.
+     * @param bootstrap The user that logged in, with the races and their engine capacities.
+     * @return A response for bootstrapping a client.
+     */
+    public static NetworkProtos.Response createBootstrapResponse(Bootstrap bootstrap) {
+        return createLoginResponse(bootstrap.user()).toBuilder()
+                .addAllRaces(createFindAllRacesResponse(bootstrap.races()).getRacesList())
+                .addAllEngineCapacities(bootstrap.engineCapacities())
+                .build();
+    }
+
+    /**
+     * Decodes the user of a response.
+     * @param response The response carrying the user.
+     * @return The user.
+     */
+    public static User parseUser(NetworkProtos.Response response) {
+        return new User.Builder()
+                .setId(response.getUser().getId())
+                .setFirstName(response.getUser().getFirstName())
+                .setLastName(response.getUser().getLastName())
+                .setUsername(response.getUser().getUsername())
+                .build();
+    }
+
+    /**
+     * Decodes the races of a response.
+     * @param response The response carrying the races.
+     * @return The races, in the order they were sent.
+     */
+    public static List<Race> parseRaces(NetworkProtos.Response response) {
+        return response.getRacesList().stream()
+                .map(race -> new Race.Builder()
+                        .setId(race.getId())
+                        .setEngineCapacity(race.getEngineCapacity())
+                        .setNoParticipants(race.getNoParticipants())
+                        .build())
+                .toList();
+    }
+
     /**
      * Creates a response for logging out.
      * @return A response for logging out.
@@ -162,14 +370,81 @@ public class ProtocolUtils {
      * @return A response for finding participants by team.
      */
     public static NetworkProtos.Response createParticipantAddedResponse(Participant participant) {
-        return NetworkProtos.Response.newBuilder()
-                .setResponseType(NetworkProtos.Response.type.PARTICIPANT_ADDED)
-                .setParticipant(NetworkProtos.Participant.newBuilder()
-                        .setFirstName(participant.getFirstName())
-                        .setLastName(participant.getLastName())
-                        .setTeam(participant.getTeam())
-                        .setEngineCapacity(participant.getEngineCapacity())
-                        .build())
+        return createParticipantAddedResponse(participant, VERSION_1);
+    }
+
+    /**
+     * Creates the update of an added participant, in the given protocol version.
+     * @param participant The participant that was added.
+     * @param version The protocol version of the client.
+     * @return The update of the added participant.
+     */
+    public static NetworkProtos.Response createParticipantAddedResponse(Participant participant, int version) {
+        NetworkProtos.Response.Builder builder = NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.PARTICIPANT_ADDED);
+        if (version >= VERSION_2) {
+            builder.addTeams(participant.getTeam());
+            builder.setParticipant(createParticipant(participant, version).setTeamIndex(0));
+        } else {
+            builder.setParticipant(createParticipant(participant, version).setTeam(participant.getTeam()));
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a response for a batch of added participants.
+     * @param participants The participants that were added.
+     * @param races The races, with their updated number of participants.
+     * @return A response for a batch of added participants.
+     */
+    public static NetworkProtos.Response createParticipantsAddedResponse(Iterable<Participant> participants, Iterable<Race> races) {
+        return createParticipantsAddedResponse(participants, races, VERSION_1);
+    }
+
+    /**
+     * Creates the update of a batch of added participants, in the given protocol version.
+     * @param participants The participants that were added.
+     * @param races The races, with their updated number of participants.
+     * @param version The protocol version of the client.
+     * @return The update of the batch of added participants.
+     */
+    public static NetworkProtos.Response createParticipantsAddedResponse(Iterable<Participant> participants, Iterable<Race> races, int version) {
+        NetworkProtos.Response.Builder builder = NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.PARTICIPANTS_ADDED)
+                .addAllRaces(StreamSupport.stream(races.spliterator(), false)
+                        .map(race -> NetworkProtos.Race.newBuilder()
+                                .setId(race.getId())
+                                .setEngineCapacity(race.getEngineCapacity())
+                                .setNoParticipants(race.getNoParticipants())
+                                .build())
+                        .toList());
+        addParticipants(builder, participants, version);
+        return builder.build();
+    }
+
+    /**
+     * Creates a response for resuming the updates of a client.
+     * @param resumption The missed participants, or the snapshot flag.
+     * @param races The races, with their current number of participants.
+     * @return A response for resuming the updates.
+     */
+    public static NetworkProtos.Response createResumeResponse(Resumption resumption, Iterable<Race> races) {
+        return createResumeResponse(resumption, races, VERSION_1);
+    }
+
+    /**
+     * Creates a response for resuming the updates of a client, in the given protocol version.
+     * @param resumption The missed participants, or the snapshot flag.
+     * @param races The races, with their current number of participants.
+     * @param version The protocol version of the client.
+     * @return A response for resuming the updates.
+     */
+    public static NetworkProtos.Response createResumeResponse(Resumption resumption, Iterable<Race> races, int version) {
+        return createParticipantsAddedResponse(resumption.missed(), races, version).toBuilder()
+                .setResponseType(NetworkProtos.Response.type.OK)
+                .setEpoch(resumption.epoch())
+                .setSequence(resumption.sequence())
+                .setSnapshot(resumption.snapshot())
                 .build();
     }
 
@@ -179,18 +454,147 @@ public class ProtocolUtils {
      * @return A response for finding participants by team.
      */
     public static NetworkProtos.Response createFindParticipantsByTeamResponse(Iterable<Participant> participants) {
-        return NetworkProtos.Response.newBuilder()
-                .setResponseType(NetworkProtos.Response.type.OK)
-                .addAllParticipants(StreamSupport.stream(participants.spliterator(), false)
-                        .map(participant -> NetworkProtos.Participant.newBuilder()
-                                .setId(NetworkProtos.UUID.newBuilder()
-                                        .setValue(participant.getId().toString()).build())
-                                .setFirstName(participant.getFirstName())
-                                .setLastName(participant.getLastName())
-                                .setTeam(participant.getTeam())
-                                .setEngineCapacity(participant.getEngineCapacity())
-                                .build())
-                        .toList())
+        return createFindParticipantsByTeamResponse(participants, VERSION_1);
+    }
+
+    /**
+     * Creates a response for finding participants by team, in the given protocol version.
+     * @param participants The participants that were found.
+     * @param version The protocol version of the client.
+     * @return A response for finding participants by team.
+     */
+    public static NetworkProtos.Response createFindParticipantsByTeamResponse(Iterable<Participant> participants, int version) {
+        NetworkProtos.Response.Builder builder = NetworkProtos.Response.newBuilder()
+                .setResponseType(NetworkProtos.Response.type.OK);
+        addParticipants(builder, participants, version);
+        return builder.build();
+    }
+
+    /**
+     * Creates a chunk of a streamed response for finding participants by team.
+     * @param participants The participants of the chunk.
+     * @param cursor The number of participants sent so far, including this chunk.
+     * @param last Whether this is the final chunk.
+     * @return A chunk of the response for finding participants by team.
+     */
+    public static NetworkProtos.Response createParticipantsChunkResponse(Iterable<Participant> participants, long cursor, boolean last) {
+        return createParticipantsChunkResponse(participants, cursor, last, VERSION_1);
+    }
+
+    /**
+     * Creates a chunk of a streamed response for finding participants by team, in the given protocol version.
+     * Every chunk has its own teams, so it can be decoded on its own.
+     * @param participants The participants of the chunk.
+     * @param cursor The number of participants sent so far, including this chunk.
+     * @param last Whether this is the final chunk.
+     * @param version The protocol version of the client.
+     * @return A chunk of the response for finding participants by team.
+     */
+    public static NetworkProtos.Response createParticipantsChunkResponse(Iterable<Participant> participants, long cursor, boolean last, int version) {
+        return createFindParticipantsByTeamResponse(participants, version).toBuilder()
+                .setCursor(cursor)
+                .setLast(last)
+                .build();
+    }
+
+    /**
+     * Encodes an id in the given protocol version: as text in the version 1, as two 64 bits numbers from the version 2.
+     * @param id The id to encode.
+     * @param version The protocol version of the client.
+     * @return The encoded id.
+     */
+    public static NetworkProtos.UUID createUUID(UUID id, int version) {
+        if (version >= VERSION_2) {
+            return NetworkProtos.UUID.newBuilder()
+                    .setMostSignificantBits(id.getMostSignificantBits())
+                    .setLeastSignificantBits(id.getLeastSignificantBits())
+                    .build();
+        }
+        return NetworkProtos.UUID.newBuilder()
+                .setValue(id.toString())
+                .build();
+    }
+
+    /**
+     * Decodes an id of any protocol version.
+     * @param id The encoded id.
+     * @return The id.
+     */
+    public static UUID parseUUID(NetworkProtos.UUID id) {
+        if (id.getValue().isEmpty()) {
+            return new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+        return UUID.fromString(id.getValue());
+    }
+
+    /**
+     * Decodes the single participant of a response, of any protocol version.
+     * @param response The response carrying the participant.
+     * @return The participant.
+     */
+    public static Participant parseParticipant(NetworkProtos.Response response) {
+        return parseParticipant(response.getParticipant(), response.getTeamsList());
+    }
+
+    /**
+     * Decodes the participants of a response, of any protocol version.
+     * @param response The response carrying the participants.
+     * @return The participants, in the order they were sent.
+     */
+    public static List<Participant> parseParticipants(NetworkProtos.Response response) {
+        List<String> teams = response.getTeamsList();
+        List<Participant> participants = new ArrayList<>(response.getParticipantsCount());
+        for (NetworkProtos.Participant participant : response.getParticipantsList()) {
+            participants.add(parseParticipant(participant, teams));
+        }
+        return participants;
+    }
+
+    /**
+     * Starts encoding a participant in the given protocol version, without its team.
+     */
+    private static NetworkProtos.Participant.Builder createParticipant(Participant participant, int version) {
+        return NetworkProtos.Participant.newBuilder()
+                .setId(createUUID(participant.getId(), version))
+                .setFirstName(participant.getFirstName())
+                .setLastName(participant.getLastName())
+                .setEngineCapacity(participant.getEngineCapacity());
+    }
+
+    /**
+     * Adds the participants to a response in the given protocol version.
+     * From the version 2, every distinct team is added once to the teams of the response, and the participants refer to it.
+     */
+    private static void addParticipants(NetworkProtos.Response.Builder builder, Iterable<Participant> participants, int version) {
+        if (version < VERSION_2) {
+            for (Participant participant : participants) {
+                builder.addParticipants(createParticipant(participant, version).setTeam(participant.getTeam()));
+            }
+            return;
+        }
+
+        Map<String, Integer> teams = new HashMap<>();
+        for (Participant participant : participants) {
+            Integer index = teams.get(participant.getTeam());
+            if (index == null) {
+                index = teams.size();
+                teams.put(participant.getTeam(), index);
+                builder.addTeams(participant.getTeam());
+            }
+            builder.addParticipants(createParticipant(participant, version).setTeamIndex(index));
+        }
+    }
+
+    /**
+     * Decodes a participant of any protocol version, looking its team up in the teams of the response from the version 2.
+     */
+    private static Participant parseParticipant(NetworkProtos.Participant participant, List<String> teams) {
+        return new Participant.Builder()
+                .setId(parseUUID(participant.getId()))
+                .setFirstName(participant.getFirstName())
+                .setLastName(participant.getLastName())
+                .setTeam(teams.isEmpty() ? participant.getTeam() : teams.get(participant.getTeamIndex()))
+                .setEngineCapacity(participant.getEngineCapacity())
                 .build();
     }
 
@@ -224,4 +628,21 @@ public class ProtocolUtils {
                 .build();
     }
 
+    /**
+     * Encodes a response into a length delimited frame, as written on the wire.
+     * @param response The response to encode.
+     * @return A buffer holding the frame.
+     * @throws IOException If the response couldn't be encoded.
+     */
+    public static ByteBuffer createFrame(NetworkProtos.Response response) throws IOException {
+        int size = response.getSerializedSize();
+        byte[] frame = new byte[CodedOutputStream.computeUInt32SizeNoTag(size) + size];
+
+        CodedOutputStream output = CodedOutputStream.newInstance(frame);
+        output.writeUInt32NoTag(size);
+        response.writeTo(output);
+        output.checkNoSpaceLeft();
+
+        return ByteBuffer.wrap(frame);
+    }
 }
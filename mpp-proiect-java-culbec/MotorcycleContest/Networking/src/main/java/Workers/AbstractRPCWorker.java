@@ -0,0 +1,637 @@
+package Workers;
+
+import CommonUtils.Bootstrap;
+import CommonUtils.IService;
+import CommonUtils.Observer;
+import CommonUtils.Resumption;
+import Exceptions.AppException;
+import Exceptions.ServiceException;
+import Model.Participant;
+import Model.Race;
+import Model.User;
+import NetworkUtils.Broadcaster;
+import NetworkUtils.FrameCompressor;
+import NetworkUtils.ServerException;
+import NetworkUtils.SessionStore;
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handles the requests of a single client, independently of the transport used to talk to it.
+ */
+public abstract class AbstractRPCWorker implements Observer {
+    // Handlers of the requests, indexed by the ordinal of the request type.
+    private static final MethodHandle[] HANDLERS = createHandlers();
+
+    protected final Logger logger = LogManager.getLogger(this.getClass());
+
+    protected final IService server;
+    private final Broadcaster broadcaster;
+    // The updates are received only while the client is logged in.
+    private volatile Broadcaster.Subscription subscription;
+
+    protected volatile boolean connected;
+    // The user logged in on this connection, null if none is.
+    private volatile User user;
+    // The last time a request was received, as given by System.nanoTime().
+    private volatile long lastActivity = System.nanoTime();
+    // The size of the smallest frame compressed if the client asks for it, 0 if the frames stay raw.
+    private int compressionThreshold = 0;
+    // Compresses the large frames of the client once it negotiated compression, null until then.
+    private volatile FrameCompressor compressor;
+    // The protocol version of the client, raised by its HELLO request.
+    private volatile int protocolVersion = ProtocolUtils.VERSION_1;
+    // Issues the token of the session of the client when it logs in, null if the server issues none.
+    private SessionStore sessionStore = null;
+
+    protected AbstractRPCWorker(IService server, Broadcaster broadcaster) {
+        this.server = server;
+        this.broadcaster = broadcaster;
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * @return The last time a request was received, as given by {@link System#nanoTime()}.
+     */
+    public long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Lets the client negotiate the compression of the frames. Must be called before serving the client.
+     *
+     * @param compressionThreshold The size of the smallest frame compressed, 0 to keep the frames raw.
+     */
+    public void setCompressionThreshold(int compressionThreshold) {
+        this.compressionThreshold = compressionThreshold;
+    }
+
+    /**
+     * Lets the client log in again with the token of its session. Must be called before serving the client.
+     *
+     * @param sessionStore The sessions of the logged in users, null to issue no tokens.
+     */
+    public void setSessionStore(SessionStore sessionStore) {
+        this.sessionStore = sessionStore;
+    }
+
+    /**
+     * @return The compressor of the frames of the client, null if it didn't negotiate compression.
+     */
+    public FrameCompressor getCompressor() {
+        return compressor;
+    }
+
+    /**
+     * @return The protocol version negotiated by the client, the version 1 if it didn't.
+     */
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    /**
+     * Records that the client sent a request, so its connection isn't idle.
+     */
+    public void touch() {
+        this.lastActivity = System.nanoTime();
+    }
+
+    /**
+     * Logs out the client, if it is still logged in, and closes its connection.
+     * Used when the client is gone without logging out, so it is no longer notified.
+     */
+    public void disconnect() {
+        logger.traceEntry("Disconnecting the client...");
+        User current = this.user;
+        if (current != null) {
+            this.user = null;
+            try {
+                this.server.logout(current, this);
+            } catch (ServiceException | AppException e) {
+                logger.error("Error when logging out the client: {}", e.getMessage());
+            }
+        }
+
+        this.connected = false;
+        this.shutdown();
+        logger.traceExit();
+    }
+
+    /**
+     * Tells the client that the server is closing and closes its connection, once its queued frames are written.
+     * Used when the server shuts down.
+     */
+    public void close() {
+        logger.traceEntry("Closing the connection of the client...");
+        this.sendResponse(ProtocolUtils.createConnectionClosedResponse());
+        this.connected = false;
+        this.shutdown();
+        logger.traceExit();
+    }
+
+    /**
+     * Sends the response to the client.
+     *
+     * @param response The response to send.
+     */
+    protected abstract void sendResponse(NetworkProtos.Response response);
+
+    /**
+     * Sends an update, already encoded by the broadcaster, to the client.
+     *
+     * @param frame The length delimited frame to send.
+     * @throws IOException If the frame couldn't be sent.
+     */
+    protected abstract void sendFrame(ByteBuffer frame) throws IOException;
+
+    /**
+     * @return Whether {@link #sendFrame} queues the update in a bounded queue of the worker, without waiting on the socket,
+     * so the broadcaster hands it the updates instead of queueing them too.
+     */
+    protected boolean queuesUpdates() {
+        return false;
+    }
+
+    /**
+     * Compresses the large frames sent to the client from now on, and restores the compressed frames it sends.
+     * Called while handling the HELLO request, before its response is sent.
+     *
+     * @param compressor The compressor of the frames.
+     */
+    protected abstract void enableCompression(FrameCompressor compressor);
+
+    /**
+     * Executes the procedures related to the shutdown process of the worker.
+     */
+    protected abstract void shutdown();
+
+    /**
+     * Stops the updates of the client, if it is subscribed to them.
+     */
+    protected void unsubscribe() {
+        Broadcaster.Subscription current = this.subscription;
+        if (current != null) {
+            this.subscription = null;
+            broadcaster.unsubscribe(current);
+        }
+    }
+
+    /**
+     * Creates the dispatch table of the requests, shared by all the workers.
+     * Every request type must have a {@code handle<TYPE>} method.
+     *
+     * @return The handlers of the requests, indexed by the ordinal of the request type.
+     * @throws IllegalStateException If a request type has no handler.
+     */
+    private static MethodHandle[] createHandlers() {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType handlerType = MethodType.methodType(NetworkProtos.Response.class, NetworkProtos.Request.class);
+
+        MethodHandle[] handlers = new MethodHandle[NetworkProtos.Request.type.values().length];
+        for (NetworkProtos.Request.type type : NetworkProtos.Request.type.values()) {
+            if (type == NetworkProtos.Request.type.UNRECOGNIZED) {
+                continue;
+            }
+            try {
+                handlers[type.ordinal()] = lookup.findVirtual(AbstractRPCWorker.class, "handle" + type.name(), handlerType);
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new IllegalStateException("No handler for the request: " + type.name(), e);
+            }
+        }
+        return handlers;
+    }
+
+    /**
+     * Checks if the client stopped waiting for the response of a request.
+     *
+     * @param request    The request to check.
+     * @param receivedAt The time the request was received, as given by {@link System#nanoTime()}.
+     * @return true if the request has a deadline and it passed, false otherwise.
+     */
+    public static boolean isExpired(NetworkProtos.Request request, long receivedAt) {
+        // Measured from the arrival of the request, so the clocks of the client and the server don't have to agree.
+        return request.getTimeout() > 0
+                && System.nanoTime() - receivedAt > TimeUnit.MILLISECONDS.toNanos(request.getTimeout());
+    }
+
+    /**
+     * Handles the request and returns the response.
+     *
+     * @param request The request to handle.
+     * @return The response of the request.
+     */
+    public NetworkProtos.Response handleRequest(NetworkProtos.Request request) throws ServerException {
+        logger.traceEntry("Handling the request: {}", request.getRequestType());
+        MethodHandle handler = HANDLERS[request.getRequestType().ordinal()];
+        if (handler == null) {
+            logger.error("Unknown request type: {}", request.getRequestTypeValue());
+            throw new ServerException("Unknown request type: " + request.getRequestTypeValue());
+        }
+
+        try {
+            NetworkProtos.Response response = (NetworkProtos.Response) handler.invokeExact(this, request);
+
+            // Tagging the response with the id of its request.
+            response = response.toBuilder().setRequestId(request.getRequestId()).build();
+            logger.traceExit("Returning the response: {}", response);
+            return response;
+        } catch (Throwable e) {
+            logger.error("Error when invoking the handler: {}", e.getMessage());
+            throw new ServerException("Error when invoking the handler: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the LOGIN request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to log in the user.
+     */
+    private NetworkProtos.Response handleLOGIN(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the LOGIN request...");
+
+        try {
+            logger.info("Logging in the user...");
+            User user = this.server.login(request.getUsername(), request.getPassword(), this);
+            logger.info("User logged in: {}", user);
+            this.startSession(user);
+
+            logger.traceExit("Returning the response...");
+            return this.issueSessionToken(ProtocolUtils.createLoginResponse(user), user);
+        } catch (Exception e) {
+            logger.error("Error when logging in: {}", e.getMessage());
+            this.connected = false;
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the BOOTSTRAP request, logging in the user like the LOGIN request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request, with the user, the races and their engine capacities.
+     */
+    private NetworkProtos.Response handleBOOTSTRAP(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the BOOTSTRAP request...");
+
+        try {
+            logger.info("Bootstrapping the user...");
+            Bootstrap bootstrap = this.server.bootstrap(request.getUsername(), request.getPassword(), this);
+            logger.info("User logged in: {}", bootstrap.user());
+            this.startSession(bootstrap.user());
+
+            logger.traceExit("Returning the response...");
+            return this.issueSessionToken(ProtocolUtils.createBootstrapResponse(bootstrap), bootstrap.user());
+        } catch (Exception e) {
+            logger.error("Error when bootstrapping: {}", e.getMessage());
+            this.connected = false;
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the RESUME_SESSION request, logging in the user with the token of its session instead of its password.
+     * The connection stays open if the session ended, so the client can log in with its password.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to resume the session.
+     */
+    private NetworkProtos.Response handleRESUME_SESSION(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the RESUME_SESSION request...");
+
+        SessionStore current = this.sessionStore;
+        User user = current == null ? null : current.validate(request.getUsername(), request.getSessionToken());
+        if (user == null) {
+            logger.warn("The session of the user {} is invalid or ended.", request.getUsername());
+            return ProtocolUtils.createErrorResponse("The session is invalid or ended!");
+        }
+
+        try {
+            this.server.resumeSession(user, this);
+            logger.info("Session resumed: {}", user);
+            this.startSession(user);
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createLoginResponse(user).toBuilder().setSessionToken(request.getSessionToken()).build();
+        } catch (Exception e) {
+            logger.error("Error when resuming the session: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Adds the token of a new session of the user to the response of its login, if the server issues tokens.
+     *
+     * @param response The response of the login.
+     * @param user     The user that logged in.
+     * @return The response, with the token of the session.
+     */
+    private NetworkProtos.Response issueSessionToken(NetworkProtos.Response response, User user) {
+        SessionStore current = this.sessionStore;
+        if (current == null) {
+            return response;
+        }
+        return response.toBuilder().setSessionToken(current.issue(user)).build();
+    }
+
+    /**
+     * Starts receiving the updates of the user that logged in.
+     *
+     * @param user The user that logged in on this connection.
+     */
+    private void startSession(User user) {
+        this.user = user;
+        FrameCompressor current = this.compressor;
+        this.subscription = broadcaster.subscribe(this, this::sendFrame, current == null ? 0 : current.getThreshold(), protocolVersion, queuesUpdates());
+    }
+
+    /**
+     * Handles the LOGOUT request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to log out the user.
+     */
+    private NetworkProtos.Response handleLOGOUT(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the LOGOUT request...");
+
+        try {
+            NetworkProtos.User userProto = request.getUser();
+            User user = new User.Builder()
+                    .setId(userProto.getId())
+                    .setFirstName(userProto.getFirstName())
+                    .setLastName(userProto.getLastName())
+                    .setUsername(userProto.getUsername())
+                    .build();
+
+            this.server.logout(user, this);
+            // Ending the session of the client too, unlike a lost connection, after which it may resume it.
+            User current = this.user;
+            if (this.sessionStore != null && current != null) {
+                this.sessionStore.revoke(current.getUsername());
+            }
+            this.user = null;
+            this.unsubscribe();
+            this.connected = false;
+            return ProtocolUtils.createLogoutResponse();
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when logging out: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the PING request.
+     *
+     * @param request The request to handle.
+     * @return The PONG response. Receiving the request already marked the connection as active.
+     */
+    private NetworkProtos.Response handlePING(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the PING request...");
+        return ProtocolUtils.createPongResponse();
+    }
+
+    /**
+     * Handles the HELLO request, choosing the highest protocol version supported by both ends,
+     * and DEFLATE if the client offers it and the server compresses the frames.
+     *
+     * @param request The request to handle.
+     * @return The response of the request, with the protocol version and the compression chosen.
+     */
+    private NetworkProtos.Response handleHELLO(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the HELLO request...");
+
+        // A client not sending its version speaks the version 1.
+        this.protocolVersion = Math.max(ProtocolUtils.VERSION_1, Math.min(request.getVersion(), ProtocolUtils.PROTOCOL_VERSION));
+        logger.info("Speaking the protocol version {}.", protocolVersion);
+
+        if (compressionThreshold <= 0 || !request.getCompressionsList().contains(NetworkProtos.Compression.DEFLATE)) {
+            logger.traceExit("The frames stay raw.");
+            return ProtocolUtils.createHelloResponse(NetworkProtos.Compression.NONE, protocolVersion);
+        }
+        if (this.compressor == null) {
+            this.compressor = new FrameCompressor(compressionThreshold);
+            this.enableCompression(this.compressor);
+        }
+
+        logger.traceExit("Compressing the frames of at least {} bytes.", compressionThreshold);
+        return ProtocolUtils.createHelloResponse(NetworkProtos.Compression.DEFLATE, protocolVersion);
+    }
+
+    /**
+     * Handles the SUBSCRIBE request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to subscribe the client to the teams and races.
+     */
+    private NetworkProtos.Response handleSUBSCRIBE(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the SUBSCRIBE request...");
+
+        try {
+            this.server.subscribe(request.getTeamsList(), request.getEngineCapacitiesList(), this);
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.OKResponse;
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when subscribing: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the UNSUBSCRIBE request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to unsubscribe the client from the teams and races.
+     */
+    private NetworkProtos.Response handleUNSUBSCRIBE(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the UNSUBSCRIBE request...");
+
+        try {
+            this.server.unsubscribe(request.getTeamsList(), request.getEngineCapacitiesList(), this);
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.OKResponse;
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when unsubscribing: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the RESUME request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request, with the missed participants and the current races, or the snapshot flag.
+     */
+    private NetworkProtos.Response handleRESUME(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the RESUME request...");
+
+        try {
+            Resumption resumption = this.server.resume(request.getEpoch(), request.getSequence(),
+                    request.getTeamsList(), request.getEngineCapacitiesList(), this);
+            logger.info("Replaying {} missed participants...", resumption.missed().size());
+
+            // The counts of the races changed only if participants were missed.
+            Iterable<Race> races = resumption.missed().isEmpty() ? List.of() : this.server.findAllRaces();
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createResumeResponse(resumption, races, protocolVersion);
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when resuming: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the ADD_PARTICIPANT request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to add the participant.
+     */
+    private NetworkProtos.Response handleADD_PARTICIPANT(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the ADD_PARTICIPANT request...");
+
+        try {
+            logger.info("Extracting the relevant data regarding the participant...");
+            String firstName = request.getParticipant().getFirstName();
+            String lastName = request.getParticipant().getLastName();
+            String team = request.getParticipant().getTeam();
+            int engineCapacity = request.getParticipant().getEngineCapacity();
+
+            logger.info("Adding the participant...");
+            this.server.addParticipant(firstName, lastName, team, engineCapacity);
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createAddParticipantResponse(request.getParticipant());
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when adding the participant: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the FIND_PARTICIPANTS_BY_TEAM request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to find the participants by team.
+     */
+    private NetworkProtos.Response handleFIND_PARTICIPANTS_BY_TEAM(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the FIND_PARTICIPANTS_BY_TEAM request...");
+
+        if (request.getChunkSize() > 0) {
+            return this.streamParticipantsByTeam(request);
+        }
+
+        try {
+            logger.info("Finding the participants by team...");
+
+            String team = request.getTeam();
+            var participants = this.server.findParticipantsByTeam(team);
+            logger.info("Participants found: {}", ((List<Participant>) participants).size());
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createFindParticipantsByTeamResponse(participants, protocolVersion);
+        } catch (ServiceException e) {
+            logger.error("Error when finding the participants by team: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        } catch (AppException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Streams the participants of a team in chunks, sending every chunk but the final one as soon as it is read.
+     *
+     * @param request The FIND_PARTICIPANTS_BY_TEAM request, with a chunk size.
+     * @return The final chunk of the response.
+     */
+    private NetworkProtos.Response streamParticipantsByTeam(NetworkProtos.Request request) {
+        logger.traceEntry("Streaming the participants of the team {} in chunks of {}...", request.getTeam(), request.getChunkSize());
+        NetworkProtos.Response[] finalChunk = new NetworkProtos.Response[1];
+
+        try {
+            this.server.findParticipantsByTeam(request.getTeam(), request.getCursor(), request.getChunkSize(), (chunk, cursor, last) -> {
+                NetworkProtos.Response response = ProtocolUtils.createParticipantsChunkResponse(chunk, cursor, last, protocolVersion);
+                if (last) {
+                    // Returned as the response of the request, sent after the chunks before it.
+                    finalChunk[0] = response;
+                } else {
+                    this.sendResponse(response.toBuilder().setRequestId(request.getRequestId()).build());
+                }
+            });
+
+            logger.traceExit("Returning the final chunk...");
+            return finalChunk[0];
+        } catch (ServiceException | AppException e) {
+            logger.error("Error when streaming the participants by team: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the FIND_RACES request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to find all the races.
+     */
+    private NetworkProtos.Response handleFIND_RACES(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the FIND_RACES request...");
+
+        try {
+            logger.info("Finding all the races...");
+            var races = this.server.findAllRaces();
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createFindAllRacesResponse(races);
+        } catch (ServiceException e) {
+            logger.error("Error when trying to find all the races: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handles the FIND_ENGINE_CAPACITIES request.
+     *
+     * @param request The request to handle.
+     * @return The response of the request after trying to find all the engine capacities.
+     */
+    private NetworkProtos.Response handleFIND_ENGINE_CAPACITIES(NetworkProtos.Request request) {
+        logger.traceEntry("Handling the FIND_ENGINE_CAPACITIES request...");
+
+        try {
+            logger.info("Finding all the engine capacities of the races...");
+            var engineCapacities = this.server.findAllRaceEngineCapacities();
+
+            logger.traceExit("Returning the response...");
+            return ProtocolUtils.createFindAllRaceEngineCapacitiesResponse(engineCapacities);
+        } catch (ServiceException e) {
+            logger.error("Error when trying to find all the engine capacities: {}", e.getMessage());
+            return ProtocolUtils.createErrorResponse(e.getMessage());
+        }
+    }
+
+    @Override
+    public void participantAdded(Participant participant) throws AppException {
+        logger.traceEntry("Notifying the observer that a participant was added: {}", participant);
+        NetworkProtos.Response response = ProtocolUtils.createParticipantAddedResponse(participant, protocolVersion);
+
+        try {
+            this.sendResponse(response);
+        } catch (Exception e) {
+            logger.error("Error when notifying the observer: {}", e.getMessage());
+            throw new AppException("Error when notifying the observer: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package Workers;
+
+import CommonUtils.IService;
+import NetworkUtils.Broadcaster;
+import NetworkUtils.ChannelSession;
+import NetworkUtils.FrameCompressor;
+import Protocol.NetworkProtos;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Worker of a client served by the {@code ProtobufNioServer}.
+ * It doesn't own a thread: the server hands it the decoded requests on its worker pool.
+ */
+public class RPCChannelWorker extends AbstractRPCWorker {
+    private final ChannelSession session;
+
+    public RPCChannelWorker(IService server, Broadcaster broadcaster, ChannelSession session) {
+        super(server, broadcaster);
+        this.session = session;
+        this.connected = true;
+    }
+
+    @Override
+    protected void sendResponse(NetworkProtos.Response response) {
+        logger.traceEntry("Sending the response: {}", response.getResponseType().name());
+        try {
+            this.session.write(response);
+            logger.traceExit("Response queued.");
+        } catch (IOException e) {
+            logger.error("Error when sending the response: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    protected void sendFrame(ByteBuffer frame) {
+        this.session.writeFrame(frame);
+    }
+
+    @Override
+    protected void enableCompression(FrameCompressor compressor) {
+        this.session.setCompressor(compressor);
+    }
+
+    @Override
+    protected void shutdown() {
+        logger.traceEntry("Shutting down the worker...");
+        this.unsubscribe();
+        this.connected = false;
+        this.session.closeAfterFlush();
+        logger.traceExit("Client disconnected.");
+    }
+}
@@ -1,54 +1,69 @@
 package Workers;
 
 import CommonUtils.IService;
-import CommonUtils.Observer;
-import Exceptions.AppException;
-import Exceptions.ServiceException;
-import Model.Participant;
-import Model.User;
+import NetworkUtils.AdmissionController;
+import NetworkUtils.Broadcaster;
+import NetworkUtils.Connection;
+import NetworkUtils.FrameCodec;
+import NetworkUtils.FrameCompressor;
+import NetworkUtils.OutboundWriter;
 import NetworkUtils.ServerException;
 import Protocol.NetworkProtos;
-import Protocol.ProtocolUtils;
-import org.apache.logging.log4j.LogManager;
-import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.net.Socket;
-import java.util.List;
-
-public class RPCReflectionWorker implements Runnable, Observer {
-    private final Logger logger = LogManager.getLogger(this.getClass());
-
-    private final IService server;
-    private final Socket connection;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class RPCReflectionWorker extends AbstractRPCWorker implements Runnable {
+    private static final int MAX_FRAME_SIZE = 1 << 20;
+    // Milliseconds the queued frames are given to be written when the connection is closed.
+    private static final int CLOSE_TIMEOUT = 1_000;
+
+    private final Connection connection;
+    // Caps the requests in flight on the server.
+    private final AdmissionController admission;
+    // Handles the requests concurrently, so a slow request doesn't delay the responses of the ones after it.
+    private final ExecutorService requestExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     private InputStream inputStream;
     private OutputStream outputStream;
+    // Frames the requests and the responses, reusing its buffers. Only the outbound writer writes with it.
+    private FrameCodec codec;
+    // Writes the responses and the updates from a thread of its own, so the request threads and the broadcaster never wait on the socket.
+    private OutboundWriter writer;
+    private final int outboundCapacity;
+    private final OutboundWriter.OverflowPolicy overflowPolicy;
+    // Milliseconds a read waits for a request, the idle timeout of the server's reaper. 0 waits indefinitely.
+    private final int idleTimeout;
+
+    public RPCReflectionWorker(IService server, Broadcaster broadcaster, Socket connection) throws ServerException {
+        this(server, broadcaster, connection, AdmissionController.unlimited());
+    }
 
-    private volatile boolean connected;
+    public RPCReflectionWorker(IService server, Broadcaster broadcaster, Socket connection, AdmissionController admission) throws ServerException {
+        this(server, broadcaster, Connection.of(connection), admission, OutboundWriter.DEFAULT_CAPACITY, OutboundWriter.OverflowPolicy.DROP, 0);
+    }
 
-    public RPCReflectionWorker(IService server, Socket connection) throws ServerException {
-        this.server = server;
+    /**
+     * @param connection       The connection of the client, over TCP or over a Unix domain socket.
+     * @param outboundCapacity The number of responses, and separately of updates, queued for the client at most.
+     * @param overflowPolicy   What happens to the updates sent while the client's queue of updates is full.
+     * @param idleTimeout      The idle timeout of the server, in milliseconds, 0 if the connections never idle out.
+     */
+    public RPCReflectionWorker(IService server, Broadcaster broadcaster, Connection connection, AdmissionController admission,
+                               int outboundCapacity, OutboundWriter.OverflowPolicy overflowPolicy, int idleTimeout) throws ServerException {
+        super(server, broadcaster);
         this.connection = connection;
+        this.admission = admission;
+        this.outboundCapacity = outboundCapacity;
+        this.overflowPolicy = overflowPolicy;
+        this.idleTimeout = idleTimeout;
         this.initializeConnection();
-
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-
-            try {
-                NetworkProtos.Response response = ProtocolUtils.createConnectionClosedResponse();
-                response.writeDelimitedTo(outputStream);
-                outputStream.flush();
-
-                connected = false;
-                shutdown();
-            } catch (IOException e) {
-                logger.error("Error when closing the connection: {}", e.getMessage());
-            }
-        }));
     }
 
     /**
@@ -58,9 +73,15 @@ public class RPCReflectionWorker implements Runnable, Observer {
      */
     private void initializeConnection() throws ServerException {
         try {
+            // Every response is written at once, and a vanished client is detected where the transport allows it.
+            this.connection.configure(idleTimeout);
+
             this.outputStream = connection.getOutputStream();
             this.outputStream.flush();
             this.inputStream = connection.getInputStream();
+            this.codec = new FrameCodec(inputStream, outputStream, FrameCodec.DEFAULT_BUFFER_SIZE, MAX_FRAME_SIZE);
+            // Disconnecting on a thread of its own, so a broadcaster handing an update to a lagging client doesn't wait for the close.
+            this.writer = new OutboundWriter(codec, outboundCapacity, overflowPolicy, () -> Thread.ofVirtual().start(this::disconnect));
 
             this.connected = true;
 
@@ -77,241 +98,127 @@ public class RPCReflectionWorker implements Runnable, Observer {
         while (connected) {
             logger.info("Waiting for a request...");
             try {
-                NetworkProtos.Request request = NetworkProtos.Request.parseDelimitedFrom(this.inputStream);
+                NetworkProtos.Request request = this.codec.read(NetworkProtos.Request.parser());
+                long receivedAt = System.nanoTime();
+                this.touch();
 
                 if (request == null) {
-                    logger.error("Error when reading the request: The request is null.");
+                    // The stream reached its end: the client closed the connection.
+                    logger.info("The client closed the connection.");
+                    this.connected = false;
+                    break;
+                }
 
-                    logger.info("Checking if the connection is still up.");
-                    if (this.connection.isClosed()) {
-                        logger.error("The connection is closed.");
-                        this.connected = false;
-                        break;
-                    }
+                logger.info("Received the request: {}", request.getRequestType().name());
 
-                    logger.info("The connection is still up.");
-                    logger.info("Notifying the client that the request was invalid.");
-                    this.sendResponse(ProtocolUtils.createErrorResponse("Received request is null."));
+                // Refusing the request at once if the server is at its capacity.
+                if (!admission.tryAdmitRequest(request)) {
+                    logger.warn("Too many requests in flight. Refusing the request: {}", request.getRequestId());
+                    this.sendResponse(admission.createOverloadedResponse(request));
                     continue;
                 }
 
-                logger.info("Received the request: {}", request.getRequestType().name());
-
-                NetworkProtos.Response response = this.handleRequest(request);
-                if (response != null) {
-                    this.sendResponse(response);
+                // The session requests change the state of the worker, so they are handled in order.
+                if (isSessionRequest(request)) {
+                    this.serveRequest(request, receivedAt);
                 } else {
-                    logger.error("Error when handling the request: The response is null.");
+                    requestExecutor.execute(() -> this.serveRequest(request, receivedAt));
                 }
-
-            } catch (Exception e) {
+            } catch (SocketTimeoutException e) {
+                // Nothing to do while the client is idle, the keepalive probes detect if it vanished.
+                logger.info("The client is idle.");
+            } catch (IOException e) {
                 logger.error("Error when reading the request: {}", e.getMessage());
-            }
-            try {
-                Thread.sleep(2000);
+                this.connected = false;
             } catch (Exception e) {
-                logger.error("Error when sleeping the thread: {}", e.getMessage());
+                logger.error("Error when handling the request: {}", e.getMessage());
             }
         }
 
         logger.traceExit("Worker finished.");
-        this.shutdown();
+        // Logging out the client if the connection was lost while it was logged in.
+        this.disconnect();
     }
 
     /**
-     * Sends the response to the client.
+     * Handles the request and sends its response, tagged with the id of the request.
+     * The request is skipped if the client stopped waiting for it.
+     * Either way, it is released from the admission controller.
      *
-     * @param response The response to send.
+     * @param request    The request to serve.
+     * @param receivedAt The time the request was received, as given by {@link System#nanoTime()}.
      */
-    private synchronized void sendResponse(NetworkProtos.Response response) {
-        logger.traceEntry("Sending the response: {}", response.getResponseType().name());
+    private void serveRequest(NetworkProtos.Request request, long receivedAt) {
         try {
-            response.writeDelimitedTo(this.outputStream);
-            this.outputStream.flush();
-            logger.traceExit("Response sent.");
-        } catch (IOException e) {
-            logger.error("Error when sending the response: {}", e.getMessage());
-        }
-    }
-
-    private static final NetworkProtos.Response OK_RESPONSE = NetworkProtos.Response.newBuilder()
-            .setResponseType(NetworkProtos.Response.type.OK)
-            .build();
-
-    /**
-     * Handles the request and returns the response.
-     *
-     * @param request The request to handle.
-     * @return The response of the request.
-     */
-    private NetworkProtos.Response handleRequest(NetworkProtos.Request request) throws ServerException {
-        logger.traceEntry("Handling the request: {}", request.getRequestType().name());
-        String handlerName = "handle" + request.getRequestType().name();
-
-        try {
-            logger.info("Invoking the handler: {}", handlerName);
-            Method method = this.getClass().getDeclaredMethod(handlerName, NetworkProtos.Request.class);
+            if (isExpired(request, receivedAt)) {
+                logger.warn("Skipping the request {}: its deadline passed.", request.getRequestId());
+                return;
+            }
 
-            NetworkProtos.Response response = (NetworkProtos.Response) method.invoke(this, request);
-            logger.traceExit("Returning the response: {}", response);
-            return response;
-        } catch (InvocationTargetException | NoSuchMethodException | IllegalAccessException e) {
-            logger.error("Error when invoking the handler: {}", e.getMessage());
-            throw new ServerException("Error when invoking the handler: " + e.getMessage());
+            NetworkProtos.Response response = this.handleRequest(request);
+            if (response != null) {
+                this.sendResponse(response);
+            } else {
+                logger.error("Error when handling the request: The response is null.");
+            }
+        } catch (ServerException e) {
+            logger.error("Error when handling the request: {}", e.getMessage());
+        } finally {
+            admission.releaseRequest();
         }
     }
 
     /**
-     * Handles the LOGIN request.
+     * Checks if the request changes the session of the client.
      *
-     * @param request The request to handle.
-     * @return The response of the request after trying to log in the user.
+     * @param request The request to check.
+     * @return true if the request is a HELLO, LOGIN, BOOTSTRAP, RESUME_SESSION, LOGOUT, SUBSCRIBE, UNSUBSCRIBE or RESUME request,
+     * false otherwise.
      */
-    private NetworkProtos.Response handleLOGIN(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the LOGIN request...");
-
-        try {
-            logger.info("Logging in the user...");
-            User user = this.server.login(request.getUsername(), request.getPassword(), this);
-            logger.info("User logged in: {}", user);
-
-            logger.traceExit("Returning the response...");
-            return ProtocolUtils.createLoginResponse(user);
-        } catch (Exception e) {
-            logger.error("Error when logging in: {}", e.getMessage());
-            this.connected = false;
-            return ProtocolUtils.createErrorResponse(e.getMessage());
-        }
+    private static boolean isSessionRequest(NetworkProtos.Request request) {
+        return switch (request.getRequestType()) {
+            case HELLO, LOGIN, BOOTSTRAP, RESUME_SESSION, LOGOUT, SUBSCRIBE, UNSUBSCRIBE, RESUME -> true;
+            default -> false;
+        };
     }
 
-    /**
-     * Handles the LOGOUT request.
-     *
-     * @param request The request to handle.
-     * @return The response of the request after trying to log out the user.
-     */
-    private NetworkProtos.Response handleLOGOUT(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the LOGOUT request...");
-
-        try {
-            NetworkProtos.User userProto = request.getUser();
-            User user = new User.Builder()
-                    .setId(userProto.getId())
-                    .setFirstName(userProto.getFirstName())
-                    .setLastName(userProto.getLastName())
-                    .setUsername(userProto.getUsername())
-                    .build();
-
-            this.server.logout(user, this);
-            this.connected = false;
-            return ProtocolUtils.createLogoutResponse();
-        } catch (ServiceException | AppException e) {
-            logger.error("Error when logging out: {}", e.getMessage());
-            return ProtocolUtils.createErrorResponse(e.getMessage());
-        }
-    }
-
-    /**
-     * Handles the ADD_PARTICIPANT request.
-     *
-     * @param request The request to handle.
-     * @return The response of the request after trying to add the participant.
-     */
-    private NetworkProtos.Response handleADD_PARTICIPANT(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the ADD_PARTICIPANT request...");
-
+    @Override
+    protected void sendResponse(NetworkProtos.Response response) {
+        logger.traceEntry("Sending the response: {}", response.getResponseType().name());
         try {
-            logger.info("Extracting the relevant data regarding the participant...");
-            String firstName = request.getParticipant().getFirstName();
-            String lastName = request.getParticipant().getLastName();
-            String team = request.getParticipant().getTeam();
-            int engineCapacity = request.getParticipant().getEngineCapacity();
-
-            logger.info("Adding the participant...");
-            this.server.addParticipant(firstName, lastName, team, engineCapacity);
-
-            logger.traceExit("Returning the response...");
-            return ProtocolUtils.createAddParticipantResponse(request.getParticipant());
-        } catch (ServiceException | AppException e) {
-            logger.error("Error when adding the participant: {}", e.getMessage());
-            return ProtocolUtils.createErrorResponse(e.getMessage());
+            this.writer.sendResponse(response);
+            logger.traceExit("Response queued.");
+        } catch (IOException e) {
+            logger.error("Error when sending the response: {}", e.getMessage());
         }
     }
 
-    /**
-     * Handles the FIND_PARTICIPANTS_BY_TEAM request.
-     *
-     * @param request The request to handle.
-     * @return The response of the request after trying to find the participants by team.
-     */
-    private NetworkProtos.Response handleFIND_PARTICIPANTS_BY_TEAM(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the FIND_PARTICIPANTS_BY_TEAM request...");
-
-        try {
-            logger.info("Finding the participants by team...");
-
-            String team = request.getTeam();
-            var participants = this.server.findParticipantsByTeam(team);
-            logger.info("Participants found: {}", ((List<Participant>) participants).size());
-
-            logger.traceExit("Returning the response...");
-            return ProtocolUtils.createFindParticipantsByTeamResponse(participants);
-        } catch (ServiceException e) {
-            logger.error("Error when finding the participants by team: {}", e.getMessage());
-            return ProtocolUtils.createErrorResponse(e.getMessage());
-        } catch (AppException e) {
-            throw new RuntimeException(e);
-        }
+    @Override
+    protected void sendFrame(ByteBuffer frame) throws IOException {
+        this.writer.sendUpdate(frame);
     }
 
-    /**
-     * Handles the FIND_RACES request.
-     *
-     * @param request The request to handle.
-     * @return The response of the request after trying to find all the races.
-     */
-    private NetworkProtos.Response handleFIND_RACES(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the FIND_RACES request...");
-
-        try {
-            logger.info("Finding all the races...");
-            var races = this.server.findAllRaces();
-
-            logger.traceExit("Returning the response...");
-            return ProtocolUtils.createFindAllRacesResponse(races);
-        } catch (ServiceException e) {
-            logger.error("Error when trying to find all the races: {}", e.getMessage());
-            return ProtocolUtils.createErrorResponse(e.getMessage());
-        }
+    @Override
+    protected boolean queuesUpdates() {
+        // The outbound writer is the only queue of the client, applying the configured overflow policy.
+        return true;
     }
 
-    /**
-     * Handles the FIND_ENGINE_CAPACITIES request.
-     *
-     * @param request The request to handle.
-     * @return The response of the request after trying to find all the engine capacities.
-     */
-    private NetworkProtos.Response handleFIND_ENGINE_CAPACITIES(NetworkProtos.Request request) {
-        logger.traceEntry("Handling the FIND_ENGINE_CAPACITIES request...");
-
-        try {
-            logger.info("Finding all the engine capacities of the races...");
-            var engineCapacities = this.server.findAllRaceEngineCapacities();
-
-            logger.traceExit("Returning the response...");
-            return ProtocolUtils.createFindAllRaceEngineCapacitiesResponse(engineCapacities);
-        } catch (ServiceException e) {
-            logger.error("Error when trying to find all the engine capacities: {}", e.getMessage());
-            return ProtocolUtils.createErrorResponse(e.getMessage());
-        }
+    @Override
+    protected void enableCompression(FrameCompressor compressor) {
+        // The client compresses only after reading the answer of its HELLO request, but the reads switch first anyway.
+        this.codec.setReadCompressor(compressor);
+        this.codec.setWriteCompressor(compressor);
     }
 
-    /**
-     * Executes the procedures related to the shutdown process of the worker.
-     */
-    private void shutdown() {
+    @Override
+    protected void shutdown() {
         logger.traceEntry("Shutting down the worker...");
+        this.unsubscribe();
         try {
+            requestExecutor.shutdown();
+            this.writer.close(CLOSE_TIMEOUT);
+
             logger.info("Closing the streams...");
 
             this.inputStream.close();
@@ -323,17 +230,4 @@ public class RPCReflectionWorker implements Runnable, Observer {
 
         logger.traceExit("Client disconnected.");
     }
-
-    @Override
-    public void participantAdded(Participant participant) throws AppException {
-        logger.traceEntry("Notifying the observer that a participant was added: {}", participant);
-        NetworkProtos.Response response = ProtocolUtils.createParticipantAddedResponse(participant);
-
-        try {
-            this.sendResponse(response);
-        } catch (Exception e) {
-            logger.error("Error when notifying the observer: {}", e.getMessage());
-            throw new AppException("Error when notifying the observer: " + e.getMessage());
-        }
-    }
 }
@@ -0,0 +1,1754 @@
+import CommonUtils.Bootstrap;
+import CommonUtils.ChunkConsumer;
+import CommonUtils.GUIObserver;
+import CommonUtils.IService;
+import CommonUtils.Observer;
+import CommonUtils.Resumption;
+import Exceptions.AppException;
+import Exceptions.ServiceException;
+import Model.Participant;
+import Model.Race;
+import Model.User;
+import NetworkUtils.AbstractServer;
+import NetworkUtils.AdmissionController;
+import NetworkUtils.Broadcaster;
+import NetworkUtils.ConnectionReaper;
+import NetworkUtils.FrameCodec;
+import NetworkUtils.FrameCompressor;
+import NetworkUtils.FrameDecoder;
+import NetworkUtils.OutboundWriter;
+import NetworkUtils.ProtobufNioServer;
+import NetworkUtils.ProtobufProxy;
+import NetworkUtils.ProtobufServer;
+import NetworkUtils.RaceCache;
+import NetworkUtils.ServerException;
+import NetworkUtils.SessionStore;
+import Protocol.NetworkProtos;
+import Protocol.ProtocolUtils;
+import Workers.AbstractRPCWorker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NetworkingTests {
+    @Test
+    @DisplayName("NetworkUtils.FrameDecoder test - Networking Test")
+    public void FrameDecoderTest() throws IOException, ServerException {
+        NetworkProtos.Request login = ProtocolUtils.createLoginRequest("andrew.garfield1", "1234");
+        NetworkProtos.Request races = ProtocolUtils.createFindAllRacesRequest();
+        NetworkProtos.Request team = ProtocolUtils.createFindParticipantsByTeamRequest("Suzuki".repeat(40));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        login.writeDelimitedTo(output);
+        races.writeDelimitedTo(output);
+        team.writeDelimitedTo(output);
+        byte[] bytes = output.toByteArray();
+
+        // Feeding the decoder one byte at a time, as a slow network would.
+        FrameDecoder decoder = new FrameDecoder(1024);
+        List<NetworkProtos.Request> decoded = new ArrayList<>();
+        for (byte current : bytes) {
+            byte[] frame = decoder.decode(ByteBuffer.wrap(new byte[]{current}));
+            if (frame != null) {
+                decoded.add(NetworkProtos.Request.parseFrom(frame));
+            }
+        }
+
+        assertEquals(3, decoded.size(), "All three requests should have been decoded.");
+        assertEquals(login, decoded.get(0), "The first request should be the login request.");
+        assertEquals(races, decoded.get(1), "The second request should be the races request.");
+        assertEquals(team, decoded.get(2), "The third request should be the team request, with a two byte length.");
+
+        // Feeding the whole stream at once.
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int frames = 0;
+        while (decoder.decode(buffer) != null) {
+            frames++;
+        }
+        assertEquals(3, frames, "All three frames should be decoded from a single buffer.");
+
+        FrameDecoder small = new FrameDecoder(16);
+        assertThrows(ServerException.class, () -> small.decode(ByteBuffer.wrap(bytes, bytes.length - team.getSerializedSize() - 2, 2)),
+                "Frames larger than the limit should be rejected.");
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.FrameCodec test - Networking Test")
+    public void FrameCodecTest() throws IOException {
+        NetworkProtos.Request login = ProtocolUtils.createLoginRequest("andrew.garfield1", "1234");
+        NetworkProtos.Request team = ProtocolUtils.createFindParticipantsByTeamRequest("Suzuki".repeat(40));
+        NetworkProtos.Response races = ProtocolUtils.createFindAllRacesResponse(new TestService().findAllRaces());
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        login.writeDelimitedTo(expected);
+        team.writeDelimitedTo(expected);
+        races.writeDelimitedTo(expected);
+
+        // Counting the writes reaching the stream, as every one of them is a packet on a socket.
+        AtomicInteger writes = new AtomicInteger();
+        ByteArrayOutputStream written = new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(byte[] bytes, int offset, int length) {
+                writes.incrementAndGet();
+                super.write(bytes, offset, length);
+            }
+
+            @Override
+            public synchronized void write(int current) {
+                writes.incrementAndGet();
+                super.write(current);
+            }
+        };
+        FrameCodec writer = new FrameCodec(new ByteArrayInputStream(new byte[0]), written, 1024, 1024);
+        writer.write(login);
+        writer.write(team);
+        writer.writeFrame(ProtocolUtils.createFrame(races));
+
+        assertEquals(3, writes.get(), "Every frame should be written at once.");
+        assertArrayEquals(expected.toByteArray(), written.toByteArray(), "The frames should match the ones of writeDelimitedTo.");
+
+        FrameCodec reader = new FrameCodec(new ByteArrayInputStream(written.toByteArray()), new ByteArrayOutputStream(), 16, 1024);
+        assertEquals(login, reader.read(NetworkProtos.Request.parser()), "The first frame should be the login request.");
+        assertEquals(team, reader.read(NetworkProtos.Request.parser()), "The second frame should span several buffers.");
+        assertEquals(races, reader.read(NetworkProtos.Response.parser()), "The third frame should be the races response.");
+        assertNull(reader.read(NetworkProtos.Response.parser()), "The end of the stream should be reported as null.");
+
+        FrameCodec small = new FrameCodec(new ByteArrayInputStream(expected.toByteArray()), new ByteArrayOutputStream(), 16, 16);
+        assertThrows(IOException.class, () -> small.read(NetworkProtos.Request.parser()),
+                "Frames larger than the limit should be rejected.");
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.OutboundWriter test - Networking Test")
+    public void OutboundWriterTest() throws Exception {
+        // A client that reads nothing until the test lets it.
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        ByteArrayOutputStream sent = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                writing.countDown();
+                try {
+                    released.await();
+                } catch (InterruptedException ignored) {
+                    // Writing early.
+                }
+                super.write(bytes, offset, length);
+            }
+        };
+        FrameCodec codec = new FrameCodec(new ByteArrayInputStream(new byte[0]), sent, FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20);
+        AtomicInteger failures = new AtomicInteger();
+        OutboundWriter writer = new OutboundWriter(codec, 2, OutboundWriter.OverflowPolicy.DROP, failures::incrementAndGet);
+
+        writer.sendUpdate(ProtocolUtils.createFrame(ProtocolUtils.createErrorResponse("update 0")));
+        assertTrue(writing.await(10, TimeUnit.SECONDS), "The first update should be written at once.");
+        writer.sendUpdate(ProtocolUtils.createFrame(ProtocolUtils.createErrorResponse("update 1")));
+        writer.sendUpdate(ProtocolUtils.createFrame(ProtocolUtils.createErrorResponse("update 2")));
+        assertThrows(IOException.class, () -> writer.sendUpdate(ProtocolUtils.createFrame(ProtocolUtils.createErrorResponse("update 3"))),
+                "An update above the capacity should be dropped.");
+        assertEquals(1, writer.getDropped());
+        assertEquals(0, failures.get(), "Dropping an update shouldn't disconnect the client.");
+        writer.sendResponse(ProtocolUtils.createErrorResponse("response").toBuilder().setRequestId(7).build());
+
+        released.countDown();
+        writer.close(10_000);
+        assertEquals(4, writer.getWritten());
+        assertEquals(2, writer.getFlushes(), "The frames queued while the client was slow should be written together.");
+
+        // The response overtakes the updates queued before it.
+        FrameCodec received = new FrameCodec(new ByteArrayInputStream(sent.toByteArray()), OutputStream.nullOutputStream(), FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20);
+        List<String> messages = new ArrayList<>();
+        NetworkProtos.Response response;
+        while ((response = received.read(NetworkProtos.Response.parser())) != null) {
+            messages.add(response.getErrorMessage());
+        }
+        assertEquals(List.of("update 0", "response", "update 1", "update 2"), messages);
+
+        // A client that can't keep up is disconnected under the DISCONNECT policy.
+        CountDownLatch stuck = new CountDownLatch(1);
+        OutputStream blocked = new OutputStream() {
+            @Override
+            public void write(int current) {
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                try {
+                    stuck.await();
+                } catch (InterruptedException ignored) {
+                    // Writing early.
+                }
+            }
+        };
+        OutboundWriter disconnecting = new OutboundWriter(new FrameCodec(new ByteArrayInputStream(new byte[0]), blocked, FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20),
+                1, OutboundWriter.OverflowPolicy.DISCONNECT, failures::incrementAndGet);
+        ByteBuffer frame = ProtocolUtils.createFrame(ProtocolUtils.createErrorResponse("update"));
+        assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 3; i++) {
+                disconnecting.sendUpdate(frame);
+            }
+        }, "The client should be disconnected once its queue overflows.");
+        assertEquals(1, failures.get());
+        stuck.countDown();
+        disconnecting.close(10_000);
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.Broadcaster test - Networking Test")
+    public void BroadcasterTest() throws Exception {
+        final int updates = 5;
+        final int queueCapacity = 2;
+        Broadcaster broadcaster = new Broadcaster(queueCapacity);
+
+        List<ByteBuffer> fastFrames = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch fastDone = new CountDownLatch(updates);
+        Observer fastClient = participant -> {
+        };
+        Broadcaster.Subscription fast = broadcaster.subscribe(fastClient, frame -> {
+            fastFrames.add(frame);
+            fastDone.countDown();
+        });
+
+        // The slow client blocks on its first update until released.
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        CountDownLatch slowReleased = new CountDownLatch(1);
+        List<ByteBuffer> slowFrames = Collections.synchronizedList(new ArrayList<>());
+        Observer slowClient = participant -> {
+        };
+        Broadcaster.Subscription slow = broadcaster.subscribe(slowClient, frame -> {
+            slowFrames.add(frame);
+            slowStarted.countDown();
+            try {
+                slowReleased.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+        });
+
+        Participant participant = new TestService().findParticipantsByTeam("Suzuki").iterator().next();
+        List<Observer> clients = List.of(fastClient, slowClient);
+        broadcaster.participantAdded(participant, 1, clients);
+        assertTrue(slowStarted.await(10, TimeUnit.SECONDS), "The slow client should receive the first update.");
+        for (int i = 1; i < updates; i++) {
+            // The fast client keeps up: it received the previous updates before the next one is published.
+            final int published = i;
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                while (fast.getDelivered() < published) {
+                    Thread.sleep(1);
+                }
+            }, "The fast client should receive the update while the slow one is blocked.");
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> broadcaster.participantAdded(participant, 1, clients),
+                    "Publishing shouldn't wait for the slow client.");
+        }
+
+        assertTrue(fastDone.await(10, TimeUnit.SECONDS), "The fast client should receive every update.");
+        assertEquals(updates, fast.getDelivered(), "Every update should be delivered to the fast client.");
+        assertEquals(0, fast.getDropped(), "No update should be dropped for the fast client.");
+        assertSame(fastFrames.get(0).array(), slowFrames.get(0).array(), "The update should be encoded once for every client.");
+
+        NetworkProtos.Response update = NetworkProtos.Response.parseDelimitedFrom(
+                new ByteArrayInputStream(fastFrames.get(0).array()));
+        assertEquals(NetworkProtos.Response.type.PARTICIPANT_ADDED, update.getResponseType(), "The frame should hold the update.");
+        assertEquals(participant.getId().toString(), update.getParticipant().getId().getValue(), "The update should carry the id.");
+
+        assertEquals(queueCapacity, slow.getLag(), "The queue of the slow client should be full.");
+        assertEquals(updates - 1 - queueCapacity, slow.getDropped(), "The updates over the capacity should be dropped.");
+
+        slowReleased.countDown();
+        broadcaster.unsubscribe(slow);
+        broadcaster.unsubscribe(fast);
+        assertTrue(broadcaster.getSubscriptions().isEmpty(), "No client should be subscribed anymore.");
+
+        // Only the given clients receive the update.
+        List<ByteBuffer> otherFrames = Collections.synchronizedList(new ArrayList<>());
+        Observer otherClient = added -> {
+        };
+        Broadcaster.Subscription other = broadcaster.subscribe(otherClient, otherFrames::add);
+        broadcaster.participantAdded(participant, 2, List.of(fastClient));
+        assertEquals(0, other.getLag() + other.getDelivered() + other.getDropped(), "The update shouldn't reach other clients.");
+        broadcaster.unsubscribe(other);
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.Broadcaster outbound overflow policy test - Networking Test")
+    public void BroadcasterOverflowPolicyTest() throws Exception {
+        Participant participant = new TestService().findParticipantsByTeam("Suzuki").iterator().next();
+        for (OutboundWriter.OverflowPolicy policy : List.of(OutboundWriter.OverflowPolicy.BLOCK, OutboundWriter.OverflowPolicy.DROP)) {
+            // A client that reads nothing until the test lets it.
+            CountDownLatch writing = new CountDownLatch(1);
+            CountDownLatch released = new CountDownLatch(1);
+            OutputStream slow = new OutputStream() {
+                @Override
+                public void write(int current) {
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) {
+                    writing.countDown();
+                    try {
+                        released.await();
+                    } catch (InterruptedException ignored) {
+                        // Writing early.
+                    }
+                }
+            };
+            OutboundWriter writer = new OutboundWriter(new FrameCodec(new ByteArrayInputStream(new byte[0]), slow,
+                    FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20), 1, policy, () -> {
+            });
+
+            // The broadcaster queues nothing for the client, the writer being its only queue.
+            Broadcaster broadcaster = new Broadcaster(16);
+            Observer client = added -> {
+            };
+            Broadcaster.Subscription subscription = broadcaster.subscribe(client, writer::sendUpdate, 0, ProtocolUtils.VERSION_1, true);
+            broadcaster.participantAdded(participant, 1, List.of(client));
+            assertTrue(writing.await(10, TimeUnit.SECONDS), "The first update should be written at once.");
+            broadcaster.participantAdded(participant, 2, List.of(client));
+
+            CompletableFuture<Void> third = CompletableFuture.runAsync(() -> {
+                try {
+                    broadcaster.participantAdded(participant, 3, List.of(client));
+                } catch (AppException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            if (policy == OutboundWriter.OverflowPolicy.BLOCK) {
+                Thread.sleep(200);
+                assertFalse(third.isDone(), "The publisher should wait for room in the queue of the client.");
+                assertEquals(0, subscription.getDropped(), "No update should be dropped while blocking.");
+            } else {
+                third.get(10, TimeUnit.SECONDS);
+                assertEquals(1, subscription.getDropped(), "The update over the capacity should be dropped once.");
+                assertEquals(1, writer.getDropped(), "The update should be dropped by the queue of the client.");
+            }
+            assertEquals(0, subscription.getLag(), "The broadcaster shouldn't queue the updates of the client.");
+
+            released.countDown();
+            third.get(10, TimeUnit.SECONDS);
+            writer.close(10_000);
+            long expected = policy == OutboundWriter.OverflowPolicy.BLOCK ? 3 : 2;
+            assertEquals(expected, subscription.getDelivered(), "The updates not dropped should be delivered.");
+            assertEquals(expected, writer.getWritten(), "The updates not dropped should be written.");
+            broadcaster.unsubscribe(subscription);
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.RaceCache test - Networking Test")
+    public void RaceCacheTest() {
+        RaceCache cache = new RaceCache();
+        assertNull(cache.getRaces(), "The races should be requested before they are cached.");
+
+        long version = cache.getVersion();
+        cache.putRaces(List.of(new Race.Builder().setId(1).setEngineCapacity(125).setNoParticipants(10).build()), version);
+        assertEquals(10, cache.getRaces().getFirst().getNoParticipants(), "The races should be served from the cache.");
+
+        Participant participant = new TestService().findParticipantsByTeam("Suzuki").iterator().next();
+        cache.participantAdded(participant);
+        assertEquals(11, cache.getRaces().getFirst().getNoParticipants(), "The added participant should be counted in its race.");
+
+        // A response requested before the participant was added is stale.
+        cache.putRaces(List.of(new Race.Builder().setId(1).setEngineCapacity(125).setNoParticipants(10).build()), version);
+        assertEquals(11, cache.getRaces().getFirst().getNoParticipants(), "A stale response shouldn't overwrite the cache.");
+
+        cache.clear();
+        assertNull(cache.getRaces(), "A cleared cache should request the races again.");
+        assertEquals(3, cache.getHits(), "Every call answered from memory should be counted as a hit.");
+        assertEquals(2, cache.getMisses(), "Every call asking the server should be counted as a miss.");
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufServer virtual threads load test - Networking Test")
+    public void VirtualThreadLoadTest() throws Exception {
+        final int connections = 10_000;
+        final int maxPlatformThreads = 100;
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        AbstractServer server = new ProtobufServer("localhost", port, new TestService(), new Broadcaster(16), true);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        // The clients live in another JVM, so the descriptors of both ends don't share one process limit.
+        String java = ProcessHandle.current().info().command().orElse("java");
+        Process clients = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                LoadClient.class.getName(), String.valueOf(port), String.valueOf(connections))
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+
+        try {
+            int answered = assertTimeoutPreemptively(Duration.ofMinutes(3), () -> {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(clients.getInputStream()));
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.startsWith(LoadClient.ANSWERED)) {
+                        return Integer.parseInt(line.substring(LoadClient.ANSWERED.length()).trim());
+                    }
+                }
+                return -1;
+            });
+
+            // Every connection is still open at this point.
+            int platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            assertEquals(connections, answered, "Every connection should have been served.");
+            assertTrue(platformThreads < maxPlatformThreads,
+                    "The server should serve " + connections + " connections with few platform threads, but used " + platformThreads + ".");
+        } finally {
+            clients.getOutputStream().write('\n');
+            clients.getOutputStream().flush();
+            if (!clients.waitFor(30, TimeUnit.SECONDS)) {
+                clients.destroyForcibly();
+            }
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy pipelined calls test - Networking Test")
+    public void PipelinedCallsTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        // The races can only be found after the engine capacities were requested,
+        // so both calls must be in flight at once and answered out of order.
+        CountDownLatch capacitiesRequested = new CountDownLatch(1);
+        TestService service = new TestService() {
+            @Override
+            public Iterable<Race> findAllRaces() {
+                try {
+                    if (!capacitiesRequested.await(30, TimeUnit.SECONDS)) {
+                        return List.of();
+                    }
+                } catch (InterruptedException e) {
+                    return List.of();
+                }
+                return super.findAllRaces();
+            }
+
+            @Override
+            public Iterable<Integer> findAllRaceEngineCapacities() {
+                capacitiesRequested.countDown();
+                return super.findAllRaceEngineCapacities();
+            }
+        };
+
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                CompletableFuture<Iterable<Race>> races = CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return proxy.findAllRaces();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                });
+                // Giving the races request a head start.
+                Thread.sleep(500);
+
+                assertEquals(List.of(125, 250), proxy.findAllRaceEngineCapacities(), "The engine capacities should be answered.");
+                assertEquals(1, ((List<Race>) races.get()).size(), "The races should be answered after the engine capacities.");
+            });
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy round trip latency test - Networking Test")
+    public void RoundTripLatencyTest() throws Exception {
+        final int warmupCalls = 2_000;
+        final int measuredCalls = 5_000;
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        AbstractServer server = new ProtobufServer("localhost", port, new TestService(), new Broadcaster(16));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+
+            long[] latencies = assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+                for (int i = 0; i < warmupCalls; i++) {
+                    proxy.findAllRaceEngineCapacities();
+                }
+
+                long[] measured = new long[measuredCalls];
+                for (int i = 0; i < measuredCalls; i++) {
+                    long start = System.nanoTime();
+                    proxy.findAllRaceEngineCapacities();
+                    measured[i] = System.nanoTime() - start;
+                }
+                return measured;
+            });
+
+            Arrays.sort(latencies);
+            long p50 = latencies[measuredCalls / 2];
+            long p99 = latencies[measuredCalls * 99 / 100];
+            System.out.printf("Round trip on loopback: p50 %d us, p99 %d us%n", p50 / 1_000, p99 / 1_000);
+            assertTrue(p99 < TimeUnit.MILLISECONDS.toNanos(1), "The p99 of a round trip should be under a millisecond, it was " + p99 / 1_000 + " us.");
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy call deadline test - Networking Test")
+    public void CallDeadlineTest() throws Exception {
+        NetworkProtos.Request request = ProtocolUtils.createFindAllRacesRequest().toBuilder().setTimeout(100).build();
+        assertFalse(AbstractRPCWorker.isExpired(request, System.nanoTime()), "A request just received shouldn't be expired.");
+        assertTrue(AbstractRPCWorker.isExpired(request, System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(200)),
+                "A request received before its timeout should be expired.");
+        assertFalse(AbstractRPCWorker.isExpired(request.toBuilder().setTimeout(0).build(), 0), "A request without a timeout never expires.");
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        // The races are answered after the client stopped waiting for them.
+        TestService service = new TestService() {
+            @Override
+            public Iterable<Race> findAllRaces() {
+                try {
+                    Thread.sleep(2_000);
+                } catch (InterruptedException ignored) {
+                    // Answering early.
+                }
+                return super.findAllRaces();
+            }
+        };
+
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        proxy.setCallTimeout(200);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                assertThrows(ServiceException.class, proxy::findAllRaces, "The call should fail once its deadline passed.");
+            });
+            assertEquals(List.of(125, 250), proxy.findAllRaceEngineCapacities(), "The connection should still answer the other calls.");
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ConnectionReaper test - Networking Test")
+    public void ConnectionReaperTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        TestService service = new TestService();
+        ConnectionReaper reaper = new ConnectionReaper(300);
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        server.setReaper(reaper);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        proxy.setHeartbeatInterval(100);
+        try (Socket silent = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            // Waiting for the server to accept connections.
+            while (true) {
+                try {
+                    return new Socket("localhost", port);
+                } catch (IOException e) {
+                    Thread.sleep(10);
+                }
+            }
+        })) {
+            // A client that logs in and then goes silent, without sending heartbeats.
+            FrameCodec codec = new FrameCodec(silent.getInputStream(), silent.getOutputStream(), FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20);
+            codec.write(ProtocolUtils.createLoginRequest("andrew.garfield1", "1234"));
+            assertEquals(NetworkProtos.Response.type.OK, codec.read(NetworkProtos.Response.parser()).getResponseType());
+
+            // A client that sends heartbeats while idle.
+            User user = proxy.login("andrew.garfield2", "1234", null);
+            assertEquals(2, service.observers.size(), "Both clients should be logged in.");
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                assertNull(codec.read(NetworkProtos.Response.parser()), "The silent connection should be closed.");
+                while (service.observers.size() > 1) {
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(1, reaper.getReapedConnections(), "Only the silent connection should be reaped.");
+
+            // Staying idle for longer than the timeout, kept alive by the heartbeats.
+            Thread.sleep(1_000);
+            assertEquals(1, reaper.getLiveConnections(), "The connection sending heartbeats should stay open.");
+            assertEquals(List.of(125, 250), proxy.findAllRaceEngineCapacities(), "The connection sending heartbeats should still answer.");
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ConnectionReaper passive client test - Networking Test")
+    public void ConnectionReaperPassiveClientTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        TestService service = new TestService();
+        Broadcaster broadcaster = new Broadcaster(16);
+        ConnectionReaper reaper = new ConnectionReaper(300);
+        AbstractServer server = new ProtobufServer("localhost", port, service, broadcaster);
+        server.setReaper(reaper);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger shutdowns = new AtomicInteger();
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        proxy.setHeartbeatInterval(100);
+        proxy.setClient(new GUIObserver() {
+            @Override
+            public void participantAdded(Participant participant) {
+                received.incrementAndGet();
+            }
+
+            @Override
+            public void shutdownGUI() {
+                shutdowns.incrementAndGet();
+            }
+        });
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+            Observer client = service.observers.getFirst();
+
+            // The client only receives updates, more often than its heartbeat interval, for longer than the idle timeout.
+            int updates = 20;
+            for (int i = 1; i <= updates; i++) {
+                broadcaster.participantAdded(createParticipant("Andrew" + i), i, List.of(client));
+                Thread.sleep(50);
+            }
+
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                while (received.get() < updates) {
+                    Thread.sleep(10);
+                }
+            }, "The client should receive every update.");
+            assertEquals(0, reaper.getReapedConnections(), "The client receiving updates should send its heartbeats.");
+            assertEquals(1, reaper.getLiveConnections(), "The connection of the client should stay open.");
+            assertEquals(1, service.observers.size(), "The client should stay logged in.");
+            assertEquals(0, shutdowns.get(), "The GUI shouldn't be closed.");
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.AdmissionController test - Networking Test")
+    public void AdmissionControlTest() throws Exception {
+        AdmissionController limits = new AdmissionController(1, 1, 50);
+        assertTrue(limits.tryAdmitConnection(), "The first connection should be admitted.");
+        assertFalse(limits.tryAdmitConnection(), "A connection above the cap should be refused.");
+        limits.releaseConnection();
+        assertTrue(limits.tryAdmitConnection(), "A released connection should make room for another.");
+        assertTrue(limits.tryAdmitRequest(ProtocolUtils.createFindAllRacesRequest()), "The first request should be admitted.");
+        assertFalse(limits.tryAdmitRequest(ProtocolUtils.createFindAllRacesRequest()), "A request above the cap should be refused.");
+        assertTrue(limits.tryAdmitRequest(ProtocolUtils.createPingRequest()), "A heartbeat should always be admitted.");
+        assertEquals(50, limits.createOverloadedResponse(ProtocolUtils.createFindAllRacesRequest()).getRetryAfter());
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        // The races are answered only once the test lets them, holding the only slot of the requests.
+        CountDownLatch racesStarted = new CountDownLatch(1);
+        CountDownLatch racesReleased = new CountDownLatch(1);
+        TestService service = new TestService() {
+            @Override
+            public Iterable<Race> findAllRaces() {
+                racesStarted.countDown();
+                try {
+                    racesReleased.await();
+                } catch (InterruptedException ignored) {
+                    // Answering early.
+                }
+                return super.findAllRaces();
+            }
+        };
+
+        AdmissionController admission = new AdmissionController(1, 1, 50);
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        server.setAdmission(admission);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy admitted = new ProtobufProxy("localhost", port);
+        admitted.setOverloadRetries(0);
+        ProtobufProxy waiting = new ProtobufProxy("localhost", port);
+        waiting.setOverloadRetries(10);
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(admitted, "andrew.garfield1"));
+
+            CompletableFuture<Iterable<Race>> races = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return admitted.findAllRaces();
+                } catch (ServiceException e) {
+                    throw new RuntimeException(e);
+                }
+            }, executor);
+            assertTrue(racesStarted.await(10, TimeUnit.SECONDS), "The races should be requested.");
+            ServiceException refused = assertThrows(ServiceException.class, admitted::findAllRaceEngineCapacities,
+                    "A request above the cap should be refused.");
+            assertTrue(refused.getMessage().contains("overloaded"), "The request should be refused as overloaded.");
+
+            // A connection above the cap is told to retry later and closed.
+            try (Socket socket = new Socket("localhost", port)) {
+                FrameCodec codec = new FrameCodec(socket.getInputStream(), socket.getOutputStream(), FrameCodec.DEFAULT_BUFFER_SIZE, 1 << 20);
+                NetworkProtos.Response response = codec.read(NetworkProtos.Response.parser());
+                assertEquals(NetworkProtos.Response.type.OVERLOADED, response.getResponseType());
+                assertEquals(50, response.getRetryAfter());
+                assertNull(codec.read(NetworkProtos.Response.parser()), "The refused connection should be closed.");
+            }
+
+            // A client backing off gets in once the first one leaves.
+            CompletableFuture<User> waitingUser = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return waiting.login("andrew.garfield2", "1234", null);
+                } catch (ServiceException e) {
+                    throw new RuntimeException(e);
+                }
+            }, executor);
+            Thread.sleep(200);
+            assertFalse(waitingUser.isDone(), "The client should wait while the server is full.");
+
+            racesReleased.countDown();
+            assertEquals(1, races.get(10, TimeUnit.SECONDS).iterator().next().getId(), "The admitted request should be answered.");
+            admitted.logout(user, null);
+
+            User second = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> waitingUser.get());
+            assertEquals("andrew.garfield2", second.getUsername());
+            assertTrue(admission.getRejectedConnections() >= 2, "The connections above the cap should be counted.");
+            assertEquals(1, admission.getRejectedRequests(), "The request above the cap should be counted.");
+            waiting.logout(second, null);
+        } finally {
+            executor.shutdownNow();
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy streamed participants test - Networking Test")
+    public void StreamedParticipantsTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        TestService service = new TestService() {
+            @Override
+            public Iterable<Participant> findParticipantsByTeam(String team) {
+                List<Participant> participants = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                    participants.add(new Participant.Builder()
+                            .setId(UUID.randomUUID())
+                            .setFirstName("Andrew" + i)
+                            .setLastName("Garfield")
+                            .setTeam(team)
+                            .setEngineCapacity(125)
+                            .build());
+                }
+                return participants;
+            }
+        };
+
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                List<String> names = new ArrayList<>();
+                List<Long> cursors = new ArrayList<>();
+                List<Boolean> lasts = new ArrayList<>();
+                proxy.findParticipantsByTeam("Suzuki", 0, 2, (chunk, cursor, last) -> {
+                    chunk.forEach(participant -> names.add(participant.getFirstName()));
+                    cursors.add(cursor);
+                    lasts.add(last);
+                });
+
+                assertEquals(List.of("Andrew0", "Andrew1", "Andrew2", "Andrew3", "Andrew4"), names, "Every participant should be streamed in order.");
+                assertEquals(List.of(2L, 4L, 5L), cursors, "Every chunk should carry the number of participants sent so far.");
+                assertEquals(List.of(false, false, true), lasts, "Only the final chunk should be marked as the last one.");
+
+                // Continuing from the cursor of the second chunk.
+                List<String> rest = new ArrayList<>();
+                proxy.findParticipantsByTeam("Suzuki", 4, 2, (chunk, cursor, last) ->
+                        chunk.forEach(participant -> rest.add(participant.getFirstName())));
+                assertEquals(List.of("Andrew4"), rest, "The stream should continue from the cursor.");
+            });
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy streamed call deadline test - Networking Test")
+    public void StreamedCallDeadlineTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        // Every chunk is read in 100 ms, the stream of a stalled team stops after its first chunk.
+        int chunks = 8;
+        TestService service = new TestService() {
+            @Override
+            public void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer)
+                    throws ServiceException, AppException {
+                Participant participant = super.findParticipantsByTeam(team).iterator().next();
+                for (int i = 1; i <= chunks; i++) {
+                    try {
+                        Thread.sleep(team.equals("Stalled") && i == 2 ? 2_000 : 100);
+                    } catch (InterruptedException e) {
+                        throw new AppException("Interrupted while reading the participants.");
+                    }
+                    consumer.accept(List.of(participant), i, i == chunks);
+                }
+            }
+        };
+
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        proxy.setCallTimeout(300);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+
+            // The whole stream takes longer than the timeout, but every chunk arrives within it.
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                AtomicInteger streamed = new AtomicInteger();
+                proxy.findParticipantsByTeam("Suzuki", 0, 1, (chunk, cursor, last) -> streamed.addAndGet(chunk.size()));
+                assertEquals(chunks, streamed.get(), "Every chunk should be received while the stream keeps going.");
+            });
+
+            assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+                assertThrows(AppException.class, () -> proxy.findParticipantsByTeam("Stalled", 0, 1, (chunk, cursor, last) -> {
+                }), "The call should fail once the stream stalls longer than the timeout.");
+            });
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy reconnect and resume test - Networking Test")
+    public void ReconnectResumeTest() throws Exception {
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        Broadcaster broadcaster = new Broadcaster(16);
+        List<String> resumptions = Collections.synchronizedList(new ArrayList<>());
+        List<Observer> connections = Collections.synchronizedList(new ArrayList<>());
+        TestService service = new TestService() {
+            @Override
+            public User login(String username, String password, Observer client) {
+                connections.add(client);
+                return super.login(username, password, client);
+            }
+
+            @Override
+            public Resumption resume(long epoch, long sequence, Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws AppException {
+                resumptions.add(epoch + ":" + sequence + ":" + teams);
+                if (epoch == 0) {
+                    return new Resumption(7, 3, true, List.of());
+                }
+
+                // Pushed while the client is resuming: the first one is also replayed, so it must be discarded.
+                broadcaster.participantAdded(createParticipant("Andrew5"), 5, List.of(client));
+                broadcaster.participantAdded(createParticipant("Andrew6"), 6, List.of(client));
+                return new Resumption(7, 5, false, List.of(createParticipant("Andrew4"), createParticipant("Andrew5")));
+            }
+        };
+
+        AbstractServer server = new ProtobufServer("localhost", port, service, broadcaster);
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch lastReceived = new CountDownLatch(1);
+        AtomicInteger shutdowns = new AtomicInteger();
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        proxy.setClient(new GUIObserver() {
+            @Override
+            public void participantAdded(Participant participant) {
+                received.add(participant.getFirstName());
+                if (participant.getFirstName().equals("Andrew6")) {
+                    lastReceived.countDown();
+                }
+            }
+
+            @Override
+            public void shutdownGUI() {
+                shutdowns.incrementAndGet();
+            }
+        });
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+            proxy.subscribe(List.of("Suzuki"), List.of(), null);
+
+            // The server drops the connection, as after a network failure.
+            ((AbstractRPCWorker) connections.getFirst()).disconnect();
+
+            assertTrue(lastReceived.await(30, TimeUnit.SECONDS), "The client should reconnect and receive the missed updates.");
+            assertEquals(List.of("0:0:[]", "7:3:[Suzuki]"), resumptions,
+                    "The client should resume from its last update, subscribed to its topics again.");
+            assertEquals(List.of("Andrew4", "Andrew5", "Andrew6"), received,
+                    "The missed updates should be replayed once, before the ones pushed meanwhile.");
+            assertEquals(0, shutdowns.get(), "The GUI shouldn't be closed after reconnecting.");
+
+            proxy.logout(user, null);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.SessionStore session token test - Networking Test")
+    public void SessionTokenTest() throws Exception {
+        User andrew = new User.Builder().setId(1).setFirstName("Andrew").setLastName("Garfield").setUsername("andrew.garfield1").build();
+        SessionStore store = new SessionStore(100);
+        String token = store.issue(andrew);
+        assertEquals(andrew, store.validate("andrew.garfield1", token), "The token should resume the session.");
+        assertNull(store.validate("andrew.garfield2", token), "The token of a user shouldn't resume the session of another.");
+        assertNull(store.validate("andrew.garfield1", token.substring(1)), "A wrong token shouldn't resume the session.");
+        assertNull(store.validate("andrew.garfield1", "not a token!"), "A malformed token shouldn't resume the session.");
+        assertNotEquals(token, store.issue(andrew), "Every login should start a new session.");
+        assertNull(store.validate("andrew.garfield1", token), "The token of the replaced session shouldn't resume it.");
+        String expiring = store.issue(andrew);
+        Thread.sleep(200);
+        assertNull(store.validate("andrew.garfield1", expiring), "The token of an expired session shouldn't resume it.");
+
+        int port;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            port = probe.getLocalPort();
+        }
+
+        List<Observer> connections = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger logins = new AtomicInteger();
+        AtomicInteger resumed = new AtomicInteger();
+        TestService service = new TestService() {
+            @Override
+            public User login(String username, String password, Observer client) {
+                logins.incrementAndGet();
+                connections.add(client);
+                return super.login(username, password, client);
+            }
+
+            @Override
+            public User resumeSession(User user, Observer client) {
+                resumed.incrementAndGet();
+                connections.add(client);
+                return super.login(user.getUsername(), null, client);
+            }
+        };
+        AbstractServer server = new ProtobufServer("localhost", port, service, new Broadcaster(16));
+        server.setSessionStore(new SessionStore(SessionStore.DEFAULT_TTL));
+        Thread serverThread = new Thread(() -> {
+            try {
+                server.start();
+            } catch (ServerException ignored) {
+                // The server socket is closed when the test stops the server.
+            }
+        });
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        ProtobufProxy proxy = new ProtobufProxy("localhost", port);
+        try {
+            User user = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(proxy, "andrew.garfield1"));
+            assertEquals(1, server.getSessionStore().size(), "The login should start a session.");
+
+            // The server drops the connection, as after a network failure: the session outlives it.
+            ((AbstractRPCWorker) connections.getLast()).disconnect();
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                while (connections.size() < 2) {
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(1, resumed.get(), "The client should log in again with the token of its session.");
+            assertEquals(1, logins.get(), "The password shouldn't be checked again.");
+            assertEquals(List.of(125, 250), proxy.findAllRaceEngineCapacities(), "The resumed connection should be served.");
+
+            // Without its session, the client logs in again with its password.
+            server.getSessionStore().revoke("andrew.garfield1");
+            ((AbstractRPCWorker) connections.getLast()).disconnect();
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                while (connections.size() < 3) {
+                    Thread.sleep(10);
+                }
+            });
+            assertEquals(1, resumed.get(), "The ended session shouldn't be resumed.");
+            assertEquals(2, logins.get(), "The client should log in again with its password.");
+
+            proxy.logout(user, null);
+            assertEquals(0, server.getSessionStore().size(), "The logout should end the session.");
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.Connection Unix domain socket transport test - Networking Test")
+    public void UnixSocketTransportTest() throws Exception {
+        final int measuredCalls = 2_000;
+        Path directory = Files.createTempDirectory("motorcycle-contest");
+
+        for (String mode : List.of("thread", "nio")) {
+            int port;
+            try (ServerSocket probe = new ServerSocket(0)) {
+                port = probe.getLocalPort();
+            }
+            Path unixSocket = directory.resolve(mode + ".sock");
+
+            Broadcaster broadcaster = new Broadcaster(16);
+            List<Observer> connections = Collections.synchronizedList(new ArrayList<>());
+            TestService service = new TestService() {
+                @Override
+                public User login(String username, String password, Observer client) {
+                    connections.add(client);
+                    return super.login(username, password, client);
+                }
+            };
+            AbstractServer server = mode.equals("nio")
+                    ? new ProtobufNioServer("localhost", port, service, broadcaster, 2, 64)
+                    : new ProtobufServer("localhost", port, service, broadcaster);
+            server.setUnixSocket(unixSocket);
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.start();
+                } catch (ServerException ignored) {
+                    // The server socket is closed when the test stops the server.
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            CountDownLatch pushed = new CountDownLatch(2);
+            GUIObserver observer = new GUIObserver() {
+                @Override
+                public void participantAdded(Participant participant) {
+                    pushed.countDown();
+                }
+
+                @Override
+                public void shutdownGUI() {
+                }
+            };
+            ProtobufProxy local = new ProtobufProxy("localhost", port);
+            local.setUnixSocket(unixSocket);
+            local.setClient(observer);
+            ProtobufProxy remote = new ProtobufProxy("localhost", port);
+            remote.setClient(observer);
+            try {
+                // The Unix domain socket is bound after the port.
+                assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                    while (!Files.exists(unixSocket)) {
+                        Thread.sleep(10);
+                    }
+                });
+                User localUser = local.login("andrew.garfield1", "1234", null);
+                User remoteUser = remote.login("andrew.garfield2", "1234", null);
+
+                assertEquals(List.of(125, 250), local.findAllRaceEngineCapacities(), "The local client should be answered over the Unix domain socket.");
+                broadcaster.participantAdded(createParticipant("Andrew7"), 1, List.copyOf(connections));
+                assertTrue(pushed.await(10, TimeUnit.SECONDS), "The clients of both transports should receive the updates.");
+
+                long unixLatency = measureRoundTrip(local, measuredCalls);
+                long tcpLatency = measureRoundTrip(remote, measuredCalls);
+                System.out.printf("Round trip of the %s server: Unix domain socket p50 %d us, TCP p50 %d us%n",
+                        mode, unixLatency / 1_000, tcpLatency / 1_000);
+
+                local.logout(localUser, null);
+                remote.logout(remoteUser, null);
+            } finally {
+                server.stop();
+            }
+            assertFalse(Files.exists(unixSocket), "The socket file should be removed when the " + mode + " server stops.");
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.FrameCompressor negotiated compression test - Networking Test")
+    public void FrameCompressionTest() throws Exception {
+        final int teamSize = 500;
+        NetworkProtos.Request login = ProtocolUtils.createLoginRequest("andrew.garfield1", "1234");
+        NetworkProtos.Response team = ProtocolUtils.createFindParticipantsByTeamResponse(createParticipants("Suzuki", teamSize));
+
+        // The small frames stay raw and the large ones are compressed, on the same stream.
+        FrameCompressor compressor = new FrameCompressor(FrameCompressor.DEFAULT_THRESHOLD);
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        FrameCodec writer = new FrameCodec(new ByteArrayInputStream(new byte[0]), written, 1024, 1 << 20);
+        writer.setWriteCompressor(compressor);
+        writer.write(login);
+        writer.write(team);
+        writer.writeFrame(FrameCompressor.createFrame(compressor.deflate(team.toByteArray())));
+
+        assertTrue(written.size() < team.getSerializedSize(), "The large frames should be compressed.");
+        FrameCodec reader = new FrameCodec(new ByteArrayInputStream(written.toByteArray()), new ByteArrayOutputStream(), 16, 1 << 20);
+        reader.setReadCompressor(new FrameCompressor(FrameCompressor.DEFAULT_THRESHOLD));
+        assertEquals(login, reader.read(NetworkProtos.Request.parser()), "The small frame should be read raw.");
+        assertEquals(team, reader.read(NetworkProtos.Response.parser()), "The compressed frame should be restored.");
+        assertEquals(team, reader.read(NetworkProtos.Response.parser()), "The frame compressed beforehand should be restored.");
+
+        FrameCodec small = new FrameCodec(new ByteArrayInputStream(written.toByteArray()), new ByteArrayOutputStream(), 16, 1024);
+        small.setReadCompressor(new FrameCompressor(FrameCompressor.DEFAULT_THRESHOLD));
+        small.read(NetworkProtos.Request.parser());
+        assertThrows(IOException.class, () -> small.read(NetworkProtos.Response.parser()),
+                "Frames larger than the limit once restored should be rejected.");
+
+        for (String mode : List.of("thread", "nio")) {
+            int port;
+            try (ServerSocket probe = new ServerSocket(0)) {
+                port = probe.getLocalPort();
+            }
+
+            Broadcaster broadcaster = new Broadcaster(16);
+            List<Observer> connections = Collections.synchronizedList(new ArrayList<>());
+            TestService service = new TestService() {
+                @Override
+                public Iterable<Participant> findParticipantsByTeam(String team) {
+                    return createParticipants(team, teamSize);
+                }
+
+                @Override
+                public User login(String username, String password, Observer client) {
+                    connections.add(client);
+                    return super.login(username, password, client);
+                }
+            };
+            AbstractServer server = mode.equals("nio")
+                    ? new ProtobufNioServer("localhost", port, service, broadcaster, 2, 64)
+                    : new ProtobufServer("localhost", port, service, broadcaster);
+            server.setCompressionThreshold(FrameCompressor.DEFAULT_THRESHOLD);
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.start();
+                } catch (ServerException ignored) {
+                    // The server socket is closed when the test stops the server.
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            CountDownLatch pushed = new CountDownLatch(2 * teamSize);
+            GUIObserver observer = new GUIObserver() {
+                @Override
+                public void participantAdded(Participant participant) {
+                    pushed.countDown();
+                }
+
+                @Override
+                public void shutdownGUI() {
+                }
+            };
+            ProtobufProxy compressed = new ProtobufProxy("localhost", port);
+            compressed.setClient(observer);
+            ProtobufProxy raw = new ProtobufProxy("localhost", port);
+            raw.setCompressionThreshold(0);
+            raw.setClient(observer);
+            try {
+                User compressedUser = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(compressed, "andrew.garfield1"));
+                User rawUser = raw.login("andrew.garfield2", "1234", null);
+
+                assertEquals(teamSize, ((List<Participant>) compressed.findParticipantsByTeam("Suzuki")).size(),
+                        "The compressed response should be restored by the client.");
+                assertEquals(teamSize, ((List<Participant>) raw.findParticipantsByTeam("Suzuki")).size(),
+                        "The client not offering compression should be answered raw.");
+                broadcaster.participantsAdded(createParticipants("Suzuki", teamSize), service.findAllRaces(), 1, List.copyOf(connections));
+                assertTrue(pushed.await(10, TimeUnit.SECONDS), "Both clients should receive the large update.");
+
+                AbstractRPCWorker compressedWorker = (AbstractRPCWorker) connections.get(0);
+                AbstractRPCWorker rawWorker = (AbstractRPCWorker) connections.get(1);
+                assertNotNull(compressedWorker.getCompressor(), "The " + mode + " server should agree to compress the frames.");
+                assertNull(rawWorker.getCompressor(), "The frames of the client not offering compression should stay raw.");
+                assertTrue(compressedWorker.getCompressor().getCompressedBytes() < compressedWorker.getCompressor().getRawBytes(),
+                        "The responses should shrink.");
+
+                compressed.logout(compressedUser, null);
+                raw.logout(rawUser, null);
+            } finally {
+                server.stop();
+            }
+        }
+
+        // The CPU spent on compressing the typical responses, against the bytes saved.
+        for (int size : List.of(10, 100, 1_000)) {
+            byte[] payload = ProtocolUtils.createFindParticipantsByTeamResponse(createParticipants("Suzuki", size)).toByteArray();
+            FrameCompressor benchmark = new FrameCompressor(0);
+            byte[] deflated = benchmark.deflate(payload);
+            // The same volume for every size, so the larger ones don't flood the heap of the following tests.
+            int iterations = Math.max(20, 20_000 / size);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                benchmark.deflate(payload);
+            }
+            long deflateTime = (System.nanoTime() - start) / iterations;
+            start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                benchmark.decompress(deflated, 1 << 20);
+            }
+            long inflateTime = (System.nanoTime() - start) / iterations;
+
+            System.out.printf("FIND_PARTICIPANTS_BY_TEAM of %d participants: %d bytes raw, %d compressed (%.0f%% saved), deflate %.1f us, inflate %.1f us%n",
+                    size, payload.length, deflated.length, 100.0 * (payload.length - deflated.length) / payload.length,
+                    deflateTime / 1_000.0, inflateTime / 1_000.0);
+        }
+    }
+
+    /**
+     * @return Participants of the team with distinct names, as a team listing is made of.
+     */
+    private static List<Participant> createParticipants(String team, int count) {
+        List<Participant> participants = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            participants.add(new Participant.Builder()
+                    .setId(UUID.randomUUID())
+                    .setFirstName("Andrew" + i)
+                    .setLastName("Garfield" + (i % 37))
+                    .setTeam(team)
+                    .setEngineCapacity(125 * (1 + i % 4))
+                    .build());
+        }
+        return participants;
+    }
+
+    @Test
+    @DisplayName("Protocol.ProtocolUtils protocol version 2 test - Networking Test")
+    public void ProtocolVersionTest() throws Exception {
+        List<Participant> participants = new ArrayList<>();
+        for (String team : List.of("Suzuki", "Honda", "Yamaha", "Kawasaki", "Ducati")) {
+            participants.addAll(createParticipants(team, 20));
+        }
+        Collections.shuffle(participants);
+
+        NetworkProtos.Response version1 = ProtocolUtils.createFindParticipantsByTeamResponse(participants, ProtocolUtils.VERSION_1);
+        NetworkProtos.Response version2 = ProtocolUtils.createFindParticipantsByTeamResponse(participants, ProtocolUtils.VERSION_2);
+        assertEquals(participants, ProtocolUtils.parseParticipants(version1), "The participants of the version 1 should be decoded.");
+        assertEquals(participants, ProtocolUtils.parseParticipants(NetworkProtos.Response.parseFrom(version2.toByteArray())),
+                "The participants of the version 2 should be decoded.");
+        assertEquals(5, version2.getTeamsCount(), "Every team should be sent once.");
+        assertTrue(version2.getSerializedSize() < version1.getSerializedSize(), "The version 2 should be smaller.");
+        System.out.printf("FIND_PARTICIPANTS_BY_TEAM of %d participants: %d bytes in the version 1, %d in the version 2%n",
+                participants.size(), version1.getSerializedSize(), version2.getSerializedSize());
+
+        Participant added = participants.get(0);
+        assertEquals(added, ProtocolUtils.parseParticipant(ProtocolUtils.createParticipantAddedResponse(added, ProtocolUtils.VERSION_2)),
+                "The added participant of the version 2 should be decoded.");
+
+        for (String mode : List.of("thread", "nio")) {
+            int port;
+            try (ServerSocket probe = new ServerSocket(0)) {
+                port = probe.getLocalPort();
+            }
+
+            Broadcaster broadcaster = new Broadcaster(16);
+            List<Observer> connections = Collections.synchronizedList(new ArrayList<>());
+            TestService service = new TestService() {
+                @Override
+                public Iterable<Participant> findParticipantsByTeam(String team) {
+                    return participants;
+                }
+
+                @Override
+                public User login(String username, String password, Observer client) {
+                    connections.add(client);
+                    return super.login(username, password, client);
+                }
+            };
+            AbstractServer server = mode.equals("nio")
+                    ? new ProtobufNioServer("localhost", port, service, broadcaster, 2, 64)
+                    : new ProtobufServer("localhost", port, service, broadcaster);
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.start();
+                } catch (ServerException ignored) {
+                    // The server socket is closed when the test stops the server.
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            List<Participant> pushed = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch received = new CountDownLatch(2 * participants.size());
+            GUIObserver observer = new GUIObserver() {
+                @Override
+                public void participantAdded(Participant participant) {
+                    pushed.add(participant);
+                    received.countDown();
+                }
+
+                @Override
+                public void shutdownGUI() {
+                }
+            };
+            ProtobufProxy current = new ProtobufProxy("localhost", port);
+            current.setClient(observer);
+            ProtobufProxy legacy = new ProtobufProxy("localhost", port);
+            legacy.setProtocolVersion(ProtocolUtils.VERSION_1);
+            legacy.setClient(observer);
+            try {
+                User currentUser = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(current, "andrew.garfield1"));
+                User legacyUser = legacy.login("andrew.garfield2", "1234", null);
+                assertEquals(ProtocolUtils.VERSION_2, ((AbstractRPCWorker) connections.get(0)).getProtocolVersion(),
+                        "The " + mode + " server should speak the version 2 with the current client.");
+                assertEquals(ProtocolUtils.VERSION_1, ((AbstractRPCWorker) connections.get(1)).getProtocolVersion(),
+                        "The " + mode + " server should keep speaking the version 1 with the older client.");
+
+                assertEquals(participants, current.findParticipantsByTeam("Suzuki"), "The client of the version 2 should decode the response.");
+                assertEquals(participants, legacy.findParticipantsByTeam("Suzuki"), "The client of the version 1 should decode the response.");
+                List<Participant> streamed = new ArrayList<>();
+                current.findParticipantsByTeam("Suzuki", 0, 64, (chunk, cursor, last) -> chunk.forEach(streamed::add));
+                assertEquals(participants, streamed, "Every chunk should be decoded with its own teams.");
+
+                broadcaster.participantsAdded(participants, service.findAllRaces(), 1, List.copyOf(connections));
+                assertTrue(received.await(10, TimeUnit.SECONDS), "Both clients should receive the update.");
+                assertEquals(2 * participants.size(), pushed.stream().filter(participants::contains).count(),
+                        "Both versions of the update should be decoded.");
+
+                current.logout(currentUser, null);
+                legacy.logout(legacyUser, null);
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("NetworkUtils.ProtobufProxy bootstrap test - Networking Test")
+    public void BootstrapTest() throws Exception {
+        for (String mode : List.of("thread", "nio")) {
+            int port;
+            try (ServerSocket probe = new ServerSocket(0)) {
+                port = probe.getLocalPort();
+            }
+
+            AtomicInteger queries = new AtomicInteger();
+            TestService service = new TestService() {
+                @Override
+                public Iterable<Race> findAllRaces() {
+                    queries.incrementAndGet();
+                    return super.findAllRaces();
+                }
+
+                @Override
+                public Iterable<Integer> findAllRaceEngineCapacities() {
+                    queries.incrementAndGet();
+                    return super.findAllRaceEngineCapacities();
+                }
+            };
+            AbstractServer server = mode.equals("nio")
+                    ? new ProtobufNioServer("localhost", port, service, new Broadcaster(16), 2, 64)
+                    : new ProtobufServer("localhost", port, service, new Broadcaster(16));
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.start();
+                } catch (ServerException ignored) {
+                    // The server socket is closed when the test stops the server.
+                }
+            });
+            serverThread.setDaemon(true);
+            serverThread.start();
+
+            ProtobufProxy first = new ProtobufProxy("localhost", port);
+            ProtobufProxy proxy = new ProtobufProxy("localhost", port, true);
+            try {
+                User firstUser = assertTimeoutPreemptively(Duration.ofSeconds(30), () -> loginWhenReady(first, "andrew.garfield1"));
+
+                Bootstrap bootstrap = proxy.bootstrap("andrew.garfield2", "1234", null);
+                assertEquals("andrew.garfield2", bootstrap.user().getUsername(), "The " + mode + " server should log in the user.");
+                assertEquals(service.findAllRaces(), bootstrap.races(), "The races should be received with the user.");
+                assertEquals(service.findAllRaceEngineCapacities(), bootstrap.engineCapacities(), "The engine capacities should be received with the user.");
+                assertEquals(2, service.observers.size(), "The client should be logged in.");
+
+                queries.set(0);
+                assertEquals(bootstrap.races(), proxy.findAllRaces(), "The races should be cached.");
+                assertEquals(bootstrap.engineCapacities(), proxy.findAllRaceEngineCapacities(), "The engine capacities should be cached.");
+                assertEquals(0, queries.get(), "The races shouldn't be requested again.");
+                assertEquals(0, proxy.getCacheMisses(), "Every call should be answered by the cache.");
+
+                proxy.logout(bootstrap.user(), null);
+                first.logout(firstUser, null);
+            } finally {
+                server.stop();
+            }
+        }
+    }
+
+    /**
+     * @return The median of the round trips of a call, in nanoseconds.
+     */
+    private static long measureRoundTrip(ProtobufProxy proxy, int calls) throws Exception {
+        long[] latencies = new long[calls];
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            proxy.findAllRaceEngineCapacities();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        return latencies[calls / 2];
+    }
+
+    private static Participant createParticipant(String firstName) {
+        return new Participant.Builder()
+                .setId(UUID.randomUUID())
+                .setFirstName(firstName)
+                .setLastName("Garfield")
+                .setTeam("Suzuki")
+                .setEngineCapacity(125)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Workers.AbstractRPCWorker dispatch table test - Networking Test")
+    public void DispatchTableTest() throws Exception {
+        TestService service = new TestService() {
+            @Override
+            public Iterable<Participant> findParticipantsByTeam(String team) {
+                if (team.equals("Broken")) {
+                    throw new IllegalStateException("The team is broken!");
+                }
+                return super.findParticipantsByTeam(team);
+            }
+        };
+        RecordingWorker worker = new RecordingWorker(service, new Broadcaster(16));
+
+        // Every request type reaches a handler, and its response answers the request.
+        long requestId = 1;
+        for (NetworkProtos.Request.type type : NetworkProtos.Request.type.values()) {
+            if (type == NetworkProtos.Request.type.UNRECOGNIZED) {
+                continue;
+            }
+            NetworkProtos.Request request = NetworkProtos.Request.newBuilder()
+                    .setRequestType(type)
+                    .setRequestId(requestId)
+                    .build();
+            NetworkProtos.Response response = worker.handleRequest(request);
+            assertNotNull(response, "The request " + type + " should be answered.");
+            assertEquals(requestId, response.getRequestId(), "The response of " + type + " should carry the id of its request.");
+            requestId++;
+        }
+
+        // Every request reaches its own handler.
+        NetworkProtos.Response pong = worker.handleRequest(ProtocolUtils.createPingRequest());
+        assertEquals(NetworkProtos.Response.type.PONG, pong.getResponseType(), "A PING should be answered by a PONG.");
+        NetworkProtos.Response capacities = worker.handleRequest(ProtocolUtils.createFindAllRaceEngineCapacitiesRequest());
+        assertEquals(List.of(125, 250), capacities.getEngineCapacitiesList(), "The engine capacities should be found.");
+        NetworkProtos.Response races = worker.handleRequest(ProtocolUtils.createFindAllRacesRequest());
+        assertEquals(1, races.getRacesCount(), "The races should be found.");
+        NetworkProtos.Response team = worker.handleRequest(ProtocolUtils.createFindParticipantsByTeamRequest("Suzuki"));
+        assertEquals("Suzuki", team.getParticipants(0).getTeam(), "The participants of the team should be found.");
+
+        // A request type unknown to the server is refused instead of being dispatched.
+        NetworkProtos.Request unknown = NetworkProtos.Request.newBuilder().setRequestTypeValue(999).setRequestId(requestId).build();
+        assertThrows(ServerException.class, () -> worker.handleRequest(unknown), "An unknown request type should be refused.");
+
+        // A handler failing unexpectedly is reported instead of escaping the dispatch.
+        assertThrows(ServerException.class, () -> worker.handleRequest(ProtocolUtils.createFindParticipantsByTeamRequest("Broken")),
+                "A failing handler should be reported.");
+        assertTrue(worker.responses.isEmpty(), "Nothing should be sent besides the returned responses.");
+    }
+
+    /**
+     * Opens many connections to the server, sends one request on each and keeps them open
+     * until a line is received on the standard input.
+     */
+    public static class LoadClient {
+        static final String ANSWERED = "ANSWERED";
+        // Kept below the backlog of the server, so no connection attempt overflows its accept queue.
+        private static final int CONNECT_PARALLELISM = 8;
+        private static final int SOCKET_TIMEOUT = 10_000;
+
+        public static void main(String[] args) throws Exception {
+            int port = Integer.parseInt(args[0]);
+            int connections = Integer.parseInt(args[1]);
+
+            List<Socket> sockets = Collections.synchronizedList(new ArrayList<>());
+            AtomicInteger answered = new AtomicInteger();
+            Semaphore inFlight = new Semaphore(CONNECT_PARALLELISM);
+            NetworkProtos.Request request = ProtocolUtils.createFindAllRaceEngineCapacitiesRequest();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < connections; i++) {
+                    executor.submit(() -> {
+                        inFlight.acquire();
+                        try {
+                            Socket socket = new Socket();
+                            sockets.add(socket);
+                            socket.connect(new InetSocketAddress("localhost", port), SOCKET_TIMEOUT);
+                            socket.setSoTimeout(SOCKET_TIMEOUT);
+
+                            request.writeDelimitedTo(socket.getOutputStream());
+                            NetworkProtos.Response response = NetworkProtos.Response.parseDelimitedFrom(socket.getInputStream());
+                            if (response != null && response.getResponseType() == NetworkProtos.Response.type.OK) {
+                                answered.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            System.err.println("Connection failed: " + e.getMessage());
+                        } finally {
+                            inFlight.release();
+                        }
+                        return null;
+                    });
+                }
+            }
+
+            System.out.println(ANSWERED + " " + answered.get());
+            System.out.flush();
+            System.in.read();
+
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * Logs in once the server, started in the background, accepts connections.
+     */
+    private static User loginWhenReady(ProtobufProxy proxy, String username) throws Exception {
+        while (true) {
+            try {
+                return proxy.login(username, "1234", null);
+            } catch (ServiceException e) {
+                if (!e.getMessage().contains("Connection refused")) {
+                    throw e;
+                }
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    /**
+     * Worker without a transport, recording the responses it sends on its own.
+     */
+    static class RecordingWorker extends AbstractRPCWorker {
+        private final List<NetworkProtos.Response> responses = Collections.synchronizedList(new ArrayList<>());
+
+        RecordingWorker(IService server, Broadcaster broadcaster) {
+            super(server, broadcaster);
+            this.connected = true;
+        }
+
+        @Override
+        protected void sendResponse(NetworkProtos.Response response) {
+            responses.add(response);
+        }
+
+        @Override
+        protected void sendFrame(ByteBuffer frame) {
+        }
+
+        @Override
+        protected void enableCompression(FrameCompressor compressor) {
+        }
+
+        @Override
+        protected void shutdown() {
+            this.unsubscribe();
+            this.connected = false;
+        }
+    }
+
+    /**
+     * Service answering every call from memory.
+     */
+    static class TestService implements IService {
+        private final List<Observer> observers = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public Iterable<Participant> findParticipantsByTeam(String team) {
+            return List.of(new Participant.Builder()
+                    .setId(UUID.randomUUID())
+                    .setFirstName("Andrew")
+                    .setLastName("Garfield")
+                    .setTeam(team)
+                    .setEngineCapacity(125)
+                    .build());
+        }
+
+        @Override
+        public void addParticipant(String firstName, String lastName, String team, int engineCapacity) {
+        }
+
+        @Override
+        public Iterable<Race> findAllRaces() {
+            return List.of(new Race.Builder().setId(1).setEngineCapacity(125).setNoParticipants(10).build());
+        }
+
+        @Override
+        public Iterable<Integer> findAllRaceEngineCapacities() {
+            return List.of(125, 250);
+        }
+
+        @Override
+        public User login(String username, String password, Observer client) {
+            observers.add(client);
+            return new User.Builder().setId(1).setFirstName("Andrew").setLastName("Garfield").setUsername(username).build();
+        }
+
+        @Override
+        public void logout(User user, Observer client) {
+            observers.remove(client);
+        }
+
+        @Override
+        public void subscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) {
+        }
+
+        @Override
+        public void unsubscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) {
+        }
+    }
+}
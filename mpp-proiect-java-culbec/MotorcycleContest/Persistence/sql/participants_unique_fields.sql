@@ -0,0 +1,6 @@
+-- The unique key of the fields identifying a participant, the final arbiter of the duplicates
+-- the in-memory index of ParticipantDBRepository can't know of.
+-- Run once on the database, before starting the server. It fails while the table holds duplicates.
+-- The comparison follows the collation of the columns: case insensitive, ignoring the trailing spaces.
+create unique index if not exists participants_unique_fields
+    on participants (first_name, last_name, team, engine_capacity);
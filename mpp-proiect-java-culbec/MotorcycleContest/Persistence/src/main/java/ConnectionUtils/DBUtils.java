@@ -7,7 +7,9 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class DBUtils implements AutoCloseable {
     // Logger util for logging the actions.
@@ -16,6 +18,8 @@ public class DBUtils implements AutoCloseable {
     private final Properties DBProperties;
     // Connection instance.
     private Connection connection = null;
+    // Connections opened apart from the shared one, closed together with it.
+    private final List<Connection> dedicatedConnections = new CopyOnWriteArrayList<>();
 
     public DBUtils(Properties DBProperties) {
         this.DBProperties = DBProperties;
@@ -34,6 +38,48 @@ public class DBUtils implements AutoCloseable {
             return connection;
         }
 
+        this.connection = this.connect();
+        logger.traceExit("A new connection was initiated! Returning with: " + this.connection);
+        return this.connection;
+    }
+
+    /**
+     * Opens a connection to the database apart from the shared one, for the work that can't share its transactions.
+     * The connection is closed together with the shared one.
+     *
+     * @return A new connection to the database, or {@code null} if it couldn't be opened.
+     */
+    public Connection openConnection() {
+        logger.traceEntry("Trying to open a dedicated connection...");
+
+        Connection dedicated = this.connect();
+        if (dedicated != null) {
+            dedicatedConnections.add(dedicated);
+        }
+
+        logger.traceExit("A dedicated connection was opened! Returning with: " + dedicated);
+        return dedicated;
+    }
+
+    /**
+     * Closes a connection opened apart from the shared one, once no longer needed or no longer valid.
+     *
+     * @param dedicated The connection, as returned by {@link #openConnection()}.
+     */
+    public void closeConnection(Connection dedicated) {
+        logger.traceEntry("Trying to close a dedicated connection...");
+
+        dedicatedConnections.remove(dedicated);
+        try {
+            dedicated.close();
+        } catch (SQLException e) {
+            logger.error("Error when trying to close a dedicated connection: {}", e.getMessage());
+        }
+
+        logger.traceExit("A dedicated connection was closed: " + dedicated);
+    }
+
+    private Connection connect() {
         logger.info("Getting DB properties...");
         String url = DBProperties.getProperty("mariadb.jdbc.url");
         String user = DBProperties.getProperty("mariadb.jdbc.user");
@@ -44,19 +90,21 @@ public class DBUtils implements AutoCloseable {
         logger.info("Password: {}", pass);
 
         try {
-            this.connection = DriverManager.getConnection(url, user, pass);
+            return DriverManager.getConnection(url, user, pass);
         } catch (SQLException e) {
             logger.error("Error when trying to connect: {}", e.getMessage());
+            return null;
         }
-
-        logger.traceExit("A new connection was initiated! Returning with: " + this.connection);
-        return this.connection;
     }
 
     @Override
     public void close() throws IOException {
         logger.traceEntry("Closing the connection...");
         try {
+            for (Connection dedicated : dedicatedConnections) {
+                dedicated.close();
+            }
+            dedicatedConnections.clear();
             if (this.connection != null) {
                 this.connection.close();
                 logger.info("Connection closed successfully.");
@@ -0,0 +1,28 @@
+package Repository;
+
+import java.util.List;
+
+/**
+ * Streaming view over the result of a query, reading the entities as they are requested
+ * instead of loading all of them at once.
+ *
+ * @param <E> Type of the entities.
+ */
+public interface Cursor<E> extends AutoCloseable {
+    /**
+     * @param max - the maximum number of entities to read.
+     * @return the next entities of the result, at most {@code max}. Empty if the cursor is exhausted.
+     */
+    List<E> next(int max) throws RepositoryException;
+
+    /**
+     * @return true if the result has more entities to read, false otherwise.
+     */
+    boolean hasNext();
+
+    /**
+     * Releases the resources of the query.
+     */
+    @Override
+    void close() throws RepositoryException;
+}
@@ -5,9 +5,13 @@ import ConnectionUtils.DBUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class DBRepository<ID, E extends Entity<ID>> {
@@ -38,4 +42,71 @@ public abstract class DBRepository<ID, E extends Entity<ID>> {
      * @return An {@code Optional} containing the entity extracted, or an empty one if the entity couldn't be extracted.
      */
     protected abstract E extractFromResultSet(ResultSet resultSet) throws RepositoryException;
+
+    /**
+     * Cursor reading the entities of a result set as they are requested.
+     * It owns its connection and its statement, so the result set stays open while the shared connection is used
+     * by the other requests.
+     */
+    protected class ResultSetCursor implements Cursor<E> {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private final ResultSet resultSet;
+        // Whether the result set is positioned on a row not yet read.
+        private boolean hasRow;
+
+        /**
+         * @param connection - the connection of the query, opened by {@link DBUtils#openConnection()} and closed together with the cursor.
+         * @param statement - the statement of the query, closed together with the cursor.
+         */
+        public ResultSetCursor(Connection connection, PreparedStatement statement) throws RepositoryException {
+            this.connection = connection;
+            this.statement = statement;
+            try {
+                this.resultSet = statement.executeQuery();
+                this.hasRow = resultSet.next();
+            } catch (SQLException e) {
+                logger.error("Couldn't open the cursor: {}", e.getMessage());
+                this.closeStatement();
+                throw new RepositoryException("Couldn't open the cursor: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public List<E> next(int max) throws RepositoryException {
+            List<E> entities = new ArrayList<>(Math.min(max, 256));
+            try {
+                while (hasRow && entities.size() < max) {
+                    entities.add(extractFromResultSet(resultSet));
+                    hasRow = resultSet.next();
+                }
+            } catch (SQLException e) {
+                logger.error("Couldn't read from the cursor: {}", e.getMessage());
+                throw new RepositoryException("Couldn't read from the cursor: " + e.getMessage());
+            }
+            return entities;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasRow;
+        }
+
+        @Override
+        public void close() throws RepositoryException {
+            this.closeStatement();
+        }
+
+        private void closeStatement() throws RepositoryException {
+            try {
+                // Closing the statement closes its result set too.
+                statement.close();
+            } catch (SQLException e) {
+                logger.error("Couldn't close the cursor: {}", e.getMessage());
+                throw new RepositoryException("Couldn't close the cursor: " + e.getMessage());
+            } finally {
+                dbUtils.closeConnection(connection);
+            }
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package Repository;
+
+import Model.Participant;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves the participants of concurrent registrations together: the participants saved within the window
+ * are written by a single thread with a single batched insert in a single transaction, instead of a query,
+ * an insert and a commit each. Every registration waits for the outcome of its own participant.
+ * The other queries go straight to the wrapped repository.
+ */
+public class GroupCommitParticipantRepository implements ParticipantRepository, AutoCloseable {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    public static final long DEFAULT_WINDOW = 5;
+    public static final int DEFAULT_BATCH = 64;
+
+    private final ParticipantRepository repository;
+    private final long window;
+    private final int maxBatch;
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+    // Null if every participant is saved on its own.
+    private final Thread committer;
+    private volatile boolean closed = false;
+
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong saved = new AtomicLong();
+
+    // A participant waiting to be saved, and the outcome its registration waits for.
+    private record Pending(Participant participant, CompletableFuture<Optional<Participant>> outcome) {
+    }
+
+    /**
+     * @param repository The repository writing the batches.
+     * @param window     The milliseconds the participants are collected after the first one of a batch.
+     *                   0 saves every participant on its own, on the thread of its registration.
+     * @param maxBatch   The number of participants that closes a batch before the window elapses.
+     */
+    public GroupCommitParticipantRepository(ParticipantRepository repository, long window, int maxBatch) {
+        this.repository = repository;
+        this.window = TimeUnit.MILLISECONDS.toNanos(Math.max(window, 0));
+        this.maxBatch = Math.max(maxBatch, 1);
+        this.committer = window > 0
+                ? Thread.ofPlatform().name("participant-committer").daemon().start(this::commitBatches)
+                : null;
+    }
+
+    @Override
+    public Optional<Participant> save(Participant participant) throws RepositoryException {
+        if (committer == null) {
+            return repository.save(participant);
+        }
+        if (closed) {
+            throw new RepositoryException("The participants are no longer saved.");
+        }
+
+        Pending registration = new Pending(participant, new CompletableFuture<>());
+        pending.add(registration);
+        // Closed meanwhile, after the committer wrote its last batch: nothing would save the participant.
+        if (closed && !committer.isAlive() && pending.remove(registration)) {
+            throw new RepositoryException("The participants are no longer saved.");
+        }
+        try {
+            return registration.outcome().get();
+        } catch (ExecutionException e) {
+            throw new RepositoryException(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            // The participant may still be saved with its batch.
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while saving the participant.");
+        }
+    }
+
+    @Override
+    public List<Optional<Participant>> saveAll(List<Participant> participants) throws RepositoryException {
+        return repository.saveAll(participants);
+    }
+
+    /**
+     * Collects the batches and writes them, until closed.
+     */
+    private void commitBatches() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (!closed || !pending.isEmpty()) {
+            try {
+                Pending first = pending.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                long deadline = System.nanoTime() + window;
+                while (batch.size() < maxBatch) {
+                    long remaining = deadline - System.nanoTime();
+                    Pending next = remaining > 0 ? pending.poll(remaining, TimeUnit.NANOSECONDS) : pending.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Closing: the participants collected so far are still written.
+                closed = true;
+            }
+
+            if (!batch.isEmpty()) {
+                this.commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch, completing the registration of every participant with its own outcome.
+     */
+    private void commit(List<Pending> batch) {
+        try {
+            List<Optional<Participant>> outcomes = repository.saveAll(batch.stream().map(Pending::participant).toList());
+            batches.incrementAndGet();
+            for (int i = 0; i < batch.size(); i++) {
+                Optional<Participant> outcome = outcomes.get(i);
+                if (outcome.isPresent()) {
+                    saved.incrementAndGet();
+                }
+                batch.get(i).outcome().complete(outcome);
+            }
+        } catch (RepositoryException | RuntimeException e) {
+            logger.error("Couldn't save a batch of {} participants: {}", batch.size(), e.getMessage());
+            batch.forEach(registration -> registration.outcome().completeExceptionally(e));
+        }
+    }
+
+    /**
+     * @return The number of batches written.
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return The number of participants saved by the batches.
+     */
+    public long getSaved() {
+        return saved.get();
+    }
+
+    @Override
+    public Optional<Participant> findParticipantByFields(Participant participant) throws RepositoryException {
+        return repository.findParticipantByFields(participant);
+    }
+
+    @Override
+    public Iterable<Participant> findParticipantsByTeam(String team) throws RepositoryException {
+        return repository.findParticipantsByTeam(team);
+    }
+
+    @Override
+    public Cursor<Participant> streamParticipantsByTeam(String team, long offset) throws RepositoryException {
+        return repository.streamParticipantsByTeam(team, offset);
+    }
+
+    @Override
+    public Optional<Participant> findOne(UUID id) throws RepositoryException {
+        return repository.findOne(id);
+    }
+
+    @Override
+    public Iterable<Participant> findAll() throws RepositoryException {
+        return repository.findAll();
+    }
+
+    @Override
+    public Optional<Participant> delete(Participant participant) throws RepositoryException {
+        return repository.delete(participant);
+    }
+
+    @Override
+    public Optional<Participant> update(Participant participant) throws RepositoryException {
+        return repository.update(participant);
+    }
+
+    /**
+     * Stops collecting the participants, once the ones already waiting are written.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (committer == null) {
+            return;
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Refusing the participants added while the committer stopped.
+        Pending registration;
+        while ((registration = pending.poll()) != null) {
+            registration.outcome().completeExceptionally(new RepositoryException("The participants are no longer saved."));
+        }
+    }
+}
@@ -7,13 +7,77 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Savepoint;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ParticipantDBRepository extends DBRepository<UUID, Participant> implements ParticipantRepository {
+    // Ordered by the unique fields, so an offset always skips the same participants.
+    private static final String SQL_STREAM_ON_TEAM = "select * from participants p where p.team = ? " +
+            "order by p.last_name, p.first_name, p.engine_capacity limit ? offset ?";
+    // Number of rows the driver fetches at once while streaming.
+    private static final int STREAM_FETCH_SIZE = 256;
+    private static final String SQL_SELECT_FIELDS = "select p.first_name, p.last_name, p.team, p.engine_capacity from participants p";
+    private static final String SQL_INSERT = "insert into participants(first_name, last_name, team, engine_capacity) values(?, ?, ?, ?)";
+    // The class of the SQL states of the violated constraints.
+    private static final String SQL_STATE_CONSTRAINT = "23";
+    // Seconds the connection of the batches is given to answer its validation.
+    private static final int VALIDATION_TIMEOUT = 2;
+
+    // Keeps a single write at once, so a duplicate check holds until its insert.
+    private final Lock writeLock = new ReentrantLock();
+    // Guards the shared statements of the queries, which are parameterized and read by one request at a time.
+    // The shared statements of the writes are only used under the write lock.
+    private final Lock statementLock = new ReentrantLock();
+    // The connection of the batches, apart from the one shared with the other repositories, so their statements
+    // never land in the transaction of a batch. Opened by the first batch, used under the write lock.
+    private Connection batchConnection = null;
+    private PreparedStatement batchInsert = null;
+    // The saved participants, answering the duplicate checks without querying the database.
+    private final ParticipantIndex index = new ParticipantIndex();
+
+    /**
+     * The duplicates are refused by the unique key of the table, added by {@code sql/participants_unique_fields.sql},
+     * and answered from memory once the index is loaded.
+     */
     public ParticipantDBRepository(DBUtils dbUtils) throws RepositoryException {
         super(dbUtils);
     }
 
+    /**
+     * Indexes the participants of the database, so the duplicate checks are answered without querying it.
+     * Called once at startup: until then, only the unique key of the table refuses the duplicates.
+     */
+    public void loadIndex() throws RepositoryException {
+        logger.traceEntry("Indexing the participants...");
+
+        writeLock.lock();
+        try (PreparedStatement preparedStatement = this.dbUtils.getConnection().prepareStatement(SQL_SELECT_FIELDS)) {
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+            ResultSet resultSet = preparedStatement.executeQuery();
+            while (resultSet.next()) {
+                index.add(resultSet.getString("first_name"), resultSet.getString("last_name"),
+                        resultSet.getString("team"), resultSet.getInt("engine_capacity"));
+            }
+        } catch (SQLException e) {
+            logger.error("Couldn't index the participants: {}", e.getMessage());
+            throw new RepositoryException("Couldn't index the participants: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+
+        logger.traceExit("Indexed {} participants.", index.size());
+        logger.info("The index of the participants holds about {} KB.", index.getEstimatedBytes() / 1024);
+    }
+
+    /**
+     * @return The index of the saved participants.
+     */
+    public ParticipantIndex getIndex() {
+        return index;
+    }
+
     @Override
     protected Participant extractFromResultSet(ResultSet resultSet) throws RepositoryException {
         logger.traceEntry("Extracting the participant from the result set...");
@@ -46,7 +110,7 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
         String sqlSelectOnTeam = "select * from participants p where p.team = ?";
         String sqlSelectOnFields = "select * from participants p where p.first_name = ? and p.last_name = ? and p.team = ? and p.engine_capacity = ?";
         String sqlCountOnEngineCapacity = "select count(*) from participants p where p.engine_capacity = ?";
-        String sqlInsert = "insert into participants(first_name, last_name, team, engine_capacity) values(?, ?, ?, ?)";
+        String sqlDeleteOnFields = "delete from participants where first_name = ? and last_name = ? and team = ? and engine_capacity = ?";
 
         logger.info("Trying to establish a connection with the database...");
         Connection connection = this.dbUtils.getConnection();
@@ -61,7 +125,8 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
             this.preparedStatementMap.put("selectOnTeam", connection.prepareStatement(sqlSelectOnTeam));
             this.preparedStatementMap.put("selectOnFields", connection.prepareStatement(sqlSelectOnFields));
             this.preparedStatementMap.put("countOnEngineCapacity", connection.prepareStatement(sqlCountOnEngineCapacity));
-            this.preparedStatementMap.put("insert", connection.prepareStatement(sqlInsert));
+            this.preparedStatementMap.put("insert", connection.prepareStatement(SQL_INSERT));
+            this.preparedStatementMap.put("deleteOnFields", connection.prepareStatement(sqlDeleteOnFields));
         } catch (SQLException e) {
             logger.error("Couldn't insert the prepared statements: {}", e.getMessage());
             throw new RepositoryException("Couldn't initialize the prepared statements for the Model.Participant Repository: " + e.getMessage());
@@ -84,40 +149,237 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
     public Optional<Participant> save(Participant participant) throws RepositoryException {
         logger.traceEntry("Trying to save the participant {}", participant);
 
-        logger.info("Checking if the participant already exists...");
+        // Held from the check to the insert, so two registrations of the same participant can't both pass the check.
+        writeLock.lock();
         try {
-            Optional<Participant> found = this.findParticipantByFields(participant);
-
-            if (found.isPresent()) {
+            logger.info("Checking if the participant already exists...");
+            if (index.contains(participant)) {
                 logger.error("The participant already exists!");
                 return Optional.empty();
             }
-        } catch (RepositoryException e) {
-            logger.error("Couldn't find the participant: {}", e.getMessage());
-            throw new RepositoryException("Couldn't find the participant!");
+
+            Optional<Participant> saved = this.insert(participant);
+            logger.traceExit("Saved the participant: " + participant);
+            return saved;
+        } catch (SQLException e) {
+            logger.error("Couldn't save the participant: {} - {}", participant, e.getMessage());
+            throw new RepositoryException("Couldn't save the participant: " + participant + " - " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public List<Optional<Participant>> saveAll(List<Participant> participants) throws RepositoryException {
+        logger.traceEntry("Trying to save a batch of {} participants", participants.size());
+
+        if (participants.isEmpty()) {
+            return List.of();
         }
 
+        writeLock.lock();
         try {
-            PreparedStatement preparedStatement = this.preparedStatementMap.get("insert");
+            List<Optional<Participant>> saved = new ArrayList<>(participants.size());
+            // Refuses the repetitions of a participant within the batch.
+            ParticipantIndex batch = new ParticipantIndex();
+            for (Participant participant : participants) {
+                boolean isNew = !index.contains(participant) && batch.add(participant);
+                saved.add(isNew ? Optional.of(participant) : Optional.empty());
+            }
+
+            // The unique key refused a participant the index didn't know of: the batch is written again one by one,
+            // still in a single transaction, so only the duplicates are refused and the new ones are saved all together.
+            if (!this.insertBatch(saved)) {
+                this.insertOneByOne(saved);
+            }
+
+            saved.forEach(participant -> participant.ifPresent(index::add));
+            logger.traceExit("Saved a batch of {} participants.", participants.size());
+            return saved;
+        } catch (SQLException e) {
+            logger.error("Couldn't save the batch of participants: {}", e.getMessage());
+            throw new RepositoryException("Couldn't save the batch of participants: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Inserts the participants to be saved with a single batched insert, in a single transaction.
+     *
+     * @param saved The participants of the batch, empty for the ones not to be saved.
+     * @return Whether they were saved, or {@code false} if the unique key refused one of them and none was saved.
+     */
+    private boolean insertBatch(List<Optional<Participant>> saved) throws SQLException, RepositoryException {
+        Connection connection = this.getBatchConnection();
+        try {
+            for (Optional<Participant> participant : saved) {
+                if (participant.isPresent()) {
+                    batchInsert.setString(1, participant.get().getFirstName());
+                    batchInsert.setString(2, participant.get().getLastName());
+                    batchInsert.setString(3, participant.get().getTeam());
+                    batchInsert.setInt(4, participant.get().getEngineCapacity());
+                    batchInsert.addBatch();
+                }
+            }
+            batchInsert.executeBatch();
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            connection.rollback();
+            if (!isConstraintViolation(e)) {
+                throw e;
+            }
+            return false;
+        } finally {
+            batchInsert.clearBatch();
+        }
+    }
+
+    /**
+     * Inserts the participants to be saved one by one, in a single transaction, refusing the ones the unique key refuses.
+     * Catches the duplicates the index can't tell apart, such as the ones saved by another application
+     * or the ones of the same batch that only the collation of the database finds equal.
+     *
+     * @param saved The participants of the batch, empty for the ones not to be saved, emptied for the refused ones.
+     */
+    private void insertOneByOne(List<Optional<Participant>> saved) throws SQLException, RepositoryException {
+        Connection connection = this.getBatchConnection();
+        List<Participant> refused = new ArrayList<>();
+        try {
+            for (int i = 0; i < saved.size(); i++) {
+                if (saved.get(i).isEmpty()) {
+                    continue;
+                }
+
+                Participant participant = saved.get(i).get();
+                batchInsert.setString(1, participant.getFirstName());
+                batchInsert.setString(2, participant.getLastName());
+                batchInsert.setString(3, participant.getTeam());
+                batchInsert.setInt(4, participant.getEngineCapacity());
+                Savepoint savepoint = connection.setSavepoint();
+                try {
+                    batchInsert.executeUpdate();
+                } catch (SQLException e) {
+                    if (!isConstraintViolation(e)) {
+                        throw e;
+                    }
+                    connection.rollback(savepoint);
+                    logger.warn("The unique key refused the participant: {}", participant);
+                    refused.add(participant);
+                    saved.set(i, Optional.empty());
+                }
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        }
+        refused.forEach(index::add);
+    }
+
+    /**
+     * Opens the connection of the batches, unless already opened and still valid. Called under the write lock.
+     *
+     * @return The connection of the batches, without autocommit.
+     */
+    private Connection getBatchConnection() throws SQLException, RepositoryException {
+        if (batchConnection != null) {
+            if (batchConnection.isValid(VALIDATION_TIMEOUT)) {
+                return batchConnection;
+            }
+
+            logger.warn("The connection of the batches was lost! Opening it again...");
+            this.dbUtils.closeConnection(batchConnection);
+            batchConnection = null;
+            batchInsert = null;
+        }
+
+        Connection connection = this.dbUtils.openConnection();
+        if (connection == null) {
+            logger.error("Couldn't establish the connection of the batches with the database!");
+            throw new RepositoryException("Couldn't establish the connection of the batches with the database!");
+        }
+        connection.setAutoCommit(false);
+        batchInsert = connection.prepareStatement(SQL_INSERT);
+        batchConnection = connection;
+        return batchConnection;
+    }
+
+    /**
+     * Inserts a participant and indexes it, unless the unique key refuses it.
+     *
+     * @param participant Participant to be inserted.
+     * @return An {@code Optional} containing the participant if it was inserted, or an empty one if it already existed.
+     */
+    private Optional<Participant> insert(Participant participant) throws SQLException {
+        PreparedStatement preparedStatement = this.preparedStatementMap.get("insert");
+        preparedStatement.setString(1, participant.getFirstName());
+        preparedStatement.setString(2, participant.getLastName());
+        preparedStatement.setString(3, participant.getTeam());
+        preparedStatement.setInt(4, participant.getEngineCapacity());
+
+        try {
+            preparedStatement.executeUpdate();
+        } catch (SQLException e) {
+            if (!isConstraintViolation(e)) {
+                throw e;
+            }
+            // Saved by someone else since the index was loaded.
+            logger.warn("The unique key refused the participant: {}", participant);
+            index.add(participant);
+            return Optional.empty();
+        }
+
+        index.add(participant);
+        return Optional.of(participant);
+    }
+
+    /**
+     * @return Whether the exception, or one chained to it, reports a violated constraint.
+     */
+    private static boolean isConstraintViolation(SQLException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (next.getSQLState() != null && next.getSQLState().startsWith(SQL_STATE_CONSTRAINT)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Optional<Participant> delete(Participant participant) throws RepositoryException {
+        logger.traceEntry("Trying to delete the participant {}", participant);
+
+        // Held from the delete to the removal from the index, so a registration can't be refused by a deleted participant.
+        writeLock.lock();
+        try {
+            PreparedStatement preparedStatement = this.preparedStatementMap.get("deleteOnFields");
             preparedStatement.setString(1, participant.getFirstName());
             preparedStatement.setString(2, participant.getLastName());
             preparedStatement.setString(3, participant.getTeam());
             preparedStatement.setInt(4, participant.getEngineCapacity());
 
-            preparedStatement.executeUpdate();
-            logger.traceExit("Saved the participant: " + participant);
+            if (preparedStatement.executeUpdate() == 0) {
+                logger.traceExit("The participant doesn't exist: " + participant);
+                return Optional.empty();
+            }
+
+            index.remove(participant);
+            logger.traceExit("Deleted the participant: " + participant);
             return Optional.of(participant);
         } catch (SQLException e) {
-            logger.error("Couldn't save the participant: {} - {}", participant, e.getMessage());
-            throw new RepositoryException("Couldn't save the participant: " + participant + " - " + e.getMessage());
+            logger.error("Couldn't delete the participant: {} - {}", participant, e.getMessage());
+            throw new RepositoryException("Couldn't delete the participant: " + participant + " - " + e.getMessage());
+        } finally {
+            writeLock.unlock();
         }
     }
 
-    @Override
-    public Optional<Participant> delete(Participant participant) {
-        return Optional.empty();
-    }
-
     @Override
     public Optional<Participant> update(Participant participant) {
         return Optional.empty();
@@ -127,6 +389,7 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
     public Optional<Participant> findParticipantByFields(Participant participant) throws RepositoryException {
         logger.traceEntry("Trying to find the participant by the fields: " + participant);
 
+        statementLock.lock();
         try {
             PreparedStatement preparedStatement = this.preparedStatementMap.get("selectOnFields");
             preparedStatement.setString(1, participant.getFirstName());
@@ -143,6 +406,8 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
         } catch (SQLException e) {
             logger.error("Couldn't find the participant by the fields: {} - {}", participant, e.getMessage());
             throw new RepositoryException("Couldn't find the participant by the fields: " + participant + " - " + e.getMessage());
+        } finally {
+            statementLock.unlock();
         }
 
         logger.traceExit("Couldn't find the participant by the fields: " + participant);
@@ -155,6 +420,7 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
 
         List<Participant> participants = new ArrayList<>();
 
+        statementLock.lock();
         try {
             PreparedStatement preparedStatement = this.preparedStatementMap.get("selectOnTeam");
             preparedStatement.setString(1, team);
@@ -170,6 +436,36 @@ public class ParticipantDBRepository extends DBRepository<UUID, Participant> imp
         } catch (SQLException e) {
             logger.error("Couldn't find the participants by the team: {} - {}", team, e.getMessage());
             throw new RepositoryException("Couldn't find the participants by the team: " + team + " - " + e.getMessage());
+        } finally {
+            statementLock.unlock();
+        }
+    }
+
+    @Override
+    public Cursor<Participant> streamParticipantsByTeam(String team, long offset) throws RepositoryException {
+        logger.traceEntry("Trying to stream the participants by the team: " + team);
+
+        // A connection of its own, as the cursor keeps its result set open while it is read, which would otherwise
+        // hold up the statements of the other requests on the shared connection.
+        Connection connection = this.dbUtils.openConnection();
+        if (connection == null) {
+            logger.error("Couldn't establish the connection of the cursor with the database!");
+            throw new RepositoryException("Couldn't establish the connection of the cursor with the database!");
+        }
+
+        try {
+            PreparedStatement preparedStatement = connection.prepareStatement(SQL_STREAM_ON_TEAM);
+            preparedStatement.setFetchSize(STREAM_FETCH_SIZE);
+            preparedStatement.setString(1, team);
+            preparedStatement.setLong(2, Long.MAX_VALUE);
+            preparedStatement.setLong(3, offset);
+
+            logger.traceExit("Opened the cursor of the team: " + team);
+            return new ResultSetCursor(connection, preparedStatement);
+        } catch (SQLException e) {
+            this.dbUtils.closeConnection(connection);
+            logger.error("Couldn't stream the participants by the team: {} - {}", team, e.getMessage());
+            throw new RepositoryException("Couldn't stream the participants by the team: " + team + " - " + e.getMessage());
         }
     }
 }
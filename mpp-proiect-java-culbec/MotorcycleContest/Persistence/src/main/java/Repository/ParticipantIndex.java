@@ -0,0 +1,123 @@
+package Repository;
+
+import Model.Participant;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The fields identifying the saved participants, so a duplicate is found without querying the database.
+ * The fields are compared without their trailing spaces, which the database ignores, and otherwise as they are.
+ * The collation of the database also finds equal the fields differing in case or accents: the index leaves those,
+ * as well as the ones inserted by another application, to the unique key of the table, so it never refuses a participant
+ * the database would save.
+ */
+public class ParticipantIndex {
+    // Separates the fields of a key, as no name or team holds it.
+    private static final char SEPARATOR = '\u001F';
+    // The bytes of an empty String and of the header of its array, and of a node of the map, on a 64-bit JVM
+    // with compressed references.
+    private static final int STRING_BYTES = 24;
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int NODE_BYTES = 32;
+
+    private final Set<String> keys = ConcurrentHashMap.newKeySet();
+    // The bytes of the arrays of the keys, in total.
+    private final AtomicLong keyBytes = new AtomicLong();
+
+    /**
+     * @param participant The participant.
+     * @return Whether a participant with the same fields was indexed.
+     */
+    public boolean contains(Participant participant) {
+        return keys.contains(key(participant));
+    }
+
+    /**
+     * Indexes a participant.
+     *
+     * @param participant The participant saved.
+     * @return Whether it wasn't already indexed.
+     */
+    public boolean add(Participant participant) {
+        return this.add(participant.getFirstName(), participant.getLastName(), participant.getTeam(), participant.getEngineCapacity());
+    }
+
+    /**
+     * Indexes the fields of a participant.
+     *
+     * @return Whether they weren't already indexed.
+     */
+    public boolean add(String firstName, String lastName, String team, int engineCapacity) {
+        String key = key(firstName, lastName, team, engineCapacity);
+        if (!keys.add(key)) {
+            return false;
+        }
+        keyBytes.addAndGet(arrayBytes(key));
+        return true;
+    }
+
+    /**
+     * Forgets a participant, once deleted.
+     *
+     * @param participant The participant deleted.
+     * @return Whether it was indexed.
+     */
+    public boolean remove(Participant participant) {
+        String key = key(participant);
+        if (!keys.remove(key)) {
+            return false;
+        }
+        keyBytes.addAndGet(-arrayBytes(key));
+        return true;
+    }
+
+    /**
+     * @return The number of participants indexed.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    /**
+     * Estimates the memory held by the index: a node, a String and its array per participant, and the table of the map.
+     *
+     * @return The bytes held by the index, approximately.
+     */
+    public long getEstimatedBytes() {
+        long size = keys.size();
+        // The table of the map doubles once it is three quarters full.
+        long table = Long.highestOneBit(Math.max(size * 4 / 3, 1) * 2 - 1);
+        return size * (NODE_BYTES + STRING_BYTES) + keyBytes.get() + table * 4 + ARRAY_HEADER_BYTES;
+    }
+
+    private static String key(Participant participant) {
+        return key(participant.getFirstName(), participant.getLastName(), participant.getTeam(), participant.getEngineCapacity());
+    }
+
+    private static String key(String firstName, String lastName, String team, int engineCapacity) {
+        return normalize(firstName) + SEPARATOR + normalize(lastName) + SEPARATOR + normalize(team) + SEPARATOR + engineCapacity;
+    }
+
+    private static String normalize(String field) {
+        if (field == null) {
+            return "";
+        }
+        // Only the spaces pad the fields, not the other whitespace.
+        int end = field.length();
+        while (end > 0 && field.charAt(end - 1) == ' ') {
+            end--;
+        }
+        return field.substring(0, end);
+    }
+
+    /**
+     * @return The bytes of the array of a key, one per character if they are all Latin-1, two otherwise, rounded to 8.
+     */
+    private static long arrayBytes(String key) {
+        boolean latin1 = key.chars().allMatch(character -> character <= 0xFF);
+        long length = ARRAY_HEADER_BYTES + (long) key.length() * (latin1 ? 1 : 2);
+        return (length + 7) & ~7L;
+    }
+}
@@ -2,6 +2,7 @@ package Repository;
 
 import Model.Participant;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,6 +18,16 @@ public interface ParticipantRepository extends Repository<UUID, Participant> {
      */
     Optional<Participant> findParticipantByFields(Participant participant) throws RepositoryException;
 
+    /**
+     * Saves the participants in a single transaction, with a single batched insert.
+     * The participants that already exist are refused one by one, while the new ones are either all saved, or none of them.
+     *
+     * @param participants Participants to be saved.
+     * @return For every participant, in order, an {@code Optional} containing it if it was saved,
+     * or an empty one if it already existed or repeats a previous participant of the list.
+     */
+    List<Optional<Participant>> saveAll(List<Participant> participants) throws RepositoryException;
+
     /**
      * Finds all participants by the passed team.
      *
@@ -24,4 +35,13 @@ public interface ParticipantRepository extends Repository<UUID, Participant> {
      * @return An {@code Iterable} containing the participants if the participants have been found.
      */
     Iterable<Participant> findParticipantsByTeam(String team) throws RepositoryException;
+
+    /**
+     * Opens a streaming cursor over the participants of the passed team, in a stable order.
+     *
+     * @param team   Team of the participants.
+     * @param offset Number of participants to skip.
+     * @return A {@code Cursor} over the participants, to be closed by the caller.
+     */
+    Cursor<Participant> streamParticipantsByTeam(String team, long offset) throws RepositoryException;
 }
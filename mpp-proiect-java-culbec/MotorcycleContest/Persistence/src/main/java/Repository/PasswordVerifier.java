@@ -0,0 +1,165 @@
+package Repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks the passwords against their BCrypt hashes on a dedicated pool of threads.
+ * A hash costs milliseconds of CPU, so a rush of logins is spread over a thread per core instead of
+ * running on the threads of the clients, and the logins beyond the queue are refused instead of piling up.
+ */
+public class PasswordVerifier implements AutoCloseable {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    public static final int DEFAULT_THREADS = Runtime.getRuntime().availableProcessors();
+    public static final int DEFAULT_QUEUE = 256;
+
+    private final ThreadPoolExecutor executor;
+
+    private final AtomicLong verified = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    // The nanoseconds the verified passwords waited in the queue, in total.
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicInteger peakQueueDepth = new AtomicInteger();
+    private ScheduledExecutorService reporter = null;
+
+    public PasswordVerifier() {
+        this(DEFAULT_THREADS, DEFAULT_QUEUE);
+    }
+
+    /**
+     * @param threads  The number of passwords checked at once.
+     * @param capacity The number of passwords waiting for a thread, beyond which the logins are refused.
+     */
+    public PasswordVerifier(int threads, int capacity) {
+        threads = Math.max(threads, 1);
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(capacity, 1)),
+                Thread.ofPlatform().name("password-verifier-", 0).daemon().factory());
+    }
+
+    /**
+     * Checks a password on the pool, waiting for the outcome.
+     *
+     * @param password       The password to be checked.
+     * @param hashedPassword The BCrypt hash of the expected password.
+     * @return {@code true} if the password matches the hash, {@code false} otherwise.
+     * @throws RepositoryException If the queue is full, the hash is malformed or the wait was interrupted.
+     */
+    public boolean verify(String password, String hashedPassword) throws RepositoryException {
+        long queuedAt = System.nanoTime();
+        Future<Boolean> check;
+        try {
+            check = executor.submit(() -> {
+                waited.addAndGet(System.nanoTime() - queuedAt);
+                return BCrypt.checkpw(password, hashedPassword);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            logger.warn("Too many passwords waiting to be verified: {}", executor.getQueue().size());
+            throw new RepositoryException("Too many logins at once, try again later.");
+        }
+        peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+
+        try {
+            boolean matches = check.get();
+            verified.incrementAndGet();
+            return matches;
+        } catch (ExecutionException e) {
+            logger.error("Couldn't verify the password: {}", e.getCause().getMessage());
+            throw new RepositoryException("Couldn't verify the password: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            check.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RepositoryException("Interrupted while verifying the password.");
+        }
+    }
+
+    /**
+     * @return The number of passwords waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return The largest number of passwords that waited for a thread at once.
+     */
+    public int getPeakQueueDepth() {
+        return peakQueueDepth.get();
+    }
+
+    /**
+     * @return The number of passwords being checked.
+     */
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return The number of passwords checked, matching or not.
+     */
+    public long getVerified() {
+        return verified.get();
+    }
+
+    /**
+     * @return The number of passwords refused because the queue was full.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * @return The mean time, in microseconds, a checked password waited for a thread.
+     */
+    public long getAverageWait() {
+        long count = verified.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(waited.get() / count);
+    }
+
+    /**
+     * Logs the verification of the passwords periodically, on a thread of its own.
+     *
+     * @param interval The milliseconds between the logs, 0 to never log them.
+     */
+    public void startReporting(long interval) {
+        if (interval <= 0 || reporter != null) {
+            return;
+        }
+
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "password-verifier-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Logs the passwords checked, waiting and refused so far.
+     */
+    public void report() {
+        logger.info("Verified passwords: {}, being verified: {}, waiting: {} (at most {}), refused: {}, mean wait: {} us",
+                getVerified(), getActive(), getQueueDepth(), getPeakQueueDepth(), getRejected(), getAverageWait());
+    }
+
+    @Override
+    public void close() {
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+        executor.shutdown();
+    }
+}
@@ -10,8 +10,13 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class RaceDBRepository extends DBRepository<Integer, Race> implements RaceRepository {
+    // Guards the shared statements of the queries, which are read by one request at a time.
+    private final Lock statementLock = new ReentrantLock();
+
     public RaceDBRepository(DBUtils dbUtils) throws RepositoryException {
         super(dbUtils);
     }
@@ -69,6 +74,7 @@ public class RaceDBRepository extends DBRepository<Integer, Race> implements Rac
         logger.traceEntry("Finding all engine capacities...");
         List<Integer> engineCapacities = new ArrayList<>();
 
+        statementLock.lock();
         try (ResultSet resultSet = this.preparedStatementMap.get("selectAllEngineCapacities").executeQuery()) {
             logger.info("Statement executed successfully!");
 
@@ -83,6 +89,8 @@ public class RaceDBRepository extends DBRepository<Integer, Race> implements Rac
         } catch (SQLException e) {
             logger.error("Couldn't find the engine capacities: {}", e.getMessage());
             throw new RepositoryException("Couldn't get the engine capacities: " + e.getMessage());
+        } finally {
+            statementLock.unlock();
         }
     }
 
@@ -97,6 +105,7 @@ public class RaceDBRepository extends DBRepository<Integer, Race> implements Rac
 
         List<Race> races = new ArrayList<>();
 
+        statementLock.lock();
         try {
             ResultSet resultSet = this.preparedStatementMap.get("selectAll").executeQuery();
 
@@ -112,6 +121,8 @@ public class RaceDBRepository extends DBRepository<Integer, Race> implements Rac
         } catch (SQLException e) {
             logger.error("Couldn't find all the races: {}", e.getMessage());
             throw new RepositoryException("Couldn't find all the races: " + e.getMessage());
+        } finally {
+            statementLock.unlock();
         }
     }
 
@@ -24,7 +24,7 @@ public interface Repository<ID, E> {
      * @param e - the entity to be deleted.
      * @return an {@code Optional} encapsulating the entity with the given id if it was deleted, or {@code Optional.empty()} otherwise.
      */
-    Optional<E> delete(E e);
+    Optional<E> delete(E e) throws RepositoryException;
 
     /**
      * @param e - the entity to be updated.
@@ -2,17 +2,31 @@ package Repository;
 
 import ConnectionUtils.DBUtils;
 import Model.User;
-import org.springframework.security.crypto.bcrypt.BCrypt;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class UserDBRepository extends DBRepository<Integer, User> implements UserRepository {
+    // Checks the passwords off the threads of the callers, so the logins only wait for each other on the query.
+    private final PasswordVerifier passwordVerifier;
+    // Guards the shared statement of the query, which is parameterized and read by one login at a time.
+    private final Lock statementLock = new ReentrantLock();
+
     public UserDBRepository(DBUtils dbUtils) throws RepositoryException {
+        this(dbUtils, new PasswordVerifier());
+    }
+
+    /**
+     * @param passwordVerifier Checks the passwords against their hashes.
+     */
+    public UserDBRepository(DBUtils dbUtils, PasswordVerifier passwordVerifier) throws RepositoryException {
         super(dbUtils);
+        this.passwordVerifier = passwordVerifier;
     }
 
     @Override
@@ -91,44 +105,35 @@ public class UserDBRepository extends DBRepository<Integer, User> implements Use
 
     @Override
     public Optional<User> findUserByCredentials(String username, String password) throws RepositoryException {
-        logger.traceEntry("Trying to find the user with the credentials {} {} ", username, password);
+        logger.traceEntry("Trying to find the user with the username {}", username);
 
+        User user = null;
+        String hashedPassword = null;
+        statementLock.lock();
         try {
             PreparedStatement preparedStatement = this.preparedStatementMap.get("selectOnUsername");
             preparedStatement.setString(1, username);
 
-            ResultSet resultSet = preparedStatement.executeQuery();
-
-            if (resultSet.next()) {
-                String _password = resultSet.getString("password");
-
-                User user = this.extractFromResultSet(resultSet);
-
-                if (user != null && checkPassword(password, _password)) {
-                    logger.traceExit("Found the user with the credentials: " + username + " - " + password);
-                    return Optional.of(user);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    hashedPassword = resultSet.getString("password");
+                    user = this.extractFromResultSet(resultSet);
                 }
             }
         } catch (SQLException e) {
-            logger.error("Couldn't find the user with the credentials: {} - {} - {}", username, password, e.getMessage());
-            throw new RepositoryException("Couldn't find the user with the credentials: " + username + " - " + password + " - " + e.getMessage());
+            logger.error("Couldn't find the user with the username: {} - {}", username, e.getMessage());
+            throw new RepositoryException("Couldn't find the user with the username: " + username + " - " + e.getMessage());
+        } finally {
+            statementLock.unlock();
         }
 
-        logger.traceExit("Couldn't find the user with the credentials: " + username + " - " + password);
-        return Optional.empty();
-    }
+        // Checked outside the lock, so the slow hash doesn't hold back the queries of the other logins.
+        if (user != null && this.passwordVerifier.verify(password, hashedPassword)) {
+            logger.traceExit("Found the user with the username: {}", username);
+            return Optional.of(user);
+        }
 
-    /**
-     * Checks if the passed password is the same as the encrypted one.
-     *
-     * @param password       Password to be checked.
-     * @param hashedPassword Encrypted password.
-     * @return {@code true} if the password is the same as the encrypted one, {@code false} otherwise.
-     */
-    private boolean checkPassword(String password, String hashedPassword) {
-        logger.traceEntry("Checking the password: " + password + " - " + hashedPassword);
-        logger.traceExit("Checked the password: " + password + " - " + hashedPassword);
-        return BCrypt.checkpw(password, hashedPassword);
+        logger.traceExit("Couldn't find the user with the credentials of: {}", username);
+        return Optional.empty();
     }
-
 }
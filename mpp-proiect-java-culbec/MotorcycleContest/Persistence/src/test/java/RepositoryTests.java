@@ -2,6 +2,8 @@ import ConnectionUtils.DBUtils;
 import Model.Participant;
 import Model.User;
 import Repository.*;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.security.crypto.bcrypt.BCrypt;
@@ -11,20 +13,32 @@ import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class RepositoryTests {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    private final DBUtils dbUtils;
     private final UserRepository userRepository;
     private final ParticipantRepository participantRepository;
     private final PreparedStatement insertUser;
     private final PreparedStatement deleteUser;
+    private final PreparedStatement insertParticipant;
     private final PreparedStatement deleteParticipant;
+    private final PreparedStatement deleteTeam;
 
     public RepositoryTests() throws RepositoryException, SQLException {
         Properties properties = new Properties();
@@ -34,15 +48,26 @@ public class RepositoryTests {
             throw new RuntimeException(e);
         }
 
-        DBUtils dbUtils = new DBUtils(properties);
+        this.dbUtils = new DBUtils(properties);
         this.userRepository = new UserDBRepository(dbUtils);
-        this.participantRepository = new ParticipantDBRepository(dbUtils);
+        this.participantRepository = this.createParticipantRepository();
 
         Connection connection = dbUtils.getConnection();
         this.insertUser = connection.prepareStatement("insert into users(uid, first_name, last_name, username, password) values(?, ?, ?, ?, ?)");
         this.deleteUser = connection.prepareStatement("delete from users where username = ?");
 
+        this.insertParticipant = connection.prepareStatement("insert into participants(first_name, last_name, team, engine_capacity) values(?, ?, ?, ?)");
         this.deleteParticipant = connection.prepareStatement("delete from participants where first_name = ?");
+        this.deleteTeam = connection.prepareStatement("delete from participants where team = ?");
+    }
+
+    /**
+     * @return A participant repository, with the index loaded from the database as it is now.
+     */
+    private ParticipantDBRepository createParticipantRepository() throws RepositoryException {
+        ParticipantDBRepository participantRepository = new ParticipantDBRepository(dbUtils);
+        participantRepository.loadIndex();
+        return participantRepository;
     }
 
     private void beforeUser() throws SQLException {
@@ -97,6 +122,44 @@ public class RepositoryTests {
         this.afterUser();
     }
 
+    @Test
+    @DisplayName("Repository.PasswordVerifier - Repository Test")
+    public void PasswordVerifierTest() throws Exception {
+        String hashedPassword = BCrypt.hashpw("1234", BCrypt.gensalt(10));
+
+        try (PasswordVerifier verifier = new PasswordVerifier(1, 1)) {
+            assertTrue(verifier.verify("1234", hashedPassword), "The password should match.");
+            assertFalse(verifier.verify("12345", hashedPassword), "The password should not match.");
+            assertThrows(RepositoryException.class, () -> verifier.verify("1234", "not a hash"), "A malformed hash should be refused.");
+
+            // A single thread and a single place in the queue: the logins beyond them are refused instead of waiting.
+            int logins = 8;
+            AtomicInteger refused = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            try (ExecutorService clients = Executors.newFixedThreadPool(logins)) {
+                for (int i = 0; i < logins; i++) {
+                    clients.execute(() -> {
+                        try {
+                            start.await();
+                            verifier.verify("1234", hashedPassword);
+                        } catch (RepositoryException e) {
+                            refused.incrementAndGet();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+                start.countDown();
+            }
+
+            assertTrue(refused.get() > 0, "The logins beyond the queue should be refused.");
+            assertEquals(refused.get(), verifier.getRejected(), "Every refused login should be counted.");
+            assertEquals(2 + logins - refused.get(), verifier.getVerified(), "Every accepted login should be verified.");
+            assertEquals(1, verifier.getPeakQueueDepth(), "The queue should hold a single password at most.");
+            assertEquals(0, verifier.getQueueDepth(), "The queue should be drained.");
+        }
+    }
+
     private void afterParticipant() throws SQLException {
         deleteParticipant.setString(1, "Test1F");
         deleteParticipant.executeUpdate();
@@ -141,4 +204,207 @@ public class RepositoryTests {
 
         this.afterParticipant();
     }
+
+    @Test
+    @DisplayName("Repository.ParticipantDBRepository delete - Repository Test")
+    public void ParticipantRepositoryDeleteTest() throws SQLException, RepositoryException {
+        try {
+            Participant participant = createParticipant("DeleteT", 0);
+            assertTrue(participantRepository.save(participant).isPresent(), "The participant should be saved.");
+            assertTrue(participantRepository.delete(participant).isPresent(), "The participant should be deleted.");
+            assertFalse(participantRepository.delete(participant).isPresent(), "The participant should already be deleted.");
+            assertTrue(participantRepository.save(participant).isPresent(), "The deleted participant should be saved again.");
+        } finally {
+            deleteTeam.setString(1, "DeleteT");
+            deleteTeam.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Repository.GroupCommitParticipantRepository - Repository Test")
+    public void GroupCommitParticipantRepositoryTest() throws Exception {
+        try (GroupCommitParticipantRepository repository = new GroupCommitParticipantRepository(participantRepository, 20, 64)) {
+            // The same participant registered by many clients at once lands in the same batch: only one of them saves it.
+            int clients = 16;
+            AtomicInteger savedCount = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+                for (int i = 0; i < clients; i++) {
+                    executor.execute(() -> {
+                        try {
+                            start.await();
+                            if (repository.save(createParticipant("GroupT", 0)).isPresent()) {
+                                savedCount.incrementAndGet();
+                            }
+                        } catch (RepositoryException e) {
+                            throw new RuntimeException(e);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    });
+                }
+                start.countDown();
+            }
+
+            assertEquals(1, savedCount.get(), "A single registration should save the participant.");
+            assertEquals(1, repository.getSaved(), "A single participant should be saved.");
+            assertTrue(repository.getBatches() < clients, "The registrations should be saved together.");
+            assertFalse(repository.save(createParticipant("GroupT", 0)).isPresent(), "The participant should already exist.");
+            assertEquals(1, ((List<Participant>) repository.findParticipantsByTeam("GroupT")).size(), "The team should have a single participant.");
+        } finally {
+            deleteTeam.setString(1, "GroupT");
+            deleteTeam.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Repository.ParticipantDBRepository batch with an unindexed duplicate - Repository Test")
+    public void SaveAllUnindexedDuplicateTest() throws Exception {
+        try {
+            // Saved by another application, behind the back of the index.
+            Participant existing = createParticipant("BatchT", 0);
+            insertParticipant.setString(1, existing.getFirstName());
+            insertParticipant.setString(2, existing.getLastName());
+            insertParticipant.setString(3, existing.getTeam());
+            insertParticipant.setInt(4, existing.getEngineCapacity());
+            insertParticipant.executeUpdate();
+
+            List<Optional<Participant>> saved = participantRepository.saveAll(List.of(
+                    createParticipant("BatchT", 1), existing, createParticipant("BatchT", 2)));
+            assertTrue(saved.get(0).isPresent(), "The first new participant should be saved.");
+            assertFalse(saved.get(1).isPresent(), "The participant saved by another application should be refused.");
+            assertTrue(saved.get(2).isPresent(), "The second new participant should be saved.");
+            assertEquals(3, ((List<Participant>) participantRepository.findParticipantsByTeam("BatchT")).size(),
+                    "The new participants should be saved together, next to the existing one.");
+            assertFalse(participantRepository.saveAll(List.of(existing)).getFirst().isPresent(),
+                    "The refused participant should be indexed.");
+        } finally {
+            deleteTeam.setString(1, "BatchT");
+            deleteTeam.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Repository.ParticipantDBRepository padded and cased names - Repository Test")
+    public void SaveAllPaddedNamesTest() throws Exception {
+        try {
+            // The database compares the names ignoring the case and the trailing spaces, but not the leading ones.
+            List<Optional<Participant>> saved = participantRepository.saveAll(List.of(
+                    createParticipant("PaddedT", 0, "PaddedF"),
+                    createParticipant("PaddedT", 0, " PaddedF"),
+                    createParticipant("PaddedT", 0, "PaddedF "),
+                    createParticipant("PaddedT", 0, "PADDEDF")));
+            assertTrue(saved.get(0).isPresent(), "The participant should be saved.");
+            assertTrue(saved.get(1).isPresent(), "The name with a leading space should be another participant.");
+            assertFalse(saved.get(2).isPresent(), "The name with a trailing space should be the same participant.");
+            assertFalse(saved.get(3).isPresent(), "The name in another case should be the same participant.");
+            assertEquals(2, ((List<Participant>) participantRepository.findParticipantsByTeam("PaddedT")).size(),
+                    "Only the distinct participants should be saved.");
+            assertFalse(participantRepository.save(createParticipant("PaddedT", 0, "paddedf")).isPresent(),
+                    "The name in another case should be refused by the unique key.");
+            assertTrue(participantRepository.save(createParticipant("PaddedT", 0, "  PaddedF")).isPresent(),
+                    "The name with other leading spaces should be saved.");
+        } finally {
+            deleteTeam.setString(1, "PaddedT");
+            deleteTeam.executeUpdate();
+        }
+    }
+
+    @Test
+    @DisplayName("Repository.GroupCommitParticipantRepository benchmark - Repository Test")
+    public void GroupCommitBenchmarkTest() throws Exception {
+        int registrations = 512;
+        for (int clients = 1; clients <= 64; clients *= 2) {
+            // A repository of its own per measurement, so the participants removed after the previous one aren't indexed.
+            try (GroupCommitParticipantRepository direct = new GroupCommitParticipantRepository(this.createParticipantRepository(), 0, 1);
+                 GroupCommitParticipantRepository grouped = new GroupCommitParticipantRepository(this.createParticipantRepository(), 5, 64)) {
+                double directThroughput = this.measureRegistrations(direct, clients, registrations);
+                double groupedThroughput = this.measureRegistrations(grouped, clients, registrations);
+
+                logger.info("{} clients: {} registrations/s one by one, {} registrations/s in {} batches",
+                        clients, Math.round(directThroughput), Math.round(groupedThroughput), grouped.getBatches());
+                assertEquals(registrations, grouped.getSaved(), "Every registration should be saved.");
+            }
+        }
+    }
+
+    /**
+     * Registers distinct participants from concurrent clients, removing them afterward.
+     *
+     * @return The registrations saved per second.
+     */
+    private double measureRegistrations(ParticipantRepository repository, int clients, int registrations) throws Exception {
+        List<Participant> participants = new ArrayList<>(registrations);
+        for (int i = 0; i < registrations; i++) {
+            participants.add(createParticipant("BenchT", i));
+        }
+
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newFixedThreadPool(clients)) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> {
+                    int index;
+                    while ((index = next.getAndIncrement()) < registrations) {
+                        try {
+                            if (repository.save(participants.get(index)).isEmpty()) {
+                                failed.incrementAndGet();
+                            }
+                        } catch (RepositoryException e) {
+                            failed.incrementAndGet();
+                        }
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - startedAt;
+
+        deleteTeam.setString(1, "BenchT");
+        deleteTeam.executeUpdate();
+
+        assertEquals(0, failed.get(), "Every registration should be saved.");
+        return registrations * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    private static Participant createParticipant(String team, int index) {
+        return createParticipant(team, index, "GroupF" + index);
+    }
+
+    private static Participant createParticipant(String team, int index, String firstName) {
+        return new Participant.Builder()
+                .setId(UUID.randomUUID())
+                .setFirstName(firstName)
+                .setLastName("GroupL" + index)
+                .setTeam(team)
+                .setEngineCapacity(1000)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Repository.ParticipantIndex - Repository Test")
+    public void ParticipantIndexTest() {
+        ParticipantIndex index = new ParticipantIndex();
+        assertTrue(index.add(createParticipant("IndexT", 0)), "The participant should be indexed.");
+        assertFalse(index.add(createParticipant("IndexT", 0)), "The participant should already be indexed.");
+        assertTrue(index.contains(createParticipant("IndexT", 0, "GroupF0  ")),
+                "The fields should be compared without their trailing spaces, as the database pads them.");
+        assertFalse(index.contains(createParticipant("IndexT", 0, "  GroupF0")),
+                "The leading spaces should be kept, as the database compares them.");
+        assertFalse(index.contains(createParticipant("IndexT", 0, "\tGroupF0")),
+                "Only the spaces should be ignored.");
+        assertFalse(index.contains(createParticipant("IndexT", 0, "groupf0")),
+                "The fields differing in case should be left to the unique key of the database.");
+        assertFalse(index.contains(createParticipant("IndexT", 1)), "Another participant should not be indexed.");
+
+        // A node and an empty String of 56 bytes, the array of the 27 Latin-1 characters of the key rounded to 48 bytes,
+        // and a table of a single 4 bytes reference with its 16 bytes header.
+        assertEquals(124, index.getEstimatedBytes(), "The estimate should count the participant and the table of the map.");
+        assertTrue(index.add(createParticipant("IndexT", 1, "GroupȘ1")), "The participant should be indexed.");
+        // The array of the key of the second participant holds two bytes per character, and the table doubles.
+        assertEquals(124 + 56 + 72 + 4, index.getEstimatedBytes(), "The estimate should count the characters outside of Latin-1 twice.");
+        assertTrue(index.remove(createParticipant("IndexT", 1, "GroupȘ1")), "The participant should be removed.");
+        assertFalse(index.remove(createParticipant("IndexT", 1, "GroupȘ1")), "The participant should already be removed.");
+        assertEquals(124, index.getEstimatedBytes(), "The estimate should no longer count the removed participant.");
+    }
 }
@@ -0,0 +1,79 @@
+package Service;
+
+import Model.Participant;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Numbers the added participants in the order they were added and remembers the most recent ones
+ * in a ring buffer, so a client that lost its connection can be sent only the ones it missed.
+ */
+public class EventLog {
+    private final Participant[] events;
+    private final Lock lock = new ReentrantLock();
+    // The sequence number of the last event, 0 before the first one.
+    private long sequence = 0;
+
+    /**
+     * @param capacity The number of recent events remembered.
+     */
+    public EventLog(int capacity) {
+        this.events = new Participant[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Records an added participant, forgetting the oldest one if the log is full.
+     *
+     * @param participant The added participant.
+     * @return The sequence number of the addition.
+     */
+    public long append(Participant participant) {
+        lock.lock();
+        try {
+            sequence++;
+            events[(int) (sequence % events.length)] = participant;
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return The sequence number of the last event, 0 before the first one.
+     */
+    public long getSequence() {
+        lock.lock();
+        try {
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the participants added after an event.
+     *
+     * @param after The sequence number of the last event known.
+     * @return The participants added after it, in order, or null if some of them were already forgotten
+     * or the sequence number is ahead of the log.
+     */
+    public List<Participant> since(long after) {
+        lock.lock();
+        try {
+            if (after > sequence || after < sequence - events.length) {
+                return null;
+            }
+
+            List<Participant> missed = new ArrayList<>((int) (sequence - after));
+            for (long current = after + 1; current <= sequence; current++) {
+                missed.add(events[(int) (current % events.length)]);
+            }
+            return missed;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
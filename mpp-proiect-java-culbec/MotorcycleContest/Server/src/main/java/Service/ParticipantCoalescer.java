@@ -0,0 +1,119 @@
+package Service;
+
+import Model.Participant;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the added participants during a short window and hands them on as a single batch,
+ * so a burst of registrations costs the clients one update instead of one for every participant.
+ * A batch is emitted when the window, started by its first participant, elapses
+ * or when it reaches its maximum size, whichever comes first.
+ * The batches are handed to the sink under the lock of the coalescer, which the owner shares with its other notifications,
+ * so a batch never overtakes an earlier one or a notification sent before it.
+ */
+public class ParticipantCoalescer {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final long window;
+    private final int maxBatch;
+    private final BiConsumer<List<Participant>, Long> sink;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "participant-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Guards the batch and orders the batches handed to the sink.
+    private final Lock lock;
+    private List<Participant> batch = new ArrayList<>();
+    // The sequence number of the last participant of the batch.
+    private long lastSequence = 0;
+    private ScheduledFuture<?> scheduledFlush = null;
+
+    /**
+     * @param window   The time, in milliseconds, a batch stays open after its first participant.
+     * @param maxBatch The number of participants that closes a batch before its window elapses.
+     * @param sink     Receives every batch with the sequence number of its last participant, on the thread of the coalescer.
+     */
+    public ParticipantCoalescer(long window, int maxBatch, BiConsumer<List<Participant>, Long> sink) {
+        this(window, maxBatch, sink, new ReentrantLock());
+    }
+
+    /**
+     * @param window   The time, in milliseconds, a batch stays open after its first participant.
+     * @param maxBatch The number of participants that closes a batch before its window elapses.
+     * @param sink     Receives every batch with the sequence number of its last participant, while the lock is held.
+     * @param lock     The reentrant lock held while adding to the batch and while handing a batch to the sink,
+     *                 shared with the other notifications of the owner so they are all sent in order.
+     */
+    public ParticipantCoalescer(long window, int maxBatch, BiConsumer<List<Participant>, Long> sink, Lock lock) {
+        this.window = window;
+        this.maxBatch = maxBatch;
+        this.sink = sink;
+        this.lock = lock;
+    }
+
+    /**
+     * Adds a participant to the current batch.
+     *
+     * @param participant The added participant.
+     * @param sequence    The sequence number of the addition.
+     */
+    public void add(Participant participant, long sequence) {
+        lock.lock();
+        try {
+            batch.add(participant);
+            lastSequence = sequence;
+            if (batch.size() >= maxBatch) {
+                logger.info("The batch is full. Flushing it...");
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                }
+                scheduledFlush = scheduler.schedule(this::flush, 0, TimeUnit.MILLISECONDS);
+            } else if (batch.size() == 1) {
+                scheduledFlush = scheduler.schedule(this::flush, window, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands the current batch to the sink, if it isn't empty.
+     * Called by the coalescer when the batch closes, or by anyone needing the batch emitted at once.
+     * The lock is held until the sink returns, so a batch taken earlier is always handed over first.
+     */
+    public void flush() {
+        lock.lock();
+        try {
+            List<Participant> participants = batch;
+            long sequence = lastSequence;
+            batch = new ArrayList<>();
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+            }
+            scheduledFlush = null;
+
+            if (participants.isEmpty()) {
+                return;
+            }
+            logger.info("Flushing a batch of {} participants...", participants.size());
+            sink.accept(participants, sequence);
+        } catch (RuntimeException e) {
+            logger.error("Couldn't flush the batch: {}", e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package Service;
+
+import Exceptions.ServiceException;
+import Model.Participant;
+import Model.Race;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The races with their number of participants, loaded once from the database and counted in memory
+ * as the participants are added, so the races are served without counting the participants table on every request.
+ * The additions share a lock that the reconciliation takes alone, so the database and the counts are compared
+ * while no participant is between its insert and its count.
+ */
+public class RaceCountProjection {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ServiceRace serviceRace;
+    // Shared by the additions, held alone by the reconciliation.
+    private final ReadWriteLock additionLock = new ReentrantReadWriteLock();
+    // Serializes the changes of the races between the additions.
+    private final Lock countLock = new ReentrantLock();
+    // Ordered by the engine capacities. Read without the locks, replaced under the count lock.
+    private volatile List<Race> races = List.of();
+    // Whether a participant of an unknown race was added, so the races must be loaded again.
+    private volatile boolean stale = false;
+    private ScheduledExecutorService scheduler = null;
+
+    /**
+     * Inserts a participant, returning it once inserted.
+     */
+    @FunctionalInterface
+    public interface Addition {
+        Participant add() throws ServiceException;
+    }
+
+    /**
+     * @param serviceRace Queries the races with their number of participants from the database.
+     */
+    public RaceCountProjection(ServiceRace serviceRace) {
+        this.serviceRace = serviceRace;
+    }
+
+    /**
+     * Loads the races with their number of participants from the database.
+     *
+     * @throws ServiceException If the races couldn't be found.
+     */
+    public void seed() throws ServiceException {
+        logger.traceEntry("Seeding the race counts...");
+        additionLock.writeLock().lock();
+        try {
+            this.replace(this.serviceRace.findAllRaces());
+        } finally {
+            additionLock.writeLock().unlock();
+        }
+        logger.traceExit("Seeded the counts of {} races.", races.size());
+    }
+
+    /**
+     * @return The races with their number of participants, in the order of their engine capacities.
+     * @throws ServiceException If the races had to be loaded again and couldn't be found.
+     */
+    public List<Race> getRaces() throws ServiceException {
+        if (stale) {
+            this.reconcile();
+        }
+        return races;
+    }
+
+    /**
+     * Inserts a participant and counts it in its race, as a single step for the reconciliation.
+     *
+     * @param addition Inserts the participant.
+     * @return The participant inserted.
+     * @throws ServiceException If the participant couldn't be inserted, in which case nothing is counted.
+     */
+    public Participant add(Addition addition) throws ServiceException {
+        additionLock.readLock().lock();
+        try {
+            Participant participant = addition.add();
+            this.increment(participant.getEngineCapacity());
+            return participant;
+        } finally {
+            additionLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the counts with the ones of the database, replacing them with the database ones.
+     * The additions wait meanwhile, so a participant is either counted in both or in none.
+     *
+     * @return The number of races whose count differed, or that are only on one side.
+     * @throws ServiceException If the races couldn't be found.
+     */
+    public int reconcile() throws ServiceException {
+        logger.traceEntry("Reconciling the race counts with the database...");
+        additionLock.writeLock().lock();
+        try {
+            List<Race> expected = new ArrayList<>();
+            this.serviceRace.findAllRaces().forEach(expected::add);
+            Map<Integer, Race> counted = races.stream()
+                    .collect(Collectors.toMap(Race::getEngineCapacity, Function.identity()));
+
+            int mismatches = 0;
+            for (Race race : expected) {
+                Race current = counted.remove(race.getEngineCapacity());
+                if (current == null || !Objects.equals(current.getNoParticipants(), race.getNoParticipants())) {
+                    logger.warn("The race of {} counted {} participants instead of {}.", race.getEngineCapacity(),
+                            current == null ? "no" : current.getNoParticipants(), race.getNoParticipants());
+                    mismatches++;
+                }
+            }
+            for (Race race : counted.values()) {
+                logger.warn("The race of {} is no longer in the database.", race.getEngineCapacity());
+                mismatches++;
+            }
+
+            this.replace(expected);
+            logger.traceExit("Reconciled {} races.", mismatches);
+            return mismatches;
+        } finally {
+            additionLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reconciles the counts periodically, on a thread of its own.
+     *
+     * @param interval The milliseconds between the reconciliations.
+     */
+    public void startReconciling(long interval) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "race-count-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                this.reconcile();
+            } catch (ServiceException e) {
+                logger.error("Couldn't reconcile the race counts: {}", e.getMessage());
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the periodic reconciliations.
+     */
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void increment(int engineCapacity) {
+        countLock.lock();
+        try {
+            List<Race> updated = new ArrayList<>(races.size());
+            boolean found = false;
+            for (Race race : races) {
+                if (!found && race.getEngineCapacity() == engineCapacity) {
+                    race = new Race.Builder()
+                            .setId(race.getId())
+                            .setEngineCapacity(race.getEngineCapacity())
+                            .setNoParticipants(race.getNoParticipants() + 1)
+                            .build();
+                    found = true;
+                }
+                updated.add(race);
+            }
+
+            if (found) {
+                races = List.copyOf(updated);
+            } else {
+                logger.warn("Added a participant to the unknown race of {}. Loading the races again...", engineCapacity);
+                stale = true;
+            }
+        } finally {
+            countLock.unlock();
+        }
+    }
+
+    private void replace(Iterable<Race> loaded) {
+        countLock.lock();
+        try {
+            List<Race> sorted = new ArrayList<>();
+            loaded.forEach(sorted::add);
+            sorted.sort((first, second) -> Integer.compare(first.getEngineCapacity(), second.getEngineCapacity()));
+            races = List.copyOf(sorted);
+            stale = false;
+        } finally {
+            countLock.unlock();
+        }
+    }
+}
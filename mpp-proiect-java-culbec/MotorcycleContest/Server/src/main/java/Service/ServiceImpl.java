@@ -1,7 +1,11 @@
 package Service;
 
+import CommonUtils.Bootstrap;
+import CommonUtils.ChunkConsumer;
 import CommonUtils.IService;
+import CommonUtils.Notifier;
 import CommonUtils.Observer;
+import CommonUtils.Resumption;
 import Exceptions.AppException;
 import Exceptions.ServiceException;
 import Model.Participant;
@@ -10,26 +14,59 @@ import Model.User;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ServiceImpl implements IService {
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final ServiceUser serviceUser;
     private final ServiceParticipant serviceParticipant;
     private final ServiceRace serviceRace;
+    // Counts the participants of the races in memory, so the races are served without querying the database.
+    private final RaceCountProjection raceCounts;
+    // The clients logged in, by their username. A username is claimed atomically before checking its password,
+    // so the logins of different users never wait for each other and a second login of the same user is refused.
     private final Map<String, Observer> loggedClients = new ConcurrentHashMap<>();
+    private final SubscriptionRegistry subscriptions = new SubscriptionRegistry();
+    // Notified once of every update, fanning it out to the subscribed clients without blocking.
+    private final Notifier broadcaster;
+    // Batches the notifications of the added participants. Null if every participant is notified on its own.
+    private final ParticipantCoalescer coalescer;
+    // Numbers the added participants and remembers the recent ones, for the clients resuming after a lost connection.
+    private final EventLog eventLog;
+    // Identifies this run of the server, so the sequence numbers of a previous run aren't mistaken for its own.
+    private final long epoch = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+    // Orders the notifications by their sequence numbers, and the resumptions between them.
+    // Shared with the coalescer, which holds it while notifying a batch.
+    private final Lock eventLock = new ReentrantLock();
 
-    private static final int DEFAULT_THREADS_NO = 3;
-
-    public ServiceImpl(ServiceUser serviceUser, ServiceParticipant serviceParticipant, ServiceRace serviceRace) {
+    /**
+     * @param pushWindow The time, in milliseconds, the added participants are collected before notifying them together.
+     *                   0 notifies every participant on its own.
+     * @param pushBatch  The number of added participants notified together before the window elapses.
+     * @param eventLogCapacity The number of recent added participants replayed to the clients resuming after a lost connection.
+     * @param raceCounts The seeded projection of the races, updated by every added participant.
+     */
+    public ServiceImpl(ServiceUser serviceUser, ServiceParticipant serviceParticipant, ServiceRace serviceRace, Notifier broadcaster,
+                       long pushWindow, int pushBatch, int eventLogCapacity, RaceCountProjection raceCounts) {
         logger.traceEntry("Initializing the Service...");
         this.serviceUser = serviceUser;
         this.serviceParticipant = serviceParticipant;
         this.serviceRace = serviceRace;
+        this.raceCounts = raceCounts;
+        this.broadcaster = broadcaster;
+        this.coalescer = pushWindow > 0 ? new ParticipantCoalescer(pushWindow, pushBatch, this::notifyParticipantsAdded, this.eventLock) : null;
+        this.eventLog = new EventLog(eventLogCapacity);
         logger.traceExit("Initialized the Service!");
     }
 
@@ -48,12 +85,26 @@ public class ServiceImpl implements IService {
         }
     }
 
+    @Override
+    public void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) throws ServiceException, AppException {
+        logger.traceEntry("Streaming the participants from team: {}", team);
+
+        try {
+            this.serviceParticipant.findParticipantsByTeam(team, cursor, chunkSize, consumer);
+            logger.traceExit("Streamed the participants of team: {}", team);
+        } catch (ServiceException e) {
+            logger.error("Couldn't stream the participants by team: {}", e.getMessage());
+            throw new ServiceException("Couldn't find the participants by team: " + e.getMessage());
+        }
+    }
+
     @Override
     public void addParticipant(String firstName, String lastName, String team, int engineCapacity) throws ServiceException {
         logger.traceEntry("Trying to add the participant with fields {}, {}, {}, {}", firstName, lastName, team, engineCapacity);
 
         try {
-            Participant participant = this.serviceParticipant.addParticipant(firstName, lastName, team, engineCapacity);
+            // Inserted and counted in its race as one step, so a reconciliation never sees only one of them.
+            Participant participant = this.raceCounts.add(() -> this.serviceParticipant.addParticipant(firstName, lastName, team, engineCapacity));
             logger.info("Successfully added the participant!");
 
             logger.info("Notifying the clients...");
@@ -67,20 +118,63 @@ public class ServiceImpl implements IService {
     }
 
     /**
-     * Notifies the logged in clients that a new participant has been added.
+     * Notifies the clients subscribed to the team or the race of a new participant that it has been added.
+     * The participant is numbered and logged first, and the notifications leave in the order of their numbers.
      *
      * @param participant Participant that was added.
      */
     private void notifyParticipantAdded(Participant participant) {
-        try (ExecutorService executor = Executors.newFixedThreadPool(DEFAULT_THREADS_NO)) {
-            this.loggedClients.values().forEach(client -> executor.execute(() -> {
-                try {
-                    client.participantAdded(participant);
-                } catch (AppException e) {
-                    logger.error("Couldn't notify the client: {}", e.getMessage());
-                }
-            }));
+        eventLock.lock();
+        try {
+            long sequence = this.eventLog.append(participant);
+            if (this.coalescer != null) {
+                this.coalescer.add(participant, sequence);
+                return;
+            }
+
+            this.broadcaster.participantAdded(participant, sequence, this.subscriptions.findSubscribers(participant));
+        } catch (AppException e) {
+            logger.error("Couldn't notify the clients: {}", e.getMessage());
+        } finally {
+            eventLock.unlock();
+        }
+    }
+
+    /**
+     * Notifies a batch of added participants, together with the updated races.
+     * Every client receives the participants of its subscriptions; the clients receiving the same ones share an update.
+     *
+     * @param participants Participants that were added.
+     * @param sequence     The sequence number of the last participant of the batch.
+     */
+    private void notifyParticipantsAdded(List<Participant> participants, long sequence) {
+        logger.traceEntry("Notifying a batch of {} participants...", participants.size());
+
+        Map<Observer, List<Participant>> participantsByClient = new HashMap<>();
+        for (Participant participant : participants) {
+            for (Observer client : this.subscriptions.findSubscribers(participant)) {
+                participantsByClient.computeIfAbsent(client, key -> new ArrayList<>()).add(participant);
+            }
+        }
+        Map<List<Participant>, List<Observer>> clientsByParticipants = new HashMap<>();
+        participantsByClient.forEach((client, clientParticipants) ->
+                clientsByParticipants.computeIfAbsent(clientParticipants, key -> new ArrayList<>()).add(client));
+
+        Iterable<Race> races = List.of();
+        try {
+            races = this.raceCounts.getRaces();
+        } catch (ServiceException e) {
+            logger.error("Couldn't find the updated races: {}", e.getMessage());
+        }
+
+        for (Map.Entry<List<Participant>, List<Observer>> group : clientsByParticipants.entrySet()) {
+            try {
+                this.broadcaster.participantsAdded(group.getKey(), races, sequence, group.getValue());
+            } catch (AppException e) {
+                logger.error("Couldn't notify the clients: {}", e.getMessage());
+            }
         }
+        logger.traceExit("Notified {} groups of clients.", clientsByParticipants.size());
     }
 
     @Override
@@ -88,7 +182,7 @@ public class ServiceImpl implements IService {
         logger.traceEntry("Finding all the races...");
 
         try {
-            Iterable<Race> races = this.serviceRace.findAllRaces();
+            Iterable<Race> races = this.raceCounts.getRaces();
             logger.traceExit("Found all the races! Returning...");
 
             return races;
@@ -114,32 +208,76 @@ public class ServiceImpl implements IService {
     }
 
     @Override
-    public synchronized User login(String username, String password, Observer client) throws ServiceException {
+    public User login(String username, String password, Observer client) throws ServiceException {
         logger.traceEntry("Trying to login the user {}", username);
 
-        logger.info("Verifying if the user is already logged in...");
-        if (loggedClients.get(username) != null) {
+        logger.info("Claiming the username...");
+        if (loggedClients.putIfAbsent(username, client) != null) {
             logger.error("The client is already logged in!");
             throw new ServiceException("The client is already logged in!");
         }
 
+        User user;
         try {
             logger.info("Trying to retrieve the user by the passed credentials...");
-            User user = this.serviceUser.login(username, password);
-
-            logger.info("User found. Updating the logged in clients...");
-            loggedClients.put(username, client);
-
-            logger.traceExit("Returning the user...");
-            return user;
+            user = this.serviceUser.login(username, password);
         } catch (ServiceException e) {
+            // Releasing the username, so the user can try again.
+            loggedClients.remove(username, client);
             logger.error("Couldn't login the user: {}", e.getMessage());
             throw new ServiceException("Couldn't login the user: " + e.getMessage());
         }
+
+        logger.info("User found. Registering the client...");
+        subscriptions.register(client);
+
+        logger.traceExit("Returning the user...");
+        return user;
+    }
+
+    @Override
+    public User resumeSession(User user, Observer client) throws ServiceException {
+        logger.traceEntry("Resuming the session of the user {}", user.getUsername());
+
+        if (loggedClients.putIfAbsent(user.getUsername(), client) != null) {
+            logger.error("The client is already logged in!");
+            throw new ServiceException("The client is already logged in!");
+        }
+        subscriptions.register(client);
+
+        logger.traceExit("Resumed the session of the user {}", user.getUsername());
+        return user;
     }
 
     @Override
-    public synchronized void logout(User user, Observer client) throws ServiceException {
+    public Bootstrap bootstrap(String username, String password, Observer client) throws ServiceException {
+        logger.traceEntry("Trying to bootstrap the user {}", username);
+
+        User user = this.login(username, password, client);
+
+        // The races and their engine capacities are independent queries, so they run at once, each on a virtual thread.
+        try (ExecutorService queries = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<Race>> races = queries.submit(this.raceCounts::getRaces);
+            Future<Iterable<Integer>> engineCapacities = queries.submit(this.serviceRace::findAllRaceEngineCapacities);
+
+            Bootstrap bootstrap = new Bootstrap(user, races.get(), List.copyOf((List<Integer>) engineCapacities.get()));
+            logger.traceExit("Bootstrapped the user {}", username);
+            return bootstrap;
+        } catch (ExecutionException | InterruptedException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            String message = e instanceof ExecutionException ? e.getCause().getMessage() : e.getMessage();
+            logger.error("Couldn't find the races of the bootstrap: {}", message);
+
+            // Logging out the user, so the client can log in again.
+            this.logout(user, client);
+            throw new ServiceException("Couldn't bootstrap the user: " + message);
+        }
+    }
+
+    @Override
+    public void logout(User user, Observer client) throws ServiceException {
         logger.traceEntry("Logging out the user: {}", user);
 
         Observer localClient = this.loggedClients.remove(user.getUsername());
@@ -147,7 +285,70 @@ public class ServiceImpl implements IService {
             logger.error("The user is not logged in!");
             throw new ServiceException("The user is not logged in!");
         }
+        subscriptions.unregister(localClient);
 
         logger.traceExit("The user was logged out.");
     }
+
+    @Override
+    public void subscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException {
+        logger.traceEntry("Subscribing the client to the teams {} and the engine capacities {}", teams, engineCapacities);
+
+        if (!subscriptions.subscribe(client, teams, engineCapacities)) {
+            logger.error("The client is not logged in!");
+            throw new ServiceException("The client is not logged in!");
+        }
+
+        logger.traceExit("The client was subscribed.");
+    }
+
+    @Override
+    public void unsubscribe(Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException {
+        logger.traceEntry("Unsubscribing the client from the teams {} and the engine capacities {}", teams, engineCapacities);
+
+        if (!subscriptions.unsubscribe(client, teams, engineCapacities)) {
+            logger.error("The client is not logged in!");
+            throw new ServiceException("The client is not logged in!");
+        }
+
+        logger.traceExit("The client was unsubscribed.");
+    }
+
+    @Override
+    public Resumption resume(long epoch, long sequence, Iterable<String> teams, Iterable<Integer> engineCapacities, Observer client) throws ServiceException {
+        logger.traceEntry("Resuming the client from the update {} of the epoch {}", sequence, epoch);
+
+        // Subscribing to nothing would filter out every participant, so a client without topics stays unfiltered.
+        boolean hasTopics = teams.iterator().hasNext() || engineCapacities.iterator().hasNext();
+        boolean registered = hasTopics
+                ? subscriptions.subscribe(client, teams, engineCapacities)
+                : subscriptions.isRegistered(client);
+        if (!registered) {
+            logger.error("The client is not logged in!");
+            throw new ServiceException("The client is not logged in!");
+        }
+
+        eventLock.lock();
+        try {
+            // Emitting the pending batch, so no batch notified later holds participants replayed now.
+            if (this.coalescer != null) {
+                this.coalescer.flush();
+            }
+
+            long current = this.eventLog.getSequence();
+            List<Participant> missed = epoch == this.epoch ? this.eventLog.since(sequence) : null;
+            if (missed == null) {
+                logger.traceExit("The missed updates are unknown. Sending a snapshot...");
+                return new Resumption(this.epoch, current, true, List.of());
+            }
+
+            List<Participant> replayed = missed.stream()
+                    .filter(participant -> subscriptions.isSubscribed(client, participant))
+                    .toList();
+            logger.traceExit("Replaying {} missed participants.", replayed.size());
+            return new Resumption(this.epoch, current, false, replayed);
+        } finally {
+            eventLock.unlock();
+        }
+    }
 }
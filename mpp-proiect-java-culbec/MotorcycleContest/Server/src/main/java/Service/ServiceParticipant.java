@@ -1,6 +1,8 @@
 package Service;
 
 
+import CommonUtils.ChunkConsumer;
+import Exceptions.AppException;
 import Exceptions.ServiceException;
 import Model.Participant;
 
@@ -14,6 +16,18 @@ public interface ServiceParticipant {
      */
     Iterable<Participant> findParticipantsByTeam(String team) throws ServiceException;
 
+    /**
+     * Streams the participants from a given team in chunks, reading them from a cursor.
+     *
+     * @param team      The team to search for.
+     * @param cursor    The number of participants to skip.
+     * @param chunkSize The maximum number of participants in a chunk.
+     * @param consumer  Receives the chunks, in order. The final chunk is always delivered.
+     * @throws ServiceException If the team doesn't exist.
+     * @throws AppException     If the consumer couldn't handle a chunk.
+     */
+    void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) throws ServiceException, AppException;
+
     /**
      * Adds a participant to the contest.
      *
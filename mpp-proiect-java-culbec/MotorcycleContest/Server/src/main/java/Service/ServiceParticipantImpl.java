@@ -1,7 +1,10 @@
 package Service;
 
+import CommonUtils.ChunkConsumer;
+import Exceptions.AppException;
 import Exceptions.ServiceException;
 import Model.Participant;
+import Repository.Cursor;
 import Repository.ParticipantRepository;
 import Repository.RepositoryException;
 import org.apache.logging.log4j.LogManager;
@@ -42,6 +45,30 @@ public class ServiceParticipantImpl implements ServiceParticipant {
         }
     }
 
+    @Override
+    public void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) throws ServiceException, AppException {
+        logger.traceEntry("Streaming the participants from the team {} after {}...", team, cursor);
+
+        try (Cursor<Participant> participants = participantRepository.streamParticipantsByTeam(team, cursor)) {
+            if (!participants.hasNext() && cursor == 0) {
+                logger.error("The team {} doesn't exist!", team);
+                throw new ServiceException("The team doesn't exist!");
+            }
+
+            long sent = cursor;
+            do {
+                List<Participant> chunk = participants.next(Math.max(chunkSize, 1));
+                sent += chunk.size();
+                consumer.accept(chunk, sent, !participants.hasNext());
+            } while (participants.hasNext());
+
+            logger.traceExit("Streamed {} participants from the team!", sent - cursor);
+        } catch (RepositoryException e) {
+            logger.error("Couldn't stream the participants from the team {}: {}", team, e.getMessage());
+            throw new ServiceException(e.getMessage());
+        }
+    }
+
     @Override
     public Participant addParticipant(String firstName, String lastName, String team, int engineCapacity) throws ServiceException {
         logger.traceEntry("Adding the participant with the first name {}, last name {}, team {} and engine capacity {}...", firstName, lastName, team, engineCapacity);
@@ -0,0 +1,182 @@
+package Service;
+
+import CommonUtils.Observer;
+import Model.Participant;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Index of the logged in clients by the teams and races they are subscribed to,
+ * so an added participant is routed only to the clients interested in it.
+ */
+public class SubscriptionRegistry {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    // Clients that didn't subscribe to any topic yet are notified of every participant.
+    private final Set<Observer> unfiltered = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<Observer>> byTeam = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<Observer>> byEngineCapacity = new ConcurrentHashMap<>();
+    // The topics of every registered client, to remove it from the indexes.
+    private final Map<Observer, Topics> topics = new ConcurrentHashMap<>();
+    // Serializes the changes, so the indexes always agree with the topics of the clients.
+    private final Lock lock = new ReentrantLock();
+
+    private static class Topics {
+        private final Set<String> teams = new HashSet<>();
+        private final Set<Integer> engineCapacities = new HashSet<>();
+    }
+
+    /**
+     * Registers a client, notified of every participant until it subscribes to a topic.
+     *
+     * @param client The client to register.
+     */
+    public void register(Observer client) {
+        logger.traceEntry("Registering a client...");
+        lock.lock();
+        try {
+            topics.put(client, new Topics());
+            unfiltered.add(client);
+        } finally {
+            lock.unlock();
+        }
+        logger.traceExit();
+    }
+
+    /**
+     * Removes a client and all of its subscriptions.
+     *
+     * @param client The client to remove.
+     */
+    public void unregister(Observer client) {
+        logger.traceEntry("Unregistering a client...");
+        lock.lock();
+        try {
+            unfiltered.remove(client);
+            Topics clientTopics = topics.remove(client);
+            if (clientTopics != null) {
+                clientTopics.teams.forEach(team -> removeFromIndex(byTeam, team, client));
+                clientTopics.engineCapacities.forEach(engineCapacity -> removeFromIndex(byEngineCapacity, engineCapacity, client));
+            }
+        } finally {
+            lock.unlock();
+        }
+        logger.traceExit();
+    }
+
+    /**
+     * Subscribes a client to the given teams and races.
+     *
+     * @param client           The client to subscribe.
+     * @param teams            The teams of interest.
+     * @param engineCapacities The engine capacities of the races of interest.
+     * @return false if the client is not registered, true otherwise.
+     */
+    public boolean subscribe(Observer client, Iterable<String> teams, Iterable<Integer> engineCapacities) {
+        logger.traceEntry("Subscribing a client to the teams {} and the engine capacities {}", teams, engineCapacities);
+        lock.lock();
+        try {
+            Topics clientTopics = topics.get(client);
+            if (clientTopics == null) {
+                return false;
+            }
+
+            unfiltered.remove(client);
+            for (String team : teams) {
+                clientTopics.teams.add(team);
+                byTeam.computeIfAbsent(team, key -> ConcurrentHashMap.newKeySet()).add(client);
+            }
+            for (Integer engineCapacity : engineCapacities) {
+                clientTopics.engineCapacities.add(engineCapacity);
+                byEngineCapacity.computeIfAbsent(engineCapacity, key -> ConcurrentHashMap.newKeySet()).add(client);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Unsubscribes a client from the given teams and races.
+     *
+     * @param client           The client to unsubscribe.
+     * @param teams            The teams no longer of interest.
+     * @param engineCapacities The engine capacities of the races no longer of interest.
+     * @return false if the client is not registered, true otherwise.
+     */
+    public boolean unsubscribe(Observer client, Iterable<String> teams, Iterable<Integer> engineCapacities) {
+        logger.traceEntry("Unsubscribing a client from the teams {} and the engine capacities {}", teams, engineCapacities);
+        lock.lock();
+        try {
+            Topics clientTopics = topics.get(client);
+            if (clientTopics == null) {
+                return false;
+            }
+
+            for (String team : teams) {
+                if (clientTopics.teams.remove(team)) {
+                    removeFromIndex(byTeam, team, client);
+                }
+            }
+            for (Integer engineCapacity : engineCapacities) {
+                if (clientTopics.engineCapacities.remove(engineCapacity)) {
+                    removeFromIndex(byEngineCapacity, engineCapacity, client);
+                }
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Finds the clients interested in an added participant: the ones subscribed to its team or its race,
+     * and the ones that didn't subscribe to any topic.
+     *
+     * @param participant The added participant.
+     * @return The clients to notify.
+     */
+    public Collection<Observer> findSubscribers(Participant participant) {
+        Set<Observer> subscribers = new HashSet<>(unfiltered);
+        subscribers.addAll(byTeam.getOrDefault(participant.getTeam(), Set.of()));
+        subscribers.addAll(byEngineCapacity.getOrDefault(participant.getEngineCapacity(), Set.of()));
+        return subscribers;
+    }
+
+    /**
+     * @param client The client to check.
+     * @return true if the client is registered, false otherwise.
+     */
+    public boolean isRegistered(Observer client) {
+        return topics.containsKey(client);
+    }
+
+    /**
+     * Checks if a client is interested in an added participant.
+     *
+     * @param client      The client to check.
+     * @param participant The added participant.
+     * @return true if the client didn't subscribe to any topic, or is subscribed to the team or the race of the participant.
+     */
+    public boolean isSubscribed(Observer client, Participant participant) {
+        return unfiltered.contains(client)
+                || byTeam.getOrDefault(participant.getTeam(), Set.of()).contains(client)
+                || byEngineCapacity.getOrDefault(participant.getEngineCapacity(), Set.of()).contains(client);
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<Observer>> index, K key, Observer client) {
+        // Dropping the entries left without clients, so the index doesn't grow with every topic ever used.
+        index.computeIfPresent(key, (topic, clients) -> {
+            clients.remove(client);
+            return clients.isEmpty() ? null : clients;
+        });
+    }
+}
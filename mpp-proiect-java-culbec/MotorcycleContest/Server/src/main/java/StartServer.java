@@ -1,20 +1,42 @@
 import CommonUtils.IService;
 import ConnectionUtils.DBUtils;
+import Exceptions.ServiceException;
 import NetworkUtils.AbstractServer;
+import NetworkUtils.AdmissionController;
+import NetworkUtils.Broadcaster;
+import NetworkUtils.ConnectionReaper;
+import NetworkUtils.FrameCompressor;
+import NetworkUtils.OutboundWriter;
+import NetworkUtils.ProtobufNioServer;
 import NetworkUtils.ProtobufServer;
 import NetworkUtils.ServerException;
+import NetworkUtils.SessionStore;
 import Repository.*;
 import Service.*;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Properties;
 
 public class StartServer {
     private static final Logger logger = LogManager.getLogger(StartServer.class);
     private static final int DEFAULT_PORT = 8888;
     private static final String DEFAULT_HOST = "localhost";
+    private static final String DEFAULT_MODE = "thread";
+    private static final int DEFAULT_NIO_WORKERS = Runtime.getRuntime().availableProcessors();
+    private static final int DEFAULT_NIO_QUEUE = 1024;
+    private static final int DEFAULT_BROADCAST_QUEUE = 256;
+    private static final long DEFAULT_PUSH_WINDOW = 30;
+    private static final int DEFAULT_PUSH_BATCH = 100;
+    private static final int DEFAULT_EVENT_LOG = 1024;
+    private static final long DEFAULT_RACE_RECONCILE = 0;
+    private static final long DEFAULT_IDLE_TIMEOUT = 90_000;
+    private static final int DEFAULT_MAX_CONNECTIONS = 1024;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 256;
+    private static final String DEFAULT_OVERFLOW_POLICY = "drop";
+    private static final long DEFAULT_METRICS_INTERVAL = 60_000;
 
     public static void main(String[] args) throws RepositoryException {
         logger.traceEntry("Starting the server...");
@@ -33,10 +55,11 @@ public class StartServer {
         }
 
         logger.info("Initializing a DBUtils object...");
-        try (DBUtils dbUtils = new DBUtils(properties)) {
+        try (DBUtils dbUtils = new DBUtils(properties);
+             PasswordVerifier passwordVerifier = createPasswordVerifier(properties);
+             GroupCommitParticipantRepository participantRepository = createParticipantRepository(properties, dbUtils)) {
             logger.info("Initializing the repositories...");
-            UserRepository userRepository = new UserDBRepository(dbUtils);
-            ParticipantRepository participantRepository = new ParticipantDBRepository(dbUtils);
+            UserRepository userRepository = new UserDBRepository(dbUtils, passwordVerifier);
             RaceRepository raceRepository = new RaceDBRepository(dbUtils);
 
             logger.info("Initializing the server...");
@@ -44,7 +67,30 @@ public class StartServer {
             ServiceUser serviceUser = new ServiceUserImpl(userRepository);
             ServiceParticipant serviceParticipant = new ServiceParticipantImpl(participantRepository);
             ServiceRace serviceRace = new ServiceRaceImpl(raceRepository);
-            IService service = new ServiceImpl(serviceUser, serviceParticipant, serviceRace);
+            Broadcaster broadcaster = createBroadcaster(properties);
+            long pushWindow = DEFAULT_PUSH_WINDOW;
+            int pushBatch = DEFAULT_PUSH_BATCH;
+            try {
+                pushWindow = Long.parseLong(properties.getProperty("server.push.window"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid push coalescing window. Using the default: {}", DEFAULT_PUSH_WINDOW);
+            }
+            try {
+                pushBatch = Integer.parseInt(properties.getProperty("server.push.batch"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid push batch size. Using the default: {}", DEFAULT_PUSH_BATCH);
+            }
+            int eventLog = DEFAULT_EVENT_LOG;
+            try {
+                eventLog = Integer.parseInt(properties.getProperty("server.event.log"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid capacity of the event log. Using the default: {}", DEFAULT_EVENT_LOG);
+            }
+            RaceCountProjection raceCounts = createRaceCounts(properties, serviceRace);
+            if (raceCounts == null) {
+                return;
+            }
+            IService service = new ServiceImpl(serviceUser, serviceParticipant, serviceRace, broadcaster, pushWindow, pushBatch, eventLog, raceCounts);
 
             logger.info("Retrieving the host and port of the server from the configuration...");
             String hostname = properties.getProperty("server.host", DEFAULT_HOST);
@@ -58,7 +104,31 @@ public class StartServer {
 
             logger.info("Starting the server on {}:{}", hostname, port);
 
-            AbstractServer server = new ProtobufServer(hostname, port, service);
+            AbstractServer server = createServer(properties, hostname, port, service, broadcaster);
+            server.setReaper(createReaper(properties));
+            server.setAdmission(createAdmission(properties));
+            // Listening on a Unix domain socket too, for the clients on the same host.
+            String unixSocket = properties.getProperty("server.unix.socket", "").trim();
+            if (!unixSocket.isEmpty()) {
+                server.setUnixSocket(Path.of(unixSocket));
+            }
+            // Compressing the large frames of the clients that ask for it.
+            try {
+                server.setCompressionThreshold(Integer.parseInt(properties.getProperty("server.compression.threshold")));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid compression threshold. Using the default: {}", FrameCompressor.DEFAULT_THRESHOLD);
+                server.setCompressionThreshold(FrameCompressor.DEFAULT_THRESHOLD);
+            }
+            // Letting the clients that lost their connection log in again without their password.
+            long sessionTtl = SessionStore.DEFAULT_TTL;
+            try {
+                sessionTtl = Long.parseLong(properties.getProperty("server.session.ttl"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid time to live of the sessions. Using the default: {}", SessionStore.DEFAULT_TTL);
+            }
+            if (sessionTtl > 0) {
+                server.setSessionStore(new SessionStore(sessionTtl));
+            }
             try {
                 server.start();
             } catch (ServerException e) {
@@ -69,4 +139,223 @@ public class StartServer {
             logger.error("Error when trying to close the connection: {}", e.getMessage());
         }
     }
+
+    /**
+     * Creates the projection of the race counts, seeded from the database and reconciled with it every
+     * {@code server.races.reconcile} milliseconds, if positive.
+     *
+     * @param properties  The configuration of the server.
+     * @param serviceRace The races of the database.
+     * @return The seeded projection, or null if the races couldn't be loaded.
+     */
+    private static RaceCountProjection createRaceCounts(Properties properties, ServiceRace serviceRace) {
+        RaceCountProjection raceCounts = new RaceCountProjection(serviceRace);
+        try {
+            raceCounts.seed();
+        } catch (ServiceException e) {
+            logger.error("Couldn't load the races: {}", e.getMessage());
+            return null;
+        }
+
+        long reconcile = DEFAULT_RACE_RECONCILE;
+        try {
+            reconcile = Long.parseLong(properties.getProperty("server.races.reconcile"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid reconciliation interval of the races. Using the default: {}", DEFAULT_RACE_RECONCILE);
+        }
+        if (reconcile > 0) {
+            raceCounts.startReconciling(reconcile);
+        }
+        return raceCounts;
+    }
+
+    /**
+     * Creates the broadcaster of the updates, with the queue capacity of the {@code server.broadcast.queue} property,
+     * logging the delivery of the updates every {@code server.metrics.interval} milliseconds.
+     *
+     * @param properties The configuration of the server.
+     * @return The broadcaster.
+     */
+    private static Broadcaster createBroadcaster(Properties properties) {
+        int queue = DEFAULT_BROADCAST_QUEUE;
+        try {
+            queue = Integer.parseInt(properties.getProperty("server.broadcast.queue"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid capacity of the broadcast queue. Using the default: {}", DEFAULT_BROADCAST_QUEUE);
+        }
+        Broadcaster broadcaster = new Broadcaster(queue);
+        broadcaster.startReporting(getMetricsInterval(properties));
+        return broadcaster;
+    }
+
+    /**
+     * Reads the milliseconds between the logs of the metrics from the {@code server.metrics.interval} property.
+     *
+     * @param properties The configuration of the server.
+     * @return The interval of the metrics, 0 if they are never logged.
+     */
+    private static long getMetricsInterval(Properties properties) {
+        try {
+            return Long.parseLong(properties.getProperty("server.metrics.interval"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid interval of the metrics. Using the default: {}", DEFAULT_METRICS_INTERVAL);
+            return DEFAULT_METRICS_INTERVAL;
+        }
+    }
+
+    /**
+     * Creates the repository of the participants, saving the concurrent registrations together in batches collected for
+     * the milliseconds of the {@code server.participants.window} property, of at most {@code server.participants.batch} participants.
+     * The saved participants are indexed before the first registration.
+     *
+     * @param properties The configuration of the server.
+     * @param dbUtils    The connection to the database.
+     * @return The participant repository.
+     * @throws RepositoryException If the statements of the repository couldn't be prepared, or the participants couldn't be indexed.
+     */
+    private static GroupCommitParticipantRepository createParticipantRepository(Properties properties, DBUtils dbUtils) throws RepositoryException {
+        long window = GroupCommitParticipantRepository.DEFAULT_WINDOW;
+        int batch = GroupCommitParticipantRepository.DEFAULT_BATCH;
+        try {
+            window = Long.parseLong(properties.getProperty("server.participants.window"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid group commit window. Using the default: {}", GroupCommitParticipantRepository.DEFAULT_WINDOW);
+        }
+        try {
+            batch = Integer.parseInt(properties.getProperty("server.participants.batch"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid group commit batch size. Using the default: {}", GroupCommitParticipantRepository.DEFAULT_BATCH);
+        }
+        ParticipantDBRepository repository = new ParticipantDBRepository(dbUtils);
+        repository.loadIndex();
+        return new GroupCommitParticipantRepository(repository, window, batch);
+    }
+
+    /**
+     * Creates the pool checking the passwords of the logins, with the threads of the {@code server.login.threads} property
+     * and the queue capacity of the {@code server.login.queue} property,
+     * logging the verification of the passwords every {@code server.metrics.interval} milliseconds.
+     *
+     * @param properties The configuration of the server.
+     * @return The password verifier.
+     */
+    private static PasswordVerifier createPasswordVerifier(Properties properties) {
+        int threads = PasswordVerifier.DEFAULT_THREADS;
+        int queue = PasswordVerifier.DEFAULT_QUEUE;
+        try {
+            int configured = Integer.parseInt(properties.getProperty("server.login.threads"));
+            threads = configured > 0 ? configured : PasswordVerifier.DEFAULT_THREADS;
+        } catch (NumberFormatException e) {
+            logger.error("Invalid number of password verification threads. Using the default: {}", PasswordVerifier.DEFAULT_THREADS);
+        }
+        try {
+            queue = Integer.parseInt(properties.getProperty("server.login.queue"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid capacity of the password verification queue. Using the default: {}", PasswordVerifier.DEFAULT_QUEUE);
+        }
+        PasswordVerifier passwordVerifier = new PasswordVerifier(threads, queue);
+        passwordVerifier.startReporting(getMetricsInterval(properties));
+        return passwordVerifier;
+    }
+
+    /**
+     * Creates the reaper of the idle connections, with the timeout of the {@code server.idle.timeout} property.
+     *
+     * @param properties The configuration of the server.
+     * @return The reaper.
+     */
+    private static ConnectionReaper createReaper(Properties properties) {
+        long idleTimeout = DEFAULT_IDLE_TIMEOUT;
+        try {
+            idleTimeout = Long.parseLong(properties.getProperty("server.idle.timeout"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid idle timeout. Using the default: {}", DEFAULT_IDLE_TIMEOUT);
+        }
+        return new ConnectionReaper(idleTimeout);
+    }
+
+    /**
+     * Creates the admission controller, with the caps of the {@code server.max.connections} and {@code server.max.inflight}
+     * properties and the retry hint of the {@code server.retry.after} property.
+     *
+     * @param properties The configuration of the server.
+     * @return The admission controller.
+     */
+    private static AdmissionController createAdmission(Properties properties) {
+        int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+        int retryAfter = AdmissionController.DEFAULT_RETRY_AFTER;
+        try {
+            maxConnections = Integer.parseInt(properties.getProperty("server.max.connections"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid maximum number of connections. Using the default: {}", DEFAULT_MAX_CONNECTIONS);
+        }
+        try {
+            maxInFlight = Integer.parseInt(properties.getProperty("server.max.inflight"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid maximum number of requests in flight. Using the default: {}", DEFAULT_MAX_IN_FLIGHT);
+        }
+        try {
+            retryAfter = Integer.parseInt(properties.getProperty("server.retry.after"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid retry hint. Using the default: {}", AdmissionController.DEFAULT_RETRY_AFTER);
+        }
+        return new AdmissionController(maxConnections, maxInFlight, retryAfter);
+    }
+
+    /**
+     * Creates the server in the mode selected by the {@code server.mode} property.
+     * {@code thread} serves every client on its own platform thread, {@code virtual} on its own virtual thread,
+     * {@code nio} multiplexes the clients on a selector.
+     *
+     * @param properties  The configuration of the server.
+     * @param hostname    The hostname of the server.
+     * @param port        The port of the server.
+     * @param service     The service exposed by the server.
+     * @param broadcaster The broadcaster of the updates to the clients.
+     * @return The server.
+     */
+    private static AbstractServer createServer(Properties properties, String hostname, int port, IService service, Broadcaster broadcaster) {
+        String mode = properties.getProperty("server.mode", DEFAULT_MODE).trim();
+        logger.info("Creating the server in the '{}' mode...", mode);
+
+        if (mode.equalsIgnoreCase("nio")) {
+            int workers = DEFAULT_NIO_WORKERS;
+            int queue = DEFAULT_NIO_QUEUE;
+
+            try {
+                workers = Integer.parseInt(properties.getProperty("server.nio.workers"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid number of NIO workers. Using the default: {}", DEFAULT_NIO_WORKERS);
+            }
+            try {
+                queue = Integer.parseInt(properties.getProperty("server.nio.queue"));
+            } catch (NumberFormatException e) {
+                logger.error("Invalid capacity of the NIO queue. Using the default: {}", DEFAULT_NIO_QUEUE);
+            }
+
+            return new ProtobufNioServer(hostname, port, service, broadcaster, workers, queue);
+        }
+
+        if (!mode.equalsIgnoreCase("virtual") && !mode.equalsIgnoreCase(DEFAULT_MODE)) {
+            logger.error("Unknown server mode '{}'. Using the default: {}", mode, DEFAULT_MODE);
+        }
+        ProtobufServer server = new ProtobufServer(hostname, port, service, broadcaster, mode.equalsIgnoreCase("virtual"));
+
+        int outboundCapacity = OutboundWriter.DEFAULT_CAPACITY;
+        OutboundWriter.OverflowPolicy overflowPolicy = OutboundWriter.OverflowPolicy.DROP;
+        try {
+            outboundCapacity = Integer.parseInt(properties.getProperty("server.outbound.queue"));
+        } catch (NumberFormatException e) {
+            logger.error("Invalid capacity of the outbound queue. Using the default: {}", OutboundWriter.DEFAULT_CAPACITY);
+        }
+        try {
+            overflowPolicy = OutboundWriter.OverflowPolicy.valueOf(
+                    properties.getProperty("server.outbound.overflow", DEFAULT_OVERFLOW_POLICY).trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid overflow policy. Using the default: {}", DEFAULT_OVERFLOW_POLICY);
+        }
+        server.setOutbound(outboundCapacity, overflowPolicy);
+        return server;
+    }
 }
@@ -0,0 +1,269 @@
+import CommonUtils.ChunkConsumer;
+import CommonUtils.Notifier;
+import CommonUtils.Observer;
+import CommonUtils.Resumption;
+import Model.Participant;
+import Model.Race;
+import Model.User;
+import Service.RaceCountProjection;
+import Service.ServiceImpl;
+import Service.ServiceParticipant;
+import Service.ServiceRace;
+import Service.ServiceUser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ServiceTests {
+    @Test
+    @DisplayName("Service.ParticipantCoalescer flush and resume ordering test - Server Test")
+    public void CoalescerResumeOrderingTest() throws Exception {
+        // The first batch is held in the notifier until released, the order of the notifications is recorded once sent.
+        CountDownLatch flushing = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        List<Long> notified = Collections.synchronizedList(new ArrayList<>());
+        Notifier notifier = new Notifier() {
+            @Override
+            public void participantAdded(Participant participant, long sequence, Collection<Observer> clients) {
+                notified.add(sequence);
+            }
+
+            @Override
+            public void participantsAdded(Iterable<Participant> participants, Iterable<Race> races, long sequence, Collection<Observer> clients) {
+                if (flushing.getCount() > 0) {
+                    flushing.countDown();
+                    try {
+                        released.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                notified.add(sequence);
+            }
+        };
+
+        TestServiceRace serviceRace = new TestServiceRace();
+        RaceCountProjection raceCounts = new RaceCountProjection(serviceRace);
+        raceCounts.seed();
+        ServiceImpl service = new ServiceImpl(new TestServiceUser(), new TestServiceParticipant(), serviceRace, notifier,
+                50, 100, 16, raceCounts);
+        Observer client = participant -> {
+        };
+        service.login("test1", "1234", client);
+
+        // The scheduled flush of the first participant is in the notifier.
+        service.addParticipant("First", "Participant", "Suzuki", 125);
+        assertTrue(flushing.await(10, TimeUnit.SECONDS), "The first batch should be flushed once its window elapses.");
+
+        // Meanwhile, a second participant is added and a client resumes, flushing the second batch.
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Resumption> resumption = executor.submit(() -> {
+                service.addParticipant("Second", "Participant", "Suzuki", 125);
+                return service.resume(0, 0, List.of(), List.of(), client);
+            });
+            Thread.sleep(200);
+            released.countDown();
+
+            assertEquals(2, resumption.get(10, TimeUnit.SECONDS).sequence(), "The resumption should cover both participants.");
+            assertEquals(List.of(1L, 2L), notified, "The batches should be notified in the order of their sequence numbers.");
+        } finally {
+            released.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Service.RaceCountProjection reconcile test - Server Test")
+    public void RaceCountReconcileTest() throws Exception {
+        TestServiceRace serviceRace = new TestServiceRace();
+        RaceCountProjection raceCounts = new RaceCountProjection(serviceRace);
+        raceCounts.seed();
+
+        raceCounts.add(() -> serviceRace.insert(125));
+        raceCounts.add(() -> serviceRace.insert(125));
+        assertEquals(List.of(125, 250), raceCounts.getRaces().stream().map(Race::getEngineCapacity).toList(),
+                "The races should be ordered by their engine capacities.");
+        assertEquals(2, raceCounts.getRaces().getFirst().getNoParticipants(), "The added participants should be counted.");
+        assertEquals(0, raceCounts.reconcile(), "The counts should match the database.");
+
+        // Participants added and races removed outside the projection, as by another server.
+        serviceRace.insert(250);
+        serviceRace.insert(250);
+        assertEquals(0, raceCounts.getRaces().get(1).getNoParticipants(), "The participants added outside shouldn't be counted yet.");
+        assertEquals(1, raceCounts.reconcile(), "The race counted differently should be reported.");
+        assertEquals(2, raceCounts.getRaces().get(1).getNoParticipants(), "The count should be replaced by the database one.");
+
+        serviceRace.remove(250);
+        assertEquals(1, raceCounts.reconcile(), "The race missing from the database should be reported.");
+        assertEquals(List.of(125), raceCounts.getRaces().stream().map(Race::getEngineCapacity).toList(),
+                "The race missing from the database should be dropped.");
+        assertEquals(0, raceCounts.reconcile(), "Nothing should differ after a reconciliation.");
+    }
+
+    @Test
+    @DisplayName("Service.RaceCountProjection unknown race test - Server Test")
+    public void RaceCountUnknownRaceTest() throws Exception {
+        TestServiceRace serviceRace = new TestServiceRace();
+        RaceCountProjection raceCounts = new RaceCountProjection(serviceRace);
+        raceCounts.seed();
+
+        // A participant of a race created after the seeding marks the counts stale.
+        raceCounts.add(() -> serviceRace.insert(500));
+        List<Race> races = raceCounts.getRaces();
+        assertEquals(List.of(125, 250, 500), races.stream().map(Race::getEngineCapacity).toList(),
+                "The races should be loaded again once a participant of an unknown race is added.");
+        assertEquals(1, races.get(2).getNoParticipants(), "The participant of the new race should be counted.");
+        assertEquals(0, raceCounts.reconcile(), "The reloaded counts should match the database.");
+
+        raceCounts.add(() -> serviceRace.insert(500));
+        assertEquals(2, raceCounts.getRaces().get(2).getNoParticipants(), "The new race should be counted in memory from now on.");
+    }
+
+    @Test
+    @DisplayName("Service.RaceCountProjection concurrent reconcile test - Server Test")
+    public void RaceCountConcurrentReconcileTest() throws Exception {
+        final int threads = 8;
+        final int additions = 200;
+        TestServiceRace serviceRace = new TestServiceRace();
+        RaceCountProjection raceCounts = new RaceCountProjection(serviceRace);
+        raceCounts.seed();
+
+        // Reconciling over and over while the participants are added, each reconciliation should find the counts matching.
+        AtomicBoolean adding = new AtomicBoolean(true);
+        AtomicInteger mismatches = new AtomicInteger();
+        Thread reconciler = new Thread(() -> {
+            while (adding.get()) {
+                try {
+                    mismatches.addAndGet(raceCounts.reconcile());
+                } catch (Exception e) {
+                    mismatches.incrementAndGet();
+                }
+            }
+        });
+        reconciler.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> adders = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final int engineCapacity = i % 2 == 0 ? 125 : 250;
+                adders.add(executor.submit(() -> {
+                    for (int j = 0; j < additions; j++) {
+                        raceCounts.add(() -> {
+                            Participant participant = serviceRace.insert(engineCapacity);
+                            // Widening the window between the insert and the count.
+                            Thread.yield();
+                            return participant;
+                        });
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> adder : adders) {
+                adder.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            adding.set(false);
+            reconciler.join(10_000);
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, mismatches.get(), "No reconciliation should see a participant inserted but not counted.");
+        List<Race> races = raceCounts.getRaces();
+        assertEquals(threads / 2 * additions, races.get(0).getNoParticipants(), "Every participant of the first race should be counted.");
+        assertEquals(threads / 2 * additions, races.get(1).getNoParticipants(), "Every participant of the second race should be counted.");
+        assertEquals(0, raceCounts.reconcile(), "The counts should match the database.");
+    }
+
+    static class TestServiceUser implements ServiceUser {
+        @Override
+        public User login(String username, String password) {
+            return new User.Builder()
+                    .setId(1)
+                    .setFirstName("Test1F")
+                    .setLastName("Test1L")
+                    .setUsername(username)
+                    .build();
+        }
+    }
+
+    static class TestServiceParticipant implements ServiceParticipant {
+        @Override
+        public Iterable<Participant> findParticipantsByTeam(String team) {
+            return List.of();
+        }
+
+        @Override
+        public void findParticipantsByTeam(String team, long cursor, int chunkSize, ChunkConsumer<Participant> consumer) {
+        }
+
+        @Override
+        public Participant addParticipant(String firstName, String lastName, String team, int engineCapacity) {
+            return new Participant.Builder()
+                    .setId(UUID.randomUUID())
+                    .setFirstName(firstName)
+                    .setLastName(lastName)
+                    .setTeam(team)
+                    .setEngineCapacity(engineCapacity)
+                    .build();
+        }
+    }
+
+    static class TestServiceRace implements ServiceRace {
+        // The number of participants of every race, as the database would count them.
+        private final Map<Integer, AtomicInteger> counts = new ConcurrentHashMap<>(Map.of(
+                125, new AtomicInteger(), 250, new AtomicInteger()));
+
+        /**
+         * Inserts a participant of a race, creating the race if it doesn't exist.
+         */
+        Participant insert(int engineCapacity) {
+            counts.computeIfAbsent(engineCapacity, key -> new AtomicInteger()).incrementAndGet();
+            return new Participant.Builder()
+                    .setId(UUID.randomUUID())
+                    .setFirstName("Andrew")
+                    .setLastName("Garfield")
+                    .setTeam("Suzuki")
+                    .setEngineCapacity(engineCapacity)
+                    .build();
+        }
+
+        void remove(int engineCapacity) {
+            counts.remove(engineCapacity);
+        }
+
+        @Override
+        public Iterable<Race> findAllRaces() {
+            return counts.entrySet().stream()
+                    .map(entry -> new Race.Builder()
+                            .setId(entry.getKey())
+                            .setEngineCapacity(entry.getKey())
+                            .setNoParticipants(entry.getValue().get())
+                            .build())
+                    .toList();
+        }
+
+        @Override
+        public Iterable<Integer> findAllRaceEngineCapacities() {
+            return List.copyOf(counts.keySet());
+        }
+    }
+}